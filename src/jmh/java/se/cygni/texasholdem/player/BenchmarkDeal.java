@@ -0,0 +1,75 @@
+package se.cygni.texasholdem.player;
+
+import se.cygni.texasholdem.game.Card;
+import se.cygni.texasholdem.player.utils.CardMask;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Pocket and community cards of one deal, both as cards and as {@link CardMask}s. Benchmarks cycle through
+ * {@link #DEALS} of them so the branches and caches see a mix of hands rather than the same one over and
+ * over.
+ */
+public final class BenchmarkDeal {
+
+    public static final int DEALS = 1024;
+    public static final int DEAL_MASK = DEALS - 1;
+
+    private static final long SEED = 4711;
+
+    private final List<Card> pocketCards;
+    private final List<Card> communityCards;
+    private final long pocket;
+    private final long board;
+
+    private BenchmarkDeal(long pocket, long board) {
+        this.pocket = pocket;
+        this.board = board;
+        this.pocketCards = CardMask.cards(pocket);
+        this.communityCards = CardMask.cards(board);
+    }
+
+    /**
+     * @param communityCards community cards per deal, 0 to 5
+     * @return the same {@link #DEALS} deals on every run
+     */
+    public static BenchmarkDeal[] deal(final int communityCards) {
+
+        final SplittableRandom random = new SplittableRandom(SEED);
+        final BenchmarkDeal[] deals = new BenchmarkDeal[DEALS];
+        for (int i = 0; i < DEALS; i++) {
+            final long pocket = draw(random, CardMask.EMPTY, 2);
+            deals[i] = new BenchmarkDeal(pocket, draw(random, pocket, communityCards));
+        }
+        return deals;
+    }
+
+    private static long draw(final SplittableRandom random, final long dead, final int cards) {
+
+        long drawn = CardMask.EMPTY;
+        while (Long.bitCount(drawn) < cards) {
+            final long card = CardMask.bit(random.nextInt(CardMask.CARDS));
+            if (((dead | drawn) & card) == 0) {
+                drawn |= card;
+            }
+        }
+        return drawn;
+    }
+
+    public List<Card> getPocketCards() {
+        return pocketCards;
+    }
+
+    public List<Card> getCommunityCards() {
+        return communityCards;
+    }
+
+    public long getPocket() {
+        return pocket;
+    }
+
+    public long getBoard() {
+        return board;
+    }
+}
@@ -0,0 +1,58 @@
+package se.cygni.texasholdem.player.postflop;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import se.cygni.texasholdem.player.BenchmarkDeal;
+import se.cygni.texasholdem.player.evaluator.LookupHandEvaluator;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ranking on the flop, turn and river. A warm cache holds every deal after the warmup, a cold one has
+ * room for one entry per stripe so nearly every ranking is computed, potential included on the flop and
+ * turn.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HandRankingServiceBenchmark {
+
+    private static final int STRIPES = 16;
+
+    @Param({"3", "4", "5"})
+    private int communityCards;
+
+    @Param({"warm", "cold"})
+    private String cache;
+
+    private HandRankingService handRankingService;
+    private BenchmarkDeal[] deals;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        final RankingCache rankingCache = "warm".equals(cache)
+                ? RankingCache.fromSystemProperties()
+                : new RankingCache(RankingCache.ENTRY_BYTES * STRIPES);
+        handRankingService = new HandRankingServiceImpl(LookupHandEvaluator.getInstance(), rankingCache);
+        deals = BenchmarkDeal.deal(communityCards);
+    }
+
+    @Benchmark
+    public HandRanking getRanking() {
+        final BenchmarkDeal deal = deals[next++ & BenchmarkDeal.DEAL_MASK];
+        return handRankingService.getRanking(deal.getPocketCards(), deal.getCommunityCards());
+    }
+}
@@ -0,0 +1,63 @@
+package se.cygni.texasholdem.player.postflop;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import se.cygni.texasholdem.game.Action;
+import se.cygni.texasholdem.game.Card;
+import se.cygni.texasholdem.game.definitions.PlayState;
+import se.cygni.texasholdem.player.TableFixture;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Arrays.asList;
+import static se.cygni.texasholdem.game.Card.valueOf;
+import static se.cygni.texasholdem.game.definitions.Rank.*;
+import static se.cygni.texasholdem.game.definitions.Suit.*;
+
+/**
+ * The post-flop decision alone, with top pair top kicker ranked once up front on the flop, turn and river
+ * of the same board.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PostFlopStrategyBenchmark {
+
+    private static final List<Card> POCKET_CARDS = asList(valueOf(ACE, HEARTS), valueOf(KING, DIAMONDS));
+    private static final List<Card> BOARD = asList(valueOf(ACE, DIAMONDS), valueOf(SEVEN, CLUBS),
+            valueOf(DEUCE, SPADES), valueOf(NINE, HEARTS), valueOf(FOUR, CLUBS));
+
+    @Param({"FLOP", "TURN", "RIVER"})
+    private PlayState street;
+
+    private TableFixture table;
+    private HandRanking ranking;
+    private PostFlopStrategy strategy;
+
+    @Setup
+    public void setUp() {
+        final List<Card> communityCards = BOARD.subList(0, street.ordinal() + 2);
+        table = new TableFixture(street, POCKET_CARDS, communityCards);
+        ranking = new HandRankingServiceImpl().getRanking(POCKET_CARDS, communityCards);
+        strategy = new PostFlopStrategyImpl();
+    }
+
+    @Benchmark
+    public Action getPostFlopAction() {
+        return strategy.getPostFlopAction(table.getPossibleActions(), ranking, table.getPlayState(),
+                table.getGameStatistics());
+    }
+}
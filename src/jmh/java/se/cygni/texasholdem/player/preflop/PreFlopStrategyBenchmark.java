@@ -0,0 +1,76 @@
+package se.cygni.texasholdem.player.preflop;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import se.cygni.texasholdem.game.Action;
+import se.cygni.texasholdem.game.Card;
+import se.cygni.texasholdem.player.TableFixture;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Arrays.asList;
+import static se.cygni.texasholdem.game.Card.valueOf;
+import static se.cygni.texasholdem.game.definitions.PlayState.PRE_FLOP;
+import static se.cygni.texasholdem.game.definitions.Rank.*;
+import static se.cygni.texasholdem.game.definitions.Suit.*;
+
+/**
+ * A pre-flop decision under the gun at a six handed table, for a premium hand, a suited connector and one
+ * that folds. The strategy counts its raises through the hand, so every operation starts a new one the
+ * way a new hand does.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PreFlopStrategyBenchmark {
+
+    @Param({"AKs", "T9s", "72o"})
+    private String hand;
+
+    private TableFixture table;
+    private Card c1;
+    private Card c2;
+
+    @Setup
+    public void setUp() {
+        final List<Card> pocketCards = pocketCards(hand);
+        c1 = pocketCards.get(0);
+        c2 = pocketCards.get(1);
+        table = new TableFixture(PRE_FLOP, pocketCards, Collections.emptyList());
+    }
+
+    @Benchmark
+    public Action getPreFlopAction() {
+        final PreFlopStrategy strategy = new PreFlopStrategyImpl(table.getPlayerClient());
+        strategy.putPocketCard(c1);
+        strategy.putPocketCard(c2);
+        return strategy.getPreFlopAction(table.getPossibleActions());
+    }
+
+    private static List<Card> pocketCards(final String hand) {
+        switch (hand) {
+            case "AKs":
+                return asList(valueOf(ACE, SPADES), valueOf(KING, SPADES));
+            case "T9s":
+                return asList(valueOf(TEN, HEARTS), valueOf(NINE, HEARTS));
+            case "72o":
+                return asList(valueOf(SEVEN, CLUBS), valueOf(DEUCE, DIAMONDS));
+            default:
+                throw new IllegalArgumentException("unknown hand: " + hand);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package se.cygni.texasholdem.player.preflop;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import se.cygni.texasholdem.game.Card;
+import se.cygni.texasholdem.player.range.HandRange;
+import se.cygni.texasholdem.player.utils.CardMask;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starting hand and steal classification, cycling through all 1326 pocket card combinations.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StartingHandBenchmark {
+
+    private final Card[] first = new Card[HandRange.COMBOS];
+    private final Card[] second = new Card[HandRange.COMBOS];
+    private int next;
+
+    @Setup
+    public void setUp() {
+        for (int high = 1; high < CardMask.CARDS; high++) {
+            for (int low = 0; low < high; low++) {
+                first[HandRange.index(low, high)] = CardMask.card(high);
+                second[HandRange.index(low, high)] = CardMask.card(low);
+            }
+        }
+    }
+
+    @Benchmark
+    public StartingHandType getGroup() {
+        final int combo = nextCombo();
+        return StartingHandType.getGroup(first[combo], second[combo]);
+    }
+
+    @Benchmark
+    public StealType getType() {
+        final int combo = nextCombo();
+        return StealType.getType(first[combo], second[combo]);
+    }
+
+    private int nextCombo() {
+        if (next == HandRange.COMBOS) {
+            next = 0;
+        }
+        return next++;
+    }
+}
@@ -0,0 +1,53 @@
+package se.cygni.texasholdem.player.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import se.cygni.texasholdem.game.Hand;
+import se.cygni.texasholdem.player.BenchmarkDeal;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Best hand of five, six and seven cards, the list based {@link PokerHandUtils#getBestHand()} next to the
+ * mask based {@link PokerHandUtils#getHandStrength(long)}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PokerHandUtilsBenchmark {
+
+    @Param({"5", "6", "7"})
+    private int cards;
+
+    private BenchmarkDeal[] deals;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        deals = BenchmarkDeal.deal(cards - 2);
+    }
+
+    @Benchmark
+    public Hand getBestHand() {
+        final BenchmarkDeal deal = deals[next++ & BenchmarkDeal.DEAL_MASK];
+        return new PokerHandUtils(deal.getCommunityCards(), deal.getPocketCards()).getBestHand();
+    }
+
+    @Benchmark
+    public int getHandStrength() {
+        final BenchmarkDeal deal = deals[next++ & BenchmarkDeal.DEAL_MASK];
+        return PokerHandUtils.getHandStrength(deal.getPocket() | deal.getBoard());
+    }
+}
@@ -1,22 +1,16 @@
 package se.cygni.texasholdem.player;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import se.cygni.texasholdem.client.CurrentPlayState;
 import se.cygni.texasholdem.client.PlayerClient;
-import se.cygni.texasholdem.game.GamePlayer;
+import se.cygni.texasholdem.player.table.TableSnapshot;
+import se.cygni.texasholdem.player.table.TableState;
 import se.cygni.texasholdem.player.utils.PlayState;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
-import static org.springframework.util.StringUtils.collectionToCommaDelimitedString;
-
 public class LocalPlayerClient extends PlayerClient {
 
-    private final static Logger LOGGER = LoggerFactory.getLogger(LocalPlayerClient.class);
     private final String host;
-    private List<GamePlayer> players;
+    private final TableState tableState;
+    private volatile PlayState playState;
 
     /**
      * Overrides some methods because of a bug in @CurrentPlayerState
@@ -28,22 +22,28 @@ public class LocalPlayerClient extends PlayerClient {
     public LocalPlayerClient(Player player, String serverHost, int serverPort) {
         super(player, serverHost, serverPort);
         this.host = serverHost;
+        this.tableState = new TableState();
     }
 
+    /**
+     * @return the current table, the same instance until the player sees the next event
+     */
     @Override
     public CurrentPlayState getCurrentPlayState() {
-        return new PlayState(getPlayer().getName(), super.getCurrentPlayState(), getPlayers());
+        final TableSnapshot table = tableState.snapshot();
+        PlayState current = playState;
+        if (current == null || current.getTable() != table) {
+            current = new PlayState(getPlayer(), table);
+            playState = current;
+        }
+        return current;
     }
 
-    private List<GamePlayer> getPlayers() {
-        return this.players;
-    }
-
-    public void setPlayers(List<GamePlayer> players) {
-        LOGGER.debug("Setting players to [{}]",
-                collectionToCommaDelimitedString(
-                        players.stream().map(GamePlayer::getName).collect(Collectors.toList())));
-        this.players = players;
+    /**
+     * @return the table state the player feeds with the game events
+     */
+    public TableState getTableState() {
+        return tableState;
     }
 
     public String getHost() {
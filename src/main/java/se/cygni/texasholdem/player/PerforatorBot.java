@@ -6,29 +6,69 @@ import se.cygni.texasholdem.client.CurrentPlayState;
 import se.cygni.texasholdem.communication.message.event.*;
 import se.cygni.texasholdem.communication.message.request.ActionRequest;
 import se.cygni.texasholdem.game.*;
+import se.cygni.texasholdem.player.decision.Decision;
+import se.cygni.texasholdem.player.decision.DecisionLatency;
+import se.cygni.texasholdem.player.decision.DecisionScheduler;
+import se.cygni.texasholdem.player.decision.PhaseTimer;
+import se.cygni.texasholdem.player.decision.Speculation;
+import se.cygni.texasholdem.player.evaluator.HandEvaluator;
+import se.cygni.texasholdem.player.evaluator.HandEvaluatorEngine;
+import se.cygni.texasholdem.player.journal.HandHistory;
+import se.cygni.texasholdem.player.journal.Journal;
+import se.cygni.texasholdem.player.journal.RecordType;
 import se.cygni.texasholdem.player.postflop.*;
 import se.cygni.texasholdem.player.preflop.PreFlopStrategy;
+import se.cygni.texasholdem.player.preflop.PositionDeterminator;
 import se.cygni.texasholdem.player.preflop.PreFlopStrategyImpl;
+import se.cygni.texasholdem.player.range.HandRange;
+import se.cygni.texasholdem.player.range.RangeTracker;
 import se.cygni.texasholdem.player.stats.GameStatistics;
+import se.cygni.texasholdem.player.stats.OpponentStatistics;
+import se.cygni.texasholdem.player.stats.OpponentTracker;
+import se.cygni.texasholdem.player.table.TableSnapshot;
+import se.cygni.texasholdem.player.utils.CardMask;
+import se.cygni.texasholdem.player.utils.PlayState;
 
 import java.util.Formatter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static java.lang.System.getProperty;
+import static org.springframework.util.Assert.notNull;
 import static java.util.EnumSet.of;
-import static se.cygni.texasholdem.game.ActionType.RAISE;
+import static se.cygni.texasholdem.game.ActionType.*;
+import static se.cygni.texasholdem.player.ActionUtils.chooseInOrderFrom;
+import static se.cygni.texasholdem.player.decision.DecisionOutcome.COMPLETED;
+import static se.cygni.texasholdem.player.decision.DecisionPhase.*;
 import static se.cygni.texasholdem.game.definitions.PlayState.*;
 
 /**
  * This is the best Cygni-bot of Cygni Virtual Poker Challenge 2014.
  */
-public class PerforatorBot implements Player {
+public class PerforatorBot implements Player, AutoCloseable {
 
     private final static Logger LOG = LoggerFactory.getLogger(PerforatorBot.class);
 
+    private final String name;
     private final LocalPlayerClient playerClient;
     private PreFlopStrategy preFlopStrategy;
     private final PostFlopStrategy postFlopStrategy;
     private final HandRankingService handRankingService;
+    private final EquityService equityService;
+    private final EquityBudget equityBudget;
+    private final DecisionScheduler decisionScheduler;
+    private final DecisionLatency decisionLatency;
+    private final Speculation<HandRanking> speculation;
+    private final RangeTracker rangeTracker;
+    private final Queue<float[]> weightBuffers = new ConcurrentLinkedQueue<>();
+    private final OpponentTracker opponentTracker;
+    private final HandHistory handHistory;
+    private final PositionDeterminator positionDeterminator;
     private GameStatistics gameStatistics;
 
     /**
@@ -38,9 +78,58 @@ public class PerforatorBot implements Player {
      * @param serverPort port at which the poker server listens
      */
     public PerforatorBot(String serverHost, int serverPort) {
-        this.playerClient = new LocalPlayerClient(this, serverHost, serverPort);
-        this.handRankingService = new HandRankingServiceImpl();
+        this(player -> new LocalPlayerClient(player, serverHost, serverPort));
+    }
+
+    /**
+     * @param name       unique among the bots connected to the server
+     * @param serverHost IP or hostname to the poker server
+     * @param serverPort port at which the poker server listens
+     */
+    public PerforatorBot(String name, String serverHost, int serverPort) {
+        this(name, player -> new LocalPlayerClient(player, serverHost, serverPort));
+    }
+
+    /**
+     * @param playerClientFactory creates the client playing for this bot, tests use one without a server
+     */
+    PerforatorBot(Function<Player, LocalPlayerClient> playerClientFactory) {
+        this(getProperty("botName", "Perforator"), playerClientFactory);
+    }
+
+    PerforatorBot(String name, Function<Player, LocalPlayerClient> playerClientFactory) {
+        this(name, playerClientFactory, OpponentStatistics.fromSystemProperties());
+    }
+
+    private PerforatorBot(String name, Function<Player, LocalPlayerClient> playerClientFactory,
+                          OpponentStatistics opponentStatistics) {
+        notNull(name, "'name' cannot be null");
+        this.name = name;
+        this.playerClient = playerClientFactory.apply(this);
+        HandEvaluator handEvaluator = HandEvaluatorEngine.fromSystemProperties();
+        this.handRankingService = new HandRankingServiceImpl(handEvaluator);
+        this.rangeTracker = new RangeTracker(handEvaluator);
+        this.opponentTracker = new OpponentTracker(opponentStatistics);
+        this.handHistory = new HandHistory(Journal.fromSystemProperties());
+        this.positionDeterminator = new PositionDeterminator();
         this.postFlopStrategy = new PostFlopStrategyImpl();
+        this.equityService = new MonteCarloEquityService();
+        this.equityBudget = EquityBudget.fromSystemProperties();
+        this.decisionScheduler = DecisionScheduler.fromSystemProperties();
+        this.decisionLatency = DecisionLatency.fromSystemProperties().register(getName());
+        this.speculation = Speculation.onDaemonThread();
+    }
+
+    /**
+     * A bot that is handed the game events directly rather than over a connection to a server, for
+     * simulations and replays. Its client never connects, and the opponent statistics are kept in memory
+     * unless a file is given, so the hands aren't counted into those of the live bot.
+     *
+     * @param name unique at the table
+     */
+    public static PerforatorBot offline(String name) {
+        return new PerforatorBot(name, player -> new LocalPlayerClient(player, "localhost", 0),
+                OpponentStatistics.fromSystemPropertiesOrInMemory());
     }
 
     public void playATrainingGame() throws Exception {
@@ -50,6 +139,23 @@ public class PerforatorBot implements Player {
         playerClient.registerForPlay(Room.valueOf(room));
     }
 
+    /**
+     * Stops the threads of the bot, deciding, speculating and journaling, once it is done playing, and
+     * removes its latency from JMX. The journal writes what it holds first.
+     */
+    @Override
+    public void close() {
+        speculation.shutdown();
+        decisionScheduler.shutdown();
+        decisionLatency.unregister();
+        try {
+            handHistory.getJournal().close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOG.warn("Interrupted closing the journal of {}", getName());
+        }
+    }
+
     /**
      * The main method to start your bot.
      *
@@ -75,47 +181,170 @@ public class PerforatorBot implements Player {
      */
     @Override
     public String getName() {
-        return getProperty("botName", "Perforator");
+        return name;
     }
 
     @Override
     public Action actionRequired(ActionRequest request) {
 
+        long start = System.nanoTime();
         CurrentPlayState cps = playerClient.getCurrentPlayState();
-        LOG.info("Got an action request in play state [{}]", cps.getCurrentPlayState());
-
-        Action response = request.getPossibleActions().get(0);
-        if (cps.getCurrentPlayState() == PRE_FLOP) {
-            response = preFlopStrategy.getPreFlopAction(request.getPossibleActions());
-        } else if (of(FLOP, TURN, RIVER).contains(cps.getCurrentPlayState())) {
-            HandRanking ranking = handRankingService.getRanking(cps.getMyCards(), cps.getCommunityCards());
-            response = postFlopStrategy.getPostFlopAction(request.getPossibleActions(), ranking, cps, gameStatistics);
-
-            // Quick fix on raise safe guard
-            if (response.getActionType() == RAISE) {
-                postFlopStrategy.incrementRaises();
-            }
+        se.cygni.texasholdem.game.definitions.PlayState street = cps.getCurrentPlayState();
+        decisionLatency.record(street, PLAY_STATE, System.nanoTime() - start);
+        LOG.info("Got an action request in play state [{}]", street);
+
+        Decision<HandRanking> decision;
+        if (street == PRE_FLOP) {
+            // a table lookup, never worth a worker
+            PhaseTimer timer = decisionLatency.start(street);
+            Action action = preFlopStrategy.getPreFlopAction(request.getPossibleActions());
+            timer.lap(STRATEGY);
+            timer.finish();
+            decision = new Decision<>(action, null, COMPLETED, System.nanoTime() - start);
+        } else if (of(FLOP, TURN, RIVER).contains(street)) {
+            decision = decidePostFlop(request.getPossibleActions(), cps);
+        } else {
+            decision = new Decision<>(request.getPossibleActions().get(0), null, COMPLETED, System.nanoTime() - start);
+        }
+        long decided = System.nanoTime();
+        Action response = decision.getAction();
+
+        // Quick fix on raise safe guard
+        if (response.getActionType() == RAISE && cps.getCurrentPlayState() != PRE_FLOP) {
+            postFlopStrategy.incrementRaises();
         }
 
-        LOG.info("Round [{}]: I'm going to {} {}. I currently have [{}] chips",
+        LOG.info("Round [{}]: I'm going to {} {}. I currently have [{}] chips. Decision {}",
                 gameStatistics.getRounds(),
                 response.getActionType(),
                 response.getAmount() > 0 ? "with " + response.getAmount() : "",
-                cps.getMyCurrentChipAmount());
+                cps.getMyCurrentChipAmount(),
+                decision);
 
+        long end = System.nanoTime();
+        handHistory.onDecision(response, decision.getEvaluation(), end - start);
+        decisionLatency.record(street, RESPONSE, end - decided);
+        decisionLatency.record(street, TOTAL, end - start);
         return response;
     }
 
+    /**
+     * Ranks the hand on a worker against the deadline and chooses the action from the ranking on this
+     * thread. Everything the events change, the statistics and the ranges, is read here before the worker
+     * starts. The opponent weights are combined into a buffer the worker hands back when done, a worker
+     * still running past the deadline keeps its own.
+     */
+    private Decision<HandRanking> decidePostFlop(List<Action> possibleActions, CurrentPlayState cps) {
+
+        final se.cygni.texasholdem.game.definitions.PlayState street = cps.getCurrentPlayState();
+        final List<Card> myCards = cps.getMyCards();
+        final List<Card> communityCards = cps.getCommunityCards();
+        final long cards = CardMask.mask(cps.getMyCardsAndCommunityCards());
+        final int opponents = gameStatistics.playersStillInRound() - 1;
+        final float[] pooled = weightBuffers.poll();
+        final float[] opponentWeights = pooled != null ? pooled : new float[HandRange.COMBOS];
+        final boolean weighted = rangeTracker.combine(opponentWeights);
+
+        return decisionScheduler.decide(provisional -> {
+            PhaseTimer timer = decisionLatency.start(street);
+            HandRanking speculated = speculation.join(cards);
+            HandRanking ranking;
+            try {
+                ranking = weighted
+                        ? handRankingService.getRanking(myCards, communityCards, opponentWeights)
+                        : handRankingService.getRanking(myCards, communityCards);
+            } finally {
+                weightBuffers.offer(opponentWeights);
+            }
+            if (speculated != null) {
+                ranking = ranking.withEquity(speculated.getEquity());
+            }
+            if (opponents > 0 && (ranking.getEquity() == null || ranking.getEquity().getOpponents() != opponents)) {
+                // good enough if the equity doesn't make it in time
+                provisional.offer(ranking);
+                ranking = ranking.withEquity(equityService.getEquity(myCards, communityCards, opponents, equityBudget));
+            }
+            timer.lap(RANKING);
+            timer.finish();
+            return ranking;
+        }, ranking -> {
+            PhaseTimer timer = decisionLatency.start(street);
+            Action action = postFlopStrategy.getPostFlopAction(possibleActions, ranking, cps, gameStatistics);
+            timer.lap(STRATEGY);
+            timer.finish();
+            return action;
+        }, () -> fallback(possibleActions));
+    }
+
+    /**
+     * Cheap answer when the decision doesn't make it in time, stay in the hand only if it's free.
+     */
+    private Action fallback(List<Action> possibleActions) {
+        Map<ActionType, Action> actionMap = new HashMap<>();
+        for (Action action : possibleActions) {
+            actionMap.put(action.getActionType(), action);
+        }
+        Action action = chooseInOrderFrom(actionMap, CHECK, FOLD);
+        return action != null ? action : possibleActions.get(0);
+    }
+
+    /**
+     * Starts ranking the cards dealt so far while the opponents act, unless already started. Only
+     * worth it from the flop on, before that the decision is a table lookup, and while I have a hand
+     * against someone.
+     */
+    private void speculate() {
+        if (gameStatistics == null) {
+            return;
+        }
+        CurrentPlayState cps = playerClient.getCurrentPlayState();
+        if (cps.haveIFolded() || gameStatistics.playersStillInRound() <= 1) {
+            return;
+        }
+        final List<Card> pocketCards = cps.getMyCards();
+        final List<Card> communityCards = cps.getCommunityCards();
+        if (pocketCards == null || communityCards == null || pocketCards.size() != 2 || communityCards.size() < 3) {
+            return;
+        }
+
+        final int opponents = gameStatistics.playersStillInRound() - 1;
+        speculation.start(CardMask.mask(cps.getMyCardsAndCommunityCards()), () ->
+                handRankingService.getRanking(pocketCards, communityCards)
+                        .withEquity(equityService.getEquity(pocketCards, communityCards, opponents, equityBudget)));
+    }
+
+    private void trackAction(GamePlayer player, ActionType action) {
+        TableSnapshot table = ((PlayState) playerClient.getCurrentPlayState()).getTable();
+        int seat = table.seatOf(player);
+        opponentTracker.onAction(table, seat, action);
+        if (player.getName().equals(getName())) {
+            return;
+        }
+        rangeTracker.onAction(player.getName(), positionDeterminator.getPosition(table.getSeats(), seat), action);
+    }
+
+    private void recordAction(RecordType type, GamePlayer player, long amount) {
+        handHistory.onAction(type, playerClient.getTableState().snapshot().seatOf(player), amount);
+    }
+
     @Override
     public void onPlayIsStarted(final PlayIsStartedEvent event) {
         if (gameStatistics == null) {
-            gameStatistics = new GameStatistics(playerClient, getName());
+            gameStatistics = GameStatistics.fromSystemProperties(playerClient, getName());
         }
-        gameStatistics.incrementRound();
+        speculation.cancel();
         preFlopStrategy = new PreFlopStrategyImpl(playerClient);
         handRankingService.resetDeck();
         postFlopStrategy.resetRaises();
-        playerClient.setPlayers(event.getPlayers());
+        playerClient.getTableState().startHand(getName(), event);
+        gameStatistics.onHandStarted();
+        opponentTracker.startHand(playerClient.getTableState().snapshot());
+        handHistory.onPlayStarted(playerClient.getTableState().snapshot(), gameStatistics.getRounds());
+        decisionLatency.onRound(gameStatistics.getRounds());
+        rangeTracker.startHand(event.getPlayers().stream()
+                .map(GamePlayer::getName)
+                .filter(name -> !name.equals(getName()))
+                .collect(Collectors.toList()));
 
         LOG.debug("Play is started");
     }
@@ -124,68 +353,106 @@ public class PerforatorBot implements Player {
     public void onTableChangedStateEvent(TableChangedStateEvent event) {
 
         LOG.debug("Table changed state: [{}]", event.getState());
+        playerClient.getTableState().onStreet(event.getState());
+        handHistory.onStreet(event.getState());
         postFlopStrategy.resetRaises();
+        speculate();
     }
 
     @Override
     public void onYouHaveBeenDealtACard(final YouHaveBeenDealtACardEvent event) {
 
         this.preFlopStrategy.putPocketCard(event.getCard());
+        playerClient.getTableState().onPocketCard(event.getCard());
+        handHistory.onCard(RecordType.POCKET_CARD, event.getCard());
+        gameStatistics.onPocketCard();
         LOG.debug("I, {}, got a card: {}", getName(), event.getCard());
+        rangeTracker.removeCard(CardMask.id(event.getCard()));
     }
 
     @Override
     public void onCommunityHasBeenDealtACard(final CommunityHasBeenDealtACardEvent event) {
 
         LOG.debug("Community got a card: [{}]", event.getCard());
+        playerClient.getTableState().onCommunityCard(event.getCard());
+        handHistory.onCard(RecordType.COMMUNITY_CARD, event.getCard());
+        CurrentPlayState cps = playerClient.getCurrentPlayState();
+        List<Card> communityCards = cps.getCommunityCards();
+        if (communityCards != null && communityCards.size() >= 3) {
+            rangeTracker.onBoard(CardMask.mask(communityCards));
+        } else {
+            rangeTracker.removeCard(CardMask.id(event.getCard()));
+        }
+        if (cps.getMyCards() != null && communityCards != null && !cps.haveIFolded()) {
+            handRankingService.prepare(cps.getMyCards(), communityCards);
+        }
+        speculate();
     }
 
     @Override
     public void onPlayerBetBigBlind(PlayerBetBigBlindEvent event) {
 
         LOG.debug("{} placed big blind with amount {}", event.getPlayer().getName(), event.getBigBlind());
+        playerClient.getTableState().onBet(event.getPlayer(), event.getBigBlind());
+        recordAction(RecordType.BIG_BLIND, event.getPlayer(), event.getBigBlind());
     }
 
     @Override
     public void onPlayerBetSmallBlind(PlayerBetSmallBlindEvent event) {
 
         LOG.debug("{} placed small blind with amount {}", event.getPlayer().getName(), event.getSmallBlind());
+        playerClient.getTableState().onBet(event.getPlayer(), event.getSmallBlind());
+        recordAction(RecordType.SMALL_BLIND, event.getPlayer(), event.getSmallBlind());
     }
 
     @Override
     public void onPlayerFolded(final PlayerFoldedEvent event) {
 
-        // Check if it's this bot. In that case record that for future
-        //event.getPlayer().getName();
-        //CurrentPlayState currentPlayState = playerClient.getCurrentPlayState();
-        //gameStatistics.recordPlayerFolded(currentPlayState.getPlayers().);
-
-
         LOG.debug("{} folded after putting {} in the pot", event.getPlayer().getName(), event.getInvestmentInPot());
+        playerClient.getTableState().onFold(event.getPlayer());
+        recordAction(RecordType.FOLD, event.getPlayer(), event.getInvestmentInPot());
+        trackAction(event.getPlayer(), FOLD);
     }
 
     @Override
     public void onPlayerForcedFolded(PlayerForcedFoldedEvent event) {
 
         LOG.debug("{} was forced to fold after putting {} in the pot because exceeding the time limit", event.getPlayer().getName(), event.getInvestmentInPot());
+        playerClient.getTableState().onFold(event.getPlayer());
+        recordAction(RecordType.FOLD, event.getPlayer(), event.getInvestmentInPot());
+        trackAction(event.getPlayer(), FOLD);
     }
 
     @Override
     public void onPlayerCalled(final PlayerCalledEvent event) {
 
         LOG.debug("{} called with amount {}", event.getPlayer().getName(), event.getCallBet());
+        playerClient.getTableState().onBet(event.getPlayer(), event.getCallBet());
+        recordAction(RecordType.CALL, event.getPlayer(), event.getCallBet());
+        trackAction(event.getPlayer(), CALL);
     }
 
     @Override
     public void onPlayerRaised(final PlayerRaisedEvent event) {
 
         LOG.debug("{} raised with bet {}", event.getPlayer().getName(), event.getRaiseBet());
+        playerClient.getTableState().onBet(event.getPlayer(), event.getRaiseBet());
+        recordAction(RecordType.RAISE, event.getPlayer(), event.getRaiseBet());
+        trackAction(event.getPlayer(), RAISE);
     }
 
     @Override
     public void onTableIsDone(TableIsDoneEvent event) {
 
         LOG.debug("Table is done, I'm leaving the table with ${}", playerClient.getCurrentPlayState().getMyCurrentChipAmount());
+        LOG.info("{}, {}", decisionScheduler, speculation);
+        if (gameStatistics != null) {
+            LOG.info("Last hands, {}", gameStatistics);
+        }
+        decisionLatency.logSummary();
+        opponentTracker.getStatistics().force();
+        handHistory.getJournal().flush(1000);
+        LOG.info("{}", handHistory.getJournal());
         LOG.info("Ending poker session, the last game may be viewed at: http://{}/showgame/table/{}", playerClient.getHost(), playerClient.getCurrentPlayState().getTableId());
     }
 
@@ -193,6 +460,9 @@ public class PerforatorBot implements Player {
     public void onPlayerWentAllIn(final PlayerWentAllInEvent event) {
 
         LOG.debug("{} went all in with amount {}", event.getPlayer().getName(), event.getAllInAmount());
+        playerClient.getTableState().onAllIn(event.getPlayer(), event.getAllInAmount());
+        recordAction(RecordType.ALL_IN, event.getPlayer(), event.getAllInAmount());
+        trackAction(event.getPlayer(), ALL_IN);
     }
 
     @Override
@@ -200,17 +470,24 @@ public class PerforatorBot implements Player {
 
 
         LOG.debug("{} checked", event.getPlayer().getName());
+        recordAction(RecordType.CHECK, event.getPlayer(), 0);
+        trackAction(event.getPlayer(), CHECK);
     }
 
     @Override
     public void onYouWonAmount(final YouWonAmountEvent event) {
 
         LOG.debug("I, {}, won: {}", getName(), event.getWonAmount());
+        handHistory.onWon(event.getWonAmount());
     }
 
     @Override
     public void onShowDown(final ShowDownEvent event) {
 
+        if (gameStatistics != null) {
+            gameStatistics.onShowDown(event);
+        }
+        handHistory.onShowDown(playerClient.getTableState().snapshot(), event);
         if (!LOG.isInfoEnabled()) {
             return;
         }
@@ -240,6 +517,8 @@ public class PerforatorBot implements Player {
     public void onPlayerQuit(final PlayerQuitEvent event) {
 
         LOG.debug("Player {} has quit", event.getPlayer());
+        playerClient.getTableState().onFold(event.getPlayer());
+        recordAction(RecordType.QUIT, event.getPlayer(), 0);
     }
 
     @Override
@@ -0,0 +1,50 @@
+package se.cygni.texasholdem.player.decision;
+
+import se.cygni.texasholdem.game.Action;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The action chosen for one action request, the evaluation it was chosen from and how it was reached.
+ *
+ * @param <T> the evaluation
+ */
+public class Decision<T> {
+
+    private final Action action;
+    private final T evaluation;
+    private final DecisionOutcome outcome;
+    private final long elapsedNanos;
+
+    public Decision(Action action, T evaluation, DecisionOutcome outcome, long elapsedNanos) {
+        this.action = action;
+        this.evaluation = evaluation;
+        this.outcome = outcome;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public Action getAction() {
+        return action;
+    }
+
+    /**
+     * @return what the action was chosen from, null for the fallback
+     */
+    public T getEvaluation() {
+        return evaluation;
+    }
+
+    public DecisionOutcome getOutcome() {
+        return outcome;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s %s in %d ms", outcome, action.getActionType(),
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+    }
+}
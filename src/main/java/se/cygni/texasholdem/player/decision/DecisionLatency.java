@@ -0,0 +1,178 @@
+package se.cygni.texasholdem.player.decision;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import se.cygni.texasholdem.game.definitions.PlayState;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.lang.Integer.getInteger;
+import static org.springframework.util.Assert.isTrue;
+import static org.springframework.util.Assert.notNull;
+
+/**
+ * A {@link LatencyHistogram} per street and {@link DecisionPhase} of the action requests. The percentiles
+ * are logged every few rounds and can be read over JMX from {@link #register(String)} until
+ * {@link #unregister()}.
+ */
+public class DecisionLatency implements DecisionLatencyMXBean {
+
+    private final static Logger LOG = LoggerFactory.getLogger(DecisionLatency.class);
+
+    static final String OBJECT_NAME = "se.cygni.texasholdem.player:type=DecisionLatency,name=";
+
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    private final LatencyHistogram[][] histograms =
+            new LatencyHistogram[PlayState.values().length][DecisionPhase.values().length];
+    private final int summaryRounds;
+    private ObjectName objectName;
+
+    public DecisionLatency(int summaryRounds) {
+        isTrue(summaryRounds > 0, "'summaryRounds' must be positive");
+        this.summaryRounds = summaryRounds;
+        for (LatencyHistogram[] street : histograms) {
+            for (int phase = 0; phase < street.length; phase++) {
+                street[phase] = new LatencyHistogram();
+            }
+        }
+    }
+
+    /**
+     * @return latency logged every <code>latencySummaryRounds</code> rounds, 100 by default
+     */
+    public static DecisionLatency fromSystemProperties() {
+        return new DecisionLatency(getInteger("latencySummaryRounds", 100));
+    }
+
+    /**
+     * Makes the latency readable over JMX, under the name of the bot and a sequence number, as bots by the
+     * same name may play in the same JVM.
+     *
+     * @param botName name of the bot, part of the object name
+     * @return this
+     */
+    public synchronized DecisionLatency register(final String botName) {
+        notNull(botName, "'botName' cannot be null");
+        isTrue(objectName == null, "'" + objectName + "' is already registered");
+        try {
+            final ObjectName name = new ObjectName(OBJECT_NAME + ObjectName.quote(botName)
+                    + ",id=" + SEQUENCE.incrementAndGet());
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, name);
+            objectName = name;
+        } catch (JMException e) {
+            LOG.warn("Could not register the decision latency of [{}] for JMX: {}", botName, e.toString());
+        }
+        return this;
+    }
+
+    /**
+     * Removes the latency from JMX, if registered.
+     */
+    public synchronized void unregister() {
+        if (objectName == null) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+        } catch (JMException e) {
+            LOG.warn("Could not unregister [{}] from JMX: {}", objectName, e.toString());
+        }
+        objectName = null;
+    }
+
+    /**
+     * @return the name the latency is registered by over JMX, <code>null</code> when not registered
+     */
+    public synchronized ObjectName getObjectName() {
+        return objectName;
+    }
+
+    /**
+     * @param street the street being played, nothing is recorded without one
+     * @return a timer of the phases of a decision on this street
+     */
+    public PhaseTimer start(final PlayState street) {
+        return new PhaseTimer(this, street);
+    }
+
+    public void record(final PlayState street, final DecisionPhase phase, final long nanos) {
+        if (street != null) {
+            histograms[street.ordinal()][phase.ordinal()].record(nanos);
+        }
+    }
+
+    public LatencyHistogram getHistogram(final PlayState street, final DecisionPhase phase) {
+        notNull(street, "'street' cannot be null");
+        notNull(phase, "'phase' cannot be null");
+        return histograms[street.ordinal()][phase.ordinal()];
+    }
+
+    /**
+     * Logs the summary every so many rounds, as given when created.
+     *
+     * @param round the round just started
+     */
+    public void onRound(final int round) {
+        if (round > 0 && round % summaryRounds == 0) {
+            logSummary();
+        }
+    }
+
+    public void logSummary() {
+        final String[] summary = getSummary();
+        if (summary.length == 0) {
+            return;
+        }
+        LOG.info("Decision latency:\n{}", String.join("\n", summary));
+    }
+
+    @Override
+    public String[] getSummary() {
+        final List<String> lines = new ArrayList<>();
+        for (PlayState street : PlayState.values()) {
+            for (DecisionPhase phase : DecisionPhase.values()) {
+                final LatencyHistogram histogram = getHistogram(street, phase);
+                if (histogram.getCount() > 0) {
+                    lines.add(String.format("%-8s %-10s %s", street, phase, histogram));
+                }
+            }
+        }
+        return lines.toArray(new String[lines.size()]);
+    }
+
+    @Override
+    public long getCount(final String street, final String phase) {
+        return histogram(street, phase).getCount();
+    }
+
+    @Override
+    public double getMillisAtQuantile(final String street, final String phase, final double quantile) {
+        return histogram(street, phase).getValueAtQuantile(quantile) / 1e6;
+    }
+
+    @Override
+    public double getMaxMillis(final String street, final String phase) {
+        return histogram(street, phase).getMax() / 1e6;
+    }
+
+    @Override
+    public void reset() {
+        for (LatencyHistogram[] street : histograms) {
+            for (LatencyHistogram histogram : street) {
+                histogram.reset();
+            }
+        }
+    }
+
+    private LatencyHistogram histogram(final String street, final String phase) {
+        notNull(street, "'street' cannot be null");
+        notNull(phase, "'phase' cannot be null");
+        return getHistogram(PlayState.valueOf(street), DecisionPhase.valueOf(phase));
+    }
+}
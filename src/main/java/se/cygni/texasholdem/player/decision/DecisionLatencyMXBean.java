@@ -0,0 +1,24 @@
+package se.cygni.texasholdem.player.decision;
+
+/**
+ * Management view of the {@link DecisionLatency}. Streets and phases are given by name, e.g.
+ * <code>FLOP</code> and <code>RANKING</code>.
+ */
+public interface DecisionLatencyMXBean {
+
+    /**
+     * @return one line per street and phase with any decisions
+     */
+    String[] getSummary();
+
+    long getCount(String street, String phase);
+
+    /**
+     * @param quantile e.g. 0.999 for the 99.9th percentile
+     */
+    double getMillisAtQuantile(String street, String phase, double quantile);
+
+    double getMaxMillis(String street, String phase);
+
+    void reset();
+}
@@ -0,0 +1,16 @@
+package se.cygni.texasholdem.player.decision;
+
+/**
+ * How a decision was reached within its deadline.
+ */
+public enum DecisionOutcome {
+
+    /** The full evaluation finished in time. */
+    COMPLETED,
+
+    /** The deadline hit, the last provisional answer of the evaluation was used. */
+    DEGRADED,
+
+    /** The deadline hit or the evaluation failed before any answer, the cheap fallback was used. */
+    FALLBACK
+}
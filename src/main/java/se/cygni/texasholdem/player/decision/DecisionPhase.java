@@ -0,0 +1,22 @@
+package se.cygni.texasholdem.player.decision;
+
+/**
+ * The parts an action request is timed in.
+ */
+public enum DecisionPhase {
+
+    /** Fetching the current play state from the client. */
+    PLAY_STATE,
+
+    /** Ranking the hand, equity included. */
+    RANKING,
+
+    /** Choosing the action from the ranking. */
+    STRATEGY,
+
+    /** Book keeping and logging after the decision, until the response is handed back. */
+    RESPONSE,
+
+    /** The whole action request. */
+    TOTAL
+}
@@ -0,0 +1,134 @@
+package se.cygni.texasholdem.player.decision;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import se.cygni.texasholdem.game.Action;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static java.lang.Integer.getInteger;
+import static org.springframework.util.Assert.isTrue;
+import static org.springframework.util.Assert.notNull;
+import static se.cygni.texasholdem.player.decision.DecisionOutcome.*;
+
+/**
+ * Gives every decision a deadline. The {@link DecisionTask} evaluates on a worker while the calling thread
+ * waits at most until the deadline, then chooses the action from the final evaluation if there is one,
+ * else from the latest provisional evaluation and else takes the fallback. The strategy choosing the action
+ * runs on the calling thread, the only one changing the state it reads.
+ * <p/>
+ * A task past its deadline is interrupted and should stop, its evaluation is never used. There is more than
+ * one worker so the next decision doesn't queue behind a task slow to notice.
+ */
+public class DecisionScheduler {
+
+    private final static Logger LOG = LoggerFactory.getLogger(DecisionScheduler.class);
+
+    private final ExecutorService workers;
+    private final long deadlineNanos;
+    private final Map<DecisionOutcome, LongAdder> outcomes = new EnumMap<>(DecisionOutcome.class);
+
+    public DecisionScheduler(ExecutorService workers, long deadlineMillis) {
+        notNull(workers, "'workers' cannot be null");
+        isTrue(deadlineMillis > 0, "'deadlineMillis' must be positive");
+        this.workers = workers;
+        this.deadlineNanos = TimeUnit.MILLISECONDS.toNanos(deadlineMillis);
+        for (DecisionOutcome outcome : DecisionOutcome.values()) {
+            outcomes.put(outcome, new LongAdder());
+        }
+    }
+
+    /**
+     * @return scheduler from the system properties <code>decisionDeadlineMillis</code>, 500 by default,
+     * and <code>decisionWorkers</code>, 2 by default
+     */
+    public static DecisionScheduler fromSystemProperties() {
+        final AtomicInteger threads = new AtomicInteger();
+        final ExecutorService workers = Executors.newFixedThreadPool(getInteger("decisionWorkers", 2), runnable -> {
+            final Thread thread = new Thread(runnable, "decision-worker-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        return new DecisionScheduler(workers, getInteger("decisionDeadlineMillis", 500));
+    }
+
+    /**
+     * @param task     the full evaluation
+     * @param strategy chooses the action from an evaluation, on the calling thread
+     * @param fallback cheap answer used when the task gives no evaluation in time
+     * @return the decision, never without an action
+     */
+    public <T> Decision<T> decide(final DecisionTask<T> task, final Function<T, Action> strategy,
+                                  final Supplier<Action> fallback) {
+        notNull(task, "'task' cannot be null");
+        notNull(strategy, "'strategy' cannot be null");
+        notNull(fallback, "'fallback' cannot be null");
+
+        final long start = System.nanoTime();
+        final DecisionTask.Provisional<T> provisional = new DecisionTask.Provisional<>();
+        final Future<T> future = workers.submit(() -> task.decide(provisional));
+
+        T evaluation = null;
+        try {
+            evaluation = future.get(deadlineNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            LOG.warn("Decision not done within {} ms", TimeUnit.NANOSECONDS.toMillis(deadlineNanos));
+        } catch (ExecutionException e) {
+            LOG.warn("Decision failed", e.getCause());
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+        }
+
+        DecisionOutcome outcome = COMPLETED;
+        if (evaluation == null) {
+            evaluation = provisional.get();
+            outcome = DEGRADED;
+        }
+        Action action = null;
+        if (evaluation != null) {
+            try {
+                action = strategy.apply(evaluation);
+            } catch (RuntimeException e) {
+                LOG.warn("Strategy failed", e);
+            }
+        }
+        if (action == null) {
+            evaluation = null;
+            action = fallback.get();
+            outcome = FALLBACK;
+        }
+        outcomes.get(outcome).increment();
+
+        return new Decision<>(action, evaluation, outcome, System.nanoTime() - start);
+    }
+
+    /**
+     * @return number of decisions reached with the outcome so far
+     */
+    public long getCount(final DecisionOutcome outcome) {
+        return outcomes.get(outcome).sum();
+    }
+
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("DecisionScheduler [completed=%d, degraded=%d, fallback=%d]",
+                getCount(COMPLETED), getCount(DEGRADED), getCount(FALLBACK));
+    }
+}
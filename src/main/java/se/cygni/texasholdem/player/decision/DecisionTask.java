@@ -0,0 +1,36 @@
+package se.cygni.texasholdem.player.decision;
+
+/**
+ * The expensive part of a decision, run on a worker of the {@link DecisionScheduler}. It only evaluates,
+ * choosing the action from the evaluation is left to the calling thread, so the task must not touch
+ * anything the game events change.
+ *
+ * @param <T> the evaluation, e.g. the ranking of the hand
+ */
+@FunctionalInterface
+public interface DecisionTask<T> {
+
+    /**
+     * @param provisional where to offer evaluations good enough to use if the deadline hits before this
+     *                    returns, later offers replace earlier ones
+     * @return the final evaluation
+     * @throws Exception if the evaluation fails or is interrupted, the scheduler then uses what it has
+     */
+    T decide(Provisional<T> provisional) throws Exception;
+
+    /**
+     * Latest provisional evaluation of a running task.
+     */
+    final class Provisional<T> {
+
+        private volatile T evaluation;
+
+        public void offer(T evaluation) {
+            this.evaluation = evaluation;
+        }
+
+        T get() {
+            return evaluation;
+        }
+    }
+}
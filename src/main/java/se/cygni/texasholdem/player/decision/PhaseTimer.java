@@ -0,0 +1,42 @@
+package se.cygni.texasholdem.player.decision;
+
+import se.cygni.texasholdem.game.definitions.PlayState;
+
+/**
+ * Times the phases of one decision on one thread. A phase may come back, e.g. the strategy is asked once
+ * for a provisional answer and once more for the final, its laps are added up and recorded as one
+ * duration when the timer is finished.
+ */
+public final class PhaseTimer {
+
+    private final DecisionLatency latency;
+    private final PlayState street;
+    private final long[] elapsed = new long[DecisionPhase.values().length];
+    private long mark;
+
+    PhaseTimer(DecisionLatency latency, PlayState street) {
+        this.latency = latency;
+        this.street = street;
+        this.mark = System.nanoTime();
+    }
+
+    /**
+     * Adds the time since the previous lap, or since the timer was started, to the phase.
+     */
+    public void lap(final DecisionPhase phase) {
+        final long now = System.nanoTime();
+        elapsed[phase.ordinal()] += now - mark;
+        mark = now;
+    }
+
+    /**
+     * Records every phase that had a lap.
+     */
+    public void finish() {
+        for (DecisionPhase phase : DecisionPhase.values()) {
+            if (elapsed[phase.ordinal()] > 0) {
+                latency.record(street, phase, elapsed[phase.ordinal()]);
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package se.cygni.texasholdem.player.decision;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.springframework.util.Assert.notNull;
+
+/**
+ * Work started ahead of the action request it is for, while the opponents think. The work is identified
+ * by a key, e.g. the cards it was started for, and a decision only takes the result if the key still
+ * matches.
+ * <p/>
+ * One speculation runs at a time, starting another cancels it.
+ */
+public class Speculation<V> {
+
+    private final static Logger LOG = LoggerFactory.getLogger(Speculation.class);
+
+    private final ExecutorService executor;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    private long key;
+    private Future<V> future;
+
+    public Speculation(ExecutorService executor) {
+        notNull(executor, "'executor' cannot be null");
+        this.executor = executor;
+    }
+
+    /**
+     * @return speculation on a single daemon thread
+     */
+    public static <V> Speculation<V> onDaemonThread() {
+        return new Speculation<>(Executors.newSingleThreadExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "speculation");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    /**
+     * Starts the work unless work for the same key is already started.
+     */
+    public synchronized void start(final long key, final Callable<V> work) {
+        notNull(work, "'work' cannot be null");
+        if (future != null && this.key == key) {
+            return;
+        }
+        cancel();
+        this.key = key;
+        this.future = executor.submit(work);
+    }
+
+    public synchronized void cancel() {
+        if (future != null) {
+            if (future.cancel(true)) {
+                LOG.debug("Cancelled speculation still running");
+            }
+            future = null;
+        }
+    }
+
+    /**
+     * Cancels what is running and stops the executor, nothing can be started after.
+     */
+    public synchronized void shutdown() {
+        cancel();
+        executor.shutdownNow();
+    }
+
+    /**
+     * Waits for the work started for the key.
+     *
+     * @return the result, null if no work was started for the key or it failed
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public V join(final long key) throws InterruptedException {
+
+        final Future<V> started;
+        synchronized (this) {
+            started = this.key == key ? future : null;
+        }
+        if (started == null) {
+            misses.increment();
+            return null;
+        }
+
+        try {
+            final V result = started.get();
+            hits.increment();
+            return result;
+        } catch (ExecutionException | CancellationException e) {
+            LOG.debug("Speculation didn't finish", e);
+            misses.increment();
+            return null;
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Speculation [hits=%d, misses=%d]", getHits(), getMisses());
+    }
+}
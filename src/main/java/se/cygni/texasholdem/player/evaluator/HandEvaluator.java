@@ -0,0 +1,56 @@
+package se.cygni.texasholdem.player.evaluator;
+
+import se.cygni.texasholdem.game.Hand;
+import se.cygni.texasholdem.player.utils.CardMask;
+import se.cygni.texasholdem.player.utils.HandStrength;
+
+/**
+ * Evaluates the best poker hand of five to seven cards given as a {@link CardMask}.
+ */
+public interface HandEvaluator {
+
+    /**
+     * @param cardMask five to seven cards
+     * @return packed {@link HandStrength}, a higher value is a better hand
+     */
+    int evaluate(long cardMask);
+
+    /**
+     * Incremental evaluation starts from this state and adds one card at a time with
+     * {@link #addCard(long, int)}. By default the state is just the {@link CardMask} of the cards added,
+     * evaluators that can carry partial work from card to card keep that instead.
+     *
+     * @return the state of no cards
+     */
+    default long emptyState() {
+        return CardMask.EMPTY;
+    }
+
+    /**
+     * @param state state of the cards added so far
+     * @param id    card id not yet added
+     * @return the state with the card added
+     */
+    default long addCard(long state, int id) {
+        return state | CardMask.bit(id);
+    }
+
+    /**
+     * @param state state of five to seven cards
+     * @return packed {@link HandStrength} of the cards added
+     */
+    default int evaluateState(long state) {
+        return evaluate(state);
+    }
+
+    /**
+     * Resolves the five cards behind a strength. Not meant for the hot path, use it for logging or
+     * when the cards of the hand are actually needed.
+     *
+     * @param cardMask five to seven cards
+     * @return the best hand
+     */
+    default Hand getBestHand(long cardMask) {
+        return HandStrength.toHand(cardMask, evaluate(cardMask));
+    }
+}
@@ -0,0 +1,56 @@
+package se.cygni.texasholdem.player.evaluator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+import static java.lang.System.getProperty;
+
+/**
+ * The selectable hand evaluators. The engine is picked with the system property <code>evaluator</code>,
+ * the state graph table is read from <code>evaluatorTable</code>, where the <code>evaluator-table</code>
+ * profile writes it by default.
+ */
+public enum HandEvaluatorEngine {
+
+    REFERENCE {
+        @Override
+        public HandEvaluator create() {
+            return new ReferenceHandEvaluator();
+        }
+    },
+
+    LOOKUP {
+        @Override
+        public HandEvaluator create() {
+            return LookupHandEvaluator.getInstance();
+        }
+    },
+
+    STATE_GRAPH {
+        @Override
+        public HandEvaluator create() {
+            final String table = getProperty("evaluatorTable", StateGraphHandEvaluator.DEFAULT_TABLE);
+            try {
+                return StateGraphHandEvaluator.load(Paths.get(table));
+            } catch (IOException | IllegalStateException e) {
+                LOG.warn("{} is selected but its table [{}] can't be loaded, falling back to {}. Generate it with "
+                        + "mvn -Pevaluator-table process-classes or give it in evaluatorTable: {}",
+                        this, table, LOOKUP, e.toString());
+                return LOOKUP.create();
+            }
+        }
+    };
+
+    private final static Logger LOG = LoggerFactory.getLogger(HandEvaluatorEngine.class);
+
+    public abstract HandEvaluator create();
+
+    public static HandEvaluator fromSystemProperties() {
+        final HandEvaluatorEngine engine = valueOf(getProperty("evaluator", LOOKUP.name()));
+        LOG.info("Using hand evaluator engine [{}]", engine);
+        return engine.create();
+    }
+}
@@ -0,0 +1,121 @@
+package se.cygni.texasholdem.player.evaluator;
+
+import se.cygni.texasholdem.player.utils.CardMask;
+import se.cygni.texasholdem.player.utils.PokerHandUtils;
+
+import static org.springframework.util.Assert.isTrue;
+
+/**
+ * Table driven evaluator of five to seven cards.
+ * <p/>
+ * Flushes are looked up by the 13 bit rank set of the suit holding five or more cards. Everything
+ * else only depends on the multiset of ranks, which is mapped to a dense index with the combinatorial
+ * number system: the ranks sorted ascending <code>r1 &lt;= ... &lt;= rn</code> are made strictly
+ * increasing by adding the position and the index is <code>sum C(ri + i - 1, i)</code>. That gives a
+ * perfect hash of 6188, 18564 and 50388 entries for five, six and seven cards.
+ * <p/>
+ * The tables are filled once from {@link PokerHandUtils#getHandStrength(long)} so both always agree.
+ * Instances are stateless and thread safe.
+ */
+public class LookupHandEvaluator implements HandEvaluator {
+
+    private static final int MIN_CARDS = 5;
+    private static final int MAX_CARDS = 7;
+
+    /** BINOMIAL[n * (MAX_CARDS + 1) + k] = C(n, k) for the n and k the rank index needs. */
+    private static final int[] BINOMIAL = new int[(CardMask.RANKS + MAX_CARDS) * (MAX_CARDS + 1)];
+
+    private static final int[] FLUSHES = new int[1 << CardMask.RANKS];
+    private static final int[][] RANK_MULTISETS = new int[MAX_CARDS + 1][];
+
+    private static final LookupHandEvaluator INSTANCE = new LookupHandEvaluator();
+
+    static {
+        for (int n = 0; n < CardMask.RANKS + MAX_CARDS; n++) {
+            for (int k = 0; k <= MAX_CARDS; k++) {
+                BINOMIAL[n * (MAX_CARDS + 1) + k] = binomial(n, k);
+            }
+        }
+
+        for (int rankSet = 0; rankSet < FLUSHES.length; rankSet++) {
+            if (Integer.bitCount(rankSet) >= MIN_CARDS) {
+                FLUSHES[rankSet] = PokerHandUtils.getHandStrength(rankSet);
+            }
+        }
+
+        final int[] ranks = new int[MAX_CARDS];
+        for (int cards = MIN_CARDS; cards <= MAX_CARDS; cards++) {
+            RANK_MULTISETS[cards] = new int[binomial(CardMask.RANKS - 1 + cards, cards)];
+            fillRankMultisets(cards, 0, 0, ranks);
+        }
+    }
+
+    public static LookupHandEvaluator getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public int evaluate(final long cardMask) {
+
+        final int cards = Long.bitCount(cardMask);
+        isTrue(cards >= MIN_CARDS && cards <= MAX_CARDS, "can only evaluate five to seven cards");
+
+        final int clubs = CardMask.suitRanks(cardMask, 0);
+        final int diamonds = CardMask.suitRanks(cardMask, 1);
+        final int hearts = CardMask.suitRanks(cardMask, 2);
+        final int spades = CardMask.suitRanks(cardMask, 3);
+
+        // At most one suit can hold five of seven cards, the table is zero for smaller rank sets
+        final int flush = FLUSHES[clubs] | FLUSHES[diamonds] | FLUSHES[hearts] | FLUSHES[spades];
+
+        int index = 0;
+        int position = 0;
+        for (int rankSet = clubs | diamonds | hearts | spades; rankSet != 0; rankSet &= rankSet - 1) {
+            final int rank = Integer.numberOfTrailingZeros(rankSet);
+            final int bit = 1 << rank;
+            int count = ((clubs & bit) + (diamonds & bit) + (hearts & bit) + (spades & bit)) >>> rank;
+            while (count-- > 0) {
+                position++;
+                index += BINOMIAL[(rank + position - 1) * (MAX_CARDS + 1) + position];
+            }
+        }
+
+        return Math.max(flush, RANK_MULTISETS[cards][index]);
+    }
+
+    private static void fillRankMultisets(final int cards, final int position, final int lowestRank, final int[] ranks) {
+
+        if (position == cards) {
+            int index = 0;
+            long cardMask = 0;
+            for (int i = 0; i < cards; i++) {
+                index += binomial(ranks[i] + i, i + 1);
+                // consecutive positions get consecutive suits, so no suit holds more than two cards
+                cardMask |= CardMask.bit((i % CardMask.SUITS) * CardMask.RANKS + ranks[i]);
+            }
+            RANK_MULTISETS[cards][index] = PokerHandUtils.getHandStrength(cardMask);
+            return;
+        }
+
+        for (int rank = lowestRank; rank < CardMask.RANKS; rank++) {
+            // no more than four cards of a rank
+            if (position >= 4 && ranks[position - 4] == rank) {
+                continue;
+            }
+            ranks[position] = rank;
+            fillRankMultisets(cards, position + 1, rank, ranks);
+        }
+    }
+
+    private static int binomial(final int n, final int k) {
+
+        if (k < 0 || k > n) {
+            return 0;
+        }
+        long result = 1;
+        for (int i = 1; i <= k; i++) {
+            result = result * (n - k + i) / i;
+        }
+        return (int) result;
+    }
+}
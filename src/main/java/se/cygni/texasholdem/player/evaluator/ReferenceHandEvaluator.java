@@ -0,0 +1,28 @@
+package se.cygni.texasholdem.player.evaluator;
+
+import se.cygni.texasholdem.game.Card;
+import se.cygni.texasholdem.game.Hand;
+import se.cygni.texasholdem.player.utils.CardMask;
+import se.cygni.texasholdem.player.utils.PokerHandUtils;
+
+import java.util.List;
+
+import static java.util.Collections.emptyList;
+
+/**
+ * Evaluator straight on top of {@link PokerHandUtils}. Slowest of the engines but the one the others are
+ * checked against.
+ */
+public class ReferenceHandEvaluator implements HandEvaluator {
+
+    @Override
+    public int evaluate(final long cardMask) {
+        return PokerHandUtils.getHandStrength(cardMask);
+    }
+
+    @Override
+    public Hand getBestHand(final long cardMask) {
+        final List<Card> cards = CardMask.cards(cardMask);
+        return new PokerHandUtils(cards, emptyList()).getBestHand();
+    }
+}
@@ -0,0 +1,211 @@
+package se.cygni.texasholdem.player.evaluator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import se.cygni.texasholdem.player.utils.CardMask;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * Generates the table read by {@link StateGraphHandEvaluator}.
+ * <p/>
+ * A state is the set of cards seen so far, identified by a key of one byte per card sorted descending,
+ * rank in the high nibble and suit in the low. Once a suit can no longer reach five cards out of seven
+ * its suit is dropped from the key, which folds all those states together and keeps the graph at about
+ * 613 000 states of up to six cards.
+ * <p/>
+ * Run with the target file as argument, the <code>evaluator-table</code> Maven profile does it as part of
+ * the build. Takes in the order of half a minute and writes about 130 MB.
+ */
+public final class StateGraphGenerator {
+
+    private final static Logger LOG = LoggerFactory.getLogger(StateGraphGenerator.class);
+
+    static final int MAGIC = 0x50484752;
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 16;
+    static final int STATE_SIZE = CardMask.CARDS + 1;
+
+    private static final int MAX_CARDS = 7;
+
+    private final HandEvaluator handEvaluator = LookupHandEvaluator.getInstance();
+    private final int[] scratch = new int[MAX_CARDS + 1];
+
+    public static void main(String... args) throws IOException {
+        final Path target = Paths.get(args.length > 0 ? args[0] : StateGraphHandEvaluator.DEFAULT_TABLE);
+        new StateGraphGenerator().generate(target);
+    }
+
+    public void generate(final Path target) throws IOException {
+
+        final long start = System.currentTimeMillis();
+        final long[] states = enumerateStates();
+        LOG.info("Enumerated [{}] states in {} ms", states.length, System.currentTimeMillis() - start);
+
+        final long bytes = HEADER_BYTES + 4L * states.length * STATE_SIZE;
+        try (FileChannel channel = FileChannel.open(target, CREATE, TRUNCATE_EXISTING, READ, WRITE)) {
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(states.length).putInt(0);
+
+            for (final long state : states) {
+                final int cards = cardCount(state);
+                buffer.putInt(cards >= 5 ? handEvaluator.evaluate(toCardMask(state)) : 0);
+
+                for (int card = 0; card < CardMask.CARDS; card++) {
+                    final long next = nextState(state, card);
+                    if (next == 0) {
+                        buffer.putInt(0);
+                    } else if (cards + 1 == MAX_CARDS) {
+                        buffer.putInt(handEvaluator.evaluate(toCardMask(next)));
+                    } else {
+                        buffer.putInt(Arrays.binarySearch(states, next) * STATE_SIZE);
+                    }
+                }
+            }
+            buffer.force();
+        }
+
+        LOG.info("Wrote [{}] bytes to [{}] in {} ms", bytes, target, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * @return all states of zero to six cards, sorted, the empty state first
+     */
+    long[] enumerateStates() {
+
+        long[] level = new long[]{0};
+        long[] all = level;
+        for (int cards = 1; cards < MAX_CARDS; cards++) {
+            long[] next = new long[level.length * CardMask.CARDS];
+            int size = 0;
+            for (final long state : level) {
+                for (int card = 0; card < CardMask.CARDS; card++) {
+                    final long key = nextState(state, card);
+                    if (key != 0) {
+                        next[size++] = key;
+                    }
+                }
+            }
+            level = unique(next, size);
+
+            final long[] merged = Arrays.copyOf(all, all.length + level.length);
+            System.arraycopy(level, 0, merged, all.length, level.length);
+            all = merged;
+        }
+        Arrays.sort(all);
+        return all;
+    }
+
+    /**
+     * @return the key of the state reached by adding the card, 0 if the card can't be added
+     */
+    long nextState(final long state, final int card) {
+
+        final int newCard = ((CardMask.rank(card) + 1) << 4) | (CardMask.suit(card) + 1);
+        int cards = 0;
+        for (long key = state; key != 0; key >>>= 8) {
+            final int existing = (int) (key & 0xFF);
+            if (existing == newCard) {
+                return 0;
+            }
+            scratch[cards++] = existing;
+        }
+        scratch[cards++] = newCard;
+
+        final int[] rankCount = new int[CardMask.RANKS + 1];
+        final int[] suitCount = new int[CardMask.SUITS + 1];
+        for (int i = 0; i < cards; i++) {
+            if (++rankCount[scratch[i] >>> 4] > 4) {
+                return 0;
+            }
+            suitCount[scratch[i] & 0xF]++;
+        }
+
+        // a suit holding fewer cards than this can't be a flush once seven cards are dealt
+        final int needSuited = cards - 2;
+        if (needSuited > 1) {
+            for (int i = 0; i < cards; i++) {
+                if (suitCount[scratch[i] & 0xF] < needSuited) {
+                    scratch[i] &= 0xF0;
+                }
+            }
+        }
+
+        Arrays.sort(scratch, 0, cards);
+        long key = 0;
+        for (int i = 0; i < cards; i++) {
+            key = (key << 8) | scratch[i];
+        }
+        return key;
+    }
+
+    /**
+     * Turns a key back into cards. Cards whose suit was dropped get a suit of their own rank not yet
+     * used, preferring suits the key doesn't hold, so they never complete a flush.
+     */
+    static long toCardMask(final long state) {
+
+        long mask = 0;
+        int keptSuits = 0;
+        for (long key = state; key != 0; key >>>= 8) {
+            final int suit = (int) (key & 0xF);
+            if (suit != 0) {
+                mask |= CardMask.bit((suit - 1) * CardMask.RANKS + (int) ((key >>> 4) & 0xF) - 1);
+                keptSuits |= 1 << (suit - 1);
+            }
+        }
+
+        for (long key = state; key != 0; key >>>= 8) {
+            if ((key & 0xF) != 0) {
+                continue;
+            }
+            final int rank = (int) ((key >>> 4) & 0xF) - 1;
+            int best = -1;
+            for (int suit = 0; suit < CardMask.SUITS; suit++) {
+                if (CardMask.contains(mask, suit * CardMask.RANKS + rank)) {
+                    continue;
+                }
+                if (best < 0 || better(mask, keptSuits, suit, best)) {
+                    best = suit;
+                }
+            }
+            mask |= CardMask.bit(best * CardMask.RANKS + rank);
+        }
+        return mask;
+    }
+
+    private static boolean better(final long mask, final int keptSuits, final int suit, final int than) {
+
+        final boolean kept = (keptSuits & (1 << suit)) != 0;
+        final boolean thanKept = (keptSuits & (1 << than)) != 0;
+        if (kept != thanKept) {
+            return !kept;
+        }
+        return Integer.bitCount(CardMask.suitRanks(mask, suit)) < Integer.bitCount(CardMask.suitRanks(mask, than));
+    }
+
+    static int cardCount(final long state) {
+        return (64 - Long.numberOfLeadingZeros(state) + 7) / 8;
+    }
+
+    private static long[] unique(final long[] keys, final int size) {
+
+        Arrays.sort(keys, 0, size);
+        int unique = 0;
+        for (int i = 0; i < size; i++) {
+            if (unique == 0 || keys[unique - 1] != keys[i]) {
+                keys[unique++] = keys[i];
+            }
+        }
+        return Arrays.copyOf(keys, unique);
+    }
+}
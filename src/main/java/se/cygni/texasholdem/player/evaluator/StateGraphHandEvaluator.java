@@ -0,0 +1,97 @@
+package se.cygni.texasholdem.player.evaluator;
+
+import se.cygni.texasholdem.player.utils.CardMask;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
+import static java.nio.file.StandardOpenOption.READ;
+import static org.springframework.util.Assert.isTrue;
+import static org.springframework.util.Assert.state;
+import static se.cygni.texasholdem.player.evaluator.StateGraphGenerator.*;
+
+/**
+ * Evaluator walking a precomputed graph with one state per set of cards seen, see
+ * {@link StateGraphGenerator}. Evaluating seven cards is seven reads, one per card in any order.
+ * <p/>
+ * The table is memory mapped read only. It lives outside the heap and every JVM on the host mapping the
+ * same file shares it through the page cache.
+ */
+public class StateGraphHandEvaluator implements HandEvaluator {
+
+    /**
+     * Where the <code>evaluator-table</code> profile writes the table.
+     */
+    public static final String DEFAULT_TABLE = "target/handranks.dat";
+
+    private final IntBuffer table;
+
+    StateGraphHandEvaluator(final IntBuffer table) {
+        this.table = table;
+    }
+
+    /**
+     * Maps a table written by {@link StateGraphGenerator}.
+     *
+     * @param path table file
+     * @return evaluator backed by the file
+     * @throws IOException           if the file can't be mapped
+     * @throws IllegalStateException if the file isn't a whole table of this version
+     */
+    public static StateGraphHandEvaluator load(final Path path) throws IOException {
+
+        try (FileChannel channel = FileChannel.open(path, READ)) {
+            state(channel.size() >= HEADER_BYTES, "not a state graph table: " + path);
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+            state(buffer.getInt(0) == MAGIC, "not a state graph table: " + path);
+            state(buffer.getInt(4) == VERSION, "unsupported state graph table version: " + buffer.getInt(4));
+            final long states = buffer.getInt(8);
+            state(channel.size() == HEADER_BYTES + 4L * states * STATE_SIZE, "truncated state graph table: " + path);
+
+            buffer.position(HEADER_BYTES);
+            return new StateGraphHandEvaluator(buffer.slice().order(ByteOrder.LITTLE_ENDIAN).asIntBuffer());
+        }
+    }
+
+    @Override
+    public int evaluate(final long cardMask) {
+
+        final int cards = Long.bitCount(cardMask);
+        isTrue(cards >= 5 && cards <= 7, "can only evaluate five to seven cards");
+
+        int node = 0;
+        for (long remaining = cardMask; remaining != 0; remaining &= remaining - 1) {
+            node = table.get(node + 1 + Long.numberOfTrailingZeros(remaining));
+        }
+
+        // after seven cards the node is the strength, five and six card states keep it in the first slot
+        return cards == 7 ? node : table.get(node);
+    }
+
+    /**
+     * The state is the graph node in the low 32 bits and the number of cards added above it.
+     */
+    @Override
+    public long emptyState() {
+        return 0;
+    }
+
+    @Override
+    public long addCard(final long state, final int id) {
+        final int node = table.get((int) state + 1 + id);
+        return ((state >>> 32) + 1) << 32 | (node & 0xFFFFFFFFL);
+    }
+
+    @Override
+    public int evaluateState(final long state) {
+        final int cards = (int) (state >>> 32);
+        isTrue(cards >= 5 && cards <= 7, "can only evaluate five to seven cards");
+        return cards == 7 ? (int) state : table.get((int) state);
+    }
+}
@@ -0,0 +1,157 @@
+package se.cygni.texasholdem.player.journal;
+
+import se.cygni.texasholdem.communication.message.event.ShowDownEvent;
+import se.cygni.texasholdem.game.Action;
+import se.cygni.texasholdem.game.Card;
+import se.cygni.texasholdem.game.PlayerShowDown;
+import se.cygni.texasholdem.game.definitions.PlayState;
+import se.cygni.texasholdem.player.postflop.HandPotentialRanking;
+import se.cygni.texasholdem.player.postflop.HandRanking;
+import se.cygni.texasholdem.player.table.TableSnapshot;
+import se.cygni.texasholdem.player.utils.CardMask;
+
+import java.util.List;
+
+import static org.springframework.util.Assert.notNull;
+import static se.cygni.texasholdem.player.journal.RecordType.*;
+
+/**
+ * Records the hands played to a {@link Journal}, one record per event the bot sees and one per decision, see
+ * {@link RecordType} for what each holds. Called on the game event thread, the only thread writing to the
+ * journal.
+ */
+public class HandHistory {
+
+    private final Journal journal;
+
+    public HandHistory(Journal journal) {
+        notNull(journal, "'journal' cannot be null");
+        this.journal = journal;
+    }
+
+    public Journal getJournal() {
+        return journal;
+    }
+
+    /**
+     * @param table the table of the new hand
+     * @param round number of the hand in the session
+     */
+    public void onPlayStarted(final TableSnapshot table, final int round) {
+        final JournalRecord record = journal.claim(PLAY_STARTED);
+        if (record != null) {
+            record.seat(table.getMySeat())
+                    .byte0(table.getSeats())
+                    .byte1(table.getDealerSeat())
+                    .intValue(round)
+                    .long0(table.getTableId())
+                    .long1(table.getBigBlind());
+            journal.publish();
+        }
+
+        for (int seat = 0; seat < table.getSeats(); seat++) {
+            final JournalRecord player = journal.claim(SEAT);
+            if (player != null) {
+                player.seat(seat)
+                        .long0(table.getStack(seat))
+                        .payloadText(table.getPlayer(seat).getName());
+                journal.publish();
+            }
+        }
+    }
+
+    /**
+     * @param type {@link RecordType#POCKET_CARD} or {@link RecordType#COMMUNITY_CARD}
+     */
+    public void onCard(final RecordType type, final Card card) {
+        final JournalRecord record = journal.claim(type);
+        if (record != null) {
+            record.byte0(CardMask.id(card));
+            journal.publish();
+        }
+    }
+
+    public void onStreet(final PlayState street) {
+        final JournalRecord record = journal.claim(STREET);
+        if (record != null) {
+            record.byte0(street == null ? -1 : street.ordinal());
+            journal.publish();
+        }
+    }
+
+    /**
+     * @param type a blind or an action, from {@link RecordType#SMALL_BLIND} to {@link RecordType#QUIT}
+     * @param seat seat of the player
+     */
+    public void onAction(final RecordType type, final int seat, final long amount) {
+        final JournalRecord record = journal.claim(type);
+        if (record != null) {
+            record.seat(seat).long0(amount);
+            journal.publish();
+        }
+    }
+
+    public void onShowDown(final TableSnapshot table, final ShowDownEvent event) {
+        if (event.getPlayersShowDown() == null) {
+            return;
+        }
+        for (PlayerShowDown playerShowDown : event.getPlayersShowDown()) {
+            final JournalRecord record = journal.claim(SHOW_DOWN);
+            if (record == null) {
+                continue;
+            }
+            final se.cygni.texasholdem.game.Hand hand = playerShowDown.getHand();
+            record.seat(table.seatOf(playerShowDown.getPlayer()))
+                    .long0(playerShowDown.getWonAmount());
+            if (hand != null) {
+                record.byte0(hand.getPokerHand() == null ? 0 : hand.getPokerHand().ordinal() + 1)
+                        .byte1(hand.isFolded() ? 1 : 0);
+                final List<Card> cards = hand.getCards();
+                final int count = cards == null ? 0 : Math.min(cards.size(), JournalRecord.PAYLOAD_BYTES);
+                record.intValue(count);
+                for (int i = 0; i < count; i++) {
+                    record.payloadByte(i, CardMask.id(cards.get(i)));
+                }
+            }
+            journal.publish();
+        }
+    }
+
+    public void onWon(final long amount) {
+        final JournalRecord record = journal.claim(WON);
+        if (record != null) {
+            record.long0(amount);
+            journal.publish();
+        }
+    }
+
+    /**
+     * @param ranking the ranking the decision was made on, null before the flop or when not ranked in time
+     * @param nanos   time from the request to the answer
+     */
+    public void onDecision(final Action action, final HandRanking ranking, final long nanos) {
+        final JournalRecord record = journal.claim(DECISION);
+        if (record == null) {
+            return;
+        }
+        record.byte0(action.getActionType().ordinal())
+                .long0(action.getAmount())
+                .long1(nanos);
+        if (ranking != null) {
+            record.byte1(ranking.getHand().getPokerHand().ordinal() + 1)
+                    .intValue(ranking.getRankingValue())
+                    .payloadFloat(0, (float) ranking.getPercentile())
+                    .payloadFloat(1, ranking.getEquity() == null ? Float.NaN : (float) ranking.getEquity().getEquity())
+                    .payloadFloat(2, ranking.getEquity() == null ? Float.NaN : (float) ranking.getEquity().getStandardError())
+                    .payloadFloat(3, ranking.hasRangeStrength() ? (float) ranking.getRangeStrength() : Float.NaN);
+            if (ranking instanceof HandPotentialRanking) {
+                final HandPotentialRanking potential = (HandPotentialRanking) ranking;
+                record.payloadFloat(4, (float) potential.getPositivePotential())
+                        .payloadFloat(5, (float) potential.getNegativePotential());
+            } else {
+                record.payloadFloat(4, Float.NaN).payloadFloat(5, Float.NaN);
+            }
+        }
+        journal.publish();
+    }
+}
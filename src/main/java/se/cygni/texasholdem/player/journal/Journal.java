@@ -0,0 +1,277 @@
+package se.cygni.texasholdem.player.journal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static java.lang.Boolean.getBoolean;
+import static java.lang.Integer.getInteger;
+import static java.lang.System.getProperty;
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.springframework.util.Assert.isTrue;
+import static org.springframework.util.Assert.notNull;
+
+/**
+ * Fixed size {@link JournalRecord}s appended to memory mapped segment files by a background thread.
+ * <p/>
+ * Records are written into a ring of records on the heap, claimed and published by one thread, the game
+ * event thread. The writer thread copies what is published to the current segment and moves on to a new
+ * segment file when it is full, so appending is a few buffer writes and never waits on the disk. A full
+ * ring drops the record and counts it rather than holding up the game.
+ * <p/>
+ * A segment starts with a header the size of a record, after the last record it is zeros.
+ */
+public class Journal implements AutoCloseable {
+
+    private final static Logger LOG = LoggerFactory.getLogger(Journal.class);
+
+    public static final int DEFAULT_RING_RECORDS = 8192;
+    public static final int DEFAULT_SEGMENT_BYTES = 16 << 20;
+
+    static final int MAGIC = 0x4A524E4C;
+    static final int VERSION = 1;
+    static final String SEGMENT_PREFIX = "hands-";
+    static final String SEGMENT_SUFFIX = ".journal";
+
+    private static final long IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /**
+     * Never writes anything.
+     */
+    public static final Journal DISABLED = new Journal();
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final ByteBuffer ring;
+    private final int mask;
+    private final JournalRecord claimed = new JournalRecord();
+    private final JournalRecord copied = new JournalRecord();
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong consumed = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread writer;
+    private volatile boolean running;
+    private boolean claiming;
+
+    // writer thread only
+    private int segmentIndex;
+    private MappedByteBuffer segment;
+
+    private Journal() {
+        this.directory = null;
+        this.segmentBytes = 0;
+        this.ring = null;
+        this.mask = 0;
+        this.writer = null;
+    }
+
+    Journal(final Path directory, final int ringRecords, final int segmentBytes) throws IOException {
+        notNull(directory, "'directory' cannot be null");
+        isTrue(Integer.bitCount(ringRecords) == 1, "'ringRecords' must be a power of two");
+        isTrue(segmentBytes >= 2 * JournalRecord.BYTES, "'segmentBytes' must hold a header and a record");
+
+        this.directory = Files.createDirectories(directory);
+        this.segmentBytes = segmentBytes - segmentBytes % JournalRecord.BYTES;
+        this.ring = ByteBuffer.allocate(ringRecords * JournalRecord.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        this.mask = ringRecords - 1;
+        this.segmentIndex = lastSegmentIndex(directory);
+        this.running = true;
+        this.writer = new Thread(this::write, "journal-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Starts a journal writing segments to the directory, after those already there.
+     *
+     * @param directory    where the segments go, created if missing
+     * @param ringRecords  records waiting to be written before new ones are dropped, a power of two
+     * @param segmentBytes size of a segment file
+     * @return the journal
+     * @throws IOException if the directory can't be created
+     */
+    public static Journal open(final Path directory, final int ringRecords, final int segmentBytes)
+            throws IOException {
+        return new Journal(directory, ringRecords, segmentBytes);
+    }
+
+    /**
+     * A journal in <code>journalDirectory</code>, disabled unless the directory is given or if
+     * <code>journalDisabled</code> is set. Disabled if the directory can't be created.
+     */
+    public static Journal fromSystemProperties() {
+        final String directory = getProperty("journalDirectory");
+        if (directory == null || getBoolean("journalDisabled")) {
+            return DISABLED;
+        }
+        try {
+            return open(Paths.get(directory), getInteger("journalRingRecords", DEFAULT_RING_RECORDS),
+                    getInteger("journalSegmentBytes", DEFAULT_SEGMENT_BYTES));
+        } catch (IOException e) {
+            LOG.warn("Can't journal to [{}], hands won't be recorded: {}", directory, e.toString());
+            return DISABLED;
+        }
+    }
+
+    /**
+     * Claims the next record in the ring, to be filled in and then {@link #publish() published}. Only one
+     * thread may claim.
+     *
+     * @return the cleared record, null if the ring is full or the journal disabled or closed
+     */
+    public JournalRecord claim(final RecordType type) {
+        if (!running) {
+            return null;
+        }
+        final long position = published.get();
+        if (position - consumed.get() > mask) {
+            dropped.incrementAndGet();
+            return null;
+        }
+        claiming = true;
+        return claimed.wrap(ring, offset(position)).reset(type, System.currentTimeMillis());
+    }
+
+    /**
+     * Hands the claimed record over to the writer.
+     */
+    public void publish() {
+        if (claiming) {
+            claiming = false;
+            published.lazySet(published.get() + 1);
+        }
+    }
+
+    /**
+     * Waits for the records published so far to be in the page cache.
+     *
+     * @return false if they weren't within the timeout
+     */
+    public boolean flush(final long timeoutMillis) {
+        final long target = published.get();
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (consumed.get() < target) {
+            if (!running || System.nanoTime() > deadline) {
+                return consumed.get() >= target;
+            }
+            LockSupport.parkNanos(IDLE_NANOS);
+        }
+        return true;
+    }
+
+    /**
+     * @return records dropped because the writer didn't keep up
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    public boolean isEnabled() {
+        return writer != null;
+    }
+
+    /**
+     * Writes what's published, forces the last segment to disk and stops the writer.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        if (writer == null || !running) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join();
+    }
+
+    private void write() {
+        try {
+            while (true) {
+                final long available = published.get();
+                long position = consumed.get();
+                if (position == available) {
+                    if (!running) {
+                        break;
+                    }
+                    LockSupport.parkNanos(IDLE_NANOS);
+                    continue;
+                }
+                for (; position < available; position++) {
+                    if (segment == null || segment.remaining() < JournalRecord.BYTES) {
+                        nextSegment();
+                    }
+                    copied.wrap(ring, offset(position)).copyTo(segment, segment.position());
+                    segment.position(segment.position() + JournalRecord.BYTES);
+                    consumed.lazySet(position + 1);
+                }
+            }
+            if (segment != null) {
+                segment.force();
+            }
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Journal writer stopped, hands are no longer recorded", e);
+            running = false;
+        }
+    }
+
+    private void nextSegment() throws IOException {
+        if (segment != null) {
+            segment.force();
+        }
+        Path path;
+        while (true) {
+            path = directory.resolve(String.format("%s%06d%s", SEGMENT_PREFIX, ++segmentIndex, SEGMENT_SUFFIX));
+            try (FileChannel channel = FileChannel.open(path, CREATE_NEW, READ, WRITE)) {
+                segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+                break;
+            } catch (FileAlreadyExistsException e) {
+                // taken by another journal in the directory, bots at a simulated table all journal
+            }
+        }
+        segment.order(ByteOrder.LITTLE_ENDIAN);
+        segment.putInt(0, MAGIC).putInt(4, VERSION).putInt(8, JournalRecord.BYTES);
+        segment.putLong(16, System.currentTimeMillis());
+        segment.position(JournalRecord.BYTES);
+        LOG.debug("Journal segment [{}]", path);
+    }
+
+    private int offset(final long position) {
+        return (int) (position & mask) * JournalRecord.BYTES;
+    }
+
+    private static int lastSegmentIndex(final Path directory) throws IOException {
+        int last = 0;
+        try (DirectoryStream<Path> segments = Files.newDirectoryStream(directory,
+                SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path segment : segments) {
+                final String name = segment.getFileName().toString();
+                try {
+                    last = Math.max(last, Integer.parseInt(
+                            name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())));
+                } catch (NumberFormatException e) {
+                    // not one of ours
+                }
+            }
+        }
+        return last;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("journal: %d records, %d dropped", published.get(), dropped.get());
+    }
+}
@@ -0,0 +1,69 @@
+package se.cygni.texasholdem.player.journal;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static java.nio.file.StandardOpenOption.READ;
+import static org.springframework.util.Assert.state;
+import static se.cygni.texasholdem.player.journal.Journal.*;
+
+/**
+ * Reads back what a {@link Journal} wrote, for analysis after the session. The segment is mapped and the
+ * records are handed over one by one through the same {@link JournalRecord} view, copy what is kept.
+ */
+public final class JournalReader {
+
+    private JournalReader() {
+    }
+
+    /**
+     * @return the segments in the directory, oldest first
+     */
+    public static List<Path> segments(final Path directory) throws IOException {
+        final List<Path> segments = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory,
+                SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            stream.forEach(segments::add);
+        }
+        Collections.sort(segments);
+        return segments;
+    }
+
+    /**
+     * Hands every record in the segment to the consumer.
+     *
+     * @return number of records read
+     */
+    public static int read(final Path segment, final Consumer<JournalRecord> consumer) throws IOException {
+
+        final MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(segment, READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        state(buffer.getInt(0) == MAGIC, "not a journal segment: " + segment);
+        state(buffer.getInt(4) == VERSION, "unsupported journal version: " + buffer.getInt(4));
+        state(buffer.getInt(8) == JournalRecord.BYTES, "unsupported journal record size: " + buffer.getInt(8));
+
+        final JournalRecord record = new JournalRecord();
+        int records = 0;
+        for (int offset = JournalRecord.BYTES; offset + JournalRecord.BYTES <= buffer.capacity();
+             offset += JournalRecord.BYTES) {
+            if (record.wrap(buffer, offset).getType() == null) {
+                break;
+            }
+            consumer.accept(record);
+            records++;
+        }
+        return records;
+    }
+}
@@ -0,0 +1,179 @@
+package se.cygni.texasholdem.player.journal;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A view of one fixed layout record in a buffer, moved from record to record rather than created per record.
+ * <pre>
+ *  0 long  time, milliseconds since the epoch
+ *  8 byte  {@link RecordType} code
+ *  9 byte  seat, -1 for none
+ * 10 byte  byte 0
+ * 11 byte  byte 1
+ * 12 int   int
+ * 16 long  long 0
+ * 24 long  long 1
+ * 32       payload, 32 bytes
+ * </pre>
+ * What the fields mean depends on the type, see {@link RecordType}.
+ */
+public final class JournalRecord {
+
+    public static final int BYTES = 64;
+    public static final int PAYLOAD_BYTES = 32;
+
+    private static final int TIME = 0;
+    private static final int TYPE = 8;
+    private static final int SEAT = 9;
+    private static final int BYTE_0 = 10;
+    private static final int BYTE_1 = 11;
+    private static final int INT = 12;
+    private static final int LONG_0 = 16;
+    private static final int LONG_1 = 24;
+    private static final int PAYLOAD = 32;
+
+    private ByteBuffer buffer;
+    private int offset;
+
+    JournalRecord wrap(final ByteBuffer buffer, final int offset) {
+        this.buffer = buffer;
+        this.offset = offset;
+        return this;
+    }
+
+    /**
+     * Clears the record for a new one of the type.
+     */
+    JournalRecord reset(final RecordType type, final long time) {
+        for (int i = 0; i < BYTES; i += 8) {
+            buffer.putLong(offset + i, 0);
+        }
+        buffer.putLong(offset + TIME, time);
+        buffer.put(offset + TYPE, (byte) type.getCode());
+        buffer.put(offset + SEAT, (byte) -1);
+        return this;
+    }
+
+    void copyTo(final ByteBuffer target, final int targetOffset) {
+        for (int i = 0; i < BYTES; i += 8) {
+            target.putLong(targetOffset + i, buffer.getLong(offset + i));
+        }
+    }
+
+    public long getTime() {
+        return buffer.getLong(offset + TIME);
+    }
+
+    /**
+     * @return the type, null past the last record
+     */
+    public RecordType getType() {
+        return RecordType.of(buffer.get(offset + TYPE));
+    }
+
+    public int getSeat() {
+        return buffer.get(offset + SEAT);
+    }
+
+    public JournalRecord seat(final int seat) {
+        buffer.put(offset + SEAT, (byte) seat);
+        return this;
+    }
+
+    public int getByte0() {
+        return buffer.get(offset + BYTE_0);
+    }
+
+    public JournalRecord byte0(final int value) {
+        buffer.put(offset + BYTE_0, (byte) value);
+        return this;
+    }
+
+    public int getByte1() {
+        return buffer.get(offset + BYTE_1);
+    }
+
+    public JournalRecord byte1(final int value) {
+        buffer.put(offset + BYTE_1, (byte) value);
+        return this;
+    }
+
+    public int getInt() {
+        return buffer.getInt(offset + INT);
+    }
+
+    public JournalRecord intValue(final int value) {
+        buffer.putInt(offset + INT, value);
+        return this;
+    }
+
+    public long getLong0() {
+        return buffer.getLong(offset + LONG_0);
+    }
+
+    public JournalRecord long0(final long value) {
+        buffer.putLong(offset + LONG_0, value);
+        return this;
+    }
+
+    public long getLong1() {
+        return buffer.getLong(offset + LONG_1);
+    }
+
+    public JournalRecord long1(final long value) {
+        buffer.putLong(offset + LONG_1, value);
+        return this;
+    }
+
+    /**
+     * @param index 0 to 31
+     */
+    public int getPayloadByte(final int index) {
+        return buffer.get(offset + PAYLOAD + index);
+    }
+
+    public JournalRecord payloadByte(final int index, final int value) {
+        buffer.put(offset + PAYLOAD + index, (byte) value);
+        return this;
+    }
+
+    /**
+     * @param index 0 to 7
+     */
+    public float getPayloadFloat(final int index) {
+        return buffer.getFloat(offset + PAYLOAD + 4 * index);
+    }
+
+    public JournalRecord payloadFloat(final int index, final float value) {
+        buffer.putFloat(offset + PAYLOAD + 4 * index, value);
+        return this;
+    }
+
+    /**
+     * Writes the text one byte per character, as much as fits in the payload. Characters outside Latin-1
+     * become '?'.
+     */
+    public JournalRecord payloadText(final String text) {
+        final int length = Math.min(text.length(), PAYLOAD_BYTES);
+        for (int i = 0; i < length; i++) {
+            final char c = text.charAt(i);
+            buffer.put(offset + PAYLOAD + i, (byte) (c <= 0xFF ? c : '?'));
+        }
+        return this;
+    }
+
+    /**
+     * Reads the payload written by {@link #payloadText(String)}, allocates the string.
+     */
+    public String getPayloadText() {
+        final StringBuilder text = new StringBuilder(PAYLOAD_BYTES);
+        for (int i = 0; i < PAYLOAD_BYTES; i++) {
+            final int c = buffer.get(offset + PAYLOAD + i) & 0xFF;
+            if (c == 0) {
+                break;
+            }
+            text.append((char) c);
+        }
+        return text.toString();
+    }
+}
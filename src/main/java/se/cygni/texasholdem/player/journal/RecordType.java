@@ -0,0 +1,77 @@
+package se.cygni.texasholdem.player.journal;
+
+/**
+ * What a {@link JournalRecord} holds. The code written is the ordinal plus one, zero marks the end of the
+ * records in a segment.
+ */
+public enum RecordType {
+
+    /**
+     * A hand starts: int round, long table id and big blind, seat is mine, byte 0 the number of seats and
+     * byte 1 the dealer's seat. A {@link #SEAT} record per seat follows.
+     */
+    PLAY_STARTED,
+
+    /**
+     * A player in the hand: long stack, the name in the payload.
+     */
+    SEAT,
+
+    /**
+     * One of my pocket cards: byte 0 the card id.
+     */
+    POCKET_CARD,
+
+    /**
+     * byte 0 the card id.
+     */
+    COMMUNITY_CARD,
+
+    /**
+     * byte 0 the ordinal of the new street.
+     */
+    STREET,
+
+    /**
+     * long 0 the amount, for every blind and action below.
+     */
+    SMALL_BLIND,
+    BIG_BLIND,
+    CHECK,
+    CALL,
+    RAISE,
+    ALL_IN,
+    FOLD,
+    QUIT,
+
+    /**
+     * A player in the show down: long 0 the amount won, byte 0 the poker hand ordinal plus one, byte 1 one if
+     * folded, int the number of cards and the card ids in the payload.
+     */
+    SHOW_DOWN,
+
+    /**
+     * long 0 the amount I won.
+     */
+    WON,
+
+    /**
+     * My decision: byte 0 the action type ordinal, long 0 the amount, long 1 the nanos to decide. With a
+     * ranking byte 1 is its poker hand ordinal plus one, the int its ranking value and the payload floats
+     * percentile, equity, standard error, range strength, positive and negative potential.
+     */
+    DECISION;
+
+    private static final RecordType[] TYPES = values();
+
+    public int getCode() {
+        return ordinal() + 1;
+    }
+
+    /**
+     * @return the type written as the code, null for the end of the records
+     */
+    public static RecordType of(final int code) {
+        return code <= 0 || code > TYPES.length ? null : TYPES[code - 1];
+    }
+}
@@ -0,0 +1,50 @@
+package se.cygni.texasholdem.player.postflop;
+
+import static java.lang.Integer.getInteger;
+import static org.springframework.util.Assert.isTrue;
+
+/**
+ * Upper bounds for one equity calculation, whichever is hit first ends the sampling. A precision, the
+ * standard error to settle for, lets sampling that checks it stop before the other bounds are hit.
+ */
+public class EquityBudget {
+
+    private final int samples;
+    private final long millis;
+    private final double precision;
+
+    public EquityBudget(int samples, long millis) {
+        this(samples, millis, 0);
+    }
+
+    public EquityBudget(int samples, long millis, double precision) {
+        isTrue(samples > 0, "'samples' must be positive");
+        isTrue(millis > 0, "'millis' must be positive");
+        isTrue(precision >= 0, "'precision' cannot be negative");
+        this.samples = samples;
+        this.millis = millis;
+        this.precision = precision;
+    }
+
+    /**
+     * @return budget from the system properties <code>equitySamples</code> and <code>equityMillis</code>
+     */
+    public static EquityBudget fromSystemProperties() {
+        return new EquityBudget(getInteger("equitySamples", 20000), getInteger("equityMillis", 50));
+    }
+
+    public int getSamples() {
+        return samples;
+    }
+
+    public long getMillis() {
+        return millis;
+    }
+
+    /**
+     * @return standard error at which sampling may stop early, 0 to always use the whole budget
+     */
+    public double getPrecision() {
+        return precision;
+    }
+}
@@ -0,0 +1,112 @@
+package se.cygni.texasholdem.player.postflop;
+
+/**
+ * Outcome of an equity calculation. A tie between k players is worth 1/k of the pot, so the equity is
+ * the win probability plus the split share of the ties.
+ */
+public class EquityResult {
+
+    private static final double Z_95 = 1.96;
+
+    private final int opponents;
+    private final long samples;
+    private final double win;
+    private final double tie;
+    private final double equity;
+    private final double standardError;
+    private final long elapsedNanos;
+
+    public EquityResult(int opponents, long samples, long wins, long ties, double equity, double standardError,
+                        long elapsedNanos) {
+        this.opponents = opponents;
+        this.samples = samples;
+        this.win = samples == 0 ? 0 : (double) wins / samples;
+        this.tie = samples == 0 ? 0 : (double) ties / samples;
+        this.equity = equity;
+        this.standardError = standardError;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    private EquityResult(int opponents, long samples, double win, double tie, double equity, long elapsedNanos) {
+        this.opponents = opponents;
+        this.samples = samples;
+        this.win = win;
+        this.tie = tie;
+        this.equity = equity;
+        this.standardError = 0;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Result of a full enumeration, where every outcome counts with its own weight so the shares are
+     * fractions of the total weight rather than of the sample count.
+     *
+     * @param samples number of outcomes enumerated
+     * @param win     weighted share of the outcomes won outright
+     * @param tie     weighted share of the outcomes split
+     */
+    public static EquityResult exact(int opponents, long samples, double win, double tie, double equity,
+                                     long elapsedNanos) {
+        return new EquityResult(opponents, samples, win, tie, equity, elapsedNanos);
+    }
+
+    public int getOpponents() {
+        return opponents;
+    }
+
+    public long getSamples() {
+        return samples;
+    }
+
+    public double getWin() {
+        return win;
+    }
+
+    public double getTie() {
+        return tie;
+    }
+
+    public double getLoss() {
+        return samples == 0 ? 0 : 1 - win - tie;
+    }
+
+    public double getEquity() {
+        return equity;
+    }
+
+    public double getStandardError() {
+        return standardError;
+    }
+
+    /**
+     * @return lower bound of the 95% confidence interval of the equity
+     */
+    public double getLowerBound() {
+        return Math.max(0, equity - Z_95 * standardError);
+    }
+
+    /**
+     * @return upper bound of the 95% confidence interval of the equity
+     */
+    public double getUpperBound() {
+        return Math.min(1, equity + Z_95 * standardError);
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * @return the share of the pot that would be mine if everyone got an equal part
+     */
+    public double getFairShare() {
+        return 1.0 / (opponents + 1);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("equity %.3f [%.3f, %.3f] vs %d, win %.3f tie %.3f loss %.3f, %d samples in %d us",
+                equity, getLowerBound(), getUpperBound(), opponents, getWin(), getTie(), getLoss(), samples,
+                elapsedNanos / 1000);
+    }
+}
@@ -0,0 +1,10 @@
+package se.cygni.texasholdem.player.postflop;
+
+import se.cygni.texasholdem.game.Card;
+
+import java.util.List;
+
+public interface EquityService {
+
+    EquityResult getEquity(List<Card> pocketCards, List<Card> communityCards, int opponents, EquityBudget budget);
+}
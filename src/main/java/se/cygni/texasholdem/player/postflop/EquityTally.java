@@ -0,0 +1,54 @@
+package se.cygni.texasholdem.player.postflop;
+
+/**
+ * Running sums of one or more chunks of equity samples.
+ */
+final class EquityTally {
+
+    private long samples;
+    private long wins;
+    private long ties;
+    private double equity;
+    private double equitySquared;
+
+    void add(final double share, final boolean win, final boolean tie) {
+        samples++;
+        equity += share;
+        equitySquared += share * share;
+        if (win) {
+            wins++;
+        } else if (tie) {
+            ties++;
+        }
+    }
+
+    EquityTally merge(final EquityTally other) {
+        samples += other.samples;
+        wins += other.wins;
+        ties += other.ties;
+        equity += other.equity;
+        equitySquared += other.equitySquared;
+        return this;
+    }
+
+    long getSamples() {
+        return samples;
+    }
+
+    double getStandardError() {
+        if (samples == 0) {
+            return 0.5;
+        }
+        final double mean = equity / samples;
+        final double variance = Math.max(0, equitySquared / samples - mean * mean);
+        return Math.sqrt(variance / samples);
+    }
+
+    EquityResult toResult(final int opponents, final long elapsedNanos) {
+
+        if (samples == 0) {
+            return new EquityResult(opponents, 0, 0, 0, 1.0 / (opponents + 1), 0.5, elapsedNanos);
+        }
+        return new EquityResult(opponents, samples, wins, ties, equity / samples, getStandardError(), elapsedNanos);
+    }
+}
@@ -2,42 +2,53 @@ package se.cygni.texasholdem.player.postflop;
 
 import se.cygni.texasholdem.game.Card;
 import se.cygni.texasholdem.game.definitions.PokerHand;
+import se.cygni.texasholdem.player.utils.CardMask;
 
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 
 import static org.springframework.util.StringUtils.collectionToCommaDelimitedString;
 
+/**
+ * A best hand with a precomputed sort key. The {@link PokerHand} order value is kept from bit 20 and up
+ * and the ranks of the cards four bits each below it, first card first. Comparing two hands is a single
+ * compare of the keys.
+ */
 public class Hand implements Comparable<Hand> {
 
+    private static final int CATEGORY_SHIFT = 20;
+
     private final se.cygni.texasholdem.game.Hand hand;
+    private final long key;
+    private final long pokerHandMask;
 
     public Hand(se.cygni.texasholdem.game.Hand hand) {
         this.hand = hand;
+
+        final List<Card> cards = hand.getCards();
+        final int cardsRequired = hand.getPokerHand().getCardsRequired();
+        long key = 0;
+        long pokerHandMask = CardMask.EMPTY;
+        for (int i = 0; i < cards.size(); i++) {
+            final Card card = cards.get(i);
+            key = key << 4 | card.getRank().getOrderValue();
+            if (i < cardsRequired) {
+                pokerHandMask |= CardMask.mask(card);
+            }
+        }
+        this.key = ((long) hand.getPokerHand().getOrderValue() << CATEGORY_SHIFT) | key << ((5 - cards.size()) << 2);
+        this.pokerHandMask = pokerHandMask;
     }
 
     @Override
     public int compareTo(Hand other) {
+        return Long.compare(key, other.key);
+    }
 
-        if (this == other) {
-            return 0;
-        }
-        final se.cygni.texasholdem.game.Hand otherHand = other.hand;
-
-        int result = hand.getPokerHand().getOrderValue() - otherHand.getPokerHand().getOrderValue();
-        if (result == 0) {
-            for (int i = 0; i < hand.getCards().size(); i++) {
-                Card card = hand.getCards().get(i);
-                Card otherCard = otherHand.getCards().get(i);
-                result = card.getRank().getOrderValue() - otherCard.getRank().getOrderValue();
-                if (result != 0) {
-                    break;
-                }
-            }
-        }
-
-        return result;
+    /**
+     * @return the packed key the hand is ordered by
+     */
+    public long getKey() {
+        return key;
     }
 
     /**
@@ -47,17 +58,31 @@ public class Hand implements Comparable<Hand> {
      * @return number of pocket cards present in this hand
      */
     public int getNumberOfPocketCardsInPokerHand(final List<Card> pocketCards) {
+        return getNumberOfPocketCardsInPokerHand(CardMask.mask(pocketCards));
+    }
 
-        Set<Card> rankingSet = new HashSet<>(pocketCards);
-        rankingSet.retainAll(hand.getCards().subList(0, hand.getPokerHand().getCardsRequired()));
-
-        return rankingSet.size();
+    /**
+     * @param pocketCards pocket cards as a {@link CardMask}
+     * @return number of pocket cards present in this hand
+     */
+    public int getNumberOfPocketCardsInPokerHand(final long pocketCards) {
+        return Long.bitCount(pokerHandMask & pocketCards);
     }
 
     public PokerHand getPokerHand() {
         return hand.getPokerHand();
     }
 
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof Hand && ((Hand) other).key == key;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(key);
+    }
+
     @Override
     public String toString() {
         return String.format("%s : %s", hand.getPokerHand(), collectionToCommaDelimitedString(hand.getCards()));
@@ -0,0 +1,188 @@
+package se.cygni.texasholdem.player.postflop;
+
+import se.cygni.texasholdem.player.evaluator.HandEvaluator;
+import se.cygni.texasholdem.player.utils.CardMask;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import static org.springframework.util.Assert.notNull;
+import static org.springframework.util.Assert.state;
+
+/**
+ * Exact hand potential on the flop or turn: every turn and river runout against every opponent pocket
+ * card combination, about a million evaluations on the flop.
+ * <p/>
+ * The runouts are the outer loop so my hand is evaluated once per runout. They are split in ranges run
+ * on a fork/join pool, every range counting into its own 3x3 matrix of where the opponent stands now
+ * versus at the river. The ranges stop when the thread that asked is interrupted, which then gets a
+ * {@link CancellationException} rather than a potential from part of the runouts.
+ */
+public class HandPotentialCalculator {
+
+    private static final byte AHEAD = 0;
+    private static final byte TIED = 1;
+    private static final byte BEHIND = 2;
+
+    private static final int RUNOUTS_PER_TASK = 32;
+
+    private final HandEvaluator handEvaluator;
+    private final ForkJoinPool pool;
+
+    public HandPotentialCalculator(HandEvaluator handEvaluator, ForkJoinPool pool) {
+        notNull(handEvaluator, "'handEvaluator' cannot be null");
+        notNull(pool, "'pool' cannot be null");
+        this.handEvaluator = handEvaluator;
+        this.pool = pool;
+    }
+
+    /**
+     * @param ranking ranking of my hand on the current board
+     * @param pocket  my pocket cards
+     * @param board   three or four community cards
+     * @return the ranking extended with its potential
+     * @throws CancellationException if the calling thread is interrupted
+     */
+    public HandPotentialRanking calculate(final HandRanking ranking, final long pocket, final long board) {
+
+        final int boardCards = Long.bitCount(board);
+        state(boardCards == 3 || boardCards == 4, "potential is only calculated on the flop and turn");
+
+        final long dead = pocket | board;
+        final int[] live = new int[CardMask.CARDS - Long.bitCount(dead)];
+        int n = 0;
+        for (long remaining = ~dead & CardMask.FULL_DECK; remaining != 0; remaining &= remaining - 1) {
+            live[n++] = Long.numberOfTrailingZeros(remaining);
+        }
+
+        // every opponent combination with where it stands against me now
+        final int myStrength = handEvaluator.evaluate(dead);
+        final long[] opponents = new long[n * (n - 1) / 2];
+        final byte[] standing = new byte[opponents.length];
+        int combos = 0;
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                opponents[combos] = CardMask.bit(live[i]) | CardMask.bit(live[j]);
+                standing[combos] = compare(myStrength, handEvaluator.evaluate(board | opponents[combos]));
+                combos++;
+            }
+        }
+
+        // the rest of the board, two cards on the flop and one on the turn
+        final long[] runouts;
+        if (boardCards == 3) {
+            runouts = opponents;
+        } else {
+            runouts = new long[n];
+            for (int i = 0; i < n; i++) {
+                runouts[i] = CardMask.bit(live[i]);
+            }
+        }
+
+        final Thread caller = Thread.currentThread();
+        final long[] counts = pool.invoke(new RunoutTask(
+                new Runouts(pocket, board, runouts, opponents, standing, caller), 0, runouts.length));
+        if (caller.isInterrupted()) {
+            throw new CancellationException("Hand potential interrupted");
+        }
+
+        final double behindAhead = count(counts, BEHIND, AHEAD);
+        final double behindTied = count(counts, BEHIND, TIED);
+        final double tiedAhead = count(counts, TIED, AHEAD);
+        final double aheadBehind = count(counts, AHEAD, BEHIND);
+        final double tiedBehind = count(counts, TIED, BEHIND);
+        final double aheadTied = count(counts, AHEAD, TIED);
+
+        final double positiveTotal = total(counts, BEHIND) + total(counts, TIED) / 2;
+        final double negativeTotal = total(counts, AHEAD) + total(counts, TIED) / 2;
+
+        final double positivePotential = positiveTotal == 0 ? 0 :
+                (behindAhead + behindTied / 2 + tiedAhead / 2) / positiveTotal;
+        final double negativePotential = negativeTotal == 0 ? 0 :
+                (aheadBehind + tiedBehind / 2 + aheadTied / 2) / negativeTotal;
+
+        return new HandPotentialRanking(ranking, positivePotential, negativePotential);
+    }
+
+    private static byte compare(final int mine, final int theirs) {
+        return mine > theirs ? AHEAD : mine == theirs ? TIED : BEHIND;
+    }
+
+    private static long count(final long[] counts, final int now, final int river) {
+        return counts[now * 3 + river];
+    }
+
+    private static long total(final long[] counts, final int now) {
+        return counts[now * 3] + counts[now * 3 + 1] + counts[now * 3 + 2];
+    }
+
+    /**
+     * What every task shares, read only.
+     */
+    private final class Runouts {
+
+        private final long pocket;
+        private final long board;
+        private final long[] runouts;
+        private final long[] opponents;
+        private final byte[] standing;
+        private final Thread caller;
+
+        Runouts(long pocket, long board, long[] runouts, long[] opponents, byte[] standing, Thread caller) {
+            this.pocket = pocket;
+            this.board = board;
+            this.runouts = runouts;
+            this.opponents = opponents;
+            this.standing = standing;
+            this.caller = caller;
+        }
+
+        long[] count(final int from, final int to) {
+
+            final long[] counts = new long[9];
+            for (int r = from; r < to && !caller.isInterrupted(); r++) {
+                final long river = board | runouts[r];
+                final int mine = handEvaluator.evaluate(pocket | river);
+                for (int o = 0; o < opponents.length; o++) {
+                    if ((opponents[o] & river) != 0) {
+                        continue;
+                    }
+                    counts[standing[o] * 3 + compare(mine, handEvaluator.evaluate(river | opponents[o]))]++;
+                }
+            }
+            return counts;
+        }
+    }
+
+    private final class RunoutTask extends RecursiveTask<long[]> {
+
+        private final Runouts runouts;
+        private final int from;
+        private final int to;
+
+        RunoutTask(Runouts runouts, int from, int to) {
+            this.runouts = runouts;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected long[] compute() {
+
+            if (to - from <= RUNOUTS_PER_TASK) {
+                return runouts.count(from, to);
+            }
+
+            final int middle = (from + to) >>> 1;
+            final RunoutTask left = new RunoutTask(runouts, from, middle);
+            left.fork();
+            final long[] counts = new RunoutTask(runouts, middle, to).compute();
+            final long[] leftCounts = left.join();
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] += leftCounts[i];
+            }
+            return counts;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package se.cygni.texasholdem.player.postflop;
+
+/**
+ * A {@link HandRanking} on the flop or turn extended with how it may change with the cards to come.
+ * <p/>
+ * The positive potential is the chance of being ahead at the river when behind now, the negative
+ * potential the chance of falling behind when ahead now, ties counting half. The effective hand strength
+ * combines them with the current strength: <code>HS * (1 - NPot) + (1 - HS) * PPot</code>.
+ */
+public class HandPotentialRanking extends HandRanking {
+
+    private final double positivePotential;
+    private final double negativePotential;
+
+    public HandPotentialRanking(HandRanking ranking, double positivePotential, double negativePotential) {
+        this(ranking, positivePotential, negativePotential, ranking.getEquity(), ranking.getRangeStrength());
+    }
+
+    private HandPotentialRanking(HandRanking ranking, double positivePotential, double negativePotential,
+                                 EquityResult equity, double rangeStrength) {
+        super(ranking.getHand(), ranking.getBetter(), ranking.getTied(), ranking.getWorse(),
+                ranking.getPocketCardsInPokerHand(), equity, rangeStrength);
+        this.positivePotential = positivePotential;
+        this.negativePotential = negativePotential;
+    }
+
+    @Override
+    protected HandRanking copy(EquityResult equity, double rangeStrength) {
+        return new HandPotentialRanking(this, positivePotential, negativePotential, equity, rangeStrength);
+    }
+
+    /**
+     * @return the current hand strength, same as the percentile
+     */
+    public double getHandStrength() {
+        return getPercentile();
+    }
+
+    public double getPositivePotential() {
+        return positivePotential;
+    }
+
+    public double getNegativePotential() {
+        return negativePotential;
+    }
+
+    public double getEffectiveHandStrength() {
+        final double handStrength = getHandStrength();
+        return handStrength * (1 - negativePotential) + (1 - handStrength) * positivePotential;
+    }
+}
@@ -1,19 +1,87 @@
 package se.cygni.texasholdem.player.postflop;
 
+/**
+ * How my hand compares to every pocket card combination an opponent could hold on the current board.
+ */
 public class HandRanking {
 
     private final Hand hand;
-    private final int rankingValue;
+    private final int better;
+    private final int tied;
+    private final int worse;
     private final int pocketCardsInPokerHand;
+    private final EquityResult equity;
+    private final double rangeStrength;
 
-    public HandRanking(Hand hand, int rankingValue, int pocketCardsInPokerHand) {
+    public HandRanking(Hand hand, int better, int tied, int worse, int pocketCardsInPokerHand) {
+        this(hand, better, tied, worse, pocketCardsInPokerHand, null, Double.NaN);
+    }
+
+    protected HandRanking(Hand hand, int better, int tied, int worse, int pocketCardsInPokerHand, EquityResult equity,
+                          double rangeStrength) {
         this.hand = hand;
-        this.rankingValue = rankingValue;
+        this.better = better;
+        this.tied = tied;
+        this.worse = worse;
         this.pocketCardsInPokerHand = pocketCardsInPokerHand;
+        this.equity = equity;
+        this.rangeStrength = rangeStrength;
+    }
+
+    /**
+     * @param equity equity against the opponents still in the round
+     * @return a copy of this ranking carrying the equity
+     */
+    public HandRanking withEquity(EquityResult equity) {
+        return copy(equity, rangeStrength);
+    }
+
+    /**
+     * @param rangeStrength percentile against the combinations weighted by what the opponents may hold
+     * @return a copy of this ranking carrying the range strength
+     */
+    public HandRanking withRangeStrength(double rangeStrength) {
+        return copy(equity, rangeStrength);
     }
 
+    /**
+     * Subclasses keep their own fields when the ranking is extended.
+     */
+    protected HandRanking copy(EquityResult equity, double rangeStrength) {
+        return new HandRanking(hand, better, tied, worse, pocketCardsInPokerHand, equity, rangeStrength);
+    }
+
+    /**
+     * @return the percentile as an int between 0 and 100, against the opponents' ranges when known
+     */
     public int getRankingValue() {
-        return rankingValue;
+        return (int) ((hasRangeStrength() ? rangeStrength : getPercentile()) * 100);
+    }
+
+    /**
+     * Share of the opponent combinations my hand beats, counting a tie as half a win.
+     *
+     * @return value between 0 and 1
+     */
+    public double getPercentile() {
+        final int combinations = getCombinations();
+        return combinations == 0 ? 1.0 : (worse + tied / 2.0) / combinations;
+    }
+
+    public int getBetter() {
+        return better;
+    }
+
+    public int getTied() {
+        return tied;
+    }
+
+    public int getWorse() {
+        return worse;
+    }
+
+    public int getCombinations() {
+        return better + tied + worse;
     }
 
     public Hand getHand() {
@@ -24,4 +92,22 @@ public class HandRanking {
         return pocketCardsInPokerHand;
     }
 
+    /**
+     * @return equity against the opponents still in the round, null if not calculated
+     */
+    public EquityResult getEquity() {
+        return equity;
+    }
+
+    public boolean hasRangeStrength() {
+        return !Double.isNaN(rangeStrength);
+    }
+
+    /**
+     * @return share of the opponents' weighted combinations my hand beats, NaN if not known
+     */
+    public double getRangeStrength() {
+        return rangeStrength;
+    }
+
 }
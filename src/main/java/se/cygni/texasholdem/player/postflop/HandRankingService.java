@@ -9,5 +9,21 @@ public interface HandRankingService {
     int getCardsInRankingDeck();
     HandRanking getRanking(List<Card> pocketCards, List<Card> communityCards);
 
+    /**
+     * Ranking also weighted by what the opponents may hold, see {@link HandRanking#getRangeStrength()}.
+     *
+     * @param opponentWeights weight per {@link se.cygni.texasholdem.player.range.HandRange} combination
+     */
+    HandRanking getRanking(List<Card> pocketCards, List<Card> communityCards, float[] opponentWeights);
+
+    /**
+     * Carries the ranking work of this hand along as community cards are dealt, so the ranking
+     * requested later on the street is cheaper. Does nothing before the flop.
+     *
+     * @param pocketCards    my pocket cards
+     * @param communityCards community cards dealt so far
+     */
+    void prepare(List<Card> pocketCards, List<Card> communityCards);
+
     void resetDeck();
 }
@@ -1,23 +1,48 @@
 package se.cygni.texasholdem.player.postflop;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import se.cygni.texasholdem.game.Card;
 import se.cygni.texasholdem.game.Deck;
-import se.cygni.texasholdem.player.utils.PokerHandUtils;
+import se.cygni.texasholdem.player.evaluator.HandEvaluator;
+import se.cygni.texasholdem.player.evaluator.LookupHandEvaluator;
+import se.cygni.texasholdem.player.range.HandRange;
+import se.cygni.texasholdem.player.utils.CardMask;
+import se.cygni.texasholdem.player.utils.HandStrength;
 
-import java.util.*;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
-import static java.util.Arrays.asList;
 import static org.springframework.util.Assert.notNull;
 import static org.springframework.util.Assert.state;
 
 public class HandRankingServiceImpl implements HandRankingService {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(HandRankingServiceImpl.class);
+
     private Set<Card> availableCards;
-    private final Map<Integer, HandRanking> cachedRanking;
+    private final RankingCache rankingCache;
+    private StreetRanking streetRanking;
+    private final HandEvaluator handEvaluator;
+    private final HandPotentialCalculator handPotentialCalculator;
 
     public HandRankingServiceImpl() {
+        this(LookupHandEvaluator.getInstance());
+    }
+
+    public HandRankingServiceImpl(HandEvaluator handEvaluator) {
+        this(handEvaluator, RankingCache.fromSystemProperties());
+    }
+
+    public HandRankingServiceImpl(HandEvaluator handEvaluator, RankingCache rankingCache) {
+        notNull(handEvaluator, "'handEvaluator' cannot be null");
+        notNull(rankingCache, "'rankingCache' cannot be null");
+        this.handEvaluator = handEvaluator;
+        this.handPotentialCalculator = new HandPotentialCalculator(handEvaluator, ForkJoinPool.commonPool());
         this.availableCards = getShuffledDeckOfCards();
-        this.cachedRanking = new HashMap<>();
+        this.rankingCache = rankingCache;
     }
 
     private Set<Card> getShuffledDeckOfCards() {
@@ -29,57 +54,94 @@ public class HandRankingServiceImpl implements HandRankingService {
         return newDeck;
     }
 
-    public void resetDeck() {
+    public synchronized void resetDeck() {
         availableCards = getShuffledDeckOfCards();
-        cachedRanking.clear();
+        streetRanking = null;
+        LOGGER.debug("{}", rankingCache);
     }
 
 
     @Override
-    public int getCardsInRankingDeck() {
+    public synchronized int getCardsInRankingDeck() {
         return availableCards.size();
     }
 
     @Override
-    public HandRanking getRanking(List<Card> pocketCards, List<Card> communityCards) {
+    public synchronized HandRanking getRanking(List<Card> pocketCards, List<Card> communityCards) {
         notNull(pocketCards, "'pocketCards' cannot be null");
         notNull(communityCards, "'communityCards' cannot be null");
         state(pocketCards.size() == 2, "should always contain two pocket cards");
         state(communityCards.size() > 2 && communityCards.size() < 6, "should always be between 2 and 5 cards");
 
-        // Have we calculated a ranking?
-        int numCards = pocketCards.size() + communityCards.size();
-        if (cachedRanking.containsKey(numCards)) {
-            return cachedRanking.get(numCards);
-        }
-
         availableCards.removeAll(communityCards);
         availableCards.removeAll(pocketCards);
 
-        // create a bunch of permutations of pocket cards from the available ones.
-        Card[] available = availableCards.toArray(new Card[0]);
-
-        List<Hand> hands = new LinkedList<>();
-        // Brute force of all other permutations of pocket cards.
-        for (int c1Idx = 0; c1Idx < available.length; c1Idx++) {
-            Card card1 = available[c1Idx];
-            for (int c2Idx = c1Idx + 1; c2Idx < available.length; c2Idx++) {
-                Card card2 = available[c2Idx];
-                hands.add(new Hand(new PokerHandUtils(communityCards, asList(card1, card2)).getBestHand()));
-            }
+        final long pocket = CardMask.mask(pocketCards);
+        final long board = CardMask.mask(communityCards);
+        final long myCards = board | pocket;
+        final int myStrength = handEvaluator.evaluate(myCards);
+        final Hand myHand = new Hand(HandStrength.toHand(myCards, myStrength));
+
+        // Have we calculated a ranking for these cards, in any suits?
+        final long key = RankingCache.key(pocket, board);
+        RankingCache.Entry counts = rankingCache.get(key);
+        if (counts == null) {
+            counts = calculate(pocket, board, myHand, communityCards.size() < 5);
+            rankingCache.put(key, counts);
         }
 
-        Hand myHand = new Hand(new PokerHandUtils(communityCards, pocketCards).getBestHand());
-        hands.add(myHand);
+        HandRanking handRanking = new HandRanking(myHand, counts.getBetter(), counts.getTied(), counts.getWorse(),
+                myHand.getNumberOfPocketCardsInPokerHand(pocket));
+        if (counts.hasPotential()) {
+            handRanking = new HandPotentialRanking(handRanking, counts.getPositivePotential(), counts.getNegativePotential());
+        }
+        return handRanking;
+    }
 
-        Collections.sort(hands);
-        int i = hands.indexOf(myHand);
+    @Override
+    public synchronized HandRanking getRanking(List<Card> pocketCards, List<Card> communityCards,
+                                               float[] opponentWeights) {
+        notNull(opponentWeights, "'opponentWeights' cannot be null");
+        state(opponentWeights.length == HandRange.COMBOS, "should hold a weight for every combination");
+
+        final HandRanking ranking = getRanking(pocketCards, communityCards);
+        final double rangeStrength = streetRanking(CardMask.mask(pocketCards), CardMask.mask(communityCards))
+                .weightedStrength(opponentWeights);
+        return Double.isNaN(rangeStrength) ? ranking : ranking.withRangeStrength(rangeStrength);
+    }
 
-        int ranking = ((int) ((double) i / hands.size() * 100));
+    @Override
+    public synchronized void prepare(List<Card> pocketCards, List<Card> communityCards) {
+        notNull(pocketCards, "'pocketCards' cannot be null");
+        notNull(communityCards, "'communityCards' cannot be null");
+        if (pocketCards.size() == 2 && communityCards.size() >= 3) {
+            streetRanking(CardMask.mask(pocketCards), CardMask.mask(communityCards));
+        }
+    }
 
-        HandRanking handRanking = new HandRanking(myHand, ranking, myHand.getNumberOfPocketCardsInPokerHand(pocketCards));
-        cachedRanking.put(numCards, handRanking);
+    /**
+     * @return the ranking state of this hand brought up to the board, started over if it can't be
+     */
+    private StreetRanking streetRanking(long pocket, long board) {
+        if (streetRanking == null || !streetRanking.canReach(pocket, board)) {
+            streetRanking = new StreetRanking(handEvaluator, pocket, board);
+        } else {
+            streetRanking.advanceTo(board);
+        }
+        return streetRanking;
+    }
 
-        return handRanking;
+    private RankingCache.Entry calculate(long pocket, long board, Hand myHand, boolean cardsToCome) {
+
+        final RankingCache.Entry counts = streetRanking(pocket, board).count();
+
+        // With cards still to come, run them all out to see how the ranking may change
+        if (!cardsToCome) {
+            return counts;
+        }
+        final HandPotentialRanking potential = handPotentialCalculator.calculate(
+                new HandRanking(myHand, counts.getBetter(), counts.getTied(), counts.getWorse(), 0), pocket, board);
+        return new RankingCache.Entry(counts.getBetter(), counts.getTied(), counts.getWorse(),
+                potential.getPositivePotential(), potential.getNegativePotential());
     }
 }
@@ -0,0 +1,180 @@
+package se.cygni.texasholdem.player.postflop;
+
+import se.cygni.texasholdem.game.Card;
+import se.cygni.texasholdem.player.evaluator.HandEvaluator;
+import se.cygni.texasholdem.player.evaluator.LookupHandEvaluator;
+import se.cygni.texasholdem.player.utils.CardMask;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import static org.springframework.util.Assert.isTrue;
+import static org.springframework.util.Assert.notNull;
+import static org.springframework.util.Assert.state;
+
+/**
+ * Estimates my equity against a number of opponents holding random cards by dealing out the rest of the
+ * board and the opponent pocket cards over and over.
+ * <p/>
+ * The samples are split in chunks run on a fork/join pool. Every chunk has its own {@link SplittableRandom}
+ * and its own copy of the live cards, cards are drawn by a partial shuffle of that array so sampling
+ * doesn't allocate. Chunks check the wall clock every few samples and stop when the budget is spent, or
+ * when the thread that asked for the equity is interrupted, which then gets a {@link CancellationException}.
+ */
+public class MonteCarloEquityService implements EquityService {
+
+    private static final int CHUNK = 1024;
+    private static final int CLOCK_CHECK_MASK = 63;
+
+    private final HandEvaluator handEvaluator;
+    private final ForkJoinPool pool;
+    private final SplittableRandom seed;
+
+    public MonteCarloEquityService() {
+        this(LookupHandEvaluator.getInstance(), ForkJoinPool.commonPool(), new SplittableRandom());
+    }
+
+    public MonteCarloEquityService(HandEvaluator handEvaluator, ForkJoinPool pool, SplittableRandom seed) {
+        notNull(handEvaluator, "'handEvaluator' cannot be null");
+        notNull(pool, "'pool' cannot be null");
+        notNull(seed, "'seed' cannot be null");
+        this.handEvaluator = handEvaluator;
+        this.pool = pool;
+        this.seed = seed;
+    }
+
+    @Override
+    public EquityResult getEquity(List<Card> pocketCards, List<Card> communityCards, int opponents, EquityBudget budget) {
+        notNull(pocketCards, "'pocketCards' cannot be null");
+        notNull(communityCards, "'communityCards' cannot be null");
+        notNull(budget, "'budget' cannot be null");
+        state(pocketCards.size() == 2, "should always contain two pocket cards");
+        state(communityCards.size() <= 5, "should never be more than 5 community cards");
+        isTrue(opponents > 0 && opponents < 23, "'opponents' must be between 1 and 22");
+
+        final long start = System.nanoTime();
+        final long pocket = CardMask.mask(pocketCards);
+        final long board = CardMask.mask(communityCards);
+
+        final int[] live = new int[CardMask.CARDS - Long.bitCount(pocket | board)];
+        state(live.length >= 5 - communityCards.size() + 2 * opponents, "not enough cards left to deal");
+        int n = 0;
+        for (long remaining = ~(pocket | board) & CardMask.FULL_DECK; remaining != 0; remaining &= remaining - 1) {
+            live[n++] = Long.numberOfTrailingZeros(remaining);
+        }
+
+        final SplittableRandom random;
+        synchronized (seed) {
+            random = seed.split();
+        }
+
+        final Thread caller = Thread.currentThread();
+        final Sampler sampler = new Sampler(pocket, board, opponents, live, start + budget.getMillis() * 1_000_000L,
+                caller);
+        final EquityTally tally = pool.invoke(new SampleTask(sampler, budget.getSamples(), random));
+        if (caller.isInterrupted()) {
+            throw new CancellationException("Equity sampling interrupted");
+        }
+
+        return tally.toResult(opponents, System.nanoTime() - start);
+    }
+
+    /**
+     * What every chunk shares, read only.
+     */
+    private final class Sampler {
+
+        private final long pocket;
+        private final long board;
+        private final int boardCardsMissing;
+        private final int opponents;
+        private final int[] live;
+        private final long deadline;
+        private final Thread caller;
+
+        Sampler(long pocket, long board, int opponents, int[] live, long deadline, Thread caller) {
+            this.pocket = pocket;
+            this.board = board;
+            this.boardCardsMissing = 5 - Long.bitCount(board);
+            this.opponents = opponents;
+            this.live = live;
+            this.deadline = deadline;
+            this.caller = caller;
+        }
+
+        EquityTally sample(final int samples, final SplittableRandom random) {
+
+            final EquityTally tally = new EquityTally();
+            final int[] deck = live.clone();
+
+            for (int sample = 0; sample < samples; sample++) {
+                if ((sample & CLOCK_CHECK_MASK) == 0 && (System.nanoTime() > deadline || caller.isInterrupted())) {
+                    break;
+                }
+
+                // draw by swapping the picked card out of the range still to draw from
+                int top = deck.length;
+                long runout = board;
+                for (int i = 0; i < boardCardsMissing; i++) {
+                    final int pick = random.nextInt(top--);
+                    final int card = deck[pick];
+                    deck[pick] = deck[top];
+                    deck[top] = card;
+                    runout |= CardMask.bit(card);
+                }
+
+                final int mine = handEvaluator.evaluate(pocket | runout);
+                int tiedWith = 0;
+                boolean lost = false;
+                for (int opponent = 0; opponent < opponents && !lost; opponent++) {
+                    long cards = runout;
+                    for (int i = 0; i < 2; i++) {
+                        final int pick = random.nextInt(top--);
+                        final int card = deck[pick];
+                        deck[pick] = deck[top];
+                        deck[top] = card;
+                        cards |= CardMask.bit(card);
+                    }
+                    final int theirs = handEvaluator.evaluate(cards);
+                    if (theirs > mine) {
+                        lost = true;
+                    } else if (theirs == mine) {
+                        tiedWith++;
+                    }
+                }
+
+                tally.add(lost ? 0 : 1.0 / (tiedWith + 1), !lost && tiedWith == 0, !lost && tiedWith > 0);
+            }
+            return tally;
+        }
+    }
+
+    private final class SampleTask extends RecursiveTask<EquityTally> {
+
+        private final Sampler sampler;
+        private final int samples;
+        private final SplittableRandom random;
+
+        SampleTask(Sampler sampler, int samples, SplittableRandom random) {
+            this.sampler = sampler;
+            this.samples = samples;
+            this.random = random;
+        }
+
+        @Override
+        protected EquityTally compute() {
+
+            if (samples <= CHUNK) {
+                return sampler.sample(samples, random);
+            }
+
+            final SampleTask left = new SampleTask(sampler, samples / 2, random.split());
+            left.fork();
+            final EquityTally right = new SampleTask(sampler, samples - samples / 2, random).compute();
+            return right.merge(left.join());
+        }
+    }
+}
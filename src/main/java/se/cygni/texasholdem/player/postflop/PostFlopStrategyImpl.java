@@ -49,10 +49,8 @@ public class PostFlopStrategyImpl implements PostFlopStrategy {
         if (of(ROYAL_FLUSH, FOUR_OF_A_KIND).contains(ranking.getHand().getPokerHand())) {
             logger.debug("Unbeatable hand. Let's raise if possible otherwise go all-in");
             Action action = chooseInOrderFrom(actionMap, RAISE, ALL_IN, CALL, CHECK, FOLD);
-            if (action.getActionType() == RAISE) {
-                action.setAmount(action.getAmount() * 2);
-            }
-            return action;
+            // a new action, the possible actions may be asked about again
+            return action.getActionType() == RAISE ? new Action(RAISE, action.getAmount() * 2) : action;
         }
 
         // Läs på om "Effective stack"
@@ -64,10 +62,28 @@ public class PostFlopStrategyImpl implements PostFlopStrategy {
         }
 
         if (pocketCardsInPokerHand == 0) {
+            // A draw may still be worth the price of seeing the next card
+            if (ranking instanceof HandPotentialRanking && actionMap.containsKey(CALL)) {
+                HandPotentialRanking potential = (HandPotentialRanking) ranking;
+                long toCall = actionMap.get(CALL).getAmount();
+                double potOdds = (double) toCall / (playState.getPotTotal() + toCall);
+                if (potential.getPositivePotential() >= potOdds) {
+                    logger.debug("None of pocket cards is part of poker hand but positive potential [{}] covers pot odds [{}]. Lets call.",
+                            potential.getPositivePotential(), potOdds);
+                    return chooseInOrderFrom(actionMap, CHECK, CALL, FOLD);
+                }
+            }
             logger.debug("None of pocket cards is part of poker hand. Lets get out of this.");
             return chooseInOrderFrom(actionMap, CHECK, FOLD);
         }
 
+        // The ranking is against a single opponent, in a multi-way pot the equity tells more
+        EquityResult equity = ranking.getEquity();
+        if (equity != null && equity.getOpponents() > 1 && equity.getUpperBound() < equity.getFairShare()) {
+            logger.debug("Got {} which is below a fair share of [{}]. Lets get out of this.", equity, equity.getFairShare());
+            return chooseInOrderFrom(actionMap, CHECK, FOLD);
+        }
+
         int calculatedRating = ranking.getRankingValue() + (pocketCardsInPokerHand * pocketCardsInPokerHand);
         long chipRatio = gameStatistics.getChipRatio();
         if (calculatedRating <= 60) {
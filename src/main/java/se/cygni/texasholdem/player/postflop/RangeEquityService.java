@@ -0,0 +1,22 @@
+package se.cygni.texasholdem.player.postflop;
+
+import se.cygni.texasholdem.game.Card;
+
+import java.util.List;
+
+/**
+ * Equity of one range of pocket cards against the ranges of one or more opponents. A range is a weight
+ * per combination indexed as in {@link se.cygni.texasholdem.player.range.HandRange}, as kept by the
+ * {@link se.cygni.texasholdem.player.range.RangeTracker} or given by
+ * {@link se.cygni.texasholdem.player.range.HandRange#toWeights()}.
+ */
+public interface RangeEquityService {
+
+    EquityResult getEquity(float[] hero, List<float[]> villains, List<Card> communityCards, EquityBudget budget);
+
+    /**
+     * @param board community cards as a {@link se.cygni.texasholdem.player.utils.CardMask}, for callers
+     *              running many matchups that already hold the board as a mask
+     */
+    EquityResult getEquity(float[] hero, List<float[]> villains, long board, EquityBudget budget);
+}
@@ -0,0 +1,422 @@
+package se.cygni.texasholdem.player.postflop;
+
+import se.cygni.texasholdem.game.Card;
+import se.cygni.texasholdem.player.evaluator.HandEvaluator;
+import se.cygni.texasholdem.player.evaluator.LookupHandEvaluator;
+import se.cygni.texasholdem.player.range.HandRange;
+import se.cygni.texasholdem.player.utils.CardMask;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import static org.springframework.util.Assert.isTrue;
+import static org.springframework.util.Assert.notNull;
+import static org.springframework.util.Assert.state;
+
+/**
+ * Range against range equity, exact when the runouts are few and sampled otherwise.
+ * <p/>
+ * Combinations holding a board card are dropped up front and the rest kept as masks, so whether two
+ * players can hold their combinations at the same time is a single and of two masks.
+ * <p/>
+ * Heads up with at most two board cards to come and no more than {@link #EXACT_LIMIT} matchups over all
+ * runouts, every runout is enumerated. A runout evaluates each live combination of both ranges once and
+ * then compares all pairs, weighted by the product of their weights. The runouts are split in ranges run
+ * on a fork/join pool.
+ * <p/>
+ * Otherwise combinations are drawn by weight from a cumulative weight table per range, a deal where two
+ * players would share a card is drawn again from the start and the board is completed with random cards.
+ * Sampling runs in rounds on the pool until the sample or time budget is spent, or the standard error is
+ * down to the precision of the budget.
+ */
+public class RangeEquityServiceImpl implements RangeEquityService {
+
+    static final long EXACT_LIMIT = 20_000_000L;
+
+    private static final int RUNOUTS_PER_TASK = 8;
+    private static final int CHUNK = 1024;
+    private static final int ROUND = 16 * CHUNK;
+    private static final int CLOCK_CHECK_MASK = 63;
+    private static final int MAX_DEALS = 100;
+
+    private final HandEvaluator handEvaluator;
+    private final ForkJoinPool pool;
+    private final SplittableRandom seed;
+
+    public RangeEquityServiceImpl() {
+        this(LookupHandEvaluator.getInstance(), ForkJoinPool.commonPool(), new SplittableRandom());
+    }
+
+    public RangeEquityServiceImpl(HandEvaluator handEvaluator, ForkJoinPool pool, SplittableRandom seed) {
+        notNull(handEvaluator, "'handEvaluator' cannot be null");
+        notNull(pool, "'pool' cannot be null");
+        notNull(seed, "'seed' cannot be null");
+        this.handEvaluator = handEvaluator;
+        this.pool = pool;
+        this.seed = seed;
+    }
+
+    @Override
+    public EquityResult getEquity(final float[] hero, final List<float[]> villains, final List<Card> communityCards,
+                                  final EquityBudget budget) {
+        notNull(communityCards, "'communityCards' cannot be null");
+        state(communityCards.size() <= 5, "should never be more than 5 community cards");
+        return getEquity(hero, villains, CardMask.mask(communityCards), budget);
+    }
+
+    @Override
+    public EquityResult getEquity(final float[] hero, final List<float[]> villains, final long board,
+                                  final EquityBudget budget) {
+        notNull(hero, "'hero' cannot be null");
+        notNull(villains, "'villains' cannot be null");
+        notNull(budget, "'budget' cannot be null");
+        isTrue(!villains.isEmpty() && villains.size() < 23, "'villains' must hold between 1 and 22 ranges");
+        state(Long.bitCount(board) <= 5, "should never be more than 5 community cards");
+
+        final long start = System.nanoTime();
+        final Range heroRange = new Range(hero, board);
+        final Range[] villainRanges = new Range[villains.size()];
+        for (int i = 0; i < villainRanges.length; i++) {
+            villainRanges[i] = new Range(villains.get(i), board);
+        }
+
+        final int missing = 5 - Long.bitCount(board);
+        if (villainRanges.length == 1 && missing <= 2) {
+            final long[] runouts = runouts(board, missing);
+            if ((long) runouts.length * heroRange.size() * villainRanges[0].size() <= EXACT_LIMIT) {
+                final double[] sums = pool.invoke(new RunoutTask(
+                        new Runouts(heroRange, villainRanges[0], board, runouts), 0, runouts.length));
+                return toResult(sums, System.nanoTime() - start);
+            }
+        }
+
+        final SplittableRandom random;
+        synchronized (seed) {
+            random = seed.split();
+        }
+
+        final long deadline = start + budget.getMillis() * 1_000_000L;
+        final Sampler sampler = new Sampler(heroRange, villainRanges, board, deadline);
+        final EquityTally tally = new EquityTally();
+        while (tally.getSamples() < budget.getSamples() && System.nanoTime() < deadline) {
+            final long before = tally.getSamples();
+            final int round = (int) Math.min(ROUND, budget.getSamples() - before);
+            tally.merge(pool.invoke(new SampleTask(sampler, round, random.split())));
+
+            if (tally.getSamples() == before
+                    || (budget.getPrecision() > 0 && tally.getStandardError() <= budget.getPrecision())) {
+                break;
+            }
+        }
+        return tally.toResult(villainRanges.length, System.nanoTime() - start);
+    }
+
+    /**
+     * @return every set of the missing board cards, as masks without the board
+     */
+    private static long[] runouts(final long board, final int missing) {
+
+        if (missing == 0) {
+            return new long[]{CardMask.EMPTY};
+        }
+
+        final int[] live = new int[CardMask.CARDS - Long.bitCount(board)];
+        int n = 0;
+        for (long remaining = ~board & CardMask.FULL_DECK; remaining != 0; remaining &= remaining - 1) {
+            live[n++] = Long.numberOfTrailingZeros(remaining);
+        }
+
+        final long[] runouts = new long[missing == 1 ? n : n * (n - 1) / 2];
+        int r = 0;
+        for (int i = 0; i < n; i++) {
+            if (missing == 1) {
+                runouts[r++] = CardMask.bit(live[i]);
+                continue;
+            }
+            for (int j = i + 1; j < n; j++) {
+                runouts[r++] = CardMask.bit(live[i]) | CardMask.bit(live[j]);
+            }
+        }
+        return runouts;
+    }
+
+    private static EquityResult toResult(final double[] sums, final long elapsedNanos) {
+
+        final double total = sums[0];
+        if (total == 0) {
+            return new EquityResult(1, 0, 0, 0, 0.5, 0.5, elapsedNanos);
+        }
+        final double win = sums[1] / total;
+        final double tie = sums[2] / total;
+        return EquityResult.exact(1, (long) sums[3], win, tie, win + tie / 2, elapsedNanos);
+    }
+
+    /**
+     * The combinations of a range that don't hold a board card, with their weights.
+     */
+    private static final class Range {
+
+        private final long[] masks;
+        private final float[] weights;
+        private final double[] cumulative;
+
+        Range(final float[] range, final long board) {
+            isTrue(range.length == HandRange.COMBOS, "a range must hold a weight per combination");
+
+            int size = 0;
+            for (int i = 0; i < range.length; i++) {
+                if (range[i] > 0 && (HandRange.mask(i) & board) == 0) {
+                    size++;
+                }
+            }
+            state(size > 0, "a range is empty once the board is dealt");
+
+            masks = new long[size];
+            weights = new float[size];
+            cumulative = new double[size];
+            double total = 0;
+            int n = 0;
+            for (int i = 0; i < range.length; i++) {
+                if (range[i] > 0 && (HandRange.mask(i) & board) == 0) {
+                    masks[n] = HandRange.mask(i);
+                    weights[n] = range[i];
+                    total += range[i];
+                    cumulative[n++] = total;
+                }
+            }
+        }
+
+        int size() {
+            return masks.length;
+        }
+
+        /**
+         * @return the mask of a combination drawn by weight
+         */
+        long draw(final SplittableRandom random) {
+
+            final double x = random.nextDouble() * cumulative[cumulative.length - 1];
+            int low = 0;
+            int high = cumulative.length - 1;
+            while (low < high) {
+                final int middle = (low + high) >>> 1;
+                if (cumulative[middle] > x) {
+                    high = middle;
+                } else {
+                    low = middle + 1;
+                }
+            }
+            return masks[low];
+        }
+    }
+
+    /**
+     * What every enumeration task shares, read only.
+     */
+    private final class Runouts {
+
+        private final Range hero;
+        private final Range villain;
+        private final long board;
+        private final long[] runouts;
+
+        Runouts(Range hero, Range villain, long board, long[] runouts) {
+            this.hero = hero;
+            this.villain = villain;
+            this.board = board;
+            this.runouts = runouts;
+        }
+
+        /**
+         * @return total weight, weight won, weight tied and number of matchups
+         */
+        double[] count(final int from, final int to) {
+
+            final double[] sums = new double[4];
+            final int[] heroStrength = new int[hero.size()];
+            final int[] villainStrength = new int[villain.size()];
+
+            for (int r = from; r < to; r++) {
+                final long river = board | runouts[r];
+                evaluate(hero, river, heroStrength);
+                evaluate(villain, river, villainStrength);
+
+                for (int h = 0; h < heroStrength.length; h++) {
+                    final long mine = hero.masks[h];
+                    if ((mine & river) != 0) {
+                        continue;
+                    }
+                    for (int v = 0; v < villainStrength.length; v++) {
+                        if ((villain.masks[v] & (mine | river)) != 0) {
+                            continue;
+                        }
+                        final double weight = (double) hero.weights[h] * villain.weights[v];
+                        sums[0] += weight;
+                        if (heroStrength[h] > villainStrength[v]) {
+                            sums[1] += weight;
+                        } else if (heroStrength[h] == villainStrength[v]) {
+                            sums[2] += weight;
+                        }
+                        sums[3]++;
+                    }
+                }
+            }
+            return sums;
+        }
+
+        private void evaluate(final Range range, final long river, final int[] strengths) {
+            for (int i = 0; i < strengths.length; i++) {
+                if ((range.masks[i] & river) == 0) {
+                    strengths[i] = handEvaluator.evaluate(river | range.masks[i]);
+                }
+            }
+        }
+    }
+
+    private final class RunoutTask extends RecursiveTask<double[]> {
+
+        private final Runouts runouts;
+        private final int from;
+        private final int to;
+
+        RunoutTask(Runouts runouts, int from, int to) {
+            this.runouts = runouts;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected double[] compute() {
+
+            if (to - from <= RUNOUTS_PER_TASK) {
+                return runouts.count(from, to);
+            }
+
+            final int middle = (from + to) >>> 1;
+            final RunoutTask left = new RunoutTask(runouts, from, middle);
+            left.fork();
+            final double[] sums = new RunoutTask(runouts, middle, to).compute();
+            final double[] leftSums = left.join();
+            for (int i = 0; i < sums.length; i++) {
+                sums[i] += leftSums[i];
+            }
+            return sums;
+        }
+    }
+
+    /**
+     * What every sampling chunk shares, read only.
+     */
+    private final class Sampler {
+
+        private final Range hero;
+        private final Range[] villains;
+        private final long board;
+        private final int boardCardsMissing;
+        private final long deadline;
+
+        Sampler(Range hero, Range[] villains, long board, long deadline) {
+            this.hero = hero;
+            this.villains = villains;
+            this.board = board;
+            this.boardCardsMissing = 5 - Long.bitCount(board);
+            this.deadline = deadline;
+        }
+
+        EquityTally sample(final int samples, final SplittableRandom random) {
+
+            final EquityTally tally = new EquityTally();
+            final long[] dealt = new long[villains.length + 1];
+
+            for (int sample = 0; sample < samples; sample++) {
+                if ((sample & CLOCK_CHECK_MASK) == 0 && System.nanoTime() > deadline) {
+                    break;
+                }
+
+                long used = deal(dealt, random);
+                if (used == CardMask.EMPTY) {
+                    continue;
+                }
+
+                long runout = board;
+                for (int i = 0; i < boardCardsMissing; i++) {
+                    int card;
+                    do {
+                        card = random.nextInt(CardMask.CARDS);
+                    } while (CardMask.contains(used, card));
+                    used |= CardMask.bit(card);
+                    runout |= CardMask.bit(card);
+                }
+
+                final int myStrength = handEvaluator.evaluate(runout | dealt[0]);
+                int tiedWith = 0;
+                boolean lost = false;
+                for (int v = 1; v < dealt.length && !lost; v++) {
+                    final int theirs = handEvaluator.evaluate(runout | dealt[v]);
+                    if (theirs > myStrength) {
+                        lost = true;
+                    } else if (theirs == myStrength) {
+                        tiedWith++;
+                    }
+                }
+
+                tally.add(lost ? 0 : 1.0 / (tiedWith + 1), !lost && tiedWith == 0, !lost && tiedWith > 0);
+            }
+            return tally;
+        }
+
+        /**
+         * Draws my combination first and then one per villain, none sharing a card, starting over on a
+         * collision so the deal follows the product of the weights.
+         *
+         * @return all cards in play, empty when no deal was found
+         */
+        private long deal(final long[] dealt, final SplittableRandom random) {
+
+            for (int attempt = 0; attempt < MAX_DEALS; attempt++) {
+                dealt[0] = hero.draw(random);
+                long used = board | dealt[0];
+                int player = 1;
+                while (player < dealt.length) {
+                    dealt[player] = villains[player - 1].draw(random);
+                    if ((dealt[player] & used) != 0) {
+                        break;
+                    }
+                    used |= dealt[player++];
+                }
+                if (player == dealt.length) {
+                    return used;
+                }
+            }
+            return CardMask.EMPTY;
+        }
+    }
+
+    private final class SampleTask extends RecursiveTask<EquityTally> {
+
+        private final Sampler sampler;
+        private final int samples;
+        private final SplittableRandom random;
+
+        SampleTask(Sampler sampler, int samples, SplittableRandom random) {
+            this.sampler = sampler;
+            this.samples = samples;
+            this.random = random;
+        }
+
+        @Override
+        protected EquityTally compute() {
+
+            if (samples <= CHUNK) {
+                return sampler.sample(samples, random);
+            }
+
+            final SampleTask left = new SampleTask(sampler, samples / 2, random.split());
+            left.fork();
+            final EquityTally right = new SampleTask(sampler, samples - samples / 2, random).compute();
+            return right.merge(left.join());
+        }
+    }
+}
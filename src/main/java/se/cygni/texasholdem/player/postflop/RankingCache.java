@@ -0,0 +1,232 @@
+package se.cygni.texasholdem.player.postflop;
+
+import se.cygni.texasholdem.player.utils.CardMask;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.lang.Long.getLong;
+import static org.springframework.util.Assert.isTrue;
+
+/**
+ * Bounded cache of ranking counts shared by every hand played, keyed by pocket cards and board with the
+ * suits renamed to a canonical order.
+ * <p/>
+ * Rankings only depend on which cards share a suit, not on which suit it is, so the suits are sorted by
+ * the ranks they hold in the pocket and then on the board before building the key. That maps e.g. every
+ * monotone flop with a flush draw in the pocket onto one entry. The key is the canonical board mask in
+ * the low 52 bits and the canonical ids of the two pocket cards, six bits each, above it.
+ * <p/>
+ * The cache is split in stripes, each a least recently used map behind its own lock, and is sized from a
+ * memory cap assuming {@link #ENTRY_BYTES} per entry. The bots of a JVM share one cache, and one cap,
+ * through {@link #fromSystemProperties()}.
+ */
+public class RankingCache {
+
+    static final int ENTRY_BYTES = 128;
+
+    private static final int STRIPES = 16;
+    private static final int CARD_BITS = 6;
+    private static final long RANK_BITS = (1L << CardMask.RANKS) - 1;
+
+    private static final ConcurrentMap<Long, RankingCache> SHARED = new ConcurrentHashMap<>();
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final long maxBytes;
+
+    public RankingCache(long maxBytes) {
+        isTrue(maxBytes >= ENTRY_BYTES * STRIPES, "'maxBytes' must fit at least one entry per stripe");
+        this.maxBytes = maxBytes;
+        final int entriesPerStripe = (int) Math.min(Integer.MAX_VALUE, maxBytes / ENTRY_BYTES / STRIPES);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(entriesPerStripe);
+        }
+    }
+
+    /**
+     * @return the cache of the JVM, capped by the system property <code>rankingCacheBytes</code>, 32 MB by
+     * default
+     */
+    public static RankingCache fromSystemProperties() {
+        return SHARED.computeIfAbsent(getLong("rankingCacheBytes", 32L << 20), RankingCache::new);
+    }
+
+    /**
+     * @param pocket pocket cards as a {@link CardMask}
+     * @param board  community cards as a {@link CardMask}
+     * @return the same key for every renaming of the suits
+     */
+    public static long key(final long pocket, final long board) {
+
+        // suits sorted by their pocket ranks and then board ranks, largest first, in registers
+        long first = signature(pocket, board, 0);
+        long second = signature(pocket, board, 1);
+        long third = signature(pocket, board, 2);
+        long fourth = signature(pocket, board, 3);
+        long swap;
+        if (first < second) {
+            swap = first;
+            first = second;
+            second = swap;
+        }
+        if (third < fourth) {
+            swap = third;
+            third = fourth;
+            fourth = swap;
+        }
+        if (first < third) {
+            swap = first;
+            first = third;
+            third = swap;
+        }
+        if (second < fourth) {
+            swap = second;
+            second = fourth;
+            fourth = swap;
+        }
+        if (second < third) {
+            swap = second;
+            second = third;
+            third = swap;
+        }
+
+        final long canonicalBoard = (first & RANK_BITS) | (second & RANK_BITS) << CardMask.RANKS
+                | (third & RANK_BITS) << 2 * CardMask.RANKS | (fourth & RANK_BITS) << 3 * CardMask.RANKS;
+        final long canonicalPocket = first >>> CardMask.RANKS | (second >>> CardMask.RANKS) << CardMask.RANKS
+                | (third >>> CardMask.RANKS) << 2 * CardMask.RANKS | (fourth >>> CardMask.RANKS) << 3 * CardMask.RANKS;
+
+        final long low = Long.numberOfTrailingZeros(canonicalPocket);
+        final long high = 63 - Long.numberOfLeadingZeros(canonicalPocket);
+        return canonicalBoard | low << CardMask.CARDS | high << (CardMask.CARDS + CARD_BITS);
+    }
+
+    /**
+     * @return the pocket ranks of the suit above its board ranks
+     */
+    private static long signature(final long pocket, final long board, final int suit) {
+        return (long) CardMask.suitRanks(pocket, suit) << CardMask.RANKS | CardMask.suitRanks(board, suit);
+    }
+
+    public Entry get(final long key) {
+        final Stripe stripe = stripe(key);
+        final Entry entry;
+        synchronized (stripe) {
+            entry = stripe.get(key);
+        }
+        if (entry == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return entry;
+    }
+
+    public void put(final long key, final Entry entry) {
+        final Stripe stripe = stripe(key);
+        synchronized (stripe) {
+            stripe.put(key, entry);
+        }
+    }
+
+    private Stripe stripe(final long key) {
+        final long mixed = key * 0x9E3779B97F4A7C15L;
+        return stripes[(int) (mixed >>> 60) & (STRIPES - 1)];
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("RankingCache [size=%d, hits=%d, misses=%d, evictions=%d, maxBytes=%d]",
+                size(), getHits(), getMisses(), getEvictions(), maxBytes);
+    }
+
+    /**
+     * Counts of a ranking, the parts that survive renaming the suits. The potentials are NaN on the river.
+     */
+    public static final class Entry {
+
+        private final int better;
+        private final int tied;
+        private final int worse;
+        private final double positivePotential;
+        private final double negativePotential;
+
+        public Entry(int better, int tied, int worse, double positivePotential, double negativePotential) {
+            this.better = better;
+            this.tied = tied;
+            this.worse = worse;
+            this.positivePotential = positivePotential;
+            this.negativePotential = negativePotential;
+        }
+
+        public int getBetter() {
+            return better;
+        }
+
+        public int getTied() {
+            return tied;
+        }
+
+        public int getWorse() {
+            return worse;
+        }
+
+        public boolean hasPotential() {
+            return !Double.isNaN(positivePotential);
+        }
+
+        public double getPositivePotential() {
+            return positivePotential;
+        }
+
+        public double getNegativePotential() {
+            return negativePotential;
+        }
+    }
+
+    private final class Stripe extends LinkedHashMap<Long, Entry> {
+
+        private final int capacity;
+
+        Stripe(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+            if (size() > capacity) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+}
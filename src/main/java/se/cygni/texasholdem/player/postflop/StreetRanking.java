@@ -0,0 +1,161 @@
+package se.cygni.texasholdem.player.postflop;
+
+import se.cygni.texasholdem.player.evaluator.HandEvaluator;
+import se.cygni.texasholdem.player.range.HandRange;
+import se.cygni.texasholdem.player.utils.CardMask;
+
+import static org.springframework.util.Assert.isTrue;
+
+/**
+ * Ranking state of one hand carried from street to street. Every opponent pocket card combination still
+ * possible keeps its incremental evaluation state, see {@link HandEvaluator#addCard(long, int)}, so a new
+ * community card is one step per combination and the combinations holding that card are dropped by
+ * swapping in the last one.
+ * <p/>
+ * Not thread safe, one instance per hand.
+ */
+final class StreetRanking {
+
+    private final HandEvaluator handEvaluator;
+    private final long pocket;
+    private final long[] combos;
+    private final int[] indexes;
+    private final long[] states;
+    private int size;
+    private long board;
+    private long myState;
+
+    /**
+     * @param pocket my pocket cards
+     * @param board  at least the three cards of the flop
+     */
+    StreetRanking(final HandEvaluator handEvaluator, final long pocket, final long board) {
+        isTrue(Long.bitCount(board) >= 3, "the flop must be dealt");
+        this.handEvaluator = handEvaluator;
+        this.pocket = pocket;
+        this.board = board;
+
+        long boardState = handEvaluator.emptyState();
+        for (long remaining = board; remaining != 0; remaining &= remaining - 1) {
+            boardState = handEvaluator.addCard(boardState, Long.numberOfTrailingZeros(remaining));
+        }
+        long myState = boardState;
+        for (long remaining = pocket; remaining != 0; remaining &= remaining - 1) {
+            myState = handEvaluator.addCard(myState, Long.numberOfTrailingZeros(remaining));
+        }
+        this.myState = myState;
+
+        final long live = ~(pocket | board) & CardMask.FULL_DECK;
+        final int n = Long.bitCount(live);
+        this.combos = new long[n * (n - 1) / 2];
+        this.indexes = new int[combos.length];
+        this.states = new long[combos.length];
+        for (long first = live; first != 0; first &= first - 1) {
+            final int id1 = Long.numberOfTrailingZeros(first);
+            final long withFirst = handEvaluator.addCard(boardState, id1);
+            for (long second = first & (first - 1); second != 0; second &= second - 1) {
+                final int id2 = Long.numberOfTrailingZeros(second);
+                combos[size] = CardMask.bit(id1) | CardMask.bit(id2);
+                indexes[size] = HandRange.index(id1, id2);
+                states[size] = handEvaluator.addCard(withFirst, id2);
+                size++;
+            }
+        }
+    }
+
+    long getPocket() {
+        return pocket;
+    }
+
+    long getBoard() {
+        return board;
+    }
+
+    /**
+     * @return whether this state can be brought up to the cards by adding community cards
+     */
+    boolean canReach(final long pocket, final long board) {
+        return this.pocket == pocket && (this.board & ~board) == 0 && Long.bitCount(board) <= 5;
+    }
+
+    /**
+     * Adds every card of the board not yet seen.
+     */
+    void advanceTo(final long board) {
+        for (long added = board & ~this.board; added != 0; added &= added - 1) {
+            addCard(Long.numberOfTrailingZeros(added));
+        }
+    }
+
+    void addCard(final int id) {
+
+        final long bit = CardMask.bit(id);
+        isTrue((board & bit) == 0 && (pocket & bit) == 0, "card already dealt");
+        board |= bit;
+        myState = handEvaluator.addCard(myState, id);
+
+        for (int i = 0; i < size; i++) {
+            if ((combos[i] & bit) != 0) {
+                size--;
+                combos[i] = combos[size];
+                indexes[i] = indexes[size];
+                states[i] = states[size];
+                i--;
+            } else {
+                states[i] = handEvaluator.addCard(states[i], id);
+            }
+        }
+    }
+
+    int getMyStrength() {
+        return handEvaluator.evaluateState(myState);
+    }
+
+    int getCombinations() {
+        return size;
+    }
+
+    /**
+     * @return how the combinations compare to my hand, without potential
+     */
+    RankingCache.Entry count() {
+
+        final int myStrength = getMyStrength();
+        int better = 0;
+        int tied = 0;
+        for (int i = 0; i < size; i++) {
+            final int strength = handEvaluator.evaluateState(states[i]);
+            if (strength > myStrength) {
+                better++;
+            } else if (strength == myStrength) {
+                tied++;
+            }
+        }
+        return new RankingCache.Entry(better, tied, size - better - tied, Double.NaN, Double.NaN);
+    }
+
+    /**
+     * @param weights weight per {@link HandRange} combination index
+     * @return share of the weight my hand beats, counting ties as half, NaN if no weight is left
+     */
+    double weightedStrength(final float[] weights) {
+
+        final int myStrength = getMyStrength();
+        double beaten = 0;
+        double total = 0;
+        for (int i = 0; i < size; i++) {
+            final float weight = weights[indexes[i]];
+            if (weight == 0) {
+                continue;
+            }
+            final int strength = handEvaluator.evaluateState(states[i]);
+            total += weight;
+            if (strength < myStrength) {
+                beaten += weight;
+            } else if (strength == myStrength) {
+                beaten += weight / 2.0;
+            }
+        }
+        return total == 0 ? Double.NaN : beaten / total;
+    }
+}
@@ -3,7 +3,8 @@ package se.cygni.texasholdem.player.preflop;
 import se.cygni.texasholdem.game.GamePlayer;
 import se.cygni.texasholdem.player.utils.PlayState;
 
-import static java.util.stream.Collectors.toList;
+import java.util.List;
+
 import static se.cygni.texasholdem.player.preflop.Position.*;
 
 public class PositionDeterminator {
@@ -25,11 +26,39 @@ public class PositionDeterminator {
 
     public Position getPosition(PlayState ps) {
         int players = ps.getNumberOfPlayers();
-        int position = ps.getPlayersInPositionOrder()
-                        .stream()
-                        .map(GamePlayer::getName)
-                        .collect(toList()).indexOf(ps.getName());
+        int position = indexOf(ps.getPlayersInPositionOrder(), ps.getName());
 
         return POSITIONS[players][position];
     }
+
+    /**
+     * Position of any player at the table. Short handed, or for a player not at the table, everyone is
+     * in the middle.
+     */
+    public Position getPosition(PlayState ps, String playerName) {
+        return getPosition(ps.getNumberOfPlayers(), indexOf(ps.getPlayersInPositionOrder(), playerName));
+    }
+
+    /**
+     * Position of a seat, see {@link se.cygni.texasholdem.player.table.TableSnapshot}. Short handed, or for
+     * a seat not at the table, everyone is in the middle.
+     *
+     * @param players number of players at the table
+     * @param seat    index in position order with the small blind at 0, -1 when not at the table
+     */
+    public Position getPosition(int players, int seat) {
+        if (players >= POSITIONS.length || seat < 0 || seat >= POSITIONS[players].length) {
+            return MIDDLE;
+        }
+        return POSITIONS[players][seat];
+    }
+
+    private static int indexOf(List<GamePlayer> players, String playerName) {
+        for (int i = 0; i < players.size(); i++) {
+            if (players.get(i).getName().equals(playerName)) {
+                return i;
+            }
+        }
+        return -1;
+    }
 }
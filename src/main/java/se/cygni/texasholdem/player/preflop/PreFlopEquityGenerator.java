@@ -0,0 +1,85 @@
+package se.cygni.texasholdem.player.preflop;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import se.cygni.texasholdem.game.Card;
+import se.cygni.texasholdem.player.evaluator.LookupHandEvaluator;
+import se.cygni.texasholdem.player.postflop.EquityBudget;
+import se.cygni.texasholdem.player.postflop.EquityResult;
+import se.cygni.texasholdem.player.postflop.EquityService;
+import se.cygni.texasholdem.player.postflop.MonteCarloEquityService;
+import se.cygni.texasholdem.player.utils.CardMask;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static java.util.Arrays.asList;
+import static se.cygni.texasholdem.player.preflop.PreFlopEquityTable.*;
+
+/**
+ * Generates the table read by {@link PreFlopEquityTable} by simulating every starting hand class against
+ * one to ten opponents. The samples of each simulation are spread over the common fork/join pool.
+ * <p/>
+ * Run with the target file and the number of samples per class and opponent count as arguments, the
+ * <code>preflop-equity</code> Maven profile regenerates the bundled resource. A million samples gives a
+ * standard error below 0.0005 and takes less than ten minutes on a single core.
+ */
+public final class PreFlopEquityGenerator {
+
+    private final static Logger LOG = LoggerFactory.getLogger(PreFlopEquityGenerator.class);
+
+    private static final long MILLIS_PER_SIMULATION = 3_600_000;
+
+    private final EquityService equityService = new MonteCarloEquityService(LookupHandEvaluator.getInstance(),
+            ForkJoinPool.commonPool(), new SplittableRandom(CLASSES));
+
+    public static void main(String... args) throws IOException {
+        final Path target = Paths.get(args.length > 0 ? args[0] : "preflop-equity.dat");
+        final int samples = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+        new PreFlopEquityGenerator().generate(target, samples);
+    }
+
+    public void generate(final Path target, final int samples) throws IOException {
+
+        final long start = System.currentTimeMillis();
+        final EquityBudget budget = new EquityBudget(samples, MILLIS_PER_SIMULATION);
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(target)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(CLASSES);
+            out.writeInt(MAX_OPPONENTS);
+
+            for (int handClass = 0; handClass < CLASSES; handClass++) {
+                final List<Card> pocketCards = representative(handClass);
+                for (int opponents = 1; opponents <= MAX_OPPONENTS; opponents++) {
+                    final EquityResult result =
+                            equityService.getEquity(pocketCards, Collections.emptyList(), opponents, budget);
+                    out.writeShort(toFraction(result.getEquity()));
+                }
+                LOG.debug("Simulated [{}] in {} ms", pocketCards, System.currentTimeMillis() - start);
+            }
+        }
+
+        LOG.info("Wrote preflop equities to [{}] in {} ms", target, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * @return pocket cards of the class, clubs and diamonds for offsuit hands
+     */
+    static List<Card> representative(final int handClass) {
+
+        final int row = handClass / CardMask.RANKS;
+        final int column = handClass % CardMask.RANKS;
+        final boolean suited = row > column;
+        return asList(CardMask.card(row), CardMask.card((suited ? 0 : CardMask.RANKS) + column));
+    }
+}
@@ -0,0 +1,109 @@
+package se.cygni.texasholdem.player.preflop;
+
+import se.cygni.texasholdem.game.Card;
+import se.cygni.texasholdem.player.utils.CardMask;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+import static org.springframework.util.Assert.isTrue;
+import static org.springframework.util.Assert.notNull;
+import static org.springframework.util.Assert.state;
+
+/**
+ * All-in equity of every starting hand against one to ten opponents holding random cards, read from a
+ * table generated by {@link PreFlopEquityGenerator} and bundled as a resource.
+ * <p/>
+ * The 169 starting hand classes are the cells of a 13 by 13 rank matrix: pairs on the diagonal, suited
+ * hands with the high rank as row and offsuit hands with the low rank as row. Equities are stored as
+ * unsigned 16 bit fractions, big endian, opponents varying fastest.
+ */
+public class PreFlopEquityTable {
+
+    public static final String RESOURCE = "/preflop-equity.dat";
+
+    public static final int CLASSES = CardMask.RANKS * CardMask.RANKS;
+    public static final int MAX_OPPONENTS = 10;
+
+    static final int MAGIC = 0x50464551;
+    static final int VERSION = 1;
+
+    private static final double SCALE = 0xFFFF;
+
+    private final float[] equities;
+
+    PreFlopEquityTable(final float[] equities) {
+        state(equities.length == CLASSES * MAX_OPPONENTS, "should hold every class and opponent count");
+        this.equities = equities;
+    }
+
+    public static PreFlopEquityTable getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Defers reading the resource to the first use, the generator needs this class before it exists.
+     */
+    private static final class Holder {
+        private static final PreFlopEquityTable INSTANCE = load();
+    }
+
+    private static PreFlopEquityTable load() {
+
+        try (InputStream resource = PreFlopEquityTable.class.getResourceAsStream(RESOURCE)) {
+            state(resource != null, "missing preflop equity table " + RESOURCE);
+            final DataInputStream in = new DataInputStream(resource);
+            state(in.readInt() == MAGIC, "not a preflop equity table: " + RESOURCE);
+            state(in.readInt() == VERSION, "unsupported preflop equity table version");
+            state(in.readInt() == CLASSES && in.readInt() == MAX_OPPONENTS, "unexpected preflop equity table size");
+
+            final float[] equities = new float[CLASSES * MAX_OPPONENTS];
+            for (int i = 0; i < equities.length; i++) {
+                equities[i] = (float) (in.readUnsignedShort() / SCALE);
+            }
+            return new PreFlopEquityTable(equities);
+        } catch (IOException e) {
+            throw new UncheckedIOException("could not read preflop equity table " + RESOURCE, e);
+        }
+    }
+
+    /**
+     * @return the equity as a stored 16 bit fraction
+     */
+    static int toFraction(final double equity) {
+        return (int) Math.round(Math.max(0, Math.min(1, equity)) * SCALE);
+    }
+
+    /**
+     * @param c1        first pocket card
+     * @param c2        second pocket card
+     * @param opponents number of opponents, 1 to 10
+     * @return all-in equity against that many opponents holding random cards
+     */
+    public double equity(final Card c1, final Card c2, final int opponents) {
+        notNull(c1, "'c1' cannot be null");
+        notNull(c2, "'c2' cannot be null");
+        return equity(classOf(CardMask.id(c1), CardMask.id(c2)), opponents);
+    }
+
+    public double equity(final int handClass, final int opponents) {
+        isTrue(opponents > 0 && opponents <= MAX_OPPONENTS, "'opponents' must be between 1 and " + MAX_OPPONENTS);
+        return equities[handClass * MAX_OPPONENTS + opponents - 1];
+    }
+
+    /**
+     * @param id1 {@link CardMask} id of the first card
+     * @param id2 {@link CardMask} id of the second card
+     * @return the starting hand class, 0 to 168
+     */
+    public static int classOf(final int id1, final int id2) {
+
+        final int high = Math.max(CardMask.rank(id1), CardMask.rank(id2));
+        final int low = Math.min(CardMask.rank(id1), CardMask.rank(id2));
+        return CardMask.suit(id1) == CardMask.suit(id2)
+                ? high * CardMask.RANKS + low
+                : low * CardMask.RANKS + high;
+    }
+}
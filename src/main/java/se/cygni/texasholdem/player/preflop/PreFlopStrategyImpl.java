@@ -7,6 +7,7 @@ import se.cygni.texasholdem.game.ActionType;
 import se.cygni.texasholdem.game.Card;
 import se.cygni.texasholdem.game.GamePlayer;
 import se.cygni.texasholdem.player.LocalPlayerClient;
+import se.cygni.texasholdem.player.table.TableSnapshot;
 import se.cygni.texasholdem.player.utils.PlayState;
 
 import java.util.List;
@@ -32,6 +33,7 @@ public class PreFlopStrategyImpl implements PreFlopStrategy {
     private final PositionDeterminator positionDeterminator;
     private StartingHandType type;
     private StealBlindsEvaluator stealBlindsEvaluator;
+    private final PreFlopEquityTable equityTable;
     private int raises;
 
     public PreFlopStrategyImpl(LocalPlayerClient playerClient) {
@@ -39,6 +41,7 @@ public class PreFlopStrategyImpl implements PreFlopStrategy {
         this.raises = 0;
         this.positionDeterminator = new PositionDeterminator();
         this.stealBlindsEvaluator = new StealBlindsEvaluator();
+        this.equityTable = PreFlopEquityTable.getInstance();
     }
 
     @Override
@@ -65,14 +68,20 @@ public class PreFlopStrategyImpl implements PreFlopStrategy {
 
         PlayState playState = (PlayState) playerClient.getCurrentPlayState();
 
+        int opponents = Math.max(1, Math.min(PreFlopEquityTable.MAX_OPPONENTS,
+                playState.getNumberOfPlayers() - playState.getNumberOfFoldedPlayers() - 1));
+        double equity = equityTable.equity(c1, c2, opponents);
+        double potOdds = 0;
         if (actionMap.containsKey(CALL)) {
             Action callAction = actionMap.get(CALL);
             long callActionAmount = callAction.getAmount();
             long potSize = playState.getPotTotal();
             double finalPotSize = callActionAmount + potSize;
+            potOdds = callActionAmount / finalPotSize;
             LOGGER.info("Call amount is [{}], current pot is [{}], final pot size [{}], pot odds [{}]",
-                    callActionAmount, potSize, finalPotSize, callActionAmount / finalPotSize);
+                    callActionAmount, potSize, finalPotSize, potOdds);
         }
+        LOGGER.debug("Equity [{}] against [{}] opponents", equity, opponents);
 
 
         StartingHandType type = getType();
@@ -157,6 +166,13 @@ public class PreFlopStrategyImpl implements PreFlopStrategy {
             }
         }
 
+        // The buckets don't know how many are left in the pot, a hand above its fair share is worth a fair price
+        if (preFlopAction.getActionType() == FOLD && actionMap.containsKey(CALL) &&
+                equity > 1.0 / (opponents + 1) && equity > potOdds) {
+            LOGGER.debug("Equity [{}] against [{}] opponents beats pot odds [{}]. Lets call.", equity, opponents, potOdds);
+            preFlopAction = actionMap.get(CALL);
+        }
+
         if (preFlopAction.getActionType() == RAISE) {
             raises++;
         }
@@ -172,24 +188,27 @@ public class PreFlopStrategyImpl implements PreFlopStrategy {
         boolean isSmallBlind = playState.amISmallBlindPlayer();
         boolean isBigBlind = playState.amIBigBlindPlayer();
 
-        LOGGER.debug("Player order is [{}] starting w/ SB",
-                collectionToCommaDelimitedString(
-                        playState.getPlayersInPositionOrder()
-                                .stream()
-                                .map(GamePlayer::getName)
-                                .collect(Collectors.toList())));
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Player order is [{}] starting w/ SB",
+                    collectionToCommaDelimitedString(
+                            playState.getPlayersInPositionOrder()
+                                    .stream()
+                                    .map(GamePlayer::getName)
+                                    .collect(Collectors.toList())));
 
-        LOGGER.debug("Small blind [{}], Big Blind [{}], Dealer [{}]",
-                playState.getSmallBlindPlayer().getName(),
-                playState.getBigBlindPlayer().getName(),
-                playState.getDealerPlayer().getName());
+            LOGGER.debug("Small blind [{}], Big Blind [{}], Dealer [{}]",
+                    playState.getSmallBlindPlayer().getName(),
+                    playState.getBigBlindPlayer().getName(),
+                    playState.getDealerPlayer().getName());
 
 
-        LOGGER.debug("Number of players: [{}], folded players:[{}], dealer=[{}], sblind=[{}], bblind=[{}]",
-                playState.getNumberOfPlayers(), playState.getNumberOfFoldedPlayers(), isDealer, isSmallBlind, isBigBlind);
+            LOGGER.debug("Number of players: [{}], folded players:[{}], dealer=[{}], sblind=[{}], bblind=[{}]",
+                    playState.getNumberOfPlayers(), playState.getNumberOfFoldedPlayers(), isDealer, isSmallBlind, isBigBlind);
+        }
 
         if (playState.getNumberOfPlayers() > 3) {
-            return positionDeterminator.getPosition(playState);
+            TableSnapshot table = playState.getTable();
+            return positionDeterminator.getPosition(table.getSeats(), table.getMySeat());
         }
 
         if (isDealer) {
@@ -1,93 +1,55 @@
 package se.cygni.texasholdem.player.preflop;
 
 import se.cygni.texasholdem.game.Card;
+import se.cygni.texasholdem.player.range.HandRange;
+import se.cygni.texasholdem.player.utils.CardMask;
 
-import static java.util.EnumSet.*;
 import static org.springframework.util.Assert.notNull;
-import static se.cygni.texasholdem.game.definitions.Rank.*;
-import static se.cygni.texasholdem.player.CardUtils.*;
 
+/**
+ * Starting hand groups as ranges, the first group holding a hand wins. The ranges are compiled into one
+ * table with the group of every pocket card combination, so getting the group is a single lookup.
+ */
 public enum StartingHandType {
 
-    ALWAYS_PLAY((c1, c2) ->
-            isPairOf(c1, c2, range(SEVEN, ACE)) ||
-            isCombinationOf(c1, c2, ACE, range(TEN, KING)) ||
-            isCombinationOf(c1, c2, KING, range(JACK, QUEEN)) ||
-            isSuitedCombinationOf(c1, c2, KING, of(TEN)) ||
-            isSuitedCombinationOf(c1, c2, QUEEN, range(TEN, JACK)) ||
-            isSuitedCombinationOf(c1, c2, JACK, range(NINE, TEN)) ||
-            isSuitedCombinationOf(c1, c2, of(NINE, TEN))),
+    ALWAYS_PLAY("77+, AT+, KJ+, KTs, QTs+, J9s+, T9s"),
 
-    MIDDLE_LATE_PLAY((c1, c2) ->
-            isPairOf(c1, c2, of(FIVE, SIX)) ||
-            isSuitedCombinationOf(c1, c2, ACE, range(SIX, NINE)) ||
-            isSuitedCombinationOf(c1, c2, QUEEN, range(EIGHT, NINE)) ||
-            isCombinationOf(c1, c2, QUEEN, range(TEN, JACK)) ||
-            isSuitedCombinationOf(c1, c2, KING, of(NINE)) ||
-            isSuitedCombinationOf(c1, c2, JACK, of(EIGHT)) ||
-            isSuitedCombinationOf(c1, c2, NINE, of(EIGHT)) ||
-            isSuitedCombinationOf(c1, c2, TEN, of(EIGHT)) ||
-            isCombinationOf(c1, c2, KING, of(TEN)) ||
-            isCombinationOf(c1, c2, JACK, of(TEN))),
+    MIDDLE_LATE_PLAY("55-66, A6s-A9s, Q8s-Q9s, QT-QJ, K9s, J8s, 98s, T8s, KT, JT"),
 
-    ONLY_LATE_PLAY((c1, c2) ->
-            isPairOf(c1, c2, range(DEUCE, THREE)) ||
-            isCombinationOf(c1, c2, ACE, range(SEVEN, NINE)) ||
-            isSuitedCombinationOf(c1, c2, ACE, range(DEUCE, FIVE)) ||
-            isSuitedCombinationOf(c1, c2, KING, range(DEUCE, EIGHT)) ||
-            isCombinationOf(c1, c2, KING, of(NINE)) ||
-            isCombinationOf(c1, c2, QUEEN, of(NINE)) ||
-            isSuitedCombinationOf(c1, c2, JACK, of(SEVEN)) ||
-            isCombinationOf(c1, c2, JACK, range(EIGHT, NINE)) ||
-            isCombinationOf(c1, c2, TEN, range(EIGHT, NINE)) ||
-            isCombinationOf(c1, c2, NINE, range(SEVEN, EIGHT)) ||
-            isCombinationOf(c1, c2, EIGHT, of(SEVEN)) ||
-            isSuitedCombinationOf(c1, c2, TEN, of(SEVEN)) ||
-            isSuitedCombinationOf(c1, c2, NINE, range(SIX, SEVEN)) ||
-            isSuitedCombinationOf(c1, c2, EIGHT, range(SIX, SEVEN)) ||
-            isSuitedCombinationOf(c1, c2, SEVEN, range(FIVE, SIX)) ||
-            isSuitedCombinationOf(c1, c2, SIX, of(FIVE)) ||
-            isSuitedCombinationOf(c1, c2, FIVE, of(FOUR))),
+    ONLY_LATE_PLAY("22-33, A7-A9, A2s-A5s, K2s-K8s, K9, Q9, J7s, J8-J9, T8-T9, 97-98, 87, T7s, 96s-97s, " +
+            "86s-87s, 75s-76s, 65s, 54s"),
 
-    NO_PLAY(new PocketCardEvaluator() {
-        @Override
-        public boolean isInGroup(Card c1, Card c2) {
-            // Check that combination is not in any other group
-            for (StartingHandType g : complementOf(of(NO_PLAY))) {
-                if (g.isInGroup(c1, c2)) {
-                    return false;
+    NO_PLAY("");
+
+    private static final StartingHandType[] TYPES = values();
+    private static final byte[] TYPE_BY_COMBO = new byte[HandRange.COMBOS];
+
+    static {
+        // fill from the last group so the first one holding a hand is what remains
+        for (int type = TYPES.length - 1; type >= 0; type--) {
+            for (int combo = 0; combo < HandRange.COMBOS; combo++) {
+                if (TYPES[type] == NO_PLAY || TYPES[type].range.contains(combo)) {
+                    TYPE_BY_COMBO[combo] = (byte) type;
                 }
             }
-            return true;
         }
-    });
-
-
-    private interface PocketCardEvaluator {
-        boolean isInGroup(Card c1, Card c2);
     }
 
-    private final PocketCardEvaluator evaluator;
+    private final HandRange range;
 
-    StartingHandType(final PocketCardEvaluator evaluator) {
-        this.evaluator = evaluator;
+    StartingHandType(final String range) {
+        this.range = HandRange.parse(range);
     }
 
-    boolean isInGroup(Card c1, Card c2) {
-        return evaluator.isInGroup(c1, c2);
+    public HandRange getRange() {
+        return range;
     }
 
     public static StartingHandType getGroup(final Card c1, final Card c2) {
         notNull(c1, "'c1' cannot be null");
         notNull(c2, "'c2' cannot be null");
 
-        for (StartingHandType type : allOf(StartingHandType.class)) {
-            if (type.isInGroup(c1, c2)) {
-                return type;
-            }
-        }
-
-        throw new IllegalStateException("Could not get starting hand type of [" + c1 + ", " + c2 + "]");
+        return TYPES[TYPE_BY_COMBO[HandRange.index(CardMask.id(c1), CardMask.id(c2))]];
     }
 
 }
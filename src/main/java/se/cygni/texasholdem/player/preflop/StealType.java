@@ -1,66 +1,26 @@
 package se.cygni.texasholdem.player.preflop;
 
 import se.cygni.texasholdem.game.Card;
-
-import static java.util.EnumSet.*;
-import static se.cygni.texasholdem.game.definitions.Rank.*;
-import static se.cygni.texasholdem.player.CardUtils.*;
+import se.cygni.texasholdem.player.range.HandRange;
 
 public enum StealType {
 
-    STEAL((c1, c2) -> isPairOf(c1, c2, range(DEUCE, ACE)) ||
-            isCombinationOf(c1, c2, ACE, range(DEUCE, KING)) ||
-            isSuitedCombinationOf(c1, c2, KING, range(SEVEN, QUEEN)) ||
-            isSuitedCombinationOf(c1, c2, QUEEN, range(EIGHT, JACK)) ||
-            isSuitedCombinationOf(c1, c2, JACK, range(SEVEN, TEN)) ||
-            isSuitedCombinationOf(c1, c2, TEN, range(SEVEN, NINE)) ||
-            isSuitedCombinationOf(c1, c2, NINE, range(SIX, EIGHT)) ||
-            isSuitedCombinationOf(c1, c2, EIGHT, range(FIVE, SEVEN)) ||
-            isSuitedCombinationOf(c1, c2, SEVEN, range(FIVE, SIX)) ||
-            isSuitedCombinationOf(c1, c2, SIX, range(FOUR, FIVE)) ||
-            isSuitedCombinationOf(c1, c2, FIVE, of(FOUR)) ||
-            isCombinationOf(c1, c2, KING, range(NINE, QUEEN)) ||
-            isCombinationOf(c1, c2, QUEEN, range(NINE, JACK)) ||
-            isCombinationOf(c1, c2, JACK, range(EIGHT, TEN)) ||
-            isCombinationOf(c1, c2, TEN, range(EIGHT, NINE)) ||
-            isCombinationOf(c1, c2, NINE, of(EIGHT))),
-
-    DONT_STEAL(new StealEvaluator() {
-        @Override
-        public boolean isInStealType(Card c1, Card c2) {
-            // Check that combination is not in any other group
-            for (StealType st : complementOf(of(DONT_STEAL))) {
-                if (st.isInStealType(c1, c2)) {
-                    return false;
-                }
-            }
-            return true;
-        }
-    });
+    STEAL("22+, A2+, K7s+, Q8s+, J7s+, T7s+, 96s+, 85s+, 75s+, 64s+, 54s, K9+, Q9+, J8+, T8+, 98"),
 
-    private interface StealEvaluator {
-        boolean isInStealType(Card c1, Card c2);
-    }
+    DONT_STEAL("");
 
-    private final StealEvaluator evaluator;
+    private final HandRange range;
 
-    StealType(final StealEvaluator evaluator) {
-        this.evaluator = evaluator;
+    StealType(final String range) {
+        this.range = HandRange.parse(range);
     }
 
-    private boolean isInStealType(Card c1, Card c2) {
-        return evaluator.isInStealType(c1, c2);
+    public HandRange getRange() {
+        return range;
     }
 
     public static StealType getType(final Card c1, final Card c2) {
-
-        for (StealType type : allOf(StealType.class)) {
-            if (type.isInStealType(c1, c2)) {
-                return type;
-            }
-        }
-
-        throw new IllegalStateException("Could not get steal type");
+        return STEAL.range.contains(c1, c2) ? STEAL : DONT_STEAL;
     }
 
 
@@ -0,0 +1,138 @@
+package se.cygni.texasholdem.player.range;
+
+import se.cygni.texasholdem.game.ActionType;
+import se.cygni.texasholdem.player.evaluator.HandEvaluator;
+import se.cygni.texasholdem.player.preflop.Position;
+import se.cygni.texasholdem.player.preflop.PreFlopEquityTable;
+
+import java.util.Arrays;
+
+/**
+ * How likely a player in a position is to take an action holding each of the 1326 combinations.
+ * <p/>
+ * A combination is first given a strength between 0 and 1, its percentile among all combinations:
+ * preflop by heads-up equity from {@link PreFlopEquityTable}, postflop by its hand on the board. The
+ * strength is then mapped to a likelihood per action by logistic curves around thresholds that are
+ * tighter in early position. Raising and going all-in rise with strength, calling is a band below the
+ * raising hands and checking falls off as hands get strong enough to bet. No likelihood is below
+ * {@link #BLUFF}, nobody's range is ever empty.
+ * <p/>
+ * The preflop tables are computed once, the postflop tables are refilled in place for every board.
+ */
+public final class ActionLikelihoods {
+
+    static final float BLUFF = 0.02f;
+
+    private static final int POSITIONS = Position.values().length;
+    private static final int ACTIONS = ActionType.values().length;
+
+    /** Thresholds by position, early to late: calling, raising and going all-in. */
+    private static final float[][] THRESHOLDS = {
+            {0.60f, 0.85f, 0.95f},
+            {0.50f, 0.80f, 0.93f},
+            {0.40f, 0.70f, 0.90f}};
+
+    private static final ActionLikelihoods PRE_FLOP = new ActionLikelihoods();
+
+    static {
+        PRE_FLOP.fill(preFlopStrengths());
+    }
+
+    private final float[][][] likelihoods = new float[POSITIONS][ACTIONS][];
+    private final float[] strengths = new float[HandRange.COMBOS];
+    private final long[] order = new long[HandRange.COMBOS];
+
+    public ActionLikelihoods() {
+        for (int position = 0; position < POSITIONS; position++) {
+            for (ActionType action : ActionType.values()) {
+                if (action != ActionType.FOLD) {
+                    likelihoods[position][action.ordinal()] = new float[HandRange.COMBOS];
+                }
+            }
+        }
+    }
+
+    public static ActionLikelihoods preFlop() {
+        return PRE_FLOP;
+    }
+
+    /**
+     * @return likelihood per combination, null for {@link ActionType#FOLD} which takes the player out
+     */
+    public float[] get(final Position position, final ActionType action) {
+        return likelihoods[position.ordinal()][action.ordinal()];
+    }
+
+    /**
+     * Refills the tables for the combinations' hands on a board, combinations holding a board card get
+     * strength 0.
+     *
+     * @param board three to five community cards
+     */
+    public void fillForBoard(final HandEvaluator handEvaluator, final long board) {
+
+        // sort by hand strength with the combination index in the low bits to get percentiles
+        int live = 0;
+        for (int combo = 0; combo < HandRange.COMBOS; combo++) {
+            final long cards = HandRange.mask(combo);
+            if ((cards & board) == 0) {
+                order[live++] = (long) handEvaluator.evaluate(board | cards) << 11 | combo;
+            } else {
+                strengths[combo] = 0;
+            }
+        }
+        Arrays.sort(order, 0, live);
+        for (int i = 0; i < live; i++) {
+            strengths[(int) (order[i] & 0x7FF)] = (i + 0.5f) / live;
+        }
+        fill(strengths);
+    }
+
+    private void fill(final float[] strengths) {
+        for (int position = 0; position < POSITIONS; position++) {
+            final float call = THRESHOLDS[position][0];
+            final float raise = THRESHOLDS[position][1];
+            final float allIn = THRESHOLDS[position][2];
+            final float[] checking = likelihoods[position][ActionType.CHECK.ordinal()];
+            final float[] calling = likelihoods[position][ActionType.CALL.ordinal()];
+            final float[] raising = likelihoods[position][ActionType.RAISE.ordinal()];
+            final float[] goingAllIn = likelihoods[position][ActionType.ALL_IN.ordinal()];
+
+            for (int combo = 0; combo < HandRange.COMBOS; combo++) {
+                final float strength = strengths[combo];
+                final float raises = logistic(strength - raise, 0.08f);
+                checking[combo] = floor(1 - 0.8f * raises);
+                calling[combo] = floor(logistic(strength - call, 0.1f) * (1 - 0.6f * raises));
+                raising[combo] = floor(raises);
+                goingAllIn[combo] = floor(logistic(strength - allIn, 0.05f));
+            }
+        }
+    }
+
+    private static float logistic(final float x, final float width) {
+        return (float) (1 / (1 + Math.exp(-x / width)));
+    }
+
+    private static float floor(final float likelihood) {
+        return Math.max(BLUFF, likelihood);
+    }
+
+    private static float[] preFlopStrengths() {
+
+        final PreFlopEquityTable equityTable = PreFlopEquityTable.getInstance();
+        final long[] order = new long[HandRange.COMBOS];
+        for (int combo = 0; combo < HandRange.COMBOS; combo++) {
+            final long cards = HandRange.mask(combo);
+            final int handClass = PreFlopEquityTable.classOf(Long.numberOfTrailingZeros(cards),
+                    63 - Long.numberOfLeadingZeros(cards));
+            order[combo] = (long) Float.floatToIntBits((float) equityTable.equity(handClass, 1)) << 11 | combo;
+        }
+        Arrays.sort(order);
+
+        final float[] strengths = new float[HandRange.COMBOS];
+        for (int i = 0; i < order.length; i++) {
+            strengths[(int) (order[i] & 0x7FF)] = (i + 0.5f) / order.length;
+        }
+        return strengths;
+    }
+}
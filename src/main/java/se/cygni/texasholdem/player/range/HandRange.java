@@ -0,0 +1,248 @@
+package se.cygni.texasholdem.player.range;
+
+import se.cygni.texasholdem.game.Card;
+import se.cygni.texasholdem.player.utils.CardMask;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import static org.springframework.util.Assert.hasText;
+import static org.springframework.util.Assert.isTrue;
+import static org.springframework.util.Assert.notNull;
+
+/**
+ * A set of the 1326 pocket card combinations, one bit per combination.
+ * <p/>
+ * Ranges are written in the usual notation, comma separated: a pair <code>77</code>, suited
+ * <code>AKs</code> or offsuit <code>AKo</code> hands, both when the suffix is left out, <code>+</code>
+ * for every pair above or every kicker up to the card below the high card, and <code>-</code> for a span
+ * like <code>55-66</code> or <code>A6s-A9s</code>. So <code>"77+, ATo+, KTs+, 54s"</code> is all pairs
+ * from sevens, ace ten to ace king offsuit, king ten to king queen suited and five four suited.
+ * <p/>
+ * A combination of the card ids <code>a &lt; b</code> has index <code>b * (b - 1) / 2 + a</code>.
+ * Instances are immutable, testing a combination is a single bit test.
+ */
+public final class HandRange {
+
+    public static final int COMBOS = CardMask.CARDS * (CardMask.CARDS - 1) / 2;
+
+    private static final String RANK_CHARS = "23456789TJQKA";
+
+    private static final long[] MASKS = new long[COMBOS];
+
+    static {
+        for (int high = 1; high < CardMask.CARDS; high++) {
+            for (int low = 0; low < high; low++) {
+                MASKS[index(low, high)] = CardMask.bit(low) | CardMask.bit(high);
+            }
+        }
+    }
+
+    private final long[] bits;
+    private final String notation;
+
+    private HandRange(final long[] bits, final String notation) {
+        this.bits = bits;
+        this.notation = notation;
+    }
+
+    /**
+     * @param notation comma separated range, may be empty
+     * @return the compiled range
+     * @throws IllegalArgumentException if the notation can't be parsed
+     */
+    public static HandRange parse(final String notation) {
+        notNull(notation, "'notation' cannot be null");
+
+        final long[] bits = new long[(COMBOS + 63) >>> 6];
+        for (String token : notation.split(",")) {
+            final String part = token.trim();
+            if (!part.isEmpty()) {
+                addToken(bits, part);
+            }
+        }
+        return new HandRange(bits, notation.trim());
+    }
+
+    /**
+     * @param id1 {@link CardMask} id of one card
+     * @param id2 {@link CardMask} id of another card
+     * @return the combination index, 0 to 1325
+     */
+    public static int index(final int id1, final int id2) {
+        final int low = Math.min(id1, id2);
+        final int high = Math.max(id1, id2);
+        return high * (high - 1) / 2 + low;
+    }
+
+    /**
+     * @param index combination index
+     * @return the two cards of the combination as a {@link CardMask}
+     */
+    public static long mask(final int index) {
+        return MASKS[index];
+    }
+
+    public boolean contains(final Card c1, final Card c2) {
+        notNull(c1, "'c1' cannot be null");
+        notNull(c2, "'c2' cannot be null");
+        return contains(index(CardMask.id(c1), CardMask.id(c2)));
+    }
+
+    public boolean contains(final int index) {
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * @return number of combinations in the range
+     */
+    public int size() {
+        int size = 0;
+        for (long word : bits) {
+            size += Long.bitCount(word);
+        }
+        return size;
+    }
+
+    /**
+     * @return weight 1 for every combination in the range and 0 for the rest, indexed like
+     *         {@link #index(int, int)}
+     */
+    public float[] toWeights() {
+        final float[] weights = new float[COMBOS];
+        for (int i = 0; i < COMBOS; i++) {
+            if (contains(i)) {
+                weights[i] = 1;
+            }
+        }
+        return weights;
+    }
+
+    /**
+     * @param other another range
+     * @return a range holding the combinations of both
+     */
+    public HandRange union(final HandRange other) {
+        final long[] union = bits.clone();
+        for (int i = 0; i < union.length; i++) {
+            union[i] |= other.bits[i];
+        }
+        return new HandRange(union, notation.isEmpty() ? other.notation
+                : other.notation.isEmpty() ? notation : notation + ", " + other.notation);
+    }
+
+    private static void addToken(final long[] bits, final String token) {
+
+        final int dash = token.indexOf('-');
+        if (dash >= 0) {
+            final Hand from = Hand.parse(token.substring(0, dash).trim(), token);
+            final Hand to = Hand.parse(token.substring(dash + 1).trim(), token);
+            isTrue(from.isPair() == to.isPair() && Objects.equals(from.suited, to.suited),
+                    "both ends of a span must be of the same kind: " + token);
+            isTrue(from.isPair() || from.high == to.high, "a span must keep its high card: " + token);
+            if (from.isPair()) {
+                addPairs(bits, Math.min(from.high, to.high), Math.max(from.high, to.high));
+            } else {
+                addKickers(bits, from.high, Math.min(from.low, to.low), Math.max(from.low, to.low), from.suited);
+            }
+            return;
+        }
+
+        final boolean plus = token.endsWith("+");
+        final Hand hand = Hand.parse(plus ? token.substring(0, token.length() - 1) : token, token);
+        if (hand.isPair()) {
+            addPairs(bits, hand.high, plus ? CardMask.ACE : hand.high);
+        } else {
+            addKickers(bits, hand.high, hand.low, plus ? hand.high - 1 : hand.low, hand.suited);
+        }
+    }
+
+    private static void addPairs(final long[] bits, final int from, final int to) {
+        for (int rank = from; rank <= to; rank++) {
+            for (int suit1 = 0; suit1 < CardMask.SUITS; suit1++) {
+                for (int suit2 = suit1 + 1; suit2 < CardMask.SUITS; suit2++) {
+                    add(bits, suit1 * CardMask.RANKS + rank, suit2 * CardMask.RANKS + rank);
+                }
+            }
+        }
+    }
+
+    /**
+     * @param suited {@link Boolean#TRUE} for suited only, {@link Boolean#FALSE} for offsuit only and null
+     *               for both
+     */
+    private static void addKickers(final long[] bits, final int high, final int from, final int to,
+                                   final Boolean suited) {
+        for (int low = from; low <= to; low++) {
+            for (int suit1 = 0; suit1 < CardMask.SUITS; suit1++) {
+                for (int suit2 = 0; suit2 < CardMask.SUITS; suit2++) {
+                    if (suited == null || suited == (suit1 == suit2)) {
+                        add(bits, suit1 * CardMask.RANKS + high, suit2 * CardMask.RANKS + low);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void add(final long[] bits, final int id1, final int id2) {
+        final int index = index(id1, id2);
+        bits[index >>> 6] |= 1L << index;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof HandRange && Arrays.equals(((HandRange) other).bits, bits);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(bits);
+    }
+
+    @Override
+    public String toString() {
+        return notation;
+    }
+
+    /**
+     * One hand of the notation, like <code>AKs</code> or <code>77</code>.
+     */
+    private static final class Hand {
+
+        private final int high;
+        private final int low;
+        private final Boolean suited;
+
+        private Hand(int high, int low, Boolean suited) {
+            this.high = high;
+            this.low = low;
+            this.suited = suited;
+        }
+
+        static Hand parse(final String hand, final String token) {
+            hasText(hand, "missing hand in range: " + token);
+            isTrue(hand.length() == 2 || hand.length() == 3, "not a hand: " + token);
+
+            final int first = rank(hand.charAt(0), token);
+            final int second = rank(hand.charAt(1), token);
+            Boolean suited = null;
+            if (hand.length() == 3) {
+                final char suffix = hand.charAt(2);
+                isTrue(suffix == 's' || suffix == 'o', "suffix must be s or o: " + token);
+                isTrue(first != second, "a pair can't be suited or offsuit: " + token);
+                suited = suffix == 's';
+            }
+            return new Hand(Math.max(first, second), Math.min(first, second), suited);
+        }
+
+        private static int rank(final char rank, final String token) {
+            final int index = RANK_CHARS.indexOf(rank);
+            isTrue(index >= 0, "unknown rank '" + rank + "' in range: " + token);
+            return index;
+        }
+
+        boolean isPair() {
+            return high == low;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package se.cygni.texasholdem.player.range;
+
+import se.cygni.texasholdem.game.ActionType;
+import se.cygni.texasholdem.player.evaluator.HandEvaluator;
+import se.cygni.texasholdem.player.preflop.Position;
+import se.cygni.texasholdem.player.utils.CardMask;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.springframework.util.Assert.isTrue;
+import static org.springframework.util.Assert.notNull;
+
+/**
+ * What each opponent may hold, a weight per pocket card combination updated by Bayes' rule on every
+ * action seen: the weights are multiplied by the {@link ActionLikelihoods} of the action and scaled
+ * back to a mean of one. Combinations holding a card known to be elsewhere get weight zero.
+ * <p/>
+ * The weight vectors are allocated once per opponent name and reused hand after hand, updates don't
+ * allocate. The loops over all combinations are plain element wise loops the JIT can vectorize.
+ */
+public class RangeTracker {
+
+    private final HandEvaluator handEvaluator;
+    private final ActionLikelihoods postFlop = new ActionLikelihoods();
+    private final Map<String, float[]> weights = new HashMap<>();
+    private final Map<String, Boolean> inHand = new HashMap<>();
+    private long deadCards;
+    private boolean preFlop;
+
+    public RangeTracker(HandEvaluator handEvaluator) {
+        notNull(handEvaluator, "'handEvaluator' cannot be null");
+        this.handEvaluator = handEvaluator;
+    }
+
+    /**
+     * Starts a hand with every combination equally likely for every opponent.
+     */
+    public synchronized void startHand(final Iterable<String> opponents) {
+        inHand.clear();
+        deadCards = CardMask.EMPTY;
+        preFlop = true;
+        for (String opponent : opponents) {
+            Arrays.fill(weights.computeIfAbsent(opponent, name -> new float[HandRange.COMBOS]), 1f);
+            inHand.put(opponent, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * A card known not to be in any opponent's hand, one of mine or a community card.
+     */
+    public synchronized void removeCard(final int id) {
+        final long bit = CardMask.bit(id);
+        if ((deadCards & bit) != 0) {
+            return;
+        }
+        deadCards |= bit;
+        for (float[] range : weights.values()) {
+            for (int other = 0; other < CardMask.CARDS; other++) {
+                if (other != id) {
+                    range[HandRange.index(id, other)] = 0;
+                }
+            }
+        }
+    }
+
+    /**
+     * Moves on to likelihoods of the combinations' hands on the board.
+     *
+     * @param board three to five community cards
+     */
+    public synchronized void onBoard(final long board) {
+        for (long remaining = board; remaining != 0; remaining &= remaining - 1) {
+            removeCard(Long.numberOfTrailingZeros(remaining));
+        }
+        postFlop.fillForBoard(handEvaluator, board);
+        preFlop = false;
+    }
+
+    public synchronized void onAction(final String opponent, final Position position, final ActionType action) {
+        final float[] range = weights.get(opponent);
+        if (range == null || !inHand.containsKey(opponent)) {
+            return;
+        }
+        if (action == ActionType.FOLD) {
+            inHand.remove(opponent);
+            return;
+        }
+
+        final float[] likelihood = (preFlop ? ActionLikelihoods.preFlop() : postFlop).get(position, action);
+        float sum = 0;
+        for (int combo = 0; combo < HandRange.COMBOS; combo++) {
+            range[combo] *= likelihood[combo];
+        }
+        for (int combo = 0; combo < HandRange.COMBOS; combo++) {
+            sum += range[combo];
+        }
+        if (sum > 0) {
+            final float scale = HandRange.COMBOS / sum;
+            for (int combo = 0; combo < HandRange.COMBOS; combo++) {
+                range[combo] *= scale;
+            }
+        }
+    }
+
+    /**
+     * @return copy of the opponent's weights, null if not in the hand
+     */
+    public synchronized float[] getWeights(final String opponent) {
+        final float[] range = weights.get(opponent);
+        return range == null || !inHand.containsKey(opponent) ? null : range.clone();
+    }
+
+    /**
+     * Averages the ranges of the opponents still in the hand into the target.
+     *
+     * @param target weights of length {@link HandRange#COMBOS}
+     * @return false if no opponent is in the hand
+     */
+    public synchronized boolean combine(final float[] target) {
+        isTrue(target.length == HandRange.COMBOS, "'target' must hold every combination");
+        Arrays.fill(target, 0f);
+        if (inHand.isEmpty()) {
+            return false;
+        }
+        final float share = 1f / inHand.size();
+        for (String opponent : inHand.keySet()) {
+            final float[] range = weights.get(opponent);
+            for (int combo = 0; combo < HandRange.COMBOS; combo++) {
+                target[combo] += share * range[combo];
+            }
+        }
+        return true;
+    }
+}
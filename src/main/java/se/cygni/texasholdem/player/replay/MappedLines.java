@@ -0,0 +1,55 @@
+package se.cygni.texasholdem.player.replay;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * Splits a file into lines in one pass over memory mapped windows of the file, so files larger than what fits
+ * in a single mapping can be read. The line handed over is the same builder every time, copy what is kept.
+ * <p/>
+ * Bytes are read as Latin-1, one char per byte, which is enough for the ASCII the bot logs.
+ */
+final class MappedLines {
+
+    static final int WINDOW_BYTES = 64 << 20;
+
+    private MappedLines() {
+    }
+
+    /**
+     * @return number of lines read
+     */
+    static long forEach(final Path file, final Consumer<CharSequence> consumer) throws IOException {
+        final StringBuilder line = new StringBuilder(256);
+        long lines = 0;
+        try (FileChannel channel = FileChannel.open(file, READ)) {
+            final long size = channel.size();
+            for (long position = 0; position < size; position += WINDOW_BYTES) {
+                // a line crossing into the next window carries over in the builder
+                final MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position,
+                        Math.min(WINDOW_BYTES, size - position));
+                final int limit = window.limit();
+                for (int i = 0; i < limit; i++) {
+                    final byte b = window.get(i);
+                    if (b == '\n') {
+                        consumer.accept(line);
+                        line.setLength(0);
+                        lines++;
+                    } else if (b != '\r') {
+                        line.append((char) (b & 0xFF));
+                    }
+                }
+            }
+        }
+        if (line.length() > 0) {
+            consumer.accept(line);
+            lines++;
+        }
+        return lines;
+    }
+}
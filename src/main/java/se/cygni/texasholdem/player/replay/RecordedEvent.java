@@ -0,0 +1,162 @@
+package se.cygni.texasholdem.player.replay;
+
+import se.cygni.texasholdem.game.Action;
+import se.cygni.texasholdem.game.ActionType;
+import se.cygni.texasholdem.game.Card;
+import se.cygni.texasholdem.game.definitions.PlayState;
+import se.cygni.texasholdem.game.definitions.PokerHand;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One event of a hand as read from a session log. Which fields are set depends on the {@link Type}.
+ */
+public final class RecordedEvent {
+
+    public enum Type {
+        /**
+         * street
+         */
+        STREET,
+
+        /**
+         * card
+         */
+        POCKET_CARD,
+        COMMUNITY_CARD,
+
+        /**
+         * player and amount
+         */
+        SMALL_BLIND,
+        BIG_BLIND,
+        CHECK,
+        CALL,
+        RAISE,
+        ALL_IN,
+        FOLD,
+        FORCED_FOLD,
+
+        /**
+         * amount I won
+         */
+        WON,
+
+        /**
+         * One row of the show down: player, amount won, poker hand, cards and if folded.
+         */
+        SHOW_DOWN,
+
+        /**
+         * I was asked to act: street, the possible action types and the action recorded, if logged.
+         */
+        ACTION_REQUIRED
+    }
+
+    private final Type type;
+    private final String player;
+    private final long amount;
+    private final Card card;
+    private final PlayState street;
+    private final PokerHand pokerHand;
+    private final List<Card> cards;
+    private final boolean folded;
+    private List<ActionType> possibleActions = Collections.emptyList();
+    private Action recordedAction;
+
+    private RecordedEvent(final Type type, final String player, final long amount, final Card card,
+                          final PlayState street, final PokerHand pokerHand, final List<Card> cards,
+                          final boolean folded) {
+        this.type = type;
+        this.player = player;
+        this.amount = amount;
+        this.card = card;
+        this.street = street;
+        this.pokerHand = pokerHand;
+        this.cards = cards;
+        this.folded = folded;
+    }
+
+    static RecordedEvent street(final PlayState street) {
+        return new RecordedEvent(Type.STREET, null, 0, null, street, null, null, false);
+    }
+
+    static RecordedEvent card(final Type type, final Card card) {
+        return new RecordedEvent(type, null, 0, card, null, null, null, false);
+    }
+
+    static RecordedEvent action(final Type type, final String player, final long amount) {
+        return new RecordedEvent(type, player, amount, null, null, null, null, false);
+    }
+
+    static RecordedEvent showDown(final String player, final long won, final boolean folded,
+                                  final PokerHand pokerHand, final List<Card> cards) {
+        return new RecordedEvent(Type.SHOW_DOWN, player, won, null, null, pokerHand,
+                Collections.unmodifiableList(cards), folded);
+    }
+
+    static RecordedEvent actionRequired(final PlayState street) {
+        return new RecordedEvent(Type.ACTION_REQUIRED, null, 0, null, street, null, null, false);
+    }
+
+    void setPossibleActions(final List<ActionType> possibleActions) {
+        this.possibleActions = Collections.unmodifiableList(possibleActions);
+    }
+
+    void setRecordedAction(final Action recordedAction) {
+        this.recordedAction = recordedAction;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getPlayer() {
+        return player;
+    }
+
+    public long getAmount() {
+        return amount;
+    }
+
+    public Card getCard() {
+        return card;
+    }
+
+    public PlayState getStreet() {
+        return street;
+    }
+
+    public PokerHand getPokerHand() {
+        return pokerHand;
+    }
+
+    public List<Card> getCards() {
+        return cards;
+    }
+
+    public boolean isFolded() {
+        return folded;
+    }
+
+    /**
+     * @return the action types logged for the request, empty if they weren't
+     */
+    public List<ActionType> getPossibleActions() {
+        return possibleActions;
+    }
+
+    /**
+     * @return what I answered when the log was recorded, null if not logged
+     */
+    public Action getRecordedAction() {
+        return recordedAction;
+    }
+
+    @Override
+    public String toString() {
+        return type + (player != null ? " " + player : "") + (amount != 0 ? " " + amount : "")
+                + (card != null ? " " + card : "") + (street != null ? " " + street : "");
+    }
+}
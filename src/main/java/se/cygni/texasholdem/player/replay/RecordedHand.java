@@ -0,0 +1,108 @@
+package se.cygni.texasholdem.player.replay;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A hand read from a session log, from the play being started to the show down.
+ * <p/>
+ * The log doesn't say who sits where, the players are in the order of the show down, which is table order,
+ * followed by anyone who acted but wasn't in it.
+ */
+public final class RecordedHand {
+
+    private final List<RecordedEvent> events = new ArrayList<>();
+    private final Set<String> showDownPlayers = new LinkedHashSet<>();
+    private final Set<String> actingPlayers = new LinkedHashSet<>();
+    private String smallBlindPlayer;
+    private long smallBlind;
+    private String bigBlindPlayer;
+    private long bigBlind;
+    private long myChips = -1;
+
+    void add(final RecordedEvent event) {
+        events.add(event);
+        if (event.getPlayer() == null) {
+            return;
+        }
+        switch (event.getType()) {
+            case SMALL_BLIND:
+                smallBlindPlayer = event.getPlayer();
+                smallBlind = event.getAmount();
+                break;
+            case BIG_BLIND:
+                bigBlindPlayer = event.getPlayer();
+                bigBlind = event.getAmount();
+                break;
+            case SHOW_DOWN:
+                showDownPlayers.add(event.getPlayer());
+                return;
+            default:
+                break;
+        }
+        actingPlayers.add(event.getPlayer());
+    }
+
+    void setMyChips(final long myChips) {
+        if (this.myChips < 0) {
+            this.myChips = myChips;
+        }
+    }
+
+    /**
+     * @return the last event, null if none
+     */
+    RecordedEvent last() {
+        return events.isEmpty() ? null : events.get(events.size() - 1);
+    }
+
+    public List<RecordedEvent> getEvents() {
+        return Collections.unmodifiableList(events);
+    }
+
+    /**
+     * @return the players in table order
+     */
+    public List<String> getPlayers() {
+        final Set<String> players = new LinkedHashSet<>(showDownPlayers);
+        players.addAll(actingPlayers);
+        return new ArrayList<>(players);
+    }
+
+    /**
+     * @return null if no small blind was logged
+     */
+    public String getSmallBlindPlayer() {
+        return smallBlindPlayer;
+    }
+
+    public long getSmallBlind() {
+        return smallBlind;
+    }
+
+    /**
+     * @return null if no big blind was logged
+     */
+    public String getBigBlindPlayer() {
+        return bigBlindPlayer;
+    }
+
+    public long getBigBlind() {
+        return bigBlind;
+    }
+
+    /**
+     * @return my chips at the start of the hand, -1 if I wasn't asked to act
+     */
+    public long getMyChips() {
+        return myChips;
+    }
+
+    @Override
+    public String toString() {
+        return "RecordedHand{players=" + getPlayers() + ", events=" + events.size() + ", myChips=" + myChips + '}';
+    }
+}
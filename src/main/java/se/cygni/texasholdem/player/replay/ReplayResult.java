@@ -0,0 +1,82 @@
+package se.cygni.texasholdem.player.replay;
+
+import se.cygni.texasholdem.game.Action;
+
+/**
+ * What a {@link SessionReplay} has replayed so far: how many decisions, how many came out as recorded and
+ * how fast they were made.
+ */
+public class ReplayResult {
+
+    private int hands;
+    private int decisions;
+    private int recorded;
+    private int asRecorded;
+    private long decisionNanos;
+    private long maxDecisionNanos;
+    private long elapsedNanos;
+
+    void onHand() {
+        hands++;
+    }
+
+    void onDecision(final Action recordedAction, final Action action, final long nanos) {
+        decisions++;
+        decisionNanos += nanos;
+        maxDecisionNanos = Math.max(maxDecisionNanos, nanos);
+        if (recordedAction != null) {
+            recorded++;
+            if (action != null && action.getActionType() == recordedAction.getActionType()) {
+                asRecorded++;
+            }
+        }
+    }
+
+    void addElapsed(final long nanos) {
+        elapsedNanos += nanos;
+    }
+
+    public int getHands() {
+        return hands;
+    }
+
+    public int getDecisions() {
+        return decisions;
+    }
+
+    /**
+     * @return the share of the decisions with a recorded action that chose the same action type, 0 if none
+     */
+    public double getAgreement() {
+        return recorded == 0 ? 0 : (double) asRecorded / recorded;
+    }
+
+    /**
+     * @return decisions per second of time spent deciding
+     */
+    public double getDecisionsPerSecond() {
+        return decisionNanos == 0 ? 0 : decisions * 1e9 / decisionNanos;
+    }
+
+    public long getDecisionNanos() {
+        return decisionNanos;
+    }
+
+    public long getMaxDecisionNanos() {
+        return maxDecisionNanos;
+    }
+
+    /**
+     * @return time spent replaying, reading the log included
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d hands, %d decisions, %.1f%% as recorded, %.0f decisions/s, max %.2f ms, %.0f ms in all",
+                hands, decisions, 100 * getAgreement(), getDecisionsPerSecond(), maxDecisionNanos / 1e6,
+                elapsedNanos / 1e6);
+    }
+}
@@ -0,0 +1,265 @@
+package se.cygni.texasholdem.player.replay;
+
+import se.cygni.texasholdem.game.Action;
+import se.cygni.texasholdem.game.ActionType;
+import se.cygni.texasholdem.game.Card;
+import se.cygni.texasholdem.game.definitions.PlayState;
+import se.cygni.texasholdem.game.definitions.PokerHand;
+import se.cygni.texasholdem.game.definitions.Suit;
+import se.cygni.texasholdem.player.replay.RecordedEvent.Type;
+import se.cygni.texasholdem.player.utils.CardMask;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Reads the hands played from a session log written by the bot with the logback pattern in
+ * <code>logback.xml</code>, <code>HH:mm:ss.SSS LEVEL logger - message</code>, and the show down table
+ * following the ShowDown line.
+ * <p/>
+ * The log is read in one pass and only the hand being read is kept, a hand is handed over once the next
+ * starts or the log ends. Lines before the first hand started are skipped, the log may begin mid-hand.
+ */
+public final class SessionLogReader {
+
+    private static final String BOT = "PerforatorBot";
+
+    private static final Pattern LINE = Pattern.compile("\\d\\d:\\d\\d:\\d\\d\\.\\d{3} +\\w+ +(\\w+) - (.*?) *");
+
+    private static final Pattern STREET = Pattern.compile("Table changed state: \\[?(\\w+)]?");
+    private static final Pattern POCKET_CARD = Pattern.compile("I, .+, got a card: \\[?(.+?)]?");
+    private static final Pattern COMMUNITY_CARD = Pattern.compile("Community got a card: \\[?(.+?)]?");
+    private static final Pattern SMALL_BLIND = Pattern.compile("(.+) placed small blind with amount (\\d+)");
+    private static final Pattern BIG_BLIND = Pattern.compile("(.+) placed big blind with amount (\\d+)");
+    private static final Pattern CHECK = Pattern.compile("(.+) checked");
+    private static final Pattern CALL = Pattern.compile("(.+) called with amount (\\d+)");
+    private static final Pattern RAISE = Pattern.compile("(.+) raised with bet (\\d+)");
+    private static final Pattern ALL_IN = Pattern.compile("(.+) went all in with amount (\\d+)");
+    private static final Pattern FOLD = Pattern.compile("(.+) folded after putting (\\d+) in the pot");
+    private static final Pattern FORCED_FOLD = Pattern.compile("(.+) was forced to fold after putting (\\d+) in the pot.*");
+    private static final Pattern WON = Pattern.compile("I, .+, won: (\\d+)");
+    private static final Pattern ACTION_REQUEST = Pattern.compile("Got an action request in play state \\[(\\w+)]");
+    private static final Pattern DECIDED = Pattern.compile(
+            "Round \\[\\d+]: I'm going to (\\w+) (?:with (\\d+))?\\. I currently have \\[(-?\\d+)] chips.*");
+    private static final Pattern POSSIBLE_ACTIONS = Pattern.compile("Possible (?:pre-flop )?actions \\[([A-Z_,]*)]");
+    private static final Pattern SHOW_DOWN_ROW = Pattern.compile(
+            "(\\S+) +won: +(\\S+) +hand: +(.+?) +cards: *\\|(.*)");
+
+    private static final String RANKS = "23456789TJQKA";
+    private static final Suit[] SUITS = Suit.values();
+    private static final PokerHand[] POKER_HANDS = PokerHand.values();
+
+    private final Consumer<RecordedHand> consumer;
+    private final Matcher line = LINE.matcher("");
+    private final Matcher showDownRow = SHOW_DOWN_ROW.matcher("");
+    private RecordedHand hand;
+    private boolean inShowDown;
+    private int hands;
+
+    private SessionLogReader(final Consumer<RecordedHand> consumer) {
+        this.consumer = consumer;
+    }
+
+    /**
+     * Hands every hand in the log to the consumer, in the order played.
+     *
+     * @return number of hands read
+     */
+    public static int read(final Path log, final Consumer<RecordedHand> consumer) throws IOException {
+        final SessionLogReader reader = new SessionLogReader(consumer);
+        MappedLines.forEach(log, reader::onLine);
+        reader.finishHand();
+        return reader.hands;
+    }
+
+    /**
+     * Parses a card as the game prints it, e.g. <code>J of Spades</code>.
+     *
+     * @return the card, null if it isn't one
+     */
+    public static Card parseCard(final CharSequence text) {
+        final String card = text.toString().trim();
+        final int of = card.indexOf(" of ");
+        if (of != 1) {
+            return null;
+        }
+        final int rank = RANKS.indexOf(card.charAt(0));
+        final String suitName = card.substring(of + 4);
+        for (Suit suit : SUITS) {
+            if (rank >= 0 && suit.getName().equals(suitName)) {
+                return CardMask.card(suit.ordinal() * CardMask.RANKS + rank);
+            }
+        }
+        return null;
+    }
+
+    private void onLine(final CharSequence text) {
+        if (inShowDown) {
+            if (showDownRow.reset(text).matches()) {
+                onShowDownRow();
+                return;
+            }
+            inShowDown = false;
+        }
+        if (!line.reset(text).matches()) {
+            return;
+        }
+        final String logger = line.group(1);
+        final String message = line.group(2);
+        if (BOT.equals(logger) && "Play is started".equals(message)) {
+            finishHand();
+            hand = new RecordedHand();
+            return;
+        }
+        if (hand == null) {
+            return;
+        }
+        if (BOT.equals(logger)) {
+            onBotMessage(message);
+        } else {
+            final Matcher possible = POSSIBLE_ACTIONS.matcher(message);
+            if (possible.matches()) {
+                onPossibleActions(possible.group(1));
+            }
+        }
+    }
+
+    private void onBotMessage(final String message) {
+        Matcher m;
+        if ((m = STREET.matcher(message)).matches()) {
+            final PlayState street = playState(m.group(1));
+            if (street != null) {
+                hand.add(RecordedEvent.street(street));
+            }
+        } else if ((m = POCKET_CARD.matcher(message)).matches()) {
+            addCard(Type.POCKET_CARD, m.group(1));
+        } else if ((m = COMMUNITY_CARD.matcher(message)).matches()) {
+            addCard(Type.COMMUNITY_CARD, m.group(1));
+        } else if ((m = DECIDED.matcher(message)).matches()) {
+            onDecided(m);
+        } else if ((m = ACTION_REQUEST.matcher(message)).matches()) {
+            hand.add(RecordedEvent.actionRequired(playState(m.group(1))));
+        } else if ("ShowDown:".equals(message)) {
+            inShowDown = true;
+        } else if ((m = WON.matcher(message)).matches()) {
+            hand.add(RecordedEvent.action(Type.WON, null, Long.parseLong(m.group(1))));
+        } else {
+            addAction(message);
+        }
+    }
+
+    private void addAction(final String message) {
+        Matcher m;
+        if ((m = SMALL_BLIND.matcher(message)).matches()) {
+            hand.add(RecordedEvent.action(Type.SMALL_BLIND, m.group(1), Long.parseLong(m.group(2))));
+        } else if ((m = BIG_BLIND.matcher(message)).matches()) {
+            hand.add(RecordedEvent.action(Type.BIG_BLIND, m.group(1), Long.parseLong(m.group(2))));
+        } else if ((m = CALL.matcher(message)).matches()) {
+            hand.add(RecordedEvent.action(Type.CALL, m.group(1), Long.parseLong(m.group(2))));
+        } else if ((m = RAISE.matcher(message)).matches()) {
+            hand.add(RecordedEvent.action(Type.RAISE, m.group(1), Long.parseLong(m.group(2))));
+        } else if ((m = ALL_IN.matcher(message)).matches()) {
+            hand.add(RecordedEvent.action(Type.ALL_IN, m.group(1), Long.parseLong(m.group(2))));
+        } else if ((m = FOLD.matcher(message)).matches()) {
+            hand.add(RecordedEvent.action(Type.FOLD, m.group(1), Long.parseLong(m.group(2))));
+        } else if ((m = FORCED_FOLD.matcher(message)).matches()) {
+            hand.add(RecordedEvent.action(Type.FORCED_FOLD, m.group(1), Long.parseLong(m.group(2))));
+        } else if ((m = CHECK.matcher(message)).matches()) {
+            hand.add(RecordedEvent.action(Type.CHECK, m.group(1), 0));
+        }
+    }
+
+    private void addCard(final Type type, final String text) {
+        final Card card = parseCard(text);
+        if (card != null) {
+            hand.add(RecordedEvent.card(type, card));
+        }
+    }
+
+    private void onPossibleActions(final String types) {
+        final RecordedEvent request = pendingRequest();
+        if (request == null) {
+            return;
+        }
+        final List<ActionType> actions = new ArrayList<>();
+        for (String type : types.split(",")) {
+            final ActionType actionType = actionType(type);
+            if (actionType != null) {
+                actions.add(actionType);
+            }
+        }
+        request.setPossibleActions(actions);
+    }
+
+    private void onDecided(final Matcher m) {
+        hand.setMyChips(Long.parseLong(m.group(3)));
+        final RecordedEvent request = pendingRequest();
+        final ActionType type = actionType(m.group(1));
+        if (request != null && type != null) {
+            request.setRecordedAction(new Action(type, m.group(2) == null ? 0 : Long.parseLong(m.group(2))));
+        }
+    }
+
+    private void onShowDownRow() {
+        final String won = showDownRow.group(2);
+        final boolean folded = "Fold".equals(won);
+        final List<Card> cards = new ArrayList<>(5);
+        for (String text : showDownRow.group(4).split("\\|")) {
+            final Card card = parseCard(text);
+            if (card != null) {
+                cards.add(card);
+            }
+        }
+        hand.add(RecordedEvent.showDown(showDownRow.group(1), folded ? 0 : Long.parseLong(won), folded,
+                pokerHand(showDownRow.group(3)), cards));
+    }
+
+    /**
+     * @return the request not yet answered, the decision is logged after what the strategies log
+     */
+    private RecordedEvent pendingRequest() {
+        final RecordedEvent last = hand.last();
+        return last != null && last.getType() == Type.ACTION_REQUIRED && last.getRecordedAction() == null ? last : null;
+    }
+
+    private void finishHand() {
+        inShowDown = false;
+        if (hand != null) {
+            hands++;
+            consumer.accept(hand);
+            hand = null;
+        }
+    }
+
+    private static PlayState playState(final String name) {
+        for (PlayState playState : PlayState.values()) {
+            if (playState.name().equals(name)) {
+                return playState;
+            }
+        }
+        return null;
+    }
+
+    private static ActionType actionType(final String name) {
+        for (ActionType actionType : ActionType.values()) {
+            if (actionType.name().equals(name)) {
+                return actionType;
+            }
+        }
+        return null;
+    }
+
+    private static PokerHand pokerHand(final String name) {
+        for (PokerHand pokerHand : POKER_HANDS) {
+            if (pokerHand.getName().equals(name)) {
+                return pokerHand;
+            }
+        }
+        return PokerHand.NOTHING;
+    }
+}
@@ -0,0 +1,282 @@
+package se.cygni.texasholdem.player.replay;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import se.cygni.texasholdem.communication.message.event.*;
+import se.cygni.texasholdem.communication.message.request.ActionRequest;
+import se.cygni.texasholdem.game.Action;
+import se.cygni.texasholdem.game.ActionType;
+import se.cygni.texasholdem.game.GamePlayer;
+import se.cygni.texasholdem.game.Hand;
+import se.cygni.texasholdem.game.PlayerShowDown;
+import se.cygni.texasholdem.player.PerforatorBot;
+import se.cygni.texasholdem.player.Player;
+import se.cygni.texasholdem.player.table.TableSnapshot;
+import se.cygni.texasholdem.player.table.TableState;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.lang.System.getProperty;
+import static org.springframework.util.Assert.notNull;
+
+/**
+ * Plays recorded sessions again for a {@link Player}, to see what a new build would have done with the
+ * hands and how fast. The events of a {@link SessionLogReader session log} are fed to the player's
+ * callbacks and every time it was asked to act, so is the player. The hands go on as recorded whatever the
+ * player answers. The events come back to back, work the player does between them isn't hidden by the
+ * time the other players take to act.
+ * <p/>
+ * The log doesn't hold everything the server sent:
+ * <ul>
+ * <li>Only my stack is logged, the other players start out with mine and follow what they put in and win.</li>
+ * <li>The dealer is taken to sit before the small blind.</li>
+ * <li>The amounts of the possible actions are worked out from the bets, a raise is the big blind over the
+ * call.</li>
+ * </ul>
+ */
+public class SessionReplay {
+
+    private final static Logger LOG = LoggerFactory.getLogger(SessionReplay.class);
+
+    public static final long DEFAULT_STACK = 10000;
+
+    // when the log doesn't say
+    private static final List<ActionType> CHECK_ACTIONS = Collections.unmodifiableList(
+            Arrays.asList(ActionType.FOLD, ActionType.ALL_IN, ActionType.RAISE, ActionType.CHECK));
+    private static final List<ActionType> CALL_ACTIONS = Collections.unmodifiableList(
+            Arrays.asList(ActionType.FOLD, ActionType.ALL_IN, ActionType.RAISE, ActionType.CALL));
+
+    private final Player player;
+    private final TableState table = new TableState();
+    private final Map<String, Long> stacks = new HashMap<>();
+    private final ReplayResult result = new ReplayResult();
+    private final List<PlayerShowDown> showDown = new ArrayList<>();
+    private Map<String, GamePlayer> seated = Collections.emptyMap();
+    private long firstStack = -1;
+    private long tableId;
+    private long requests;
+
+    public SessionReplay(final Player player) {
+        notNull(player, "'player' cannot be null");
+        this.player = player;
+    }
+
+    /**
+     * Replays the log as one table, which is done at the end of it.
+     *
+     * @return what was replayed so far, this log included
+     */
+    public ReplayResult replay(final Path log) throws IOException {
+        final long start = System.nanoTime();
+        tableId++;
+        stacks.clear();
+        firstStack = -1;
+        SessionLogReader.read(log, this::replay);
+        player.onTableIsDone(new TableIsDoneEvent(new ArrayList<>(seated.values())));
+        result.addElapsed(System.nanoTime() - start);
+        return result;
+    }
+
+    public ReplayResult getResult() {
+        return result;
+    }
+
+    void replay(final RecordedHand hand) {
+        startHand(hand);
+        for (RecordedEvent event : hand.getEvents()) {
+            if (event.getType() != RecordedEvent.Type.SHOW_DOWN) {
+                showDown();
+            }
+            replay(event);
+        }
+        showDown();
+        finishHand(hand);
+        result.onHand();
+    }
+
+    private void startHand(final RecordedHand hand) {
+        if (firstStack < 0 && hand.getMyChips() >= 0) {
+            firstStack = hand.getMyChips();
+        }
+        final long defaultStack = firstStack >= 0 ? firstStack : DEFAULT_STACK;
+
+        final List<GamePlayer> players = new ArrayList<>();
+        seated = new HashMap<>();
+        for (String name : hand.getPlayers()) {
+            final long stack = name.equals(player.getName()) && hand.getMyChips() >= 0
+                    ? hand.getMyChips()
+                    : stacks.getOrDefault(name, defaultStack);
+            final GamePlayer gamePlayer = new GamePlayer(name, stack);
+            players.add(gamePlayer);
+            seated.put(name, gamePlayer);
+        }
+
+        final GamePlayer smallBlind = seated.get(hand.getSmallBlindPlayer());
+        final GamePlayer dealer = smallBlind == null || players.size() < 3
+                ? smallBlind
+                : players.get((players.indexOf(smallBlind) + players.size() - 1) % players.size());
+        final PlayIsStartedEvent event = new PlayIsStartedEvent(players, hand.getSmallBlind(), hand.getBigBlind(),
+                dealer, smallBlind, seated.get(hand.getBigBlindPlayer()), tableId);
+
+        table.startHand(player.getName(), event);
+        player.onPlayIsStarted(event);
+    }
+
+    private void replay(final RecordedEvent event) {
+        final GamePlayer gamePlayer = event.getPlayer() == null ? null : gamePlayer(event.getPlayer());
+        switch (event.getType()) {
+            case STREET:
+                table.onStreet(event.getStreet());
+                player.onTableChangedStateEvent(new TableChangedStateEvent(event.getStreet()));
+                break;
+            case POCKET_CARD:
+                table.onPocketCard(event.getCard());
+                player.onYouHaveBeenDealtACard(new YouHaveBeenDealtACardEvent(event.getCard()));
+                break;
+            case COMMUNITY_CARD:
+                table.onCommunityCard(event.getCard());
+                player.onCommunityHasBeenDealtACard(new CommunityHasBeenDealtACardEvent(event.getCard()));
+                break;
+            case SMALL_BLIND:
+                table.onBet(gamePlayer, event.getAmount());
+                player.onPlayerBetSmallBlind(new PlayerBetSmallBlindEvent(gamePlayer, event.getAmount()));
+                break;
+            case BIG_BLIND:
+                table.onBet(gamePlayer, event.getAmount());
+                player.onPlayerBetBigBlind(new PlayerBetBigBlindEvent(gamePlayer, event.getAmount()));
+                break;
+            case CHECK:
+                player.onPlayerChecked(new PlayerCheckedEvent(gamePlayer));
+                break;
+            case CALL:
+                table.onBet(gamePlayer, event.getAmount());
+                player.onPlayerCalled(new PlayerCalledEvent(gamePlayer, event.getAmount()));
+                break;
+            case RAISE:
+                table.onBet(gamePlayer, event.getAmount());
+                player.onPlayerRaised(new PlayerRaisedEvent(gamePlayer, event.getAmount()));
+                break;
+            case ALL_IN:
+                table.onAllIn(gamePlayer, event.getAmount());
+                player.onPlayerWentAllIn(new PlayerWentAllInEvent(gamePlayer, event.getAmount()));
+                break;
+            case FOLD:
+                table.onFold(gamePlayer);
+                player.onPlayerFolded(new PlayerFoldedEvent(gamePlayer, event.getAmount()));
+                break;
+            case FORCED_FOLD:
+                table.onFold(gamePlayer);
+                player.onPlayerForcedFolded(new PlayerForcedFoldedEvent(gamePlayer, event.getAmount()));
+                break;
+            case WON:
+                final TableSnapshot snapshot = table.snapshot();
+                player.onYouWonAmount(new YouWonAmountEvent(event.getAmount(),
+                        snapshot.getChips(snapshot.getMySeat()) + event.getAmount()));
+                break;
+            case SHOW_DOWN:
+                showDown.add(new PlayerShowDown(gamePlayer,
+                        new Hand(event.getCards(), event.getPokerHand(), event.isFolded()), event.getAmount()));
+                break;
+            case ACTION_REQUIRED:
+                actionRequired(event);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void actionRequired(final RecordedEvent event) {
+        final TableSnapshot snapshot = table.snapshot();
+        final int me = snapshot.getMySeat();
+        long highest = 0;
+        for (int seat = 0; seat < snapshot.getSeats(); seat++) {
+            highest = Math.max(highest, snapshot.getInvestment(seat));
+        }
+        final long call = me < 0 ? highest : highest - snapshot.getInvestment(me);
+
+        final List<Action> possibleActions = new ArrayList<>();
+        final List<ActionType> types = event.getPossibleActions().isEmpty()
+                ? (call == 0 ? CHECK_ACTIONS : CALL_ACTIONS)
+                : event.getPossibleActions();
+        for (ActionType type : types) {
+            possibleActions.add(new Action(type, amount(type, call, snapshot)));
+        }
+
+        final ActionRequest request = new ActionRequest("replay-" + ++requests, possibleActions);
+        final long start = System.nanoTime();
+        final Action action = player.actionRequired(request);
+        final long nanos = System.nanoTime() - start;
+        result.onDecision(event.getRecordedAction(), action, nanos);
+        if (LOG.isDebugEnabled() && event.getRecordedAction() != null && action != null
+                && action.getActionType() != event.getRecordedAction().getActionType()) {
+            LOG.debug("Replayed {} where {} was recorded", action.getActionType(),
+                    event.getRecordedAction().getActionType());
+        }
+    }
+
+    private static long amount(final ActionType type, final long call, final TableSnapshot snapshot) {
+        final int me = snapshot.getMySeat();
+        switch (type) {
+            case CALL:
+                return call;
+            case RAISE:
+                return call + snapshot.getBigBlind();
+            case ALL_IN:
+                return me < 0 ? 0 : snapshot.getChips(me);
+            default:
+                return 0;
+        }
+    }
+
+    private void showDown() {
+        if (!showDown.isEmpty()) {
+            player.onShowDown(new ShowDownEvent(new ArrayList<>(showDown)));
+            showDown.clear();
+        }
+    }
+
+    /**
+     * Carries the stacks over to the next hand.
+     */
+    private void finishHand(final RecordedHand hand) {
+        final Map<String, Long> won = new HashMap<>();
+        for (RecordedEvent event : hand.getEvents()) {
+            if (event.getType() == RecordedEvent.Type.SHOW_DOWN) {
+                won.merge(event.getPlayer(), event.getAmount(), Long::sum);
+            }
+        }
+        final TableSnapshot snapshot = table.snapshot();
+        for (int seat = 0; seat < snapshot.getSeats(); seat++) {
+            final String name = snapshot.getPlayer(seat).getName();
+            stacks.put(name, snapshot.getChips(seat) + won.getOrDefault(name, 0L));
+        }
+    }
+
+    private GamePlayer gamePlayer(final String name) {
+        final GamePlayer gamePlayer = seated.get(name);
+        return gamePlayer != null ? gamePlayer : new GamePlayer(name, 0);
+    }
+
+    /**
+     * Replays the session logs given for an {@link PerforatorBot#offline(String) offline} bot named
+     * <code>botName</code>, Perforator by default.
+     *
+     * @param logs paths to session logs
+     */
+    public static void main(String... logs) throws IOException {
+        try (PerforatorBot bot = PerforatorBot.offline(getProperty("botName", "Perforator"))) {
+            final SessionReplay replay = new SessionReplay(bot);
+            for (String log : logs) {
+                LOG.info("Replayed [{}]: {}", log, replay.replay(Paths.get(log)));
+            }
+        }
+    }
+}
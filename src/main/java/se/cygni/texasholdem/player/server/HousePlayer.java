@@ -0,0 +1,117 @@
+package se.cygni.texasholdem.player.server;
+
+import se.cygni.texasholdem.communication.message.event.*;
+import se.cygni.texasholdem.communication.message.request.ActionRequest;
+import se.cygni.texasholdem.game.Action;
+import se.cygni.texasholdem.player.Player;
+
+import static se.cygni.texasholdem.game.ActionType.CALL;
+import static se.cygni.texasholdem.game.ActionType.CHECK;
+
+/**
+ * Fills the empty seats of a training table. It checks when it can and calls otherwise, the server's own
+ * players are there to be played against, not to win.
+ */
+final class HousePlayer implements Player {
+
+    private final String name;
+
+    HousePlayer(final String name) {
+        this.name = name;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Action actionRequired(final ActionRequest request) {
+        Action answer = request.getPossibleActions().get(0);
+        for (Action action : request.getPossibleActions()) {
+            if (action.getActionType() == CHECK) {
+                return action;
+            }
+            if (action.getActionType() == CALL) {
+                answer = action;
+            }
+        }
+        return answer;
+    }
+
+    @Override
+    public void onPlayIsStarted(final PlayIsStartedEvent event) {
+    }
+
+    @Override
+    public void onTableChangedStateEvent(final TableChangedStateEvent event) {
+    }
+
+    @Override
+    public void onYouHaveBeenDealtACard(final YouHaveBeenDealtACardEvent event) {
+    }
+
+    @Override
+    public void onCommunityHasBeenDealtACard(final CommunityHasBeenDealtACardEvent event) {
+    }
+
+    @Override
+    public void onPlayerBetBigBlind(final PlayerBetBigBlindEvent event) {
+    }
+
+    @Override
+    public void onPlayerBetSmallBlind(final PlayerBetSmallBlindEvent event) {
+    }
+
+    @Override
+    public void onPlayerFolded(final PlayerFoldedEvent event) {
+    }
+
+    @Override
+    public void onPlayerForcedFolded(final PlayerForcedFoldedEvent event) {
+    }
+
+    @Override
+    public void onPlayerCalled(final PlayerCalledEvent event) {
+    }
+
+    @Override
+    public void onPlayerRaised(final PlayerRaisedEvent event) {
+    }
+
+    @Override
+    public void onPlayerWentAllIn(final PlayerWentAllInEvent event) {
+    }
+
+    @Override
+    public void onPlayerChecked(final PlayerCheckedEvent event) {
+    }
+
+    @Override
+    public void onYouWonAmount(final YouWonAmountEvent event) {
+    }
+
+    @Override
+    public void onShowDown(final ShowDownEvent event) {
+    }
+
+    @Override
+    public void onPlayerQuit(final PlayerQuitEvent event) {
+    }
+
+    @Override
+    public void onTableIsDone(final TableIsDoneEvent event) {
+    }
+
+    @Override
+    public void serverIsShuttingDown(final ServerIsShuttingDownEvent event) {
+    }
+
+    @Override
+    public void connectionToGameServerLost() {
+    }
+
+    @Override
+    public void connectionToGameServerEstablished() {
+    }
+}
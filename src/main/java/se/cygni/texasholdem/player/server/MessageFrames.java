@@ -0,0 +1,81 @@
+package se.cygni.texasholdem.player.server;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.springframework.util.Assert.isTrue;
+
+/**
+ * Cuts the bytes read from a connection into messages at the delimiter the client ends every message with.
+ * A message can arrive over any number of reads and a read can hold any number of messages, the bytes of
+ * an unfinished one are kept until the rest arrives.
+ */
+final class MessageFrames {
+
+    static final String DELIMITER = "_-^emil^-_";
+
+    private static final byte[] DELIMITER_BYTES = DELIMITER.getBytes(UTF_8);
+
+    private final int maxLength;
+    private byte[] bytes = new byte[1024];
+    private int length;
+    private int scanned;
+
+    /**
+     * @param maxLength of a message, a longer one fails the connection
+     */
+    MessageFrames(final int maxLength) {
+        isTrue(maxLength > 0, "'maxLength' must be positive");
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * Takes the bytes remaining in the buffer and hands over the messages they complete, in order.
+     */
+    void read(final ByteBuffer buffer, final Consumer<String> messages) throws IOException {
+        final int read = buffer.remaining();
+        if (length + read > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(2 * bytes.length, length + read));
+        }
+        buffer.get(bytes, length, read);
+        length += read;
+
+        int start = 0;
+        for (int i = scanned; i <= length - DELIMITER_BYTES.length; i++) {
+            if (isDelimiterAt(i)) {
+                messages.accept(new String(bytes, start, i - start, UTF_8));
+                start = i + DELIMITER_BYTES.length;
+                i = start - 1;
+            }
+        }
+        length -= start;
+        System.arraycopy(bytes, start, bytes, 0, length);
+        // a delimiter may start in the bytes not scanned to the end
+        scanned = Math.max(0, length - DELIMITER_BYTES.length + 1);
+        if (length > maxLength) {
+            throw new IOException("Message longer than " + maxLength + " bytes");
+        }
+    }
+
+    /**
+     * @return the message ended by the delimiter, ready to be written
+     */
+    static ByteBuffer encode(final String message) {
+        final byte[] encoded = message.getBytes(UTF_8);
+        final ByteBuffer buffer = ByteBuffer.allocate(encoded.length + DELIMITER_BYTES.length);
+        buffer.put(encoded).put(DELIMITER_BYTES).flip();
+        return buffer;
+    }
+
+    private boolean isDelimiterAt(final int offset) {
+        for (int i = 0; i < DELIMITER_BYTES.length; i++) {
+            if (bytes[offset + i] != DELIMITER_BYTES[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
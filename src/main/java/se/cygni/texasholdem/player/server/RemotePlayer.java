@@ -0,0 +1,310 @@
+package se.cygni.texasholdem.player.server;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import se.cygni.texasholdem.communication.message.TexasMessage;
+import se.cygni.texasholdem.communication.message.TexasMessageParser;
+import se.cygni.texasholdem.communication.message.event.*;
+import se.cygni.texasholdem.communication.message.request.ActionRequest;
+import se.cygni.texasholdem.communication.message.response.ActionResponse;
+import se.cygni.texasholdem.game.Action;
+import se.cygni.texasholdem.game.Room;
+import se.cygni.texasholdem.player.Player;
+import se.cygni.texasholdem.player.decision.LatencyHistogram;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * A client connected to the {@link StandInServer}, seated at a table as any other {@link Player}. The table
+ * events are encoded and queued for the server's I/O thread as they happen. An action request waits on the
+ * table's thread for the answer, for at most the action timeout, and the time from queuing the request to
+ * the answer being read is recorded as the round trip.
+ */
+final class RemotePlayer implements Player {
+
+    private final static Logger LOG = LoggerFactory.getLogger(RemotePlayer.class);
+
+    private final StandInServer server;
+    private final SocketChannel channel;
+    private final MessageFrames frames;
+    private final long actionTimeoutMillis;
+    private final Queue<ByteBuffer> writes = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean flushQueued = new AtomicBoolean();
+    private final LatencyHistogram roundTrips = new LatencyHistogram();
+    private volatile SelectionKey key;
+    private volatile String name;
+    private volatile Room room;
+    private volatile String sessionId;
+    private volatile PendingAction pending;
+    private volatile boolean closed;
+
+    private static final class PendingAction {
+
+        final String requestId;
+        final long sentNanos;
+        final CompletableFuture<Action> answer = new CompletableFuture<>();
+
+        PendingAction(final String requestId, final long sentNanos) {
+            this.requestId = requestId;
+            this.sentNanos = sentNanos;
+        }
+    }
+
+    RemotePlayer(final StandInServer server, final SocketChannel channel, final int maxMessageLength,
+                 final long actionTimeoutMillis) {
+        this.server = server;
+        this.channel = channel;
+        this.frames = new MessageFrames(maxMessageLength);
+        this.actionTimeoutMillis = actionTimeoutMillis;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    Room getRoom() {
+        return room;
+    }
+
+    String getSessionId() {
+        return sessionId;
+    }
+
+    SocketChannel getChannel() {
+        return channel;
+    }
+
+    SelectionKey getKey() {
+        return key;
+    }
+
+    void setKey(final SelectionKey key) {
+        this.key = key;
+    }
+
+    LatencyHistogram getRoundTrips() {
+        return roundTrips;
+    }
+
+    boolean isRegistered() {
+        return name != null;
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    void register(final String name, final Room room, final String sessionId) {
+        this.name = name;
+        this.room = room;
+        this.sessionId = sessionId;
+    }
+
+    /**
+     * Asks the client and waits for the answer.
+     *
+     * @throws IllegalStateException if the client doesn't answer in time or is gone, which folds it
+     */
+    @Override
+    public Action actionRequired(final ActionRequest request) {
+        if (closed) {
+            throw new IllegalStateException(name + " is disconnected");
+        }
+        final PendingAction action = new PendingAction(request.getRequestId(), System.nanoTime());
+        pending = action;
+        try {
+            send(request);
+            return action.answer.get(actionTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new IllegalStateException(name + " did not answer within " + actionTimeoutMillis + " ms");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(name + " was interrupted waiting for an answer");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(name + " is disconnected", e.getCause());
+        } finally {
+            pending = null;
+        }
+    }
+
+    /**
+     * On the I/O thread, an answer that comes too late or to another request is dropped.
+     */
+    void onAnswer(final ActionResponse response) {
+        final PendingAction action = pending;
+        if (action == null || !action.requestId.equals(response.getRequestId())) {
+            LOG.debug("{} answered [{}] which isn't waited for", name, response.getRequestId());
+            return;
+        }
+        final long nanos = System.nanoTime() - action.sentNanos;
+        roundTrips.record(nanos);
+        server.getRoundTrips().record(nanos);
+        action.answer.complete(response.getAction());
+    }
+
+    /**
+     * Queues the message to be written by the I/O thread, nothing is sent once the connection is closed.
+     */
+    void send(final TexasMessage message) {
+        if (closed) {
+            return;
+        }
+        try {
+            writes.add(MessageFrames.encode(TexasMessageParser.encodeMessage(message)));
+        } catch (IOException e) {
+            LOG.warn("Could not encode {} for {}", message.getClass().getSimpleName(), name, e);
+            return;
+        }
+        if (flushQueued.compareAndSet(false, true)) {
+            server.queueFlush(this);
+        }
+    }
+
+    /**
+     * On the I/O thread, hands over the messages completed by the bytes read.
+     */
+    void read(final ByteBuffer buffer, final Consumer<String> messages) throws IOException {
+        frames.read(buffer, messages);
+    }
+
+    /**
+     * On the I/O thread, writes what the socket takes of the queued messages.
+     *
+     * @return whether everything queued is written
+     */
+    boolean flush() throws IOException {
+        flushQueued.set(false);
+        ByteBuffer buffer;
+        while ((buffer = writes.peek()) != null) {
+            channel.write(buffer);
+            if (buffer.hasRemaining()) {
+                return false;
+            }
+            writes.poll();
+        }
+        return true;
+    }
+
+    void close() {
+        closed = true;
+        final PendingAction action = pending;
+        if (action != null) {
+            action.answer.completeExceptionally(new IOException("Connection closed"));
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            LOG.debug("Could not close the connection of {}", name, e);
+        }
+    }
+
+    @Override
+    public void onPlayIsStarted(final PlayIsStartedEvent event) {
+        send(event);
+    }
+
+    @Override
+    public void onTableChangedStateEvent(final TableChangedStateEvent event) {
+        send(event);
+    }
+
+    @Override
+    public void onYouHaveBeenDealtACard(final YouHaveBeenDealtACardEvent event) {
+        send(event);
+    }
+
+    @Override
+    public void onCommunityHasBeenDealtACard(final CommunityHasBeenDealtACardEvent event) {
+        send(event);
+    }
+
+    @Override
+    public void onPlayerBetBigBlind(final PlayerBetBigBlindEvent event) {
+        send(event);
+    }
+
+    @Override
+    public void onPlayerBetSmallBlind(final PlayerBetSmallBlindEvent event) {
+        send(event);
+    }
+
+    @Override
+    public void onPlayerFolded(final PlayerFoldedEvent event) {
+        send(event);
+    }
+
+    @Override
+    public void onPlayerForcedFolded(final PlayerForcedFoldedEvent event) {
+        send(event);
+    }
+
+    @Override
+    public void onPlayerCalled(final PlayerCalledEvent event) {
+        send(event);
+    }
+
+    @Override
+    public void onPlayerRaised(final PlayerRaisedEvent event) {
+        send(event);
+    }
+
+    @Override
+    public void onPlayerWentAllIn(final PlayerWentAllInEvent event) {
+        send(event);
+    }
+
+    @Override
+    public void onPlayerChecked(final PlayerCheckedEvent event) {
+        send(event);
+    }
+
+    @Override
+    public void onYouWonAmount(final YouWonAmountEvent event) {
+        send(event);
+    }
+
+    @Override
+    public void onShowDown(final ShowDownEvent event) {
+        send(event);
+    }
+
+    @Override
+    public void onPlayerQuit(final PlayerQuitEvent event) {
+        send(event);
+    }
+
+    @Override
+    public void onTableIsDone(final TableIsDoneEvent event) {
+        send(event);
+    }
+
+    @Override
+    public void serverIsShuttingDown(final ServerIsShuttingDownEvent event) {
+        send(event);
+    }
+
+    @Override
+    public void connectionToGameServerLost() {
+    }
+
+    @Override
+    public void connectionToGameServerEstablished() {
+    }
+
+    @Override
+    public String toString() {
+        return name != null ? name : String.valueOf(channel);
+    }
+}
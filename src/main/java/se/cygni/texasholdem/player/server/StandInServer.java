@@ -0,0 +1,452 @@
+package se.cygni.texasholdem.player.server;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import se.cygni.texasholdem.communication.message.TexasMessage;
+import se.cygni.texasholdem.communication.message.TexasMessageParser;
+import se.cygni.texasholdem.communication.message.event.ServerIsShuttingDownEvent;
+import se.cygni.texasholdem.communication.message.request.RegisterForPlayRequest;
+import se.cygni.texasholdem.communication.message.response.ActionResponse;
+import se.cygni.texasholdem.communication.message.response.RegisterForPlayResponse;
+import se.cygni.texasholdem.game.Room;
+import se.cygni.texasholdem.player.PerforatorBot;
+import se.cygni.texasholdem.player.Player;
+import se.cygni.texasholdem.player.decision.LatencyHistogram;
+import se.cygni.texasholdem.player.evaluator.HandEvaluator;
+import se.cygni.texasholdem.player.evaluator.HandEvaluatorEngine;
+import se.cygni.texasholdem.player.simulator.SimulatedTable;
+import se.cygni.texasholdem.player.simulator.SimulationResult;
+import se.cygni.texasholdem.player.simulator.TableRules;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.lang.Integer.getInteger;
+import static org.springframework.util.Assert.isTrue;
+import static org.springframework.util.Assert.notNull;
+import static org.springframework.util.Assert.state;
+
+/**
+ * A local stand-in for the game server, speaking its protocol so bots can be played through their real
+ * client without the public server, to measure the whole loop of network, decoding, deciding and encoding
+ * with many bots at once. Messages are encoded by the same {@link TexasMessageParser} as the client's and
+ * framed by its delimiter.
+ * <p/>
+ * One I/O thread serves every connection over a {@link Selector}. A client registering for play gets its
+ * session and is seated, the hands are played by a {@link SimulatedTable} on a thread of its own per table
+ * which queues the messages for the I/O thread and waits for the answers to the action requests. The time
+ * from an action request to its answer is kept per connection.
+ * <p/>
+ * The rooms are played as:
+ * <ul>
+ * <li>TRAINING, a table of its own for every client, the empty seats filled by the house.</li>
+ * <li>FREEPLAY, a table once enough clients are waiting, those still connected wait again once it is
+ * done.</li>
+ * <li>TOURNAMENT, a table once enough clients are waiting, played once. The winners aren't moved on to
+ * another table.</li>
+ * </ul>
+ */
+public class StandInServer implements Closeable {
+
+    private final static Logger LOG = LoggerFactory.getLogger(StandInServer.class);
+
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_MESSAGE_LENGTH = 1024 * 1024;
+    private static final int BACKLOG = 1024;
+
+    private final int port;
+    private final TableRules rules;
+    private final int playersPerTable;
+    private final long actionTimeoutMillis;
+    private final long seed;
+    private final HandEvaluator evaluator = HandEvaluatorEngine.fromSystemProperties();
+    private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+    private final Queue<RemotePlayer> flushes = new ConcurrentLinkedQueue<>();
+    private final Set<RemotePlayer> players = ConcurrentHashMap.newKeySet();
+    private final Map<Room, List<RemotePlayer>> lobbies = new EnumMap<>(Room.class);
+    private final LatencyHistogram roundTrips = new LatencyHistogram();
+    private final SimulationResult result = new SimulationResult();
+    private final AtomicLong tableIds = new AtomicLong();
+    private final ExecutorService tables;
+    private Selector selector;
+    private ServerSocketChannel serverChannel;
+    private Thread ioThread;
+    private volatile boolean running;
+
+    /**
+     * @param port                0 for any free port
+     * @param playersPerTable     seated at every table
+     * @param actionTimeoutMillis a client doesn't answer within is folded
+     * @param seed                of the cards dealt, table <code>n</code> deals from the seed plus <code>n</code>
+     */
+    public StandInServer(final int port, final TableRules rules, final int playersPerTable,
+                         final long actionTimeoutMillis, final long seed) {
+        notNull(rules, "'rules' cannot be null");
+        isTrue(port >= 0, "'port' cannot be negative");
+        isTrue(playersPerTable >= 2, "'playersPerTable' must be at least 2");
+        isTrue(actionTimeoutMillis > 0, "'actionTimeoutMillis' must be positive");
+        this.port = port;
+        this.rules = rules;
+        this.playersPerTable = playersPerTable;
+        this.actionTimeoutMillis = actionTimeoutMillis;
+        this.seed = seed;
+
+        final AtomicInteger tableThreads = new AtomicInteger();
+        this.tables = Executors.newCachedThreadPool(runnable -> {
+            final Thread thread = new Thread(runnable, "stand-in-table-" + tableThreads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * @return a server on <code>serverPort</code>, 4711 by default, seating <code>serverPlayersPerTable</code>,
+     * 4 by default, folding clients that don't answer within <code>serverActionTimeout</code> ms, 1000 by
+     * default, and dealing from <code>serverSeed</code>. The tables are set by
+     * {@link TableRules#fromSystemProperties()}.
+     */
+    public static StandInServer fromSystemProperties() {
+        return new StandInServer(getInteger("serverPort", 4711), TableRules.fromSystemProperties(),
+                getInteger("serverPlayersPerTable", 4), getInteger("serverActionTimeout", 1000),
+                Long.getLong("serverSeed", 1));
+    }
+
+    /**
+     * Starts listening and serving connections on the I/O thread.
+     *
+     * @return this
+     */
+    public synchronized StandInServer start() throws IOException {
+        state(selector == null, "The server is already started");
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(port), BACKLOG);
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+
+        running = true;
+        ioThread = new Thread(this::serve, "stand-in-server");
+        ioThread.setDaemon(true);
+        ioThread.start();
+        LOG.info("Stand-in server listening on port {}", getPort());
+        return this;
+    }
+
+    /**
+     * @return the port listened on, the one picked if started on port 0
+     */
+    public int getPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    /**
+     * @return round trips of the action requests of all connections
+     */
+    public LatencyHistogram getRoundTrips() {
+        return roundTrips;
+    }
+
+    /**
+     * @return round trips of the action requests of the connected clients, by name
+     */
+    public Map<String, LatencyHistogram> getRoundTripsByPlayer() {
+        final Map<String, LatencyHistogram> byPlayer = new TreeMap<>();
+        for (RemotePlayer player : players) {
+            if (player.isRegistered()) {
+                byPlayer.put(player.getName(), player.getRoundTrips());
+            }
+        }
+        return byPlayer;
+    }
+
+    /**
+     * @return what the players won at the tables done
+     */
+    public SimulationResult getResult() {
+        return result;
+    }
+
+    /**
+     * Tells the clients the server is shutting down and closes every connection. The tables still playing
+     * fold the players as they are asked.
+     */
+    @Override
+    public void close() {
+        if (!running) {
+            return;
+        }
+        for (RemotePlayer player : players) {
+            player.send(new ServerIsShuttingDownEvent("The stand-in server is shutting down"));
+        }
+        running = false;
+        selector.wakeup();
+        try {
+            ioThread.join(actionTimeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        tables.shutdownNow();
+        LOG.info("Stand-in server stopped, round trips {}", roundTrips);
+    }
+
+    void queueFlush(final RemotePlayer player) {
+        flushes.add(player);
+        selector.wakeup();
+    }
+
+    private void serve() {
+        while (running) {
+            try {
+                selector.select();
+                RemotePlayer player;
+                while ((player = flushes.poll()) != null) {
+                    flush(player);
+                }
+
+                final Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    final SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept();
+                        continue;
+                    }
+                    final RemotePlayer remote = (RemotePlayer) key.attachment();
+                    if (key.isReadable()) {
+                        read(remote);
+                    }
+                    if (key.isValid() && key.isWritable()) {
+                        flush(remote);
+                    }
+                }
+            } catch (ClosedSelectorException e) {
+                break;
+            } catch (IOException e) {
+                LOG.warn("Stand-in server failed to serve", e);
+            }
+        }
+        shutDown();
+    }
+
+    private void accept() throws IOException {
+        final SocketChannel channel = serverChannel.accept();
+        if (channel == null) {
+            return;
+        }
+        channel.configureBlocking(false);
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        final RemotePlayer player = new RemotePlayer(this, channel, MAX_MESSAGE_LENGTH, actionTimeoutMillis);
+        player.setKey(channel.register(selector, SelectionKey.OP_READ, player));
+        players.add(player);
+        LOG.debug("Accepted a connection from {}", channel.getRemoteAddress());
+    }
+
+    private void read(final RemotePlayer player) {
+        try {
+            readBuffer.clear();
+            if (player.getChannel().read(readBuffer) < 0) {
+                disconnect(player);
+                return;
+            }
+            readBuffer.flip();
+            player.read(readBuffer, message -> receive(player, message));
+        } catch (IOException e) {
+            LOG.debug("Failed to read from {}", player, e);
+            disconnect(player);
+        }
+    }
+
+    private void flush(final RemotePlayer player) {
+        final SelectionKey key = player.getKey();
+        if (key == null || !key.isValid()) {
+            return;
+        }
+        try {
+            key.interestOps(player.flush()
+                    ? SelectionKey.OP_READ
+                    : SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+        } catch (IOException e) {
+            LOG.debug("Failed to write to {}", player, e);
+            disconnect(player);
+        }
+    }
+
+    private void receive(final RemotePlayer player, final String message) {
+        final TexasMessage decoded;
+        try {
+            decoded = TexasMessageParser.decodeMessage(message);
+        } catch (IOException e) {
+            LOG.warn("Could not decode a message from {}: {}", player, message);
+            return;
+        }
+
+        if (decoded instanceof ActionResponse) {
+            player.onAnswer((ActionResponse) decoded);
+        } else if (decoded instanceof RegisterForPlayRequest) {
+            register(player, (RegisterForPlayRequest) decoded);
+        } else {
+            LOG.debug("Ignoring {} from {}", decoded.getClass().getSimpleName(), player);
+        }
+    }
+
+    private void register(final RemotePlayer player, final RegisterForPlayRequest request) {
+        final String name = request.getName();
+        if (player.isRegistered() || name == null || isNameTaken(name)) {
+            LOG.warn("Refusing to register [{}] from {}, already registered or name taken", name, player);
+            disconnect(player);
+            return;
+        }
+        final Room room = request.getRoom() != null ? request.getRoom() : Room.TRAINING;
+        player.register(name, room, UUID.randomUUID().toString());
+
+        final RegisterForPlayResponse response = new RegisterForPlayResponse();
+        response.setRequestId(request.getRequestId());
+        response.setSessionId(player.getSessionId());
+        player.send(response);
+        LOG.info("[{}] registered for {}", name, room);
+        seat(player);
+    }
+
+    private boolean isNameTaken(final String name) {
+        for (RemotePlayer other : players) {
+            if (name.equals(other.getName()) && !other.isClosed()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Seats the player at a table of its own in training, else waits for the table to fill.
+     */
+    private void seat(final RemotePlayer player) {
+        final List<RemotePlayer> seated;
+        synchronized (lobbies) {
+            if (player.getRoom() == Room.TRAINING) {
+                seated = new ArrayList<>();
+                seated.add(player);
+            } else {
+                final List<RemotePlayer> lobby = lobbies.computeIfAbsent(player.getRoom(), room -> new ArrayList<>());
+                lobby.add(player);
+                if (lobby.size() < playersPerTable) {
+                    return;
+                }
+                seated = new ArrayList<>(lobby);
+                lobby.clear();
+            }
+        }
+        startTable(player.getRoom(), seated);
+    }
+
+    private void startTable(final Room room, final List<RemotePlayer> seated) {
+        final long tableId = tableIds.incrementAndGet();
+        final List<Player> table = new ArrayList<>(seated);
+        for (int house = 1; table.size() < playersPerTable; house++) {
+            table.add(new HousePlayer("House-" + tableId + "-" + house));
+        }
+        LOG.info("Table {} in {} seats {}", tableId, room, seated);
+
+        tables.execute(() -> {
+            final SimulationResult tableResult = new SimulationResult();
+            try {
+                new SimulatedTable(tableId, table, rules, evaluator, seed + tableId).play(tableResult);
+                result.merge(tableResult);
+            } catch (RuntimeException e) {
+                LOG.warn("Table {} failed", tableId, e);
+            }
+            LOG.info("Table {} is done after {} hands", tableId, tableResult.getHands());
+            if (room == Room.FREEPLAY && running) {
+                for (RemotePlayer player : seated) {
+                    if (!player.isClosed()) {
+                        seat(player);
+                    }
+                }
+            }
+        });
+    }
+
+    private void disconnect(final RemotePlayer player) {
+        player.close();
+        players.remove(player);
+        synchronized (lobbies) {
+            for (List<RemotePlayer> lobby : lobbies.values()) {
+                lobby.remove(player);
+            }
+        }
+        LOG.info("{} disconnected, round trips {}", player, player.getRoundTrips());
+    }
+
+    private void shutDown() {
+        RemotePlayer player;
+        while ((player = flushes.poll()) != null) {
+            try {
+                player.flush();
+            } catch (IOException e) {
+                LOG.debug("Failed to write to {}", player, e);
+            }
+        }
+        for (RemotePlayer remote : players) {
+            remote.close();
+        }
+        players.clear();
+        try {
+            selector.close();
+            serverChannel.close();
+        } catch (IOException e) {
+            LOG.warn("Could not close the stand-in server", e);
+        }
+    }
+
+    /**
+     * Starts a server as set by {@link #fromSystemProperties()} and <code>standInBots</code>
+     * {@link PerforatorBot}s, none by default, playing it in the <code>room</code> they're set to. The round
+     * trips are logged every <code>standInSummarySeconds</code>, 10 by default. The bots are closed once the
+     * server stops.
+     */
+    public static void main(String... args) throws Exception {
+        final StandInServer server = fromSystemProperties().start();
+        Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+        final List<PerforatorBot> bots = new ArrayList<>();
+        for (int i = 1; i <= getInteger("standInBots", 0); i++) {
+            final PerforatorBot bot = new PerforatorBot("Perforator-" + i, "localhost", server.getPort());
+            bots.add(bot);
+            bot.playATrainingGame();
+        }
+
+        final long summaryMillis = getInteger("standInSummarySeconds", 10) * 1000L;
+        try {
+            while (server.running) {
+                Thread.sleep(summaryMillis);
+                LOG.info("Round trips {}, {}", server.getRoundTrips(), server.getResult());
+            }
+        } finally {
+            bots.forEach(PerforatorBot::close);
+        }
+    }
+}
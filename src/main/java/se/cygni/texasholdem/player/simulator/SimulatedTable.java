@@ -0,0 +1,487 @@
+package se.cygni.texasholdem.player.simulator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import se.cygni.texasholdem.communication.message.event.*;
+import se.cygni.texasholdem.communication.message.request.ActionRequest;
+import se.cygni.texasholdem.game.Action;
+import se.cygni.texasholdem.game.ActionType;
+import se.cygni.texasholdem.game.Card;
+import se.cygni.texasholdem.game.GamePlayer;
+import se.cygni.texasholdem.game.Hand;
+import se.cygni.texasholdem.game.PlayerShowDown;
+import se.cygni.texasholdem.game.definitions.PlayState;
+import se.cygni.texasholdem.game.definitions.PokerHand;
+import se.cygni.texasholdem.player.Player;
+import se.cygni.texasholdem.player.evaluator.HandEvaluator;
+import se.cygni.texasholdem.player.table.TableState;
+import se.cygni.texasholdem.player.utils.CardMask;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+
+import static org.springframework.util.Assert.isTrue;
+import static org.springframework.util.Assert.notNull;
+import static se.cygni.texasholdem.game.ActionType.*;
+
+/**
+ * One table of a simulation, playing hands the way the game server does until one player has all the chips
+ * or the rules say the table is done. The players are called directly, on the thread playing the table.
+ * <p/>
+ * As on the server every street is dealt, also once all but one have folded. A raise is the big blind over
+ * the call, an all in over the highest bet opens the betting again like a raise. A player answering with an
+ * action that wasn't offered folds, one throwing is forced to fold. Pots are split between the best hands
+ * among the players who put in at least as much, as side pots.
+ */
+public class SimulatedTable {
+
+    private final static Logger LOG = LoggerFactory.getLogger(SimulatedTable.class);
+
+    private static final PlayState[] STREETS = {PlayState.FLOP, PlayState.TURN, PlayState.RIVER};
+
+    private final long tableId;
+    private final List<Player> players;
+    private final String[] names;
+    private final TableRules rules;
+    private final HandEvaluator evaluator;
+    private final SplittableRandom random;
+    private final int seats;
+    private final int[] deck = new int[CardMask.CARDS];
+    private final long[] chips;
+    private final long[] invested;
+    private final long[] roundBets;
+    private final long[] pocketCards;
+    private final boolean[] seated;
+    private final boolean[] folded;
+    private final boolean[] allIn;
+    private final boolean[] pending;
+    private final GamePlayer[] gamePlayers;
+    private long communityCards;
+    private int dealt;
+    private int dealer = -1;
+    private int hand;
+    private long requests;
+
+    /**
+     * @param players in seat order, with names unique at the table
+     * @param seed    of the decks dealt
+     */
+    public SimulatedTable(final long tableId, final List<? extends Player> players, final TableRules rules,
+                          final HandEvaluator evaluator, final long seed) {
+        notNull(players, "'players' cannot be null");
+        notNull(rules, "'rules' cannot be null");
+        notNull(evaluator, "'evaluator' cannot be null");
+        isTrue(players.size() >= 2 && players.size() <= TableState.MAX_SEATS,
+                "'players' must be between 2 and " + TableState.MAX_SEATS);
+
+        this.tableId = tableId;
+        this.players = new ArrayList<>(players);
+        this.rules = rules;
+        this.evaluator = evaluator;
+        this.random = new SplittableRandom(seed);
+        this.seats = players.size();
+        this.names = new String[seats];
+        final Set<String> unique = new HashSet<>();
+        for (int seat = 0; seat < seats; seat++) {
+            names[seat] = players.get(seat).getName();
+            isTrue(unique.add(names[seat]), "two players named " + names[seat]);
+        }
+        this.chips = new long[seats];
+        this.invested = new long[seats];
+        this.roundBets = new long[seats];
+        this.pocketCards = new long[seats];
+        this.seated = new boolean[seats];
+        this.folded = new boolean[seats];
+        this.allIn = new boolean[seats];
+        this.pending = new boolean[seats];
+        this.gamePlayers = new GamePlayer[seats];
+        for (int id = 0; id < CardMask.CARDS; id++) {
+            deck[id] = id;
+        }
+    }
+
+    /**
+     * Plays the table until it is done.
+     *
+     * @param result where the hands played are counted
+     */
+    public void play(final SimulationResult result) {
+        Arrays.fill(chips, rules.getStartingChips());
+        for (hand = 0; hand < rules.getMaxHands() && playersWithChips() > 1; hand++) {
+            playHand(result);
+        }
+
+        final List<GamePlayer> done = new ArrayList<>(seats);
+        String winner = null;
+        for (int seat = 0; seat < seats; seat++) {
+            done.add(new GamePlayer(names[seat], chips[seat]));
+            if (chips[seat] > 0) {
+                winner = winner == null ? names[seat] : "";
+            }
+        }
+        final TableIsDoneEvent event = new TableIsDoneEvent(done);
+        for (int seat = 0; seat < seats; seat++) {
+            send(seat, player -> player.onTableIsDone(event));
+        }
+        result.onTableDone(winner == null || winner.isEmpty() ? null : winner);
+    }
+
+    /**
+     * @return hands played so far
+     */
+    public int getHands() {
+        return hand;
+    }
+
+    /**
+     * @return chips of the player in the seat
+     */
+    public long getChips(final int seat) {
+        return chips[seat];
+    }
+
+    private void playHand(final SimulationResult result) {
+        final long smallBlind = rules.getSmallBlind(hand);
+        final long bigBlind = rules.getBigBlind(hand);
+        final long[] before = chips.clone();
+
+        final List<GamePlayer> table = new ArrayList<>(seats);
+        for (int seat = 0; seat < seats; seat++) {
+            seated[seat] = chips[seat] > 0;
+            folded[seat] = false;
+            allIn[seat] = false;
+            invested[seat] = 0;
+            roundBets[seat] = 0;
+            pocketCards[seat] = CardMask.EMPTY;
+            gamePlayers[seat] = seated[seat] ? new GamePlayer(names[seat], chips[seat]) : null;
+            if (seated[seat]) {
+                table.add(gamePlayers[seat]);
+            }
+        }
+        dealer = nextSeated(dealer);
+        final int smallBlindSeat = table.size() == 2 ? dealer : nextSeated(dealer);
+        final int bigBlindSeat = nextSeated(smallBlindSeat);
+        shuffle();
+
+        final PlayIsStartedEvent started = new PlayIsStartedEvent(table, smallBlind, bigBlind,
+                gamePlayers[dealer], gamePlayers[smallBlindSeat], gamePlayers[bigBlindSeat], tableId);
+        broadcast(player -> player.onPlayIsStarted(started));
+        street(PlayState.PRE_FLOP);
+        for (int card = 0; card < 2; card++) {
+            for (int seat = 0; seat < seats; seat++) {
+                if (seated[seat]) {
+                    final int id = deck[dealt++];
+                    pocketCards[seat] |= CardMask.bit(id);
+                    final YouHaveBeenDealtACardEvent event = new YouHaveBeenDealtACardEvent(CardMask.card(id));
+                    send(seat, player -> player.onYouHaveBeenDealtACard(event));
+                }
+            }
+        }
+
+        final PlayerBetSmallBlindEvent smallBlindEvent = new PlayerBetSmallBlindEvent(
+                gamePlayers[smallBlindSeat], bet(smallBlindSeat, Math.min(smallBlind, chips[smallBlindSeat])));
+        broadcast(player -> player.onPlayerBetSmallBlind(smallBlindEvent));
+        final PlayerBetBigBlindEvent bigBlindEvent = new PlayerBetBigBlindEvent(
+                gamePlayers[bigBlindSeat], bet(bigBlindSeat, Math.min(bigBlind, chips[bigBlindSeat])));
+        broadcast(player -> player.onPlayerBetBigBlind(bigBlindEvent));
+        bettingRound(nextSeated(bigBlindSeat), bigBlind);
+
+        for (PlayState street : STREETS) {
+            Arrays.fill(roundBets, 0);
+            street(street);
+            for (int card = street == PlayState.FLOP ? 3 : 1; card > 0; card--) {
+                final int id = deck[dealt++];
+                communityCards |= CardMask.bit(id);
+                final CommunityHasBeenDealtACardEvent event = new CommunityHasBeenDealtACardEvent(CardMask.card(id));
+                broadcast(player -> player.onCommunityHasBeenDealtACard(event));
+            }
+            bettingRound(nextSeated(dealer), bigBlind);
+        }
+
+        street(PlayState.SHOWDOWN);
+        final long[] won = showDown();
+        final List<PlayerShowDown> showDown = new ArrayList<>(table.size());
+        for (int seat = 0; seat < seats; seat++) {
+            if (!seated[seat]) {
+                continue;
+            }
+            chips[seat] += won[seat];
+            final YouWonAmountEvent event = new YouWonAmountEvent(won[seat], chips[seat]);
+            send(seat, player -> player.onYouWonAmount(event));
+            final Hand bestHand = folded[seat]
+                    ? new Hand(Collections.<Card>emptyList(), PokerHand.NOTHING, true)
+                    : evaluator.getBestHand(pocketCards[seat] | communityCards);
+            showDown.add(new PlayerShowDown(gamePlayers[seat], bestHand, won[seat]));
+        }
+        final ShowDownEvent showDownEvent = new ShowDownEvent(showDown);
+        broadcast(player -> player.onShowDown(showDownEvent));
+
+        for (int seat = 0; seat < seats; seat++) {
+            if (seated[seat]) {
+                result.onHand(names[seat], chips[seat] - before[seat], bigBlind);
+            }
+        }
+        result.onHand();
+    }
+
+    /**
+     * Asks the players in turn from the first until everyone still able to act has matched the highest bet
+     * since it was last raised.
+     */
+    private void bettingRound(final int first, final long bigBlind) {
+        long highest = 0;
+        int waiting = 0;
+        for (int seat = 0; seat < seats; seat++) {
+            highest = Math.max(highest, roundBets[seat]);
+            pending[seat] = canAct(seat);
+            waiting += pending[seat] ? 1 : 0;
+        }
+
+        int raises = 0;
+        for (int seat = first; waiting > 0 && stillIn() > 1; seat = (seat + 1) % seats) {
+            if (!pending[seat]) {
+                continue;
+            }
+            pending[seat] = false;
+            waiting--;
+            final long call = highest - roundBets[seat];
+            final boolean othersCanAct = othersCanAct(seat);
+            if (call == 0 && !othersCanAct) {
+                // nobody left to bet against
+                continue;
+            }
+            act(seat, call, othersCanAct && raises < rules.getMaxRaises() ? bigBlind : 0);
+            if (roundBets[seat] > highest) {
+                highest = roundBets[seat];
+                raises++;
+                for (int other = 0; other < seats; other++) {
+                    if (other != seat && !pending[other] && canAct(other)) {
+                        pending[other] = true;
+                        waiting++;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @param raise what a raise adds to the call, 0 if raising isn't allowed
+     */
+    private void act(final int seat, final long call, final long raise) {
+        final List<Action> possibleActions = new ArrayList<>(4);
+        possibleActions.add(new Action(FOLD, 0));
+        if (call == 0) {
+            possibleActions.add(new Action(CHECK, 0));
+        } else if (chips[seat] > call) {
+            possibleActions.add(new Action(CALL, call));
+        }
+        if (raise > 0 && chips[seat] > call + raise) {
+            possibleActions.add(new Action(RAISE, call + raise));
+        }
+        possibleActions.add(new Action(ALL_IN, chips[seat]));
+
+        final Action answer;
+        try {
+            answer = players.get(seat).actionRequired(
+                    new ActionRequest(tableId + "-" + ++requests, possibleActions));
+        } catch (RuntimeException e) {
+            LOG.warn("{} failed to act and is folded", names[seat], e);
+            folded[seat] = true;
+            final PlayerForcedFoldedEvent event = new PlayerForcedFoldedEvent(gamePlayers[seat], invested[seat]);
+            broadcast(player -> player.onPlayerForcedFolded(event));
+            return;
+        }
+
+        final GamePlayer gamePlayer = gamePlayers[seat];
+        final Action action = offered(possibleActions, answer);
+        switch (action.getActionType()) {
+            case CHECK:
+                final PlayerCheckedEvent checked = new PlayerCheckedEvent(gamePlayer);
+                broadcast(player -> player.onPlayerChecked(checked));
+                break;
+            case CALL:
+                final PlayerCalledEvent called = new PlayerCalledEvent(gamePlayer, bet(seat, action.getAmount()));
+                broadcast(player -> player.onPlayerCalled(called));
+                break;
+            case RAISE:
+                final PlayerRaisedEvent raised = new PlayerRaisedEvent(gamePlayer, bet(seat, action.getAmount()));
+                broadcast(player -> player.onPlayerRaised(raised));
+                break;
+            case ALL_IN:
+                final PlayerWentAllInEvent wentAllIn = new PlayerWentAllInEvent(gamePlayer, bet(seat, chips[seat]));
+                broadcast(player -> player.onPlayerWentAllIn(wentAllIn));
+                break;
+            default:
+                folded[seat] = true;
+                final PlayerFoldedEvent foldedEvent = new PlayerFoldedEvent(gamePlayer, invested[seat]);
+                broadcast(player -> player.onPlayerFolded(foldedEvent));
+                break;
+        }
+    }
+
+    /**
+     * @return the offered action of the type answered, fold if none
+     */
+    private static Action offered(final List<Action> possibleActions, final Action answer) {
+        if (answer != null) {
+            for (Action action : possibleActions) {
+                if (action.getActionType() == answer.getActionType()) {
+                    return action;
+                }
+            }
+        }
+        return possibleActions.get(0);
+    }
+
+    /**
+     * Splits the pot level by level, each level among the best hands of those who put in that much.
+     *
+     * @return chips won per seat
+     */
+    private long[] showDown() {
+        final long[] won = new long[seats];
+        final int[] strengths = new int[seats];
+        for (int seat = 0; seat < seats; seat++) {
+            if (seated[seat] && !folded[seat]) {
+                strengths[seat] = evaluator.evaluate(pocketCards[seat] | communityCards);
+            }
+        }
+
+        long previous = 0;
+        while (true) {
+            long level = Long.MAX_VALUE;
+            for (int seat = 0; seat < seats; seat++) {
+                if (invested[seat] > previous) {
+                    level = Math.min(level, invested[seat]);
+                }
+            }
+            if (level == Long.MAX_VALUE) {
+                break;
+            }
+
+            long pot = 0;
+            boolean contested = false;
+            for (int seat = 0; seat < seats; seat++) {
+                pot += Math.min(invested[seat], level) - Math.min(invested[seat], previous);
+                contested |= !folded[seat] && seated[seat] && invested[seat] >= level;
+            }
+            // only folded players put in this much, it goes to those left in the hand
+            int best = -1;
+            int winners = 0;
+            for (int seat = 0; seat < seats; seat++) {
+                if (eligible(seat, level, contested)) {
+                    if (strengths[seat] > best) {
+                        best = strengths[seat];
+                        winners = 1;
+                    } else if (strengths[seat] == best) {
+                        winners++;
+                    }
+                }
+            }
+            // the odd chips go to the first winners after the dealer
+            long odd = pot % winners;
+            for (int i = 1; i <= seats; i++) {
+                final int seat = (dealer + i) % seats;
+                if (eligible(seat, level, contested) && strengths[seat] == best) {
+                    won[seat] += pot / winners + (odd-- > 0 ? 1 : 0);
+                }
+            }
+            previous = level;
+        }
+        return won;
+    }
+
+    private boolean eligible(final int seat, final long level, final boolean contested) {
+        return seated[seat] && !folded[seat] && (invested[seat] >= level || !contested);
+    }
+
+    private long bet(final int seat, final long amount) {
+        chips[seat] -= amount;
+        invested[seat] += amount;
+        roundBets[seat] += amount;
+        if (chips[seat] == 0) {
+            allIn[seat] = true;
+        }
+        return amount;
+    }
+
+    private void street(final PlayState street) {
+        final TableChangedStateEvent event = new TableChangedStateEvent(street);
+        broadcast(player -> player.onTableChangedStateEvent(event));
+    }
+
+    private void shuffle() {
+        for (int i = CardMask.CARDS - 1; i > 0; i--) {
+            final int j = random.nextInt(i + 1);
+            final int card = deck[i];
+            deck[i] = deck[j];
+            deck[j] = card;
+        }
+        dealt = 0;
+        communityCards = CardMask.EMPTY;
+    }
+
+    private boolean canAct(final int seat) {
+        return seated[seat] && !folded[seat] && !allIn[seat];
+    }
+
+    private boolean othersCanAct(final int seat) {
+        for (int other = 0; other < seats; other++) {
+            if (other != seat && canAct(other)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int stillIn() {
+        int stillIn = 0;
+        for (int seat = 0; seat < seats; seat++) {
+            stillIn += seated[seat] && !folded[seat] ? 1 : 0;
+        }
+        return stillIn;
+    }
+
+    private int playersWithChips() {
+        int players = 0;
+        for (long stack : chips) {
+            players += stack > 0 ? 1 : 0;
+        }
+        return players;
+    }
+
+    private int nextSeated(final int seat) {
+        for (int i = 1; i <= seats; i++) {
+            final int next = (seat + i + seats) % seats;
+            if (chips[next] > 0 || seated[next]) {
+                return next;
+            }
+        }
+        return seat;
+    }
+
+    /**
+     * Sends the event to the players dealt into the hand.
+     */
+    private void broadcast(final Consumer<Player> event) {
+        for (int seat = 0; seat < seats; seat++) {
+            if (seated[seat]) {
+                send(seat, event);
+            }
+        }
+    }
+
+    private void send(final int seat, final Consumer<Player> event) {
+        try {
+            event.accept(players.get(seat));
+        } catch (RuntimeException e) {
+            LOG.warn("{} failed to handle an event", names[seat], e);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package se.cygni.texasholdem.player.simulator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import se.cygni.texasholdem.player.PerforatorBot;
+import se.cygni.texasholdem.player.Player;
+import se.cygni.texasholdem.player.evaluator.HandEvaluator;
+import se.cygni.texasholdem.player.evaluator.HandEvaluatorEngine;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static java.lang.Integer.getInteger;
+import static org.springframework.util.Assert.isTrue;
+import static org.springframework.util.Assert.notNull;
+
+/**
+ * Plays many independent {@link SimulatedTable}s at once, to compare strategies over more hands than a
+ * server would deal in a day. Each worker thread seats players of its own, so a player is only ever called
+ * from one thread, and takes the next table to play until all are played. The seating is rotated table by
+ * table and table <code>n</code> deals from the seed plus <code>n</code>, the same seed deals the same
+ * cards whatever the number of threads.
+ * <p/>
+ * A {@link PerforatorBot} decides on threads of its own, fewer workers than cores may play more hands per
+ * second. Each worker closes its players when there are no more tables to play.
+ */
+public class Simulation {
+
+    private final static Logger LOG = LoggerFactory.getLogger(Simulation.class);
+
+    private static final int PROGRESS_TABLES = 100;
+
+    private final List<Supplier<? extends Player>> seats;
+    private final TableRules rules;
+    private final HandEvaluator evaluator = HandEvaluatorEngine.fromSystemProperties();
+
+    /**
+     * @param seats creates the player of each seat, once per worker thread
+     */
+    public Simulation(final List<Supplier<? extends Player>> seats, final TableRules rules) {
+        notNull(seats, "'seats' cannot be null");
+        isTrue(!seats.isEmpty(), "'seats' cannot be empty");
+        notNull(rules, "'rules' cannot be null");
+        this.seats = new ArrayList<>(seats);
+        this.rules = rules;
+    }
+
+    /**
+     * @param tables  tables to play
+     * @param threads worker threads playing them
+     * @param seed    of the cards dealt
+     * @return what the players won
+     */
+    public SimulationResult run(final int tables, final int threads, final long seed) throws InterruptedException {
+        isTrue(tables > 0, "'tables' must be positive");
+        isTrue(threads > 0, "'threads' must be positive");
+
+        final SimulationResult result = new SimulationResult();
+        final AtomicInteger nextTable = new AtomicInteger();
+        final AtomicInteger workerCount = new AtomicInteger();
+        final ExecutorService workers = Executors.newFixedThreadPool(threads, runnable -> {
+            final Thread thread = new Thread(runnable, "simulator-" + workerCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        final long start = System.nanoTime();
+        final List<Future<?>> futures = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            futures.add(workers.submit(() -> play(tables, seed, nextTable, result)));
+        }
+        workers.shutdown();
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            workers.shutdownNow();
+            throw new IllegalStateException("Simulation failed", e.getCause());
+        }
+        result.addElapsed(System.nanoTime() - start);
+        return result;
+    }
+
+    private void play(final int tables, final long seed, final AtomicInteger nextTable,
+                      final SimulationResult result) {
+        final List<Player> players = new ArrayList<>(seats.size());
+        for (Supplier<? extends Player> seat : seats) {
+            players.add(seat.get());
+        }
+
+        try {
+            int table;
+            while ((table = nextTable.getAndIncrement()) < tables) {
+                final List<Player> seating = new ArrayList<>(players);
+                Collections.rotate(seating, table % seating.size());
+
+                final SimulationResult tableResult = new SimulationResult();
+                new SimulatedTable(table + 1, seating, rules, evaluator, seed + table).play(tableResult);
+                result.merge(tableResult);
+                if ((table + 1) % PROGRESS_TABLES == 0) {
+                    LOG.info("Simulated {} of {} tables", table + 1, tables);
+                }
+            }
+        } finally {
+            players.forEach(Simulation::close);
+        }
+    }
+
+    /**
+     * Players holding threads of their own, such as a {@link PerforatorBot}, are closed once the worker is
+     * done with them.
+     */
+    private static void close(final Player player) {
+        if (player instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) player).close();
+            } catch (Exception e) {
+                LOG.warn("Could not close {}", player.getName(), e);
+            }
+        }
+    }
+
+    /**
+     * Plays <code>simulatorPlayers</code> offline {@link PerforatorBot}s against each other at
+     * <code>simulatorTables</code> tables on <code>simulatorThreads</code> threads, dealing from
+     * <code>simulatorSeed</code>. The table is set by {@link TableRules#fromSystemProperties()}.
+     */
+    public static void main(String... args) throws InterruptedException {
+        final List<Supplier<? extends Player>> seats = new ArrayList<>();
+        for (int i = 1; i <= getInteger("simulatorPlayers", 4); i++) {
+            final String name = "Perforator-" + i;
+            seats.add(() -> PerforatorBot.offline(name));
+        }
+
+        final Simulation simulation = new Simulation(seats, TableRules.fromSystemProperties());
+        final SimulationResult result = simulation.run(getInteger("simulatorTables", 100),
+                getInteger("simulatorThreads", Runtime.getRuntime().availableProcessors()),
+                Long.getLong("simulatorSeed", 1));
+        LOG.info("Simulated {}", result);
+    }
+}
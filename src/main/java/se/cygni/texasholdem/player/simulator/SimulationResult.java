@@ -0,0 +1,151 @@
+package se.cygni.texasholdem.player.simulator;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * What the players won over the simulated hands, per player name. Winnings are counted in big blinds of the
+ * hand they were won in so hands with high blinds don't drown the rest, with the standard error to tell a
+ * better strategy from a lucky one.
+ * <p/>
+ * Each worker fills its own result table by table, they are merged into the simulation's.
+ */
+public class SimulationResult {
+
+    private final Map<String, PlayerResult> players = new TreeMap<>();
+    private long hands;
+    private int tables;
+    private long elapsedNanos;
+
+    /**
+     * What one player won.
+     */
+    public static class PlayerResult {
+
+        private long hands;
+        private long chipsWon;
+        private double bigBlinds;
+        private double bigBlindsSquared;
+        private int tablesWon;
+
+        public long getHands() {
+            return hands;
+        }
+
+        /**
+         * @return chips won over all hands, negative if lost
+         */
+        public long getChipsWon() {
+            return chipsWon;
+        }
+
+        /**
+         * @return big blinds won per hundred hands
+         */
+        public double getBigBlindsPer100() {
+            return hands == 0 ? 0 : 100 * bigBlinds / hands;
+        }
+
+        /**
+         * @return standard error of {@link #getBigBlindsPer100()}
+         */
+        public double getStandardError() {
+            if (hands < 2) {
+                return 0;
+            }
+            final double mean = bigBlinds / hands;
+            final double variance = (bigBlindsSquared - hands * mean * mean) / (hands - 1);
+            return 100 * Math.sqrt(Math.max(variance, 0) / hands);
+        }
+
+        /**
+         * @return tables where the player ended up with all the chips
+         */
+        public int getTablesWon() {
+            return tablesWon;
+        }
+
+        void merge(final PlayerResult other) {
+            hands += other.hands;
+            chipsWon += other.chipsWon;
+            bigBlinds += other.bigBlinds;
+            bigBlindsSquared += other.bigBlindsSquared;
+            tablesWon += other.tablesWon;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%+.2f bb/100 (+/- %.2f), %+d chips over %d hands, %d tables won",
+                    getBigBlindsPer100(), 1.96 * getStandardError(), chipsWon, hands, tablesWon);
+        }
+    }
+
+    void onHand() {
+        hands++;
+    }
+
+    void onHand(final String player, final long chipsWon, final long bigBlind) {
+        final PlayerResult result = players.computeIfAbsent(player, name -> new PlayerResult());
+        final double bigBlinds = (double) chipsWon / bigBlind;
+        result.hands++;
+        result.chipsWon += chipsWon;
+        result.bigBlinds += bigBlinds;
+        result.bigBlindsSquared += bigBlinds * bigBlinds;
+    }
+
+    void onTableDone(final String winner) {
+        tables++;
+        if (winner != null) {
+            players.computeIfAbsent(winner, name -> new PlayerResult()).tablesWon++;
+        }
+    }
+
+    synchronized void addElapsed(final long nanos) {
+        elapsedNanos += nanos;
+    }
+
+    /**
+     * Adds what the other result counted to this one, the elapsed time apart.
+     */
+    public synchronized void merge(final SimulationResult other) {
+        hands += other.hands;
+        tables += other.tables;
+        for (Map.Entry<String, PlayerResult> entry : other.players.entrySet()) {
+            players.computeIfAbsent(entry.getKey(), name -> new PlayerResult()).merge(entry.getValue());
+        }
+    }
+
+    public synchronized Map<String, PlayerResult> getPlayers() {
+        return Collections.unmodifiableMap(new TreeMap<>(players));
+    }
+
+    public synchronized long getHands() {
+        return hands;
+    }
+
+    public synchronized int getTables() {
+        return tables;
+    }
+
+    public synchronized long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * @return hands played per second of wall clock time
+     */
+    public synchronized double getHandsPerSecond() {
+        return elapsedNanos == 0 ? 0 : hands * 1e9 / elapsedNanos;
+    }
+
+    @Override
+    public synchronized String toString() {
+        final StringBuilder sb = new StringBuilder(String.format("%d tables, %d hands, %.0f hands/s",
+                tables, hands, getHandsPerSecond()));
+        for (Map.Entry<String, PlayerResult> entry : players.entrySet()) {
+            sb.append(String.format("%n%-16s %s", entry.getKey(), entry.getValue()));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,80 @@
+package se.cygni.texasholdem.player.simulator;
+
+import static java.lang.Integer.getInteger;
+import static org.springframework.util.Assert.isTrue;
+
+/**
+ * How a simulated table is played: the chips everyone starts with, the blinds and how often they double,
+ * the raises allowed per betting round and the hands after which the table is done even if more than one
+ * player has chips left.
+ */
+public class TableRules {
+
+    private final long startingChips;
+    private final long smallBlind;
+    private final long bigBlind;
+    private final int blindsDoubleEvery;
+    private final int maxRaises;
+    private final int maxHands;
+
+    /**
+     * @param blindsDoubleEvery hands between the blinds doubling, 0 to keep them
+     */
+    public TableRules(long startingChips, long smallBlind, long bigBlind, int blindsDoubleEvery, int maxRaises,
+                      int maxHands) {
+        isTrue(smallBlind > 0, "'smallBlind' must be positive");
+        isTrue(bigBlind >= smallBlind, "'bigBlind' cannot be less than the small blind");
+        isTrue(startingChips >= bigBlind, "'startingChips' must cover the big blind");
+        isTrue(blindsDoubleEvery >= 0, "'blindsDoubleEvery' cannot be negative");
+        isTrue(maxRaises >= 0, "'maxRaises' cannot be negative");
+        isTrue(maxHands > 0, "'maxHands' must be positive");
+        this.startingChips = startingChips;
+        this.smallBlind = smallBlind;
+        this.bigBlind = bigBlind;
+        this.blindsDoubleEvery = blindsDoubleEvery;
+        this.maxRaises = maxRaises;
+        this.maxHands = maxHands;
+    }
+
+    /**
+     * @return rules from the system properties <code>tableChips</code>, <code>tableSmallBlind</code>,
+     * <code>tableBigBlind</code>, <code>tableBlindsDoubleEvery</code>, <code>tableMaxRaises</code> and
+     * <code>tableMaxHands</code>
+     */
+    public static TableRules fromSystemProperties() {
+        return new TableRules(getInteger("tableChips", 10000), getInteger("tableSmallBlind", 10),
+                getInteger("tableBigBlind", 20), getInteger("tableBlindsDoubleEvery", 50),
+                getInteger("tableMaxRaises", 4), getInteger("tableMaxHands", 500));
+    }
+
+    public long getStartingChips() {
+        return startingChips;
+    }
+
+    /**
+     * @param hand hands played at the table before this one
+     */
+    public long getSmallBlind(final int hand) {
+        return smallBlind << doublings(hand);
+    }
+
+    /**
+     * @param hand hands played at the table before this one
+     */
+    public long getBigBlind(final int hand) {
+        return bigBlind << doublings(hand);
+    }
+
+    public int getMaxRaises() {
+        return maxRaises;
+    }
+
+    public int getMaxHands() {
+        return maxHands;
+    }
+
+    private int doublings(final int hand) {
+        // enough doublings to put anyone all in, not enough to overflow
+        return blindsDoubleEvery == 0 ? 0 : Math.min(hand / blindsDoubleEvery, 30);
+    }
+}
@@ -1,61 +1,264 @@
 package se.cygni.texasholdem.player.stats;
 
-import se.cygni.texasholdem.client.CurrentPlayState;
 import se.cygni.texasholdem.client.PlayerClient;
-import se.cygni.texasholdem.game.GamePlayer;
+import se.cygni.texasholdem.communication.message.event.ShowDownEvent;
+import se.cygni.texasholdem.game.Card;
+import se.cygni.texasholdem.game.PlayerShowDown;
+import se.cygni.texasholdem.player.preflop.Position;
+import se.cygni.texasholdem.player.preflop.PositionDeterminator;
+import se.cygni.texasholdem.player.preflop.StartingHandType;
+import se.cygni.texasholdem.player.table.TableSnapshot;
+import se.cygni.texasholdem.player.utils.PlayState;
 
+import java.util.List;
+
+import static java.lang.Integer.getInteger;
+import static org.springframework.util.Assert.notNull;
+
+/**
+ * How the session is going, fed hand by hand from the game events. The results of my last hands are kept in
+ * fixed size {@link RollingWindow}s, overall, per position and per starting hand type, so a session of any
+ * length runs in the same memory and every read is constant time.
+ * <p/>
+ * A hand is finished by the show down, or by the start of the next hand if there was none. The chips won
+ * are what the show down paid me less what I put in the pot, or else the change of my stack between the
+ * hands.
+ */
 public class GameStatistics {
 
+    public static final int DEFAULT_WINDOW = 100;
+
     private final PlayerClient playerClient;
+    private final PositionDeterminator positionDeterminator = new PositionDeterminator();
     private int rounds = -1;
     private final String myName;
 
+    private final Results results;
+    private final Results[] byPosition = new Results[Position.values().length];
+    private final Results[] byType = new Results[StartingHandType.values().length];
+    private final RollingWindow showDowns;
+    private final RollingWindow stacks;
+
+    // the hand being played, no start stack when I'm not in it
+    private Position position;
+    private StartingHandType type;
+    private long startStack = -1;
+
     public GameStatistics(PlayerClient playerClient, String myName) {
+        this(playerClient, myName, DEFAULT_WINDOW);
+    }
+
+    public GameStatistics(PlayerClient playerClient, String myName, int window) {
+        notNull(playerClient, "'playerClient' cannot be null");
         this.playerClient = playerClient;
         this.myName = myName;
+        this.results = new Results(window);
+        for (int i = 0; i < byPosition.length; i++) {
+            byPosition[i] = new Results(window);
+        }
+        for (int i = 0; i < byType.length; i++) {
+            byType[i] = new Results(window);
+        }
+        this.showDowns = new RollingWindow(window);
+        this.stacks = new RollingWindow(window);
+    }
+
+    /**
+     * @return statistics over the last <code>statisticsWindow</code> hands, 100 by default
+     */
+    public static GameStatistics fromSystemProperties(PlayerClient playerClient, String myName) {
+        return new GameStatistics(playerClient, myName, getInteger("statisticsWindow", DEFAULT_WINDOW));
     }
 
     public int playersStillInRound() {
-        CurrentPlayState cps = playerClient.getCurrentPlayState();
-        return cps.getNumberOfPlayers() - cps.getNumberOfFoldedPlayers();
+        TableSnapshot table = getTable();
+        return table.getSeats() - table.getFoldedCount();
     }
 
     public long getChipRatio() {
-        CurrentPlayState cps = playerClient.getCurrentPlayState();
-        return 100 * cps.getMyCurrentChipAmount() / getTotalChips();
+        TableSnapshot table = getTable();
+        return 100 * table.getChips(table.getMySeat()) / table.getTotalChips();
     }
 
     public long getTotalChips() {
+        return getTable().getTotalChips();
+    }
+
+    public double getChipRatioBestOpponent() {
+        TableSnapshot table = getTable();
+        return ((double) table.getChips(table.getMySeat())) / table.getBestOpponentStack();
+    }
+
+    /**
+     * A new hand is seated at the table, finishes the last one if the show down didn't.
+     */
+    public void onHandStarted() {
+        TableSnapshot table = getTable();
+        long stack = table.getStack(table.getMySeat());
+        if (startStack >= 0) {
+            finish(stack - startStack, false);
+        }
 
-        long result = 0;
-        CurrentPlayState playState = playerClient.getCurrentPlayState();
-        for (GamePlayer gp : playState.getPlayers()) {
-            result += gp.getChipCount();
+        rounds++;
+        type = null;
+        if (table.getMySeat() < 0) {
+            position = null;
+            startStack = -1;
+            return;
         }
-        return result;
+        position = positionDeterminator.getPosition(table.getSeats(), table.getMySeat());
+        startStack = stack;
+        stacks.add(stack);
     }
 
-    public double getChipRatioBestOpponent() {
+    /**
+     * One of my pocket cards is dealt, the starting hand type is known with the second.
+     */
+    public void onPocketCard() {
+        List<Card> myCards = getTable().getMyCards();
+        if (myCards.size() == 2) {
+            type = StartingHandType.getGroup(myCards.get(0), myCards.get(1));
+        }
+    }
+
+    /**
+     * Finishes the hand with what the show down paid me.
+     */
+    public void onShowDown(ShowDownEvent event) {
+        notNull(event, "'event' cannot be null");
+        if (startStack < 0 || event.getPlayersShowDown() == null) {
+            return;
+        }
 
-        CurrentPlayState cps = playerClient.getCurrentPlayState();
-        long bestChips = -1;
-        for (GamePlayer gamePlayer : cps.getPlayers()) {
-            if (!myName.equals(gamePlayer.getName()) && !cps.hasPlayerFolded(gamePlayer)) {
-                if (gamePlayer.getChipCount() > bestChips) {
-                    bestChips = gamePlayer.getChipCount();
-                }
+        PlayerShowDown mine = null;
+        int inHand = 0;
+        for (PlayerShowDown playerShowDown : event.getPlayersShowDown()) {
+            if (!playerShowDown.getHand().isFolded()) {
+                inHand++;
+            }
+            if (playerShowDown.getPlayer().getName().equals(myName)) {
+                mine = playerShowDown;
             }
         }
+        if (mine == null) {
+            return;
+        }
 
-        return ((double) cps.getMyCurrentChipAmount()) / bestChips;
+        TableSnapshot table = getTable();
+        finish(mine.getWonAmount() - table.getInvestment(table.getMySeat()), !mine.getHand().isFolded() && inHand > 1);
     }
 
+    private void finish(final long chipsWon, final boolean showDown) {
+        results.add(chipsWon);
+        byPosition[position.ordinal()].add(chipsWon);
+        if (type != null) {
+            byType[type.ordinal()].add(chipsWon);
+        }
+        showDowns.add(showDown ? 1 : 0);
+        startStack = -1;
+    }
 
-    public void incrementRound() {
-        rounds++;
+    /**
+     * @return share of the last hands I won chips in, 0 before the first hand is finished
+     */
+    public double getWinRate() {
+        return results.getWinRate();
+    }
+
+    public double getWinRate(Position position) {
+        return byPosition[position.ordinal()].getWinRate();
+    }
+
+    public double getWinRate(StartingHandType type) {
+        return byType[type.ordinal()].getWinRate();
+    }
+
+    /**
+     * @return chips won in the last hands, negative when lost
+     */
+    public long getChipsWon() {
+        return results.chips.getSum();
+    }
+
+    public long getChipsWon(Position position) {
+        return byPosition[position.ordinal()].chips.getSum();
+    }
+
+    public long getChipsWon(StartingHandType type) {
+        return byType[type.ordinal()].chips.getSum();
+    }
+
+    /**
+     * @return number of the last hands finished, at most the window
+     */
+    public int getHands() {
+        return results.chips.getCount();
+    }
+
+    public int getHands(Position position) {
+        return byPosition[position.ordinal()].chips.getCount();
+    }
+
+    public int getHands(StartingHandType type) {
+        return byType[type.ordinal()].chips.getCount();
+    }
+
+    /**
+     * @return share of the last hands I went to show down in
+     */
+    public double getShowDownFrequency() {
+        return showDowns.getMean();
+    }
+
+    /**
+     * @param handsAgo 0 for the hand being played
+     * @return my stack at the start of the hand, 0 when further back than the window
+     */
+    public long getStack(int handsAgo) {
+        return stacks.get(handsAgo);
+    }
+
+    /**
+     * @return how my stack changed over the window, up to the start of the hand being played
+     */
+    public long getStackChange() {
+        return stacks.get(0) - stacks.getOldest();
     }
 
     public int getRounds() {
         return rounds;
     }
+
+    private TableSnapshot getTable() {
+        return ((PlayState) playerClient.getCurrentPlayState()).getTable();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("hands: %d, win rate: %.2f, chips won: %d, show downs: %.2f, stack change: %d",
+                getHands(), getWinRate(), getChipsWon(), getShowDownFrequency(), getStackChange());
+    }
+
+    /**
+     * Chips won and whether any were won, hand by hand.
+     */
+    private static final class Results {
+
+        private final RollingWindow chips;
+        private final RollingWindow wins;
+
+        Results(int window) {
+            this.chips = new RollingWindow(window);
+            this.wins = new RollingWindow(window);
+        }
+
+        void add(final long chipsWon) {
+            chips.add(chipsWon);
+            wins.add(chipsWon > 0 ? 1 : 0);
+        }
+
+        double getWinRate() {
+            return wins.getMean();
+        }
+    }
 }
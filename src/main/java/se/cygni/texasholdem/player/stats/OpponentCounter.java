@@ -0,0 +1,42 @@
+package se.cygni.texasholdem.player.stats;
+
+/**
+ * What is counted per opponent in {@link OpponentStatistics}, one long each.
+ */
+public enum OpponentCounter {
+
+    /**
+     * Hands dealt in.
+     */
+    HANDS,
+
+    /**
+     * Hands with chips put in the pot voluntarily before the flop, blinds don't count.
+     */
+    VPIP,
+
+    /**
+     * Hands raised before the flop.
+     */
+    PFR,
+
+    /**
+     * Raises and all ins after the flop.
+     */
+    AGGRESSIVE,
+
+    /**
+     * Calls after the flop.
+     */
+    PASSIVE,
+
+    /**
+     * Times in the blinds facing a steal, a first raise from late position.
+     */
+    STEAL_CHANCES,
+
+    /**
+     * Times folded to a steal.
+     */
+    FOLDED_TO_STEAL
+}
@@ -0,0 +1,298 @@
+package se.cygni.texasholdem.player.stats;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static java.lang.Integer.getInteger;
+import static java.lang.System.getProperty;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.springframework.util.Assert.isTrue;
+import static org.springframework.util.Assert.notNull;
+import static org.springframework.util.Assert.state;
+
+/**
+ * {@link OpponentCounter}s per opponent name in an open addressing hash table outside the heap. The table is
+ * a memory mapped file, what was counted in earlier sessions is there as soon as it is mapped and every
+ * update is written straight to the page cache.
+ * <p/>
+ * A slot holds a 64 bit hash of the name, the first {@link #NAME_CHARS} characters of the name to tell
+ * colliding hashes apart and the counters. Names are looked up by linear probing from their hash, the table
+ * takes no new names once three quarters full. Callers keep the slot of a name for the hand so the counting
+ * itself is a single read and write.
+ */
+public class OpponentStatistics {
+
+    private final static Logger LOG = LoggerFactory.getLogger(OpponentStatistics.class);
+
+    public static final String DEFAULT_FILE = "opponents.dat";
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    static final int MAGIC = 0x4F505053;
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 16;
+    static final int NAME_CHARS = 24;
+    static final int SLOT_BYTES = 128;
+
+    private static final int HASH = 0;
+    private static final int NAME_LENGTH = 8;
+    private static final int NAME = 12;
+    private static final int COUNTERS = 64;
+
+    private static final ConcurrentMap<Path, OpponentStatistics> SHARED = new ConcurrentHashMap<>();
+
+    private final ByteBuffer table;
+    private final int capacity;
+    private int size;
+    private boolean full;
+
+    OpponentStatistics(final ByteBuffer buffer) {
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        state(buffer.getInt(0) == MAGIC, "not an opponent statistics table");
+        state(buffer.getInt(4) == VERSION, "unsupported opponent statistics table version: " + buffer.getInt(4));
+        this.capacity = buffer.getInt(8);
+        this.size = buffer.getInt(12);
+        state(Integer.bitCount(capacity) == 1, "capacity must be a power of two");
+        state(buffer.capacity() == bytes(capacity), "truncated opponent statistics table");
+        this.table = buffer;
+    }
+
+    /**
+     * Maps the table in the file, creating the file if missing.
+     *
+     * @param path     table file
+     * @param capacity slots in a new table, a power of two
+     * @return statistics backed by the file
+     * @throws IOException if the file can't be mapped
+     */
+    public static OpponentStatistics open(final Path path, final int capacity) throws IOException {
+        notNull(path, "'path' cannot be null");
+        isTrue(Integer.bitCount(capacity) == 1, "'capacity' must be a power of two");
+
+        final boolean exists = Files.exists(path) && Files.size(path) > 0;
+        try (FileChannel channel = FileChannel.open(path, CREATE, READ, WRITE)) {
+            final long bytes = exists ? channel.size() : bytes(capacity);
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes);
+            if (!exists) {
+                writeHeader(buffer, capacity);
+            }
+            return new OpponentStatistics(buffer);
+        }
+    }
+
+    /**
+     * A table outside the heap not backed by a file, gone with the JVM.
+     */
+    public static OpponentStatistics inMemory(final int capacity) {
+        isTrue(Integer.bitCount(capacity) == 1, "'capacity' must be a power of two");
+        final ByteBuffer buffer = ByteBuffer.allocateDirect((int) bytes(capacity));
+        writeHeader(buffer, capacity);
+        return new OpponentStatistics(buffer);
+    }
+
+    /**
+     * Maps <code>opponentStatistics</code>, opponents.dat by default, with room for
+     * <code>opponentCapacity</code> opponents. Kept in memory only if the file can't be mapped. Bots in the
+     * same JVM share the table of a file, two mappings would count over each other.
+     */
+    public static OpponentStatistics fromSystemProperties() {
+        return shared(getProperty("opponentStatistics", DEFAULT_FILE));
+    }
+
+    /**
+     * As {@link #fromSystemProperties()} when <code>opponentStatistics</code> is given, otherwise a table in
+     * memory. For bots playing hands that must not be counted into the table of the live bot, such as
+     * replayed or simulated hands.
+     */
+    public static OpponentStatistics fromSystemPropertiesOrInMemory() {
+        final String file = getProperty("opponentStatistics");
+        return file != null ? shared(file) : inMemory(getInteger("opponentCapacity", DEFAULT_CAPACITY));
+    }
+
+    private static OpponentStatistics shared(final String file) {
+        final int capacity = getInteger("opponentCapacity", DEFAULT_CAPACITY);
+        return SHARED.computeIfAbsent(Paths.get(file).toAbsolutePath().normalize(), path -> {
+            try {
+                return open(path, capacity);
+            } catch (IOException | IllegalStateException e) {
+                LOG.warn("Can't map opponent statistics [{}], they won't be kept: {}", file, e.toString());
+                return inMemory(capacity);
+            }
+        });
+    }
+
+    /**
+     * Slot of the name, added unless the table is full.
+     *
+     * @return the slot, -1 if the table is full
+     */
+    public synchronized int slotOf(final String name) {
+        notNull(name, "'name' cannot be null");
+        final long hash = hash(name);
+        final int slot = probe(hash, name);
+        return slot >= 0 ? slot : add(~slot, hash, name);
+    }
+
+    /**
+     * Slot of the name if it's in the table.
+     *
+     * @return the slot, -1 if not in the table
+     */
+    public synchronized int find(final String name) {
+        notNull(name, "'name' cannot be null");
+        final int slot = probe(hash(name), name);
+        return slot >= 0 ? slot : -1;
+    }
+
+    /**
+     * Counts one for the opponent in the slot, nothing for slot -1.
+     */
+    public synchronized void increment(final int slot, final OpponentCounter counter) {
+        if (slot >= 0) {
+            final int offset = counter(slot, counter);
+            table.putLong(offset, table.getLong(offset) + 1);
+        }
+    }
+
+    /**
+     * @return the count for the opponent in the slot, 0 for slot -1
+     */
+    public synchronized long get(final int slot, final OpponentCounter counter) {
+        return slot >= 0 ? table.getLong(counter(slot, counter)) : 0;
+    }
+
+    /**
+     * @return the share of the opponent's hands, or other counter, the counter was counted, 0 when
+     * never seen
+     */
+    public synchronized double getRatio(final int slot, final OpponentCounter counter, final OpponentCounter of) {
+        final long total = get(slot, of);
+        return total == 0 ? 0 : (double) get(slot, counter) / total;
+    }
+
+    public double getVpip(final int slot) {
+        return getRatio(slot, OpponentCounter.VPIP, OpponentCounter.HANDS);
+    }
+
+    public double getPfr(final int slot) {
+        return getRatio(slot, OpponentCounter.PFR, OpponentCounter.HANDS);
+    }
+
+    /**
+     * @return raises per call after the flop
+     */
+    public double getAggression(final int slot) {
+        return getRatio(slot, OpponentCounter.AGGRESSIVE, OpponentCounter.PASSIVE);
+    }
+
+    public double getFoldToSteal(final int slot) {
+        return getRatio(slot, OpponentCounter.FOLDED_TO_STEAL, OpponentCounter.STEAL_CHANCES);
+    }
+
+    /**
+     * @return number of opponents in the table
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Writes what's counted to the file now rather than when the page cache gets to it.
+     */
+    public synchronized void force() {
+        if (table instanceof MappedByteBuffer) {
+            ((MappedByteBuffer) table).force();
+        }
+    }
+
+    /**
+     * @return the slot holding the name, or the complement of the empty slot where it would go
+     */
+    private int probe(final long hash, final String name) {
+        final int mask = capacity - 1;
+        for (int slot = (int) hash & mask; ; slot = (slot + 1) & mask) {
+            final int offset = offset(slot);
+            final long stored = table.getLong(offset + HASH);
+            if (stored == hash && sameName(offset, name)) {
+                return slot;
+            }
+            if (stored == 0) {
+                return ~slot;
+            }
+        }
+    }
+
+    private int add(final int slot, final long hash, final String name) {
+        if (size >= capacity - (capacity >> 2)) {
+            if (!full) {
+                LOG.warn("Opponent statistics are full at {} opponents, {} isn't counted", size, name);
+                full = true;
+            }
+            return -1;
+        }
+
+        final int offset = offset(slot);
+        final int chars = Math.min(name.length(), NAME_CHARS);
+        table.putInt(offset + NAME_LENGTH, name.length());
+        for (int i = 0; i < chars; i++) {
+            table.putChar(offset + NAME + 2 * i, name.charAt(i));
+        }
+        table.putLong(offset + HASH, hash);
+        table.putInt(12, ++size);
+        return slot;
+    }
+
+    private boolean sameName(final int offset, final String name) {
+        if (table.getInt(offset + NAME_LENGTH) != name.length()) {
+            return false;
+        }
+        final int chars = Math.min(name.length(), NAME_CHARS);
+        for (int i = 0; i < chars; i++) {
+            if (table.getChar(offset + NAME + 2 * i) != name.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int offset(final int slot) {
+        return HEADER_BYTES + slot * SLOT_BYTES;
+    }
+
+    private static int counter(final int slot, final OpponentCounter counter) {
+        return offset(slot) + COUNTERS + 8 * counter.ordinal();
+    }
+
+    /**
+     * FNV-1a over the characters of the name, never 0 which marks an empty slot.
+     */
+    static long hash(final String name) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < name.length(); i++) {
+            hash ^= name.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash == 0 ? 1 : hash;
+    }
+
+    private static long bytes(final int capacity) {
+        return HEADER_BYTES + (long) capacity * SLOT_BYTES;
+    }
+
+    private static void writeHeader(final ByteBuffer buffer, final int capacity) {
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(0, MAGIC).putInt(4, VERSION).putInt(8, capacity).putInt(12, 0);
+    }
+}
@@ -0,0 +1,105 @@
+package se.cygni.texasholdem.player.stats;
+
+import se.cygni.texasholdem.game.ActionType;
+import se.cygni.texasholdem.player.preflop.Position;
+import se.cygni.texasholdem.player.preflop.PositionDeterminator;
+import se.cygni.texasholdem.player.table.TableSnapshot;
+import se.cygni.texasholdem.player.table.TableState;
+
+import static org.springframework.util.Assert.notNull;
+import static se.cygni.texasholdem.game.ActionType.*;
+import static se.cygni.texasholdem.game.definitions.PlayState.PRE_FLOP;
+
+/**
+ * Counts what the opponents do into {@link OpponentStatistics}. The slot of every opponent is looked up once
+ * when the hand starts and kept by seat, what has been counted this hand are bits per seat, so an action is
+ * a few bit tests and at most a couple of counter increments.
+ * <p/>
+ * My own actions are fed too, they aren't counted but a raise of mine can be a steal the blinds fold to.
+ */
+public class OpponentTracker {
+
+    private final OpponentStatistics statistics;
+    private final PositionDeterminator positionDeterminator = new PositionDeterminator();
+    private final int[] slots = new int[TableState.MAX_SEATS];
+    private int seats;
+    private int vpip;
+    private int pfr;
+    private int stealChances;
+    private boolean opened;
+    private int stealer;
+
+    public OpponentTracker(OpponentStatistics statistics) {
+        notNull(statistics, "'statistics' cannot be null");
+        this.statistics = statistics;
+    }
+
+    public OpponentStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Counts a hand for every opponent at the table.
+     */
+    public synchronized void startHand(final TableSnapshot table) {
+        notNull(table, "'table' cannot be null");
+        seats = table.getSeats();
+        vpip = 0;
+        pfr = 0;
+        stealChances = 0;
+        opened = false;
+        stealer = -1;
+        for (int seat = 0; seat < seats; seat++) {
+            slots[seat] = seat == table.getMySeat() ? -1 : statistics.slotOf(table.getPlayer(seat).getName());
+            statistics.increment(slots[seat], OpponentCounter.HANDS);
+        }
+    }
+
+    /**
+     * @param table the table when the action was made
+     * @param seat  seat of the player acting
+     */
+    public synchronized void onAction(final TableSnapshot table, final int seat, final ActionType action) {
+        if (seat < 0 || seat >= seats) {
+            return;
+        }
+
+        final int slot = slots[seat];
+        final int bit = 1 << seat;
+        final boolean raise = action == RAISE || action == ALL_IN;
+        if (table.getStreet() != PRE_FLOP) {
+            if (raise) {
+                statistics.increment(slot, OpponentCounter.AGGRESSIVE);
+            } else if (action == CALL) {
+                statistics.increment(slot, OpponentCounter.PASSIVE);
+            }
+            return;
+        }
+
+        // a blind gets its chance at the steal when first acting on it
+        if (stealer >= 0 && seat != stealer && (stealChances & bit) == 0
+                && (seat == table.getSmallBlindSeat() || seat == table.getBigBlindSeat())) {
+            stealChances |= bit;
+            statistics.increment(slot, OpponentCounter.STEAL_CHANCES);
+            if (action == FOLD) {
+                statistics.increment(slot, OpponentCounter.FOLDED_TO_STEAL);
+            }
+        }
+
+        if (!raise && action != CALL) {
+            return;
+        }
+        if ((vpip & bit) == 0) {
+            vpip |= bit;
+            statistics.increment(slot, OpponentCounter.VPIP);
+        }
+        if (raise && (pfr & bit) == 0) {
+            pfr |= bit;
+            statistics.increment(slot, OpponentCounter.PFR);
+        }
+        if (raise && !opened && positionDeterminator.getPosition(seats, seat) == Position.LATE) {
+            stealer = seat;
+        }
+        opened = true;
+    }
+}
@@ -0,0 +1,66 @@
+package se.cygni.texasholdem.player.stats;
+
+import static org.springframework.util.Assert.isTrue;
+
+/**
+ * The last values added, a fixed size ring of longs with a running sum. Adding overwrites the oldest value
+ * once the ring is full, every read is constant time and nothing allocates after construction.
+ */
+final class RollingWindow {
+
+    private final long[] values;
+    private int next;
+    private int count;
+    private long sum;
+
+    RollingWindow(final int size) {
+        isTrue(size > 0, "'size' must be positive");
+        this.values = new long[size];
+    }
+
+    void add(final long value) {
+        sum += value - values[next];
+        values[next] = value;
+        next = next + 1 == values.length ? 0 : next + 1;
+        if (count < values.length) {
+            count++;
+        }
+    }
+
+    /**
+     * @return number of values in the window, at most its size
+     */
+    int getCount() {
+        return count;
+    }
+
+    long getSum() {
+        return sum;
+    }
+
+    /**
+     * @return the mean of the values in the window, 0 when empty
+     */
+    double getMean() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    /**
+     * @param age 0 for the latest value, 1 for the one before and so on
+     * @return the value, 0 when not in the window
+     */
+    long get(final int age) {
+        if (age < 0 || age >= count) {
+            return 0;
+        }
+        final int index = next - 1 - age;
+        return values[index < 0 ? index + values.length : index];
+    }
+
+    /**
+     * @return the oldest value in the window, 0 when empty
+     */
+    long getOldest() {
+        return get(count - 1);
+    }
+}
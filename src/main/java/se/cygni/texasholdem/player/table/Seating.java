@@ -0,0 +1,110 @@
+package se.cygni.texasholdem.player.table;
+
+import se.cygni.texasholdem.communication.message.event.PlayIsStartedEvent;
+import se.cygni.texasholdem.game.GamePlayer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.springframework.util.Assert.notNull;
+import static org.springframework.util.Assert.state;
+
+/**
+ * Who sits where for one hand, fixed when the play is started and shared by every snapshot of the hand.
+ * A seat is the index of the player in position order, small blind at 0.
+ */
+final class Seating {
+
+    static final Seating EMPTY = new Seating();
+
+    final String myName;
+    final long tableId;
+    final long smallBlind;
+    final long bigBlind;
+    final List<GamePlayer> players;
+    final List<GamePlayer> positionOrder;
+    final Map<String, Integer> seats;
+    final long[] stacks;
+    final long totalChips;
+    final int mySeat;
+    final int dealerSeat;
+    final int smallBlindSeat;
+    final int bigBlindSeat;
+
+    private Seating() {
+        this.myName = null;
+        this.tableId = 0;
+        this.smallBlind = 0;
+        this.bigBlind = 0;
+        this.players = Collections.emptyList();
+        this.positionOrder = Collections.emptyList();
+        this.seats = Collections.emptyMap();
+        this.stacks = new long[0];
+        this.totalChips = 0;
+        this.mySeat = -1;
+        this.dealerSeat = -1;
+        this.smallBlindSeat = -1;
+        this.bigBlindSeat = -1;
+    }
+
+    Seating(final String myName, final PlayIsStartedEvent event) {
+        notNull(event.getPlayers(), "'players' cannot be null");
+        state(event.getPlayers().size() <= TableState.MAX_SEATS, "too many players at the table");
+
+        this.myName = myName;
+        this.tableId = event.getTableId();
+        this.smallBlind = event.getSmallBlindAmount();
+        this.bigBlind = event.getBigBlindAmount();
+        this.players = Collections.unmodifiableList(new ArrayList<>(event.getPlayers()));
+
+        // the players come in table order, rotate it so the small blind comes first
+        final int size = players.size();
+        int first = 0;
+        for (int i = 0; i < size; i++) {
+            if (sameName(players.get(i), event.getSmallBlindPlayer())) {
+                first = i;
+                break;
+            }
+        }
+
+        final List<GamePlayer> positionOrder = new ArrayList<>(size);
+        final Map<String, Integer> seats = new HashMap<>();
+        this.stacks = new long[size];
+        long totalChips = 0;
+        for (int seat = 0; seat < size; seat++) {
+            final GamePlayer player = players.get((first + seat) % size);
+            positionOrder.add(player);
+            seats.put(player.getName(), seat);
+            stacks[seat] = player.getChipCount();
+            totalChips += player.getChipCount();
+        }
+        this.positionOrder = Collections.unmodifiableList(positionOrder);
+        this.seats = Collections.unmodifiableMap(seats);
+        this.totalChips = totalChips;
+
+        this.mySeat = seatOf(myName);
+        this.dealerSeat = seatOf(event.getDealer());
+        this.smallBlindSeat = seatOf(event.getSmallBlindPlayer());
+        this.bigBlindSeat = seatOf(event.getBigBlindPlayer());
+    }
+
+    int size() {
+        return stacks.length;
+    }
+
+    int seatOf(final GamePlayer player) {
+        return player == null ? -1 : seatOf(player.getName());
+    }
+
+    int seatOf(final String name) {
+        final Integer seat = name == null ? null : seats.get(name);
+        return seat == null ? -1 : seat;
+    }
+
+    private static boolean sameName(final GamePlayer player, final GamePlayer other) {
+        return other != null && player.getName().equals(other.getName());
+    }
+}
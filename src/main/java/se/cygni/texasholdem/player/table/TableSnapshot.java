@@ -0,0 +1,206 @@
+package se.cygni.texasholdem.player.table;
+
+import se.cygni.texasholdem.game.Card;
+import se.cygni.texasholdem.game.GamePlayer;
+import se.cygni.texasholdem.game.definitions.PlayState;
+
+import java.util.List;
+
+/**
+ * The table as it stood after the events seen so far, published by {@link TableState}. It never changes, a
+ * decision reads it from whatever thread it runs on while new events build the next one.
+ * <p/>
+ * Players are referred to by seat, their index in position order with the small blind at 0. Every query
+ * is a field or array read, the sums over the table are made once when the snapshot is published.
+ */
+public final class TableSnapshot {
+
+    private final Seating seating;
+    private final PlayState street;
+    private final long[] investments;
+    private final int folded;
+    private final int allIn;
+    private final long pot;
+    private final long bestOpponentStack;
+    private final List<Card> myCards;
+    private final List<Card> communityCards;
+    private final List<Card> myCardsAndCommunityCards;
+
+    TableSnapshot(Seating seating, PlayState street, long[] investments, int folded, int allIn,
+                  List<Card> myCards, List<Card> communityCards, List<Card> myCardsAndCommunityCards) {
+        this.seating = seating;
+        this.street = street;
+        this.investments = investments;
+        this.folded = folded;
+        this.allIn = allIn;
+        this.myCards = myCards;
+        this.communityCards = communityCards;
+        this.myCardsAndCommunityCards = myCardsAndCommunityCards;
+
+        long pot = 0;
+        long bestOpponentStack = -1;
+        for (int seat = 0; seat < investments.length; seat++) {
+            pot += investments[seat];
+            if (seat != seating.mySeat && !isFolded(seat)) {
+                bestOpponentStack = Math.max(bestOpponentStack, seating.stacks[seat]);
+            }
+        }
+        this.pot = pot;
+        this.bestOpponentStack = bestOpponentStack;
+    }
+
+    public String getMyName() {
+        return seating.myName;
+    }
+
+    public long getTableId() {
+        return seating.tableId;
+    }
+
+    /**
+     * @return the current street, null before the first hand
+     */
+    public PlayState getStreet() {
+        return street;
+    }
+
+    public long getSmallBlind() {
+        return seating.smallBlind;
+    }
+
+    public long getBigBlind() {
+        return seating.bigBlind;
+    }
+
+    /**
+     * @return number of players dealt into the hand
+     */
+    public int getSeats() {
+        return seating.size();
+    }
+
+    /**
+     * @return seat of the player with the name, -1 if not at the table
+     */
+    public int seatOf(final String name) {
+        return seating.seatOf(name);
+    }
+
+    /**
+     * @return seat of the player, -1 if not at the table
+     */
+    public int seatOf(final GamePlayer player) {
+        return seating.seatOf(player);
+    }
+
+    /**
+     * @return my seat, -1 if I'm not at the table
+     */
+    public int getMySeat() {
+        return seating.mySeat;
+    }
+
+    public int getDealerSeat() {
+        return seating.dealerSeat;
+    }
+
+    public int getSmallBlindSeat() {
+        return seating.smallBlindSeat;
+    }
+
+    public int getBigBlindSeat() {
+        return seating.bigBlindSeat;
+    }
+
+    /**
+     * @return the player in the seat, null for a seat not at the table
+     */
+    public GamePlayer getPlayer(final int seat) {
+        return isSeated(seat) ? seating.positionOrder.get(seat) : null;
+    }
+
+    /**
+     * @return the players in the order the server listed them
+     */
+    public List<GamePlayer> getPlayers() {
+        return seating.players;
+    }
+
+    /**
+     * @return the players by seat, small blind first
+     */
+    public List<GamePlayer> getPlayersInPositionOrder() {
+        return seating.positionOrder;
+    }
+
+    /**
+     * @return chips the player in the seat had when the hand started
+     */
+    public long getStack(final int seat) {
+        return isSeated(seat) ? seating.stacks[seat] : 0;
+    }
+
+    /**
+     * @return chips the player in the seat has left to bet
+     */
+    public long getChips(final int seat) {
+        return isSeated(seat) ? seating.stacks[seat] - investments[seat] : 0;
+    }
+
+    /**
+     * @return chips the player in the seat has put in the pot this hand
+     */
+    public long getInvestment(final int seat) {
+        return isSeated(seat) ? investments[seat] : 0;
+    }
+
+    public boolean isFolded(final int seat) {
+        return isSeated(seat) && (folded & 1 << seat) != 0;
+    }
+
+    public boolean isAllIn(final int seat) {
+        return isSeated(seat) && (allIn & 1 << seat) != 0;
+    }
+
+    public int getFoldedCount() {
+        return Integer.bitCount(folded);
+    }
+
+    public int getAllInCount() {
+        return Integer.bitCount(allIn);
+    }
+
+    public long getPot() {
+        return pot;
+    }
+
+    /**
+     * @return chips at the table, in stacks and in the pot
+     */
+    public long getTotalChips() {
+        return seating.totalChips;
+    }
+
+    /**
+     * @return the biggest stack at the start of the hand of an opponent still in it, -1 if there is none
+     */
+    public long getBestOpponentStack() {
+        return bestOpponentStack;
+    }
+
+    public List<Card> getMyCards() {
+        return myCards;
+    }
+
+    public List<Card> getCommunityCards() {
+        return communityCards;
+    }
+
+    public List<Card> getMyCardsAndCommunityCards() {
+        return myCardsAndCommunityCards;
+    }
+
+    private boolean isSeated(final int seat) {
+        return seat >= 0 && seat < investments.length;
+    }
+}
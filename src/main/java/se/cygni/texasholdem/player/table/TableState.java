@@ -0,0 +1,135 @@
+package se.cygni.texasholdem.player.table;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import se.cygni.texasholdem.communication.message.event.PlayIsStartedEvent;
+import se.cygni.texasholdem.game.Card;
+import se.cygni.texasholdem.game.GamePlayer;
+import se.cygni.texasholdem.game.definitions.PlayState;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.springframework.util.Assert.notNull;
+
+/**
+ * The table built from the game events instead of asked from the client on every call. The seating is fixed
+ * when the play is started, after that every event is a write to a per seat array or bit mask.
+ * <p/>
+ * Readers get a {@link TableSnapshot}. It is made on the first read after a change and handed out until the
+ * next event, so a decision reading the table any number of times sees one state and allocates nothing.
+ */
+public class TableState {
+
+    private final static Logger LOG = LoggerFactory.getLogger(TableState.class);
+
+    /**
+     * Seats are bits in an int.
+     */
+    public static final int MAX_SEATS = Integer.SIZE;
+
+    private Seating seating = Seating.EMPTY;
+    private PlayState street;
+    private long[] investments = new long[0];
+    private int folded;
+    private int allIn;
+    private final List<Card> myCards = new ArrayList<>(2);
+    private final List<Card> communityCards = new ArrayList<>(5);
+    private TableSnapshot published;
+
+    /**
+     * Seats the players of a new hand, nobody has bet or folded and no cards are dealt.
+     *
+     * @param myName name I play under
+     * @param event  the play is started event of the hand
+     */
+    public synchronized void startHand(final String myName, final PlayIsStartedEvent event) {
+        notNull(event, "'event' cannot be null");
+        seating = new Seating(myName, event);
+        street = PlayState.PRE_FLOP;
+        investments = new long[seating.size()];
+        folded = 0;
+        allIn = 0;
+        myCards.clear();
+        communityCards.clear();
+        published = null;
+    }
+
+    public synchronized void onStreet(final PlayState street) {
+        this.street = street;
+        published = null;
+    }
+
+    public synchronized void onPocketCard(final Card card) {
+        notNull(card, "'card' cannot be null");
+        myCards.add(card);
+        published = null;
+    }
+
+    public synchronized void onCommunityCard(final Card card) {
+        notNull(card, "'card' cannot be null");
+        communityCards.add(card);
+        published = null;
+    }
+
+    /**
+     * A blind, call or raise.
+     *
+     * @param amount chips the player put in the pot with the action
+     */
+    public synchronized void onBet(final GamePlayer player, final long amount) {
+        final int seat = seat(player);
+        if (seat >= 0) {
+            investments[seat] += amount;
+            published = null;
+        }
+    }
+
+    /**
+     * @param amount chips the player put in the pot going all in
+     */
+    public synchronized void onAllIn(final GamePlayer player, final long amount) {
+        final int seat = seat(player);
+        if (seat >= 0) {
+            investments[seat] += amount;
+            allIn |= 1 << seat;
+            published = null;
+        }
+    }
+
+    /**
+     * A fold, forced or not, or a player leaving the table.
+     */
+    public synchronized void onFold(final GamePlayer player) {
+        final int seat = seat(player);
+        if (seat >= 0) {
+            folded |= 1 << seat;
+            published = null;
+        }
+    }
+
+    /**
+     * @return the table after the events seen so far
+     */
+    public synchronized TableSnapshot snapshot() {
+        if (published == null) {
+            final List<Card> all = new ArrayList<>(myCards.size() + communityCards.size());
+            all.addAll(myCards);
+            all.addAll(communityCards);
+            published = new TableSnapshot(seating, street, investments.clone(), folded, allIn,
+                    Collections.unmodifiableList(new ArrayList<>(myCards)),
+                    Collections.unmodifiableList(new ArrayList<>(communityCards)),
+                    Collections.unmodifiableList(all));
+        }
+        return published;
+    }
+
+    private int seat(final GamePlayer player) {
+        final int seat = seating.seatOf(player);
+        if (seat < 0) {
+            LOG.warn("{} is not seated at the table", player == null ? null : player.getName());
+        }
+        return seat;
+    }
+}
@@ -0,0 +1,197 @@
+package se.cygni.texasholdem.player.utils;
+
+import se.cygni.texasholdem.game.Card;
+import se.cygni.texasholdem.game.definitions.Rank;
+import se.cygni.texasholdem.game.definitions.Suit;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.lang.Long.bitCount;
+import static java.lang.Long.numberOfTrailingZeros;
+
+/**
+ * Primitive encoding of cards and sets of cards.
+ * <p/>
+ * A card is an int id in [0, 52) laid out suit major, <code>id = suit * 13 + rank</code>, where rank is
+ * 0 for a deuce and 12 for an ace. A set of cards is a long with bit <code>id</code> set for every card
+ * in the set, which makes the 13 ranks of a suit a contiguous bit field.
+ * <p/>
+ * Rank histograms are packed four bits per rank into a long and suit histograms eight bits per suit
+ * into an int. None of the methods operating on ids or masks allocate.
+ */
+public final class CardMask {
+
+    public static final int RANKS = 13;
+    public static final int SUITS = 4;
+    public static final int CARDS = RANKS * SUITS;
+
+    public static final int DEUCE = 0;
+    public static final int FIVE = 3;
+    public static final int ACE = 12;
+
+    public static final long EMPTY = 0L;
+    public static final long FULL_DECK = (1L << CARDS) - 1;
+
+    private static final int RANK_BITS = (1 << RANKS) - 1;
+
+    private static final Card[] CARDS_BY_ID = new Card[CARDS];
+    private static final Rank[] RANKS_BY_INDEX = new Rank[RANKS];
+    private static final Suit[] SUITS_BY_INDEX = Suit.values();
+
+    static {
+        for (Rank rank : Rank.values()) {
+            RANKS_BY_INDEX[rankIndex(rank)] = rank;
+        }
+        for (Suit suit : SUITS_BY_INDEX) {
+            for (Rank rank : RANKS_BY_INDEX) {
+                CARDS_BY_ID[id(rank, suit)] = Card.valueOf(rank, suit);
+            }
+        }
+    }
+
+    private CardMask() {
+    }
+
+    public static int rankIndex(final Rank rank) {
+        return rank.getOrderValue() - 2;
+    }
+
+    public static Rank rankOf(final int rankIndex) {
+        return RANKS_BY_INDEX[rankIndex];
+    }
+
+    public static Suit suitOf(final int suitIndex) {
+        return SUITS_BY_INDEX[suitIndex];
+    }
+
+    public static int id(final Rank rank, final Suit suit) {
+        return suit.ordinal() * RANKS + rankIndex(rank);
+    }
+
+    public static int id(final Card card) {
+        return id(card.getRank(), card.getSuit());
+    }
+
+    public static int rank(final int id) {
+        return id % RANKS;
+    }
+
+    public static int suit(final int id) {
+        return id / RANKS;
+    }
+
+    /**
+     * @param id card id
+     * @return the shared Card instance for the id
+     */
+    public static Card card(final int id) {
+        return CARDS_BY_ID[id];
+    }
+
+    public static long bit(final int id) {
+        return 1L << id;
+    }
+
+    public static long mask(final Card card) {
+        return bit(id(card));
+    }
+
+    /**
+     * Null safe conversion of a list of cards to a mask.
+     *
+     * @param cards list of cards, may be null
+     * @return mask with one bit set per card
+     */
+    public static long mask(final List<Card> cards) {
+
+        long mask = EMPTY;
+        if (cards == null) {
+            return mask;
+        }
+        for (int i = 0; i < cards.size(); i++) {
+            mask |= mask(cards.get(i));
+        }
+        return mask;
+    }
+
+    /**
+     * Converts a mask back to cards, lowest id first. Allocates, intended for logging and tests.
+     *
+     * @param mask card mask
+     * @return the cards in the mask
+     */
+    public static List<Card> cards(final long mask) {
+
+        final List<Card> result = new ArrayList<>(bitCount(mask));
+        for (long m = mask; m != 0; m &= m - 1) {
+            result.add(card(numberOfTrailingZeros(m)));
+        }
+        return result;
+    }
+
+    public static int size(final long mask) {
+        return bitCount(mask);
+    }
+
+    public static boolean contains(final long mask, final int id) {
+        return (mask & bit(id)) != 0;
+    }
+
+    /**
+     * @param mask card mask
+     * @param suit suit index
+     * @return the 13 bit set of ranks present in the suit
+     */
+    public static int suitRanks(final long mask, final int suit) {
+        return (int) (mask >>> (suit * RANKS)) & RANK_BITS;
+    }
+
+    /**
+     * @param mask card mask
+     * @return the 13 bit set of ranks present in any suit
+     */
+    public static int rankSet(final long mask) {
+        return suitRanks(mask, 0) | suitRanks(mask, 1) | suitRanks(mask, 2) | suitRanks(mask, 3);
+    }
+
+    /**
+     * @param mask card mask
+     * @return number of cards per rank, four bits per rank with the deuce in the lowest nibble
+     */
+    public static long rankHistogram(final long mask) {
+
+        long histogram = 0;
+        for (int suit = 0; suit < SUITS; suit++) {
+            for (int ranks = suitRanks(mask, suit); ranks != 0; ranks &= ranks - 1) {
+                histogram += 1L << (Integer.numberOfTrailingZeros(ranks) << 2);
+            }
+        }
+        return histogram;
+    }
+
+    public static int rankCount(final long rankHistogram, final int rank) {
+        return (int) (rankHistogram >>> (rank << 2)) & 0xF;
+    }
+
+    /**
+     * @param mask card mask
+     * @return number of cards per suit, eight bits per suit with suit 0 in the lowest byte
+     */
+    public static int suitHistogram(final long mask) {
+
+        int histogram = 0;
+        for (int suit = 0; suit < SUITS; suit++) {
+            histogram |= Integer.bitCount(suitRanks(mask, suit)) << (suit << 3);
+        }
+        return histogram;
+    }
+
+    public static int suitCount(final int suitHistogram, final int suit) {
+        return (suitHistogram >>> (suit << 3)) & 0xFF;
+    }
+
+    public static String toString(final long mask) {
+        return cards(mask).toString();
+    }
+}
@@ -0,0 +1,166 @@
+package se.cygni.texasholdem.player.utils;
+
+import se.cygni.texasholdem.game.Card;
+import se.cygni.texasholdem.game.Hand;
+import se.cygni.texasholdem.game.definitions.PokerHand;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Packed int representation of the strength of a poker hand.
+ * <p/>
+ * The category is stored from bit 20 and up, below it the rank indexes (see {@link CardMask}) of the
+ * cards making up the hand, four bits each, in the same order as the cards of the
+ * {@link se.cygni.texasholdem.game.Hand} returned by {@link PokerHandUtils#getBestHand()}. Two strengths
+ * therefore compare the same way as the hands do.
+ */
+public final class HandStrength {
+
+    public static final int HIGH_HAND = 0;
+    public static final int ONE_PAIR = 1;
+    public static final int TWO_PAIRS = 2;
+    public static final int THREE_OF_A_KIND = 3;
+    public static final int STRAIGHT = 4;
+    public static final int FLUSH = 5;
+    public static final int FULL_HOUSE = 6;
+    public static final int FOUR_OF_A_KIND = 7;
+    public static final int STRAIGHT_FLUSH = 8;
+    public static final int ROYAL_FLUSH = 9;
+
+    public static final int CATEGORIES = 10;
+
+    private static final int CATEGORY_SHIFT = 20;
+
+    private static final PokerHand[] POKER_HANDS = new PokerHand[]{
+            PokerHand.HIGH_HAND,
+            PokerHand.ONE_PAIR,
+            PokerHand.TWO_PAIRS,
+            PokerHand.THREE_OF_A_KIND,
+            PokerHand.STRAIGHT,
+            PokerHand.FLUSH,
+            PokerHand.FULL_HOUSE,
+            PokerHand.FOUR_OF_A_KIND,
+            PokerHand.STRAIGHT_FLUSH,
+            PokerHand.ROYAL_FLUSH
+    };
+
+    private HandStrength() {
+    }
+
+    public static int of(final int category, final int kickers) {
+        return (category << CATEGORY_SHIFT) | kickers;
+    }
+
+    public static int category(final int strength) {
+        return strength >>> CATEGORY_SHIFT;
+    }
+
+    public static int kickers(final int strength) {
+        return strength & ((1 << CATEGORY_SHIFT) - 1);
+    }
+
+    /**
+     * @param strength packed strength
+     * @param position 0 for the first card of the hand, up to 4
+     * @return rank index of the card at the position
+     */
+    public static int rankAt(final int strength, final int position) {
+        return (strength >>> ((4 - position) << 2)) & 0xF;
+    }
+
+    public static PokerHand getPokerHand(final int strength) {
+        return POKER_HANDS[category(strength)];
+    }
+
+    /**
+     * Packs up to five rank indexes, most significant first.
+     */
+    public static int ranks(final int r1, final int r2, final int r3, final int r4, final int r5) {
+        return (r1 << 16) | (r2 << 12) | (r3 << 8) | (r4 << 4) | r5;
+    }
+
+    /**
+     * Packs the five cards of a straight, top card first. The wheel ends with the ace.
+     */
+    public static int straight(final int top) {
+        return ranks(top, top - 1, top - 2, top - 3, top == CardMask.FIVE ? CardMask.ACE : top - 4);
+    }
+
+    /**
+     * Packs the highest ranks of a rank set, most significant first, starting at the given position.
+     *
+     * @param rankSet  13 bit set of ranks
+     * @param count    number of ranks to take
+     * @param position position of the first rank, 0 to 4
+     * @return packed ranks
+     */
+    public static int highest(int rankSet, final int count, final int position) {
+
+        int packed = 0;
+        for (int i = 0; i < count && rankSet != 0; i++) {
+            final int rank = 31 - Integer.numberOfLeadingZeros(rankSet);
+            packed |= rank << ((4 - position - i) << 2);
+            rankSet &= ~(1 << rank);
+        }
+        return packed;
+    }
+
+    /**
+     * @param rankSet 13 bit set of ranks
+     * @return rank index of the top card of the highest straight, -1 if the ranks hold no straight
+     */
+    public static int straightTop(final int rankSet) {
+
+        // bit 0 is the ace played low, bit n + 1 is rank n
+        final int extended = (rankSet << 1) | ((rankSet >>> CardMask.ACE) & 1);
+        for (int top = CardMask.ACE; top >= CardMask.FIVE; top--) {
+            if (((extended >>> (top - 3)) & 0x1F) == 0x1F) {
+                return top;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Picks the cards making up a strength from the cards it was evaluated from.
+     *
+     * @param cardMask the cards the strength was evaluated from
+     * @param strength packed strength
+     * @return the best hand in the same card order as {@link PokerHandUtils#getBestHand()}
+     */
+    public static Hand toHand(final long cardMask, final int strength) {
+
+        final int category = category(strength);
+        long remaining = cardMask;
+        if (category == FLUSH || category == STRAIGHT_FLUSH || category == ROYAL_FLUSH) {
+            for (int suit = 0; suit < CardMask.SUITS; suit++) {
+                if (Integer.bitCount(CardMask.suitRanks(cardMask, suit)) >= 5) {
+                    remaining = cardMask & ((long) CardMask.suitRanks(cardMask, suit) << (suit * CardMask.RANKS));
+                }
+            }
+        }
+
+        final List<Card> cards = new ArrayList<>(5);
+        for (int position = 0; position < 5 && remaining != 0; position++) {
+            final int rank = rankAt(strength, position);
+            for (int suit = 0; suit < CardMask.SUITS; suit++) {
+                final int id = suit * CardMask.RANKS + rank;
+                if (CardMask.contains(remaining, id)) {
+                    cards.add(CardMask.card(id));
+                    remaining &= ~CardMask.bit(id);
+                    break;
+                }
+            }
+        }
+        return new Hand(cards, getPokerHand(strength));
+    }
+
+    public static String toString(final int strength) {
+        final StringBuilder sb = new StringBuilder(getPokerHand(strength).getName()).append(" [");
+        for (int i = 0; i < 5; i++) {
+            sb.append(CardMask.rankOf(rankAt(strength, i)).getName());
+        }
+        return sb.append(']').toString();
+    }
+}
@@ -4,25 +4,30 @@ import se.cygni.texasholdem.client.CurrentPlayState;
 import se.cygni.texasholdem.game.Card;
 import se.cygni.texasholdem.game.GamePlayer;
 import se.cygni.texasholdem.player.Player;
+import se.cygni.texasholdem.player.table.TableSnapshot;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
- * Delegate class of @CurrentPlayState
- *
+ * @CurrentPlayState answered from a {@link TableSnapshot}, the state the client keeps is never used. The
+ * answers don't change and don't allocate, one instance serves a whole decision.
  */
 public class PlayState extends CurrentPlayState {
 
-    private final List<GamePlayer> players;
-    private final CurrentPlayState delegate;
-    private final String name;
+    private final Player player;
+    private final TableSnapshot table;
 
-    public PlayState(final String myPlayersName, CurrentPlayState delegate, List<GamePlayer> players) {
-        super(myPlayersName); // should not use this part! only delegate.
-        this.delegate = delegate;
-        this.players = players;
-        this.name = myPlayersName;
+    public PlayState(final Player player, final TableSnapshot table) {
+        super(table.getMyName()); // should not use this part! only the table.
+        this.player = player;
+        this.table = table;
+    }
+
+    /**
+     * @return the table this state answers from, for queries by seat
+     */
+    public TableSnapshot getTable() {
+        return table;
     }
 
     /**
@@ -31,11 +36,11 @@ public class PlayState extends CurrentPlayState {
      */
     @Override
     public List<GamePlayer> getPlayers() {
-        return this.players;
+        return table.getPlayers();
     }
 
     public String getName() {
-        return name;
+        return table.getMyName();
     }
 
     /**
@@ -45,145 +50,130 @@ public class PlayState extends CurrentPlayState {
      * @return list of how the players sit around poker table w/ SB indexed att 0.
      */
     public List<GamePlayer> getPlayersInPositionOrder() {
-
-        List<GamePlayer> result = new ArrayList<>(getPlayers().size());
-        List<GamePlayer> tail = new ArrayList<>(getPlayers().size());
-
-        boolean located = false;
-        String sBName = getSmallBlindPlayer().getName();
-        for (GamePlayer player : players) {
-            // locate SB-player and add everything after.
-            if (player.getName().equals(sBName) || located) {
-                located = true;
-                result.add(player);
-            } else {
-                tail.add(player);
-            }
-        }
-
-        result.addAll(tail);
-
-        return result;
+        return table.getPlayersInPositionOrder();
     }
 
     @Override
     public Player getPlayerImpl() {
-        return delegate.getPlayerImpl();
+        return player;
     }
 
     @Override
     public long getTableId() {
-        return delegate.getTableId();
+        return table.getTableId();
     }
 
     @Override
     public List<Card> getMyCards() {
-        return delegate.getMyCards();
+        return table.getMyCards();
     }
 
     @Override
     public List<Card> getCommunityCards() {
-        return delegate.getCommunityCards();
+        return table.getCommunityCards();
     }
 
     @Override
     public List<Card> getMyCardsAndCommunityCards() {
-        return delegate.getMyCardsAndCommunityCards();
+        return table.getMyCardsAndCommunityCards();
     }
 
     @Override
     public se.cygni.texasholdem.game.definitions.PlayState getCurrentPlayState() {
-        return delegate.getCurrentPlayState();
+        return table.getStreet();
     }
 
     @Override
     public long getPotTotal() {
-        return delegate.getPotTotal();
+        return table.getPot();
     }
 
     @Override
     public long getSmallBlind() {
-        return delegate.getSmallBlind();
+        return table.getSmallBlind();
     }
 
     @Override
     public long getBigBlind() {
-        return delegate.getBigBlind();
+        return table.getBigBlind();
     }
 
     @Override
     public GamePlayer getDealerPlayer() {
-        return delegate.getDealerPlayer();
+        return table.getPlayer(table.getDealerSeat());
     }
 
     @Override
     public boolean amIDealerPlayer() {
-        return delegate.amIDealerPlayer();
+        return isMe(table.getDealerSeat());
     }
 
     @Override
     public GamePlayer getSmallBlindPlayer() {
-        return delegate.getSmallBlindPlayer();
+        return table.getPlayer(table.getSmallBlindSeat());
     }
 
     @Override
     public boolean amISmallBlindPlayer() {
-        return delegate.amISmallBlindPlayer();
+        return isMe(table.getSmallBlindSeat());
     }
 
     @Override
     public GamePlayer getBigBlindPlayer() {
-        return delegate.getBigBlindPlayer();
+        return table.getPlayer(table.getBigBlindSeat());
     }
 
     @Override
     public boolean amIBigBlindPlayer() {
-        return delegate.amIBigBlindPlayer();
+        return isMe(table.getBigBlindSeat());
     }
 
     @Override
     public long getMyCurrentChipAmount() {
-        return delegate.getMyCurrentChipAmount();
+        return table.getChips(table.getMySeat());
     }
 
     @Override
     public boolean hasPlayerFolded(GamePlayer player) {
-        return delegate.hasPlayerFolded(player);
+        return table.isFolded(table.seatOf(player));
     }
 
     @Override
     public boolean haveIFolded() {
-        return delegate.haveIFolded();
+        return table.isFolded(table.getMySeat());
     }
 
     @Override
     public boolean hasPlayerGoneAllIn(GamePlayer player) {
-        return delegate.hasPlayerGoneAllIn(player);
+        return table.isAllIn(table.seatOf(player));
     }
 
     @Override
     public boolean haveIGoneAllIn() {
-        return delegate.haveIGoneAllIn();
+        return table.isAllIn(table.getMySeat());
     }
 
     @Override
     public long getInvestmentInPotFor(GamePlayer player) {
-        return delegate.getInvestmentInPotFor(player);
+        return table.getInvestment(table.seatOf(player));
     }
 
     @Override
     public long getMyInvestmentInPot() {
-        return delegate.getMyInvestmentInPot();
+        return table.getInvestment(table.getMySeat());
     }
 
     @Override
     public int getNumberOfFoldedPlayers() {
-        return delegate.getNumberOfFoldedPlayers();
+        return table.getFoldedCount();
     }
 
     @Override
     public int getNumberOfPlayers() {
-        return delegate.getNumberOfPlayers();
+        return table.getSeats();
     }
 
+    private boolean isMe(final int seat) {
+        return seat >= 0 && seat == table.getMySeat();
+    }
 }
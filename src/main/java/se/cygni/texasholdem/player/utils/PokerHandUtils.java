@@ -28,6 +28,100 @@ public class PokerHandUtils {
         suitDistribution = getSuitDistribution(cards);
     }
 
+    /**
+     * Allocation free counterpart of {@link #getBestHand()} working on a {@link CardMask}. The result is
+     * a packed {@link HandStrength} that orders hands exactly like comparing the best hands does.
+     *
+     * @param cardMask the cards available, at least five
+     * @return packed strength of the best hand
+     */
+    public static int getHandStrength(final long cardMask) {
+
+        // For straight flush and flush find suit with at least 5 cards.
+        int flushRanks = 0;
+        for (int suit = 0; suit < CardMask.SUITS; suit++) {
+            final int suitRanks = CardMask.suitRanks(cardMask, suit);
+            if (Integer.bitCount(suitRanks) >= FLUSH.getCardsRequired()) {
+                flushRanks = suitRanks;
+            }
+        }
+
+        if (flushRanks != 0) {
+            final int top = HandStrength.straightTop(flushRanks);
+            if (top == CardMask.ACE) {
+                return HandStrength.of(HandStrength.ROYAL_FLUSH, HandStrength.straight(top));
+            }
+            if (top >= 0) {
+                return HandStrength.of(HandStrength.STRAIGHT_FLUSH, HandStrength.straight(top));
+            }
+        }
+
+        // Highest rank of each multiplicity, ranks seen as a set and the pairs seen as a set.
+        final long histogram = CardMask.rankHistogram(cardMask);
+        final int rankSet = CardMask.rankSet(cardMask);
+        int quads = -1;
+        int trips = -1;
+        int secondTrips = -1;
+        int pairs = 0;
+        for (int rank = CardMask.ACE; rank >= CardMask.DEUCE; rank--) {
+            final int count = CardMask.rankCount(histogram, rank);
+            if (count == 4 && quads < 0) {
+                quads = rank;
+            } else if (count == 3) {
+                if (trips < 0) {
+                    trips = rank;
+                } else if (secondTrips < 0) {
+                    secondTrips = rank;
+                }
+            } else if (count == 2) {
+                pairs |= 1 << rank;
+            }
+        }
+
+        if (quads >= 0) {
+            return HandStrength.of(HandStrength.FOUR_OF_A_KIND,
+                    HandStrength.ranks(quads, quads, quads, quads, 0) |
+                            HandStrength.highest(rankSet & ~(1 << quads), 1, 4));
+        }
+
+        if (trips >= 0 && (secondTrips >= 0 || pairs != 0)) {
+            final int pair = Math.max(secondTrips, 31 - Integer.numberOfLeadingZeros(pairs));
+            return HandStrength.of(HandStrength.FULL_HOUSE, HandStrength.ranks(trips, trips, trips, pair, pair));
+        }
+
+        if (flushRanks != 0) {
+            return HandStrength.of(HandStrength.FLUSH, HandStrength.highest(flushRanks, 5, 0));
+        }
+
+        final int straightTop = HandStrength.straightTop(rankSet);
+        if (straightTop >= 0) {
+            return HandStrength.of(HandStrength.STRAIGHT, HandStrength.straight(straightTop));
+        }
+
+        if (trips >= 0) {
+            return HandStrength.of(HandStrength.THREE_OF_A_KIND,
+                    HandStrength.ranks(trips, trips, trips, 0, 0) |
+                            HandStrength.highest(rankSet & ~(1 << trips), 2, 3));
+        }
+
+        if (Integer.bitCount(pairs) >= 2) {
+            final int high = 31 - Integer.numberOfLeadingZeros(pairs);
+            final int low = 31 - Integer.numberOfLeadingZeros(pairs & ~(1 << high));
+            return HandStrength.of(HandStrength.TWO_PAIRS,
+                    HandStrength.ranks(high, high, low, low, 0) |
+                            HandStrength.highest(rankSet & ~(1 << high) & ~(1 << low), 1, 4));
+        }
+
+        if (pairs != 0) {
+            final int pair = 31 - Integer.numberOfLeadingZeros(pairs);
+            return HandStrength.of(HandStrength.ONE_PAIR,
+                    HandStrength.ranks(pair, pair, 0, 0, 0) |
+                            HandStrength.highest(rankSet & ~(1 << pair), 3, 2));
+        }
+
+        return HandStrength.of(HandStrength.HIGH_HAND, HandStrength.highest(rankSet, 5, 0));
+    }
+
     /**
      * Extracts the best possible hand and returns the type of PokerHand and the
      * List of cards that make that hand.
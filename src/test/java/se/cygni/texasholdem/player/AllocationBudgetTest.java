@@ -0,0 +1,198 @@
+package se.cygni.texasholdem.player;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import se.cygni.texasholdem.communication.message.event.PlayIsStartedEvent;
+import se.cygni.texasholdem.communication.message.event.PlayerBetBigBlindEvent;
+import se.cygni.texasholdem.communication.message.event.PlayerBetSmallBlindEvent;
+import se.cygni.texasholdem.communication.message.event.YouHaveBeenDealtACardEvent;
+import se.cygni.texasholdem.communication.message.request.ActionRequest;
+import se.cygni.texasholdem.game.Card;
+import se.cygni.texasholdem.game.GamePlayer;
+import se.cygni.texasholdem.game.definitions.PlayState;
+import se.cygni.texasholdem.player.evaluator.LookupHandEvaluator;
+import se.cygni.texasholdem.player.postflop.HandRanking;
+import se.cygni.texasholdem.player.postflop.HandRankingService;
+import se.cygni.texasholdem.player.postflop.HandRankingServiceImpl;
+import se.cygni.texasholdem.player.postflop.PostFlopStrategy;
+import se.cygni.texasholdem.player.postflop.PostFlopStrategyImpl;
+import se.cygni.texasholdem.player.postflop.RankingCache;
+import se.cygni.texasholdem.player.preflop.PreFlopStrategy;
+import se.cygni.texasholdem.player.preflop.PreFlopStrategyImpl;
+import se.cygni.texasholdem.player.utils.CardMask;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+import static se.cygni.texasholdem.game.Card.valueOf;
+import static se.cygni.texasholdem.game.definitions.PlayState.*;
+import static se.cygni.texasholdem.game.definitions.Rank.*;
+import static se.cygni.texasholdem.game.definitions.Suit.*;
+
+/**
+ * Fails when a decision path allocates more per call than its budget in
+ * <code>allocation-budgets.properties</code>. Lower a budget when a path is made to allocate less, so it
+ * stays that way.
+ */
+public class AllocationBudgetTest {
+
+    private static final String BUDGETS = "/allocation-budgets.properties";
+    private static final int CACHED_HANDS = 50;
+
+    private static final List<Card> POCKET_CARDS = asList(valueOf(ACE, HEARTS), valueOf(KING, DIAMONDS));
+    private static final List<Card> BOARD = asList(valueOf(ACE, DIAMONDS), valueOf(SEVEN, CLUBS),
+            valueOf(DEUCE, SPADES), valueOf(NINE, HEARTS), valueOf(FOUR, CLUBS));
+
+    private final AllocationMeter meter = new AllocationMeter(500, 500);
+    private final Properties budgets = new Properties();
+
+    @Before
+    public void setUp() throws IOException {
+        assumeTrue(meter.isSupported());
+        try (InputStream in = getClass().getResourceAsStream(BUDGETS)) {
+            budgets.load(in);
+        }
+    }
+
+    @After
+    public void tearDown() {
+        System.clearProperty("equitySamples");
+        System.clearProperty("equityMillis");
+        System.clearProperty("decisionDeadlineMillis");
+    }
+
+    @Test
+    public void shouldRankWithinBudget() {
+
+        // fixtures, a different hand every call, all of them cached during the warm-up
+        HandRankingService target = new HandRankingServiceImpl();
+
+        for (PlayState street : asList(FLOP, TURN, RIVER)) {
+            List<List<Card>> hands = deal(CACHED_HANDS, street, 4711);
+            AtomicInteger next = new AtomicInteger();
+
+            // test
+            long bytes = meter.onThisThread(() -> {
+                int hand = next.getAndIncrement() % CACHED_HANDS;
+                target.getRanking(hands.get(2 * hand), hands.get(2 * hand + 1));
+            });
+
+            // verify
+            assertWithinBudget("ranking." + street.name().toLowerCase(), bytes);
+        }
+    }
+
+    @Test
+    public void shouldRankUncachedWithinBudget() {
+
+        // fixtures, every hand dealt once into a cache of one entry per stripe, so each ranking is calculated
+        HandRankingService target =
+                new HandRankingServiceImpl(LookupHandEvaluator.getInstance(), new RankingCache(2048));
+        AllocationMeter meter = new AllocationMeter(10, 20, 1);
+
+        for (PlayState street : asList(FLOP, TURN, RIVER)) {
+            List<List<Card>> hands = deal(30, street, 42);
+            AtomicInteger next = new AtomicInteger();
+
+            // test, the potentials are calculated on the common pool
+            long bytes = meter.onAllThreads(() -> {
+                int hand = next.getAndIncrement();
+                target.getRanking(hands.get(2 * hand), hands.get(2 * hand + 1));
+            });
+
+            // verify
+            assertWithinBudget("ranking." + street.name().toLowerCase() + ".uncached", bytes);
+        }
+    }
+
+    @Test
+    public void shouldDecidePreFlopWithinBudget() {
+
+        // fixtures
+        TableFixture table = new TableFixture(PRE_FLOP, POCKET_CARDS, Collections.emptyList());
+        PreFlopStrategy target = new PreFlopStrategyImpl(table.getPlayerClient());
+        POCKET_CARDS.forEach(target::putPocketCard);
+
+        // test
+        long bytes = meter.onThisThread(() -> target.getPreFlopAction(table.getPossibleActions()));
+
+        // verify
+        assertWithinBudget("strategy.preflop", bytes);
+    }
+
+    @Test
+    public void shouldDecidePostFlopWithinBudget() {
+
+        // fixtures
+        TableFixture table = new TableFixture(FLOP, POCKET_CARDS, BOARD.subList(0, 3));
+        HandRanking ranking = new HandRankingServiceImpl().getRanking(POCKET_CARDS, BOARD.subList(0, 3));
+        PostFlopStrategy target = new PostFlopStrategyImpl();
+
+        // test
+        long bytes = meter.onThisThread(() -> target.getPostFlopAction(table.getPossibleActions(), ranking,
+                table.getPlayState(), table.getGameStatistics()));
+
+        // verify
+        assertWithinBudget("strategy.postflop", bytes);
+    }
+
+    @Test
+    public void shouldAnswerActionRequestsWithinBudget() {
+
+        // fixtures, the equity bounded by samples alone so every decision samples as much
+        System.setProperty("equitySamples", "2000");
+        System.setProperty("equityMillis", "60000");
+        System.setProperty("decisionDeadlineMillis", "60000");
+        TableFixture table = new TableFixture(PRE_FLOP, POCKET_CARDS, Collections.emptyList());
+        PerforatorBot target = new PerforatorBot(player -> table.getPlayerClient());
+        List<GamePlayer> players = table.getPlayers();
+        target.onPlayIsStarted(new PlayIsStartedEvent(players, 5, 10, players.get(5), players.get(0), players.get(1), 1));
+        target.onPlayerBetSmallBlind(new PlayerBetSmallBlindEvent(players.get(0), 5));
+        target.onPlayerBetBigBlind(new PlayerBetBigBlindEvent(players.get(1), 10));
+        POCKET_CARDS.forEach(card -> target.onYouHaveBeenDealtACard(new YouHaveBeenDealtACardEvent(card)));
+        ActionRequest request = new ActionRequest("allocation", table.getPossibleActions());
+        AllocationMeter meter = new AllocationMeter(100, 100);
+
+        // test
+        long preFlop = meter.onAllThreads(() -> target.actionRequired(request));
+        table.deal(FLOP, BOARD.subList(0, 3));
+        long flop = meter.onAllThreads(() -> target.actionRequired(request));
+        target.close();
+
+        // verify
+        assertWithinBudget("bot.preflop", preFlop);
+        assertWithinBudget("bot.flop", flop);
+    }
+
+    /**
+     * @return pocket cards and community cards of each hand, one after the other
+     */
+    private static List<List<Card>> deal(int hands, PlayState street, long seed) {
+        Random random = new Random(seed);
+        List<List<Card>> dealt = new ArrayList<>(2 * hands);
+        for (int hand = 0; hand < hands; hand++) {
+            List<Card> deck = CardMask.cards(CardMask.FULL_DECK);
+            Collections.shuffle(deck, random);
+            dealt.add(new ArrayList<>(deck.subList(0, 2)));
+            dealt.add(new ArrayList<>(deck.subList(2, street.ordinal() + 4)));
+        }
+        return dealt;
+    }
+
+    private void assertWithinBudget(final String path, final long bytes) {
+        final String budget = budgets.getProperty(path);
+        assertTrue("no allocation budget for " + path, budget != null);
+        assertTrue(String.format("%s allocates %d bytes per call, budget is %s", path, bytes, budget),
+                bytes <= Long.parseLong(budget.trim()));
+    }
+}
@@ -0,0 +1,91 @@
+package se.cygni.texasholdem.player;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+/**
+ * Bytes allocated per call of a piece of code, from the allocation counters the JVM keeps per thread.
+ * The code is called a number of times first so the counts are of compiled code with everything lazy
+ * already set up. The calls are measured in rounds and the median of what a round allocated counts, so a
+ * round with code being compiled again doesn't, while allocation recurring every few calls still does.
+ */
+final class AllocationMeter {
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private final int warmupCalls;
+    private final int measuredCalls;
+    private final int rounds;
+
+    AllocationMeter(int warmupCalls, int measuredCalls) {
+        this(warmupCalls, measuredCalls, 5);
+    }
+
+    AllocationMeter(int warmupCalls, int measuredCalls, int rounds) {
+        this.warmupCalls = warmupCalls;
+        this.measuredCalls = measuredCalls;
+        this.rounds = rounds;
+        if (threads.isThreadAllocatedMemorySupported()) {
+            threads.setThreadAllocatedMemoryEnabled(true);
+        }
+    }
+
+    boolean isSupported() {
+        return threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled();
+    }
+
+    /**
+     * @return bytes allocated by the calling thread per call
+     */
+    long onThisThread(final Runnable call) {
+        final long id = Thread.currentThread().getId();
+        warmUp(call);
+        final long[] allocated = new long[rounds];
+        for (int round = 0; round < rounds; round++) {
+            final long before = threads.getThreadAllocatedBytes(id);
+            for (int i = 0; i < measuredCalls; i++) {
+                call.run();
+            }
+            allocated[round] = threads.getThreadAllocatedBytes(id) - before;
+        }
+        return median(allocated) / measuredCalls;
+    }
+
+    /**
+     * For code handing work to other threads. Everything running meanwhile is counted, and threads that
+     * end during the measurement are not.
+     *
+     * @return bytes allocated by all threads per call
+     */
+    long onAllThreads(final Runnable call) {
+        warmUp(call);
+        final long[] allocated = new long[rounds];
+        for (int round = 0; round < rounds; round++) {
+            final long before = allocatedByAllThreads();
+            for (int i = 0; i < measuredCalls; i++) {
+                call.run();
+            }
+            allocated[round] = allocatedByAllThreads() - before;
+        }
+        return median(allocated) / measuredCalls;
+    }
+
+    private void warmUp(final Runnable call) {
+        for (int i = 0; i < warmupCalls; i++) {
+            call.run();
+        }
+    }
+
+    private static long median(final long[] allocated) {
+        Arrays.sort(allocated);
+        return allocated[allocated.length / 2];
+    }
+
+    private long allocatedByAllThreads() {
+        long bytes = 0;
+        for (long allocated : threads.getThreadAllocatedBytes(threads.getAllThreadIds())) {
+            bytes += Math.max(0, allocated);
+        }
+        return bytes;
+    }
+}
@@ -94,7 +94,9 @@ public class HandRankingServiceTest {
 
         // verify
         assertEquals(cardsInDeck, target.getCardsInRankingDeck());
-        assertEquals(99, ranking.getRankingValue());
+        // only quad sixes beat me, every hand holding the last ace ties
+        assertEquals(1, ranking.getBetter());
+        assertEquals(97, ranking.getRankingValue());
 
     }
 
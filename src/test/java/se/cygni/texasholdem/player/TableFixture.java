@@ -0,0 +1,106 @@
+package se.cygni.texasholdem.player;
+
+import se.cygni.texasholdem.communication.message.event.PlayIsStartedEvent;
+import se.cygni.texasholdem.game.Action;
+import se.cygni.texasholdem.game.Card;
+import se.cygni.texasholdem.game.GamePlayer;
+import se.cygni.texasholdem.player.stats.GameStatistics;
+import se.cygni.texasholdem.player.table.TableState;
+import se.cygni.texasholdem.player.utils.PlayState;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static se.cygni.texasholdem.game.ActionType.*;
+
+/**
+ * A six handed table standing in for the game server in tests and benchmarks. The players sit small
+ * blind, big blind, me under the gun and then the rest, the blinds are posted and nobody has folded or
+ * gone all in. The state only changes on {@link #deal(se.cygni.texasholdem.game.definitions.PlayState, List)},
+ * in between every call returns the same objects, so what is measured is the code under test and not the
+ * fixture.
+ */
+public final class TableFixture {
+
+    public static final String MY_NAME = "Perforator";
+
+    private static final long CHIPS = 1000;
+    private static final long SMALL_BLIND = 5;
+    private static final long BIG_BLIND = 10;
+
+    private final List<GamePlayer> players;
+    private final LocalPlayerClient playerClient;
+    private final GameStatistics gameStatistics;
+    private final List<Action> possibleActions;
+
+    public TableFixture(final se.cygni.texasholdem.game.definitions.PlayState street,
+                          final List<Card> myCards, final List<Card> communityCards) {
+
+        players = new ArrayList<>();
+        players.add(new GamePlayer("Small blind", CHIPS));
+        players.add(new GamePlayer("Big blind", CHIPS));
+        players.add(new GamePlayer(MY_NAME, CHIPS));
+        players.add(new GamePlayer("Hijack", CHIPS));
+        players.add(new GamePlayer("Cutoff", CHIPS));
+        players.add(new GamePlayer("Dealer", CHIPS));
+
+        playerClient = new LocalPlayerClient(player(), "localhost", 4711);
+        TableState tableState = playerClient.getTableState();
+        tableState.startHand(MY_NAME, new PlayIsStartedEvent(players, SMALL_BLIND, BIG_BLIND,
+                players.get(5), players.get(0), players.get(1), 1));
+        tableState.onBet(players.get(0), SMALL_BLIND);
+        tableState.onBet(players.get(1), BIG_BLIND);
+        myCards.forEach(tableState::onPocketCard);
+        deal(street, communityCards);
+
+        gameStatistics = new GameStatistics(playerClient, MY_NAME);
+        possibleActions = Collections.unmodifiableList(asList(new Action(FOLD, 0), new Action(CALL, BIG_BLIND),
+                new Action(RAISE, 2 * BIG_BLIND), new Action(ALL_IN, CHIPS)));
+    }
+
+    /**
+     * Moves the table to a later street.
+     *
+     * @param communityCards all community cards, the ones already dealt first
+     */
+    public void deal(final se.cygni.texasholdem.game.definitions.PlayState street, final List<Card> communityCards) {
+        TableState tableState = playerClient.getTableState();
+        int dealt = tableState.snapshot().getCommunityCards().size();
+        communityCards.subList(dealt, communityCards.size()).forEach(tableState::onCommunityCard);
+        tableState.onStreet(street);
+    }
+
+    public List<GamePlayer> getPlayers() {
+        return players;
+    }
+
+    public PlayState getPlayState() {
+        return (PlayState) playerClient.getCurrentPlayState();
+    }
+
+    public LocalPlayerClient getPlayerClient() {
+        return playerClient;
+    }
+
+    public GameStatistics getGameStatistics() {
+        return gameStatistics;
+    }
+
+    /**
+     * @return fold, call, raise and all in
+     */
+    public List<Action> getPossibleActions() {
+        return possibleActions;
+    }
+
+    /**
+     * The client only needs a name from the player, every other call answers null.
+     */
+    private static Player player() {
+        return (Player) Proxy.newProxyInstance(Player.class.getClassLoader(), new Class<?>[]{Player.class},
+                (proxy, method, args) -> "getName".equals(method.getName()) ? MY_NAME : null);
+    }
+}
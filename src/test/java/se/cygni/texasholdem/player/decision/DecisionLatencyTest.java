@@ -0,0 +1,87 @@
+package se.cygni.texasholdem.player.decision;
+
+import org.junit.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static se.cygni.texasholdem.game.definitions.PlayState.FLOP;
+import static se.cygni.texasholdem.game.definitions.PlayState.RIVER;
+import static se.cygni.texasholdem.player.decision.DecisionPhase.RANKING;
+import static se.cygni.texasholdem.player.decision.DecisionPhase.STRATEGY;
+
+public class DecisionLatencyTest {
+
+    @Test
+    public void shouldAddUpLapsOfTheSamePhase() throws Exception {
+
+        // fixtures
+        DecisionLatency target = new DecisionLatency(10);
+
+        // test
+        PhaseTimer timer = target.start(FLOP);
+        Thread.sleep(2);
+        timer.lap(STRATEGY);
+        Thread.sleep(2);
+        timer.lap(RANKING);
+        Thread.sleep(2);
+        timer.lap(STRATEGY);
+        timer.finish();
+
+        // verify
+        assertEquals(1, target.getHistogram(FLOP, STRATEGY).getCount());
+        assertEquals(1, target.getHistogram(FLOP, RANKING).getCount());
+        assertTrue(target.getHistogram(FLOP, STRATEGY).getMax() >= 4_000_000);
+        assertEquals(0, target.getHistogram(RIVER, STRATEGY).getCount());
+        assertEquals(2, target.getSummary().length);
+    }
+
+    @Test
+    public void shouldBeReadableOverJmx() throws Exception {
+
+        // fixtures
+        DecisionLatency target = new DecisionLatency(10).register("DecisionLatencyTest");
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = target.getObjectName();
+
+        try {
+            // test
+            target.record(RIVER, RANKING, 3_000_000);
+
+            // verify
+            assertEquals(1L, server.invoke(name, "getCount", new Object[]{"RIVER", "RANKING"},
+                    new String[]{String.class.getName(), String.class.getName()}));
+            assertEquals(1, ((String[]) server.getAttribute(name, "Summary")).length);
+        } finally {
+            target.unregister();
+        }
+        assertFalse(server.isRegistered(name));
+    }
+
+    @Test
+    public void shouldRegisterBotsOfTheSameName() throws Exception {
+
+        // fixtures
+        DecisionLatency first = new DecisionLatency(10).register("DecisionLatencyTest");
+        DecisionLatency second = new DecisionLatency(10);
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+        try {
+            // test
+            second.register("DecisionLatencyTest");
+
+            // verify
+            assertNotEquals(first.getObjectName(), second.getObjectName());
+            assertTrue(server.isRegistered(first.getObjectName()));
+            assertTrue(server.isRegistered(second.getObjectName()));
+        } finally {
+            first.unregister();
+            second.unregister();
+        }
+    }
+}
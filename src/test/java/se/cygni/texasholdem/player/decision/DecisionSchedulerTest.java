@@ -0,0 +1,143 @@
+package se.cygni.texasholdem.player.decision;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import se.cygni.texasholdem.game.Action;
+import se.cygni.texasholdem.game.ActionType;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static se.cygni.texasholdem.player.decision.DecisionOutcome.*;
+
+public class DecisionSchedulerTest {
+
+    private static final Action RAISE = new Action(ActionType.RAISE, 100);
+    private static final Action CALL = new Action(ActionType.CALL, 50);
+    private static final Action FOLD = new Action(ActionType.FOLD, 0);
+
+    private ExecutorService workers;
+    private DecisionScheduler target;
+
+    @Before
+    public void setUp() {
+        workers = Executors.newFixedThreadPool(2);
+        target = new DecisionScheduler(workers, 100);
+    }
+
+    @After
+    public void tearDown() {
+        target.shutdown();
+    }
+
+    @Test
+    public void shouldCompleteInTime() {
+
+        // test
+        Decision<Action> decision = target.decide(provisional -> RAISE, action -> action, () -> FOLD);
+
+        // verify
+        assertEquals(COMPLETED, decision.getOutcome());
+        assertEquals(RAISE, decision.getAction());
+        assertEquals(RAISE, decision.getEvaluation());
+        assertEquals(1, target.getCount(COMPLETED));
+    }
+
+    @Test
+    public void shouldUseProvisionalAnswerWhenDeadlineHits() {
+
+        // test
+        Decision<Action> decision = target.decide(provisional -> {
+            provisional.offer(CALL);
+            Thread.sleep(10000);
+            return RAISE;
+        }, action -> action, () -> FOLD);
+
+        // verify
+        assertEquals(DEGRADED, decision.getOutcome());
+        assertEquals(CALL, decision.getAction());
+        assertEquals(1, target.getCount(DEGRADED));
+    }
+
+    @Test
+    public void shouldFallBackWithoutAnyAnswer() {
+
+        // test
+        Decision<Action> decision = target.decide(provisional -> {
+            Thread.sleep(10000);
+            return RAISE;
+        }, action -> action, () -> FOLD);
+
+        // verify
+        assertEquals(FALLBACK, decision.getOutcome());
+        assertEquals(FOLD, decision.getAction());
+    }
+
+    @Test
+    public void shouldFallBackWhenDecisionFails() {
+
+        // test
+        Decision<Action> decision = target.decide(provisional -> {
+            throw new IllegalStateException("broken");
+        }, action -> action, () -> FOLD);
+
+        // verify
+        assertEquals(FALLBACK, decision.getOutcome());
+        assertEquals(FOLD, decision.getAction());
+        assertNull(decision.getEvaluation());
+        assertEquals(1, target.getCount(FALLBACK));
+    }
+
+    @Test
+    public void shouldChooseFromTheEvaluationOnTheCallingThread() {
+
+        // fixtures
+        Thread caller = Thread.currentThread();
+        List<Thread> evaluatedOn = new CopyOnWriteArrayList<>();
+        List<Thread> chosenOn = new CopyOnWriteArrayList<>();
+
+        // test
+        Decision<Long> decision = target.decide(provisional -> {
+            evaluatedOn.add(Thread.currentThread());
+            return 100L;
+        }, amount -> {
+            chosenOn.add(Thread.currentThread());
+            return new Action(ActionType.RAISE, amount);
+        }, () -> FOLD);
+
+        // verify
+        assertEquals(100, decision.getAction().getAmount());
+        assertEquals(Long.valueOf(100), decision.getEvaluation());
+        assertNotEquals(caller, evaluatedOn.get(0));
+        assertEquals(Collections.singletonList(caller), chosenOn);
+    }
+
+    @Test
+    public void shouldInterruptTaskPastDeadline() throws Exception {
+
+        // fixtures
+        CountDownLatch stopped = new CountDownLatch(1);
+
+        // test
+        target.<Action>decide(provisional -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                provisional.offer(CALL);
+            }
+            stopped.countDown();
+            return RAISE;
+        }, action -> action, () -> FOLD);
+
+        // verify
+        assertTrue(stopped.await(1, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,74 @@
+package se.cygni.texasholdem.player.decision;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void shouldKeepSmallValuesExact() {
+
+        // fixtures
+        LatencyHistogram target = new LatencyHistogram();
+
+        // test
+        for (long nanos = 1; nanos <= 60; nanos++) {
+            target.record(nanos);
+        }
+
+        // verify
+        assertEquals(60, target.getCount());
+        assertEquals(30, target.getValueAtQuantile(0.5));
+        assertEquals(60, target.getValueAtQuantile(1));
+        assertEquals(60, target.getMax());
+    }
+
+    @Test
+    public void shouldFindPercentilesWithinThreePercent() {
+
+        // fixtures
+        LatencyHistogram target = new LatencyHistogram();
+
+        // test, a millisecond apart from a slow tail of one in a thousand at half a second
+        for (int i = 0; i < 100000; i++) {
+            target.record(i % 1000 == 999 ? 500_000_000L : 1_000_000L + i % 1000);
+        }
+
+        // verify
+        assertEquals(1_000_500, target.getValueAtQuantile(0.5), 1_000_500 * 0.03);
+        assertEquals(1_000_990, target.getValueAtQuantile(0.99), 1_000_990 * 0.03);
+        assertEquals(500_000_000, target.getValueAtQuantile(0.9995), 500_000_000 * 0.03);
+        assertTrue(target.getValueAtQuantile(0.99) <= target.getValueAtQuantile(0.999));
+    }
+
+    @Test
+    public void shouldMapEveryBucketBackToItsValues() {
+
+        // test
+        for (int bucket = 0; bucket < LatencyHistogram.BUCKETS - 1; bucket++) {
+            long highest = LatencyHistogram.highestValue(bucket);
+
+            // verify
+            assertEquals(bucket, LatencyHistogram.bucket(highest));
+            assertEquals(bucket + 1, LatencyHistogram.bucket(highest + 1));
+        }
+    }
+
+    @Test
+    public void shouldReset() {
+
+        // fixtures
+        LatencyHistogram target = new LatencyHistogram();
+        target.record(42);
+
+        // test
+        target.reset();
+
+        // verify
+        assertEquals(0, target.getCount());
+        assertEquals(0, target.getMax());
+        assertEquals(0, target.getValueAtQuantile(0.99));
+    }
+}
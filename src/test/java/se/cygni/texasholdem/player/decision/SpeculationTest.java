@@ -0,0 +1,88 @@
+package se.cygni.texasholdem.player.decision;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class SpeculationTest {
+
+    private ExecutorService executor;
+    private Speculation<String> target;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newSingleThreadExecutor();
+        target = new Speculation<>(executor);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldJoinWorkStartedForSameKey() throws Exception {
+
+        // fixtures
+        AtomicInteger runs = new AtomicInteger();
+
+        // test
+        target.start(1, () -> "flop " + runs.incrementAndGet());
+        target.start(1, () -> "flop " + runs.incrementAndGet());
+
+        // verify
+        assertEquals("flop 1", target.join(1));
+        assertEquals(1, runs.get());
+        assertEquals(1, target.getHits());
+    }
+
+    @Test
+    public void shouldMissWorkStartedForOtherCards() throws Exception {
+
+        // test
+        target.start(1, () -> "flop");
+
+        // verify
+        assertNull(target.join(2));
+        assertEquals(1, target.getMisses());
+    }
+
+    @Test
+    public void shouldNotJoinCancelledWork() throws Exception {
+
+        // fixtures
+        CountDownLatch started = new CountDownLatch(1);
+        target.start(1, () -> {
+            started.countDown();
+            Thread.sleep(10000);
+            return "flop";
+        });
+        started.await();
+
+        // test
+        target.cancel();
+
+        // verify
+        assertNull(target.join(1));
+    }
+
+    @Test
+    public void shouldReplaceWorkForNewCards() throws Exception {
+
+        // test
+        target.start(1, () -> "flop");
+        target.start(2, () -> "turn");
+
+        // verify
+        assertEquals("turn", target.join(2));
+        assertNull(target.join(1));
+    }
+}
@@ -0,0 +1,99 @@
+package se.cygni.texasholdem.player.evaluator;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class HandEvaluatorEngineTest {
+
+    private Path file;
+    private String evaluatorTable;
+
+    @Before
+    public void setUp() throws IOException {
+        file = Files.createTempFile("handranks", ".dat");
+        evaluatorTable = System.getProperty("evaluatorTable");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        System.clearProperty("evaluator");
+        if (evaluatorTable != null) {
+            System.setProperty("evaluatorTable", evaluatorTable);
+        } else {
+            System.clearProperty("evaluatorTable");
+        }
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    public void shouldCreateEngineOfSystemProperty() {
+
+        // fixtures
+        System.setProperty("evaluator", HandEvaluatorEngine.REFERENCE.name());
+
+        // test
+        HandEvaluator evaluator = HandEvaluatorEngine.fromSystemProperties();
+
+        // verify
+        assertTrue(evaluator instanceof ReferenceHandEvaluator);
+    }
+
+    @Test
+    public void shouldDefaultToLookup() {
+
+        // test
+        HandEvaluator evaluator = HandEvaluatorEngine.fromSystemProperties();
+
+        // verify
+        assertSame(LookupHandEvaluator.getInstance(), evaluator);
+    }
+
+    @Test
+    public void shouldLoadStateGraphTable() throws IOException {
+
+        // fixtures
+        System.setProperty("evaluatorTable", StateGraphHandEvaluatorTest.table().toString());
+
+        // test
+        HandEvaluator evaluator = HandEvaluatorEngine.STATE_GRAPH.create();
+
+        // verify
+        assertTrue(evaluator instanceof StateGraphHandEvaluator);
+    }
+
+    @Test
+    public void shouldFallBackToLookupWithoutStateGraphTable() throws IOException {
+
+        // fixtures
+        Files.delete(file);
+        System.setProperty("evaluatorTable", file.toString());
+
+        // test
+        HandEvaluator evaluator = HandEvaluatorEngine.STATE_GRAPH.create();
+
+        // verify
+        assertSame(LookupHandEvaluator.getInstance(), evaluator);
+    }
+
+    @Test
+    public void shouldFallBackToLookupWhenStateGraphTableCannotBeLoaded() throws IOException {
+
+        // fixtures
+        Files.write(file, StateGraphHandEvaluatorTest.header(0, 0, 0));
+        System.setProperty("evaluatorTable", file.toString());
+
+        // test
+        HandEvaluator evaluator = HandEvaluatorEngine.STATE_GRAPH.create();
+
+        // verify
+        assertSame(LookupHandEvaluator.getInstance(), evaluator);
+    }
+}
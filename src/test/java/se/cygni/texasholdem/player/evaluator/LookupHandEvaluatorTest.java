@@ -0,0 +1,76 @@
+package se.cygni.texasholdem.player.evaluator;
+
+import org.junit.Test;
+import se.cygni.texasholdem.game.Card;
+import se.cygni.texasholdem.game.Hand;
+import se.cygni.texasholdem.player.utils.CardMask;
+import se.cygni.texasholdem.player.utils.PokerHandUtils;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class LookupHandEvaluatorTest {
+
+    private final HandEvaluator target = LookupHandEvaluator.getInstance();
+
+    @Test
+    public void shouldAgreeWithPokerHandUtilsOnAllFiveCardHands() {
+
+        for (int c1 = 0; c1 < CardMask.CARDS; c1++) {
+            for (int c2 = c1 + 1; c2 < CardMask.CARDS; c2++) {
+                for (int c3 = c2 + 1; c3 < CardMask.CARDS; c3++) {
+                    for (int c4 = c3 + 1; c4 < CardMask.CARDS; c4++) {
+                        long cards = CardMask.bit(c1) | CardMask.bit(c2) | CardMask.bit(c3) | CardMask.bit(c4);
+                        for (int c5 = c4 + 1; c5 < CardMask.CARDS; c5++) {
+                            long hand = cards | CardMask.bit(c5);
+                            if (PokerHandUtils.getHandStrength(hand) != target.evaluate(hand)) {
+                                assertEquals(CardMask.toString(hand),
+                                        PokerHandUtils.getHandStrength(hand), target.evaluate(hand));
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void shouldAgreeWithPokerHandUtilsOnRandomSixAndSevenCardHands() {
+
+        Random random = new Random(4711);
+        for (int i = 0; i < 1000000; i++) {
+            long hand = randomHand(random, 6 + (i & 1));
+            assertEquals(CardMask.toString(hand), PokerHandUtils.getHandStrength(hand), target.evaluate(hand));
+        }
+    }
+
+    @Test
+    public void shouldGetSameBestHandAsPokerHandUtils() {
+
+        Random random = new Random(42);
+        for (int i = 0; i < 10000; i++) {
+            long hand = randomHand(random, 7);
+            List<Card> cards = CardMask.cards(hand);
+
+            Hand expected = new PokerHandUtils(cards.subList(2, 7), cards.subList(0, 2)).getBestHand();
+            Hand actual = target.getBestHand(hand);
+
+            assertEquals(cards.toString(), expected.getPokerHand(), actual.getPokerHand());
+            for (int position = 0; position < expected.getCards().size(); position++) {
+                assertEquals(cards.toString(),
+                        expected.getCards().get(position).getRank(), actual.getCards().get(position).getRank());
+            }
+        }
+    }
+
+    private static long randomHand(Random random, int size) {
+
+        long hand = 0;
+        while (Long.bitCount(hand) < size) {
+            hand |= CardMask.bit(random.nextInt(CardMask.CARDS));
+        }
+        return hand;
+    }
+}
@@ -0,0 +1,102 @@
+package se.cygni.texasholdem.player.evaluator;
+
+import org.junit.Test;
+import se.cygni.texasholdem.player.utils.CardMask;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class StateGraphGeneratorTest {
+
+    private final StateGraphGenerator target = new StateGraphGenerator();
+    private final HandEvaluator handEvaluator = LookupHandEvaluator.getInstance();
+
+    @Test
+    public void shouldNotAddCardAlreadySeen() {
+
+        // fixtures
+        long state = target.nextState(0, 12);
+
+        // test
+        long next = target.nextState(state, 12);
+
+        // verify
+        assertEquals(0, next);
+    }
+
+    @Test
+    public void shouldFoldSuitsThatCanNoLongerMakeAFlush() {
+
+        // test, ace king suited with a deuce and a trey of different suits
+        long first = state(12, 11, 13, 27);
+        long second = state(12, 11, 26, 40);
+
+        // verify
+        assertEquals(first, second);
+    }
+
+    @Test
+    public void shouldKeepSuitsThatCanStillMakeAFlush() {
+
+        // test, ace king suited with a suited deuce and trey, of two different suits
+        long first = state(12, 11, 13, 14);
+        long second = state(12, 11, 26, 27);
+
+        // verify
+        assertNotEquals(first, second);
+    }
+
+    @Test
+    public void shouldEvaluateStateAsTheCardsItWasReachedBy() {
+
+        // fixtures
+        Random random = new Random(4711);
+
+        for (int i = 0; i < 100000; i++) {
+            int size = 5 + i % 3;
+            long hand = 0;
+            long state = 0;
+            while (Long.bitCount(hand) < size) {
+                int id = random.nextInt(CardMask.CARDS);
+                if (!CardMask.contains(hand, id)) {
+                    hand |= CardMask.bit(id);
+                    state = target.nextState(state, id);
+                }
+            }
+
+            // test
+            long cards = StateGraphGenerator.toCardMask(state);
+
+            // verify
+            assertEquals(size, StateGraphGenerator.cardCount(state));
+            assertEquals(size, Long.bitCount(cards));
+            assertEquals(CardMask.toString(hand), handEvaluator.evaluate(hand), handEvaluator.evaluate(cards));
+        }
+    }
+
+    @Test
+    public void shouldEnumerateStatesSortedFromTheEmptyState() {
+
+        // test
+        long[] states = target.enumerateStates();
+
+        // verify
+        assertEquals(0, states[0]);
+        for (int i = 1; i < states.length; i++) {
+            assertTrue(states[i - 1] < states[i]);
+            assertTrue(StateGraphGenerator.cardCount(states[i]) < 7);
+        }
+    }
+
+    private long state(int... ids) {
+
+        long state = 0;
+        for (int id : ids) {
+            state = target.nextState(state, id);
+        }
+        return state;
+    }
+}
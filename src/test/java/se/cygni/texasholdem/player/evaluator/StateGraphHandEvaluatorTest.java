@@ -0,0 +1,141 @@
+package se.cygni.texasholdem.player.evaluator;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import se.cygni.texasholdem.player.utils.CardMask;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static se.cygni.texasholdem.player.evaluator.StateGraphGenerator.HEADER_BYTES;
+import static se.cygni.texasholdem.player.evaluator.StateGraphGenerator.MAGIC;
+import static se.cygni.texasholdem.player.evaluator.StateGraphGenerator.VERSION;
+
+/**
+ * The agreement tests check the table given by <code>evaluatorTable</code>, or where the
+ * <code>evaluator-table</code> profile writes it, and generate it there if it's missing.
+ */
+public class StateGraphHandEvaluatorTest {
+
+    private static final Path TABLE =
+            Paths.get(System.getProperty("evaluatorTable", StateGraphHandEvaluator.DEFAULT_TABLE));
+
+    private final HandEvaluator expected = LookupHandEvaluator.getInstance();
+
+    private Path file;
+
+    @Before
+    public void setUp() throws IOException {
+        file = Files.createTempFile("handranks", ".dat");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    public void shouldAgreeWithLookupHandEvaluatorOnRandomHands() throws IOException {
+
+        // fixtures
+        HandEvaluator target = loadTable();
+        Random random = new Random(4711);
+
+        // test
+        for (int i = 0; i < 1000000; i++) {
+            long hand = randomHand(random, 5 + i % 3);
+
+            // verify
+            assertEquals(CardMask.toString(hand), expected.evaluate(hand), target.evaluate(hand));
+        }
+    }
+
+    @Test
+    public void shouldAgreeWithLookupHandEvaluatorAddingCardsInAnyOrder() throws IOException {
+
+        // fixtures
+        HandEvaluator target = loadTable();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 100000; i++) {
+            long hand = randomHand(random, 7);
+
+            // test, the cards of the mask in a random order
+            long state = target.emptyState();
+            long added = CardMask.EMPTY;
+            while (added != hand) {
+                int id = random.nextInt(CardMask.CARDS);
+                if (CardMask.contains(hand, id) && !CardMask.contains(added, id)) {
+                    state = target.addCard(state, id);
+                    added |= CardMask.bit(id);
+
+                    // verify
+                    if (Long.bitCount(added) >= 5) {
+                        assertEquals(CardMask.toString(added), expected.evaluate(added), target.evaluateState(state));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldRejectEmptyFile() throws IOException {
+        StateGraphHandEvaluator.load(file);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldRejectFileOfOtherVersion() throws IOException {
+
+        // fixtures
+        Files.write(file, header(MAGIC, VERSION + 1, 0));
+
+        // test
+        StateGraphHandEvaluator.load(file);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldRejectTruncatedTable() throws IOException {
+
+        // fixtures
+        Files.write(file, header(MAGIC, VERSION, 1));
+
+        // test
+        StateGraphHandEvaluator.load(file);
+    }
+
+    private static HandEvaluator loadTable() throws IOException {
+        return StateGraphHandEvaluator.load(table());
+    }
+
+    /**
+     * @return the table, generated first if missing
+     */
+    static synchronized Path table() throws IOException {
+        if (!Files.isRegularFile(TABLE)) {
+            Files.createDirectories(TABLE.toAbsolutePath().getParent());
+            new StateGraphGenerator().generate(TABLE);
+        }
+        return TABLE;
+    }
+
+    static byte[] header(int magic, int version, int states) {
+        return ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN)
+                .putInt(magic).putInt(version).putInt(states).putInt(0).array();
+    }
+
+    private static long randomHand(Random random, int size) {
+
+        long hand = 0;
+        while (Long.bitCount(hand) < size) {
+            hand |= CardMask.bit(random.nextInt(CardMask.CARDS));
+        }
+        return hand;
+    }
+}
@@ -0,0 +1,128 @@
+package se.cygni.texasholdem.player.journal;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class JournalTest {
+
+    // a header and three records per segment
+    private static final int SEGMENT_BYTES = 4 * JournalRecord.BYTES;
+
+    private Path directory;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("journal");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        for (Path segment : JournalReader.segments(directory)) {
+            Files.delete(segment);
+        }
+        Files.delete(directory);
+    }
+
+    @Test
+    public void shouldReadBackRecordsAcrossSegments() throws Exception {
+
+        // fixtures
+        Journal target = Journal.open(directory, 16, SEGMENT_BYTES);
+
+        // test
+        for (int i = 0; i < 7; i++) {
+            target.claim(RecordType.RAISE).seat(i).long0(100 * i).payloadText("Player" + i);
+            target.publish();
+        }
+        assertTrue(target.flush(1000));
+        target.close();
+
+        // verify
+        List<Path> segments = JournalReader.segments(directory);
+        assertEquals(3, segments.size());
+
+        final List<String> read = new ArrayList<>();
+        int records = 0;
+        for (Path segment : segments) {
+            records += JournalReader.read(segment, record ->
+                    read.add(record.getType() + " " + record.getSeat() + " " + record.getLong0() + " "
+                            + record.getPayloadText()));
+        }
+        assertEquals(7, records);
+        assertEquals("RAISE 0 0 Player0", read.get(0));
+        assertEquals("RAISE 6 600 Player6", read.get(6));
+        assertEquals(0, target.getDropped());
+    }
+
+    @Test
+    public void shouldContinueAfterExistingSegments() throws Exception {
+
+        // fixtures
+        Journal first = Journal.open(directory, 16, SEGMENT_BYTES);
+        first.claim(RecordType.PLAY_STARTED).intValue(1);
+        first.publish();
+        first.close();
+
+        // test
+        Journal target = Journal.open(directory, 16, SEGMENT_BYTES);
+        target.claim(RecordType.PLAY_STARTED).intValue(2);
+        target.publish();
+        target.close();
+
+        // verify
+        List<Path> segments = JournalReader.segments(directory);
+        assertEquals(2, segments.size());
+        assertTrue(segments.get(1).getFileName().toString().startsWith("hands-000002"));
+
+        final List<Integer> rounds = new ArrayList<>();
+        JournalReader.read(segments.get(1), record -> rounds.add(record.getInt()));
+        assertEquals(1, rounds.size());
+        assertEquals(2, (int) rounds.get(0));
+    }
+
+    @Test
+    public void shouldWriteNothingWhenDisabledOrClosed() throws Exception {
+
+        // fixtures
+        Journal closed = Journal.open(directory, 16, SEGMENT_BYTES);
+        closed.close();
+
+        // verify
+        assertFalse(Journal.DISABLED.isEnabled());
+        assertNull(Journal.DISABLED.claim(RecordType.FOLD));
+        assertNull(closed.claim(RecordType.FOLD));
+        assertEquals(0, JournalReader.segments(directory).size());
+    }
+
+    @Test
+    public void shouldNotJournalUnlessDirectoryIsGiven() {
+
+        // fixtures
+        String given = System.clearProperty("journalDirectory");
+
+        // test
+        try {
+            Journal target = Journal.fromSystemProperties();
+
+            // verify
+            assertSame(Journal.DISABLED, target);
+        } finally {
+            if (given != null) {
+                System.setProperty("journalDirectory", given);
+            }
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package se.cygni.texasholdem.player.postflop;
+
+import org.junit.Before;
+import org.junit.Test;
+import se.cygni.texasholdem.game.Card;
+import se.cygni.texasholdem.player.evaluator.LookupHandEvaluator;
+import se.cygni.texasholdem.player.utils.CardMask;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static se.cygni.texasholdem.game.Card.valueOf;
+import static se.cygni.texasholdem.game.definitions.Rank.*;
+import static se.cygni.texasholdem.game.definitions.Suit.*;
+
+public class HandPotentialCalculatorTest {
+
+    private static final List<Card> POCKET_ACE_KING_OF_SPADES = asList(valueOf(ACE, SPADES), valueOf(KING, SPADES));
+
+    private HandRankingService handRankingService;
+    private HandPotentialCalculator target;
+
+    @Before
+    public void setUp() {
+        handRankingService = new HandRankingServiceImpl();
+        target = new HandPotentialCalculator(LookupHandEvaluator.getInstance(), ForkJoinPool.commonPool());
+    }
+
+    @Test
+    public void shouldGivePotentialToFlushDrawOnFlop() {
+
+        // fixtures
+        List<Card> board = asList(valueOf(DEUCE, SPADES), valueOf(SEVEN, SPADES), valueOf(NINE, DIAMONDS));
+
+        // test
+        HandPotentialRanking ranking = calculate(board);
+
+        // verify, behind every pair but nine spades and all the overcards left to come
+        assertTrue(ranking.getPositivePotential() > 0.4);
+        assertTrue(ranking.getEffectiveHandStrength() > ranking.getHandStrength());
+    }
+
+    @Test(expected = CancellationException.class)
+    public void shouldStopWhenInterrupted() {
+
+        // fixtures
+        List<Card> board = asList(valueOf(DEUCE, SPADES), valueOf(SEVEN, SPADES), valueOf(NINE, HEARTS));
+        Thread.currentThread().interrupt();
+
+        // test
+        try {
+            calculate(board);
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    @Test
+    public void shouldGiveNoPotentialToMadeRoyalFlush() {
+
+        // fixtures
+        List<Card> board = asList(valueOf(QUEEN, SPADES), valueOf(JACK, SPADES), valueOf(TEN, SPADES));
+
+        // test
+        HandPotentialRanking ranking = calculate(board);
+
+        // verify
+        assertEquals(1.0, ranking.getHandStrength(), 0);
+        assertEquals(0, ranking.getPositivePotential(), 0);
+        assertEquals(0, ranking.getNegativePotential(), 0);
+        assertEquals(1.0, ranking.getEffectiveHandStrength(), 0);
+    }
+
+    @Test
+    public void shouldLosePotentialWhenFewerCardsAreToCome() {
+
+        // fixtures
+        List<Card> flop = asList(valueOf(DEUCE, SPADES), valueOf(SEVEN, SPADES), valueOf(NINE, DIAMONDS));
+        List<Card> turn = asList(valueOf(DEUCE, SPADES), valueOf(SEVEN, SPADES), valueOf(NINE, DIAMONDS),
+                valueOf(THREE, HEARTS));
+
+        // test
+        HandPotentialRanking onFlop = calculate(flop);
+        HandPotentialRanking onTurn = calculate(turn);
+
+        // verify
+        assertTrue(onTurn.getPositivePotential() < onFlop.getPositivePotential());
+    }
+
+    @Test
+    public void shouldRankWithPotentialBeforeTheRiver() {
+
+        // fixtures
+        List<Card> board = asList(valueOf(DEUCE, SPADES), valueOf(SEVEN, SPADES), valueOf(NINE, DIAMONDS));
+
+        // test
+        HandRanking ranking = handRankingService.getRanking(POCKET_ACE_KING_OF_SPADES, board);
+
+        // verify
+        assertTrue(ranking instanceof HandPotentialRanking);
+    }
+
+    private HandPotentialRanking calculate(List<Card> board) {
+        HandRanking ranking = handRankingService.getRanking(POCKET_ACE_KING_OF_SPADES, board);
+        handRankingService.resetDeck();
+        return target.calculate(ranking, CardMask.mask(POCKET_ACE_KING_OF_SPADES), CardMask.mask(board));
+    }
+}
@@ -0,0 +1,58 @@
+package se.cygni.texasholdem.player.postflop;
+
+import org.junit.Test;
+import se.cygni.texasholdem.game.Card;
+import se.cygni.texasholdem.player.utils.CardMask;
+import se.cygni.texasholdem.player.utils.PokerHandUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static se.cygni.texasholdem.game.Card.valueOf;
+import static se.cygni.texasholdem.game.definitions.Rank.*;
+import static se.cygni.texasholdem.game.definitions.Suit.*;
+
+public class HandTest {
+
+    @Test
+    public void shouldOrderLikeHandStrength() {
+
+        Random random = new Random(4711);
+        List<Card> deck = CardMask.cards(CardMask.FULL_DECK);
+
+        for (int i = 0; i < 20000; i++) {
+            Collections.shuffle(deck, random);
+            List<Card> first = new ArrayList<>(deck.subList(0, 7));
+            List<Card> second = new ArrayList<>(deck.subList(7, 14));
+
+            int expected = Integer.signum(Integer.compare(
+                    PokerHandUtils.getHandStrength(CardMask.mask(first)),
+                    PokerHandUtils.getHandStrength(CardMask.mask(second))));
+
+            assertEquals(first + " vs " + second, expected, Integer.signum(bestHand(first).compareTo(bestHand(second))));
+        }
+    }
+
+    @Test
+    public void shouldCountPocketCardsInPokerHand() {
+
+        // fixtures
+        List<Card> pocketCards = asList(valueOf(SEVEN, SPADES), valueOf(JACK, SPADES));
+        List<Card> communityCards = asList(valueOf(SEVEN, HEARTS), valueOf(FOUR, HEARTS), valueOf(QUEEN, DIAMONDS));
+
+        // test
+        Hand hand = new Hand(new PokerHandUtils(communityCards, pocketCards).getBestHand());
+
+        // verify, the jack is only a kicker
+        assertEquals(1, hand.getNumberOfPocketCardsInPokerHand(pocketCards));
+        assertEquals(1, hand.getNumberOfPocketCardsInPokerHand(CardMask.mask(pocketCards)));
+    }
+
+    private static Hand bestHand(List<Card> cards) {
+        return new Hand(new PokerHandUtils(cards.subList(2, 7), cards.subList(0, 2)).getBestHand());
+    }
+}
@@ -0,0 +1,85 @@
+package se.cygni.texasholdem.player.postflop;
+
+import org.junit.Before;
+import org.junit.Test;
+import se.cygni.texasholdem.game.Card;
+import se.cygni.texasholdem.player.evaluator.LookupHandEvaluator;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static se.cygni.texasholdem.game.Card.valueOf;
+import static se.cygni.texasholdem.game.definitions.Rank.*;
+import static se.cygni.texasholdem.game.definitions.Suit.*;
+
+public class MonteCarloEquityServiceTest {
+
+    private static final List<Card> POCKET_ACES = asList(valueOf(ACE, SPADES), valueOf(ACE, HEARTS));
+
+    private EquityService target;
+
+    @Before
+    public void setUp() {
+        target = new MonteCarloEquityService(LookupHandEvaluator.getInstance(), ForkJoinPool.commonPool(),
+                new SplittableRandom(4711));
+    }
+
+    @Test
+    public void shouldGetPreFlopEquityOfAcesHeadsUp() {
+
+        // test
+        EquityResult result = target.getEquity(POCKET_ACES, Collections.emptyList(), 1, new EquityBudget(200000, 10000));
+
+        // verify, aces win about 85% heads up
+        assertEquals(200000, result.getSamples());
+        assertEquals(0.85, result.getEquity(), 0.01);
+        assertTrue(result.getLowerBound() < result.getEquity() && result.getEquity() < result.getUpperBound());
+        assertEquals(1.0, result.getWin() + result.getTie() + result.getLoss(), 1e-9);
+    }
+
+    @Test(expected = CancellationException.class)
+    public void shouldStopWhenInterrupted() {
+
+        // fixtures
+        Thread.currentThread().interrupt();
+
+        // test
+        try {
+            target.getEquity(POCKET_ACES, Collections.emptyList(), 1, new EquityBudget(Integer.MAX_VALUE, 100000));
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    @Test
+    public void shouldLoseEquityAgainstMoreOpponents() {
+
+        // test
+        EquityResult headsUp = target.getEquity(POCKET_ACES, Collections.emptyList(), 1, new EquityBudget(50000, 10000));
+        EquityResult fiveWay = target.getEquity(POCKET_ACES, Collections.emptyList(), 4, new EquityBudget(50000, 10000));
+
+        // verify
+        assertTrue(fiveWay.getEquity() < headsUp.getEquity() - 0.2);
+    }
+
+    @Test
+    public void shouldSplitPotWithRoyalFlushOnBoard() {
+
+        // fixtures
+        List<Card> board = asList(valueOf(TEN, CLUBS), valueOf(JACK, CLUBS), valueOf(QUEEN, CLUBS),
+                valueOf(KING, CLUBS), valueOf(ACE, CLUBS));
+
+        // test
+        EquityResult result = target.getEquity(POCKET_ACES, board, 2, new EquityBudget(1000, 10000));
+
+        // verify
+        assertEquals(1.0, result.getTie(), 0);
+        assertEquals(1.0 / 3, result.getEquity(), 1e-9);
+    }
+}
@@ -0,0 +1,48 @@
+package se.cygni.texasholdem.player.postflop;
+
+import org.junit.Test;
+import se.cygni.texasholdem.game.Action;
+import se.cygni.texasholdem.game.Card;
+import se.cygni.texasholdem.game.definitions.Suit;
+import se.cygni.texasholdem.player.TableFixture;
+import se.cygni.texasholdem.player.evaluator.LookupHandEvaluator;
+import se.cygni.texasholdem.player.utils.CardMask;
+
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static se.cygni.texasholdem.game.ActionType.RAISE;
+import static se.cygni.texasholdem.game.definitions.PlayState.FLOP;
+import static se.cygni.texasholdem.game.definitions.Rank.ACE;
+import static se.cygni.texasholdem.game.definitions.Rank.SEVEN;
+
+public class PostFlopStrategyImplTest {
+
+    @Test
+    public void shouldLeaveThePossibleActionsAsTheyAre() {
+
+        // fixtures
+        List<Card> myCards = asList(new Card(ACE, Suit.SPADES), new Card(ACE, Suit.HEARTS));
+        List<Card> communityCards = asList(new Card(ACE, Suit.CLUBS), new Card(ACE, Suit.DIAMONDS),
+                new Card(SEVEN, Suit.SPADES));
+        TableFixture table = new TableFixture(FLOP, myCards, communityCards);
+        se.cygni.texasholdem.game.Hand best = LookupHandEvaluator.getInstance()
+                .getBestHand(CardMask.mask(myCards) | CardMask.mask(communityCards));
+        HandRanking ranking = new HandRanking(new Hand(best), 0, 0, 1000, 2);
+        PostFlopStrategyImpl target = new PostFlopStrategyImpl();
+        long raise = table.getPossibleActions().get(2).getAmount();
+
+        // test
+        Action provisional = target.getPostFlopAction(table.getPossibleActions(), ranking, table.getPlayState(),
+                table.getGameStatistics());
+        Action decided = target.getPostFlopAction(table.getPossibleActions(), ranking, table.getPlayState(),
+                table.getGameStatistics());
+
+        // verify
+        assertEquals(RAISE, decided.getActionType());
+        assertEquals(2 * raise, provisional.getAmount());
+        assertEquals(2 * raise, decided.getAmount());
+        assertEquals(raise, table.getPossibleActions().get(2).getAmount());
+    }
+}
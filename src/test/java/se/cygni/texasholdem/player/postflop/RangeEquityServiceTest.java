@@ -0,0 +1,132 @@
+package se.cygni.texasholdem.player.postflop;
+
+import org.junit.Before;
+import org.junit.Test;
+import se.cygni.texasholdem.game.Card;
+import se.cygni.texasholdem.player.evaluator.LookupHandEvaluator;
+import se.cygni.texasholdem.player.range.HandRange;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static se.cygni.texasholdem.game.Card.valueOf;
+import static se.cygni.texasholdem.game.definitions.Rank.*;
+import static se.cygni.texasholdem.game.definitions.Suit.*;
+
+public class RangeEquityServiceTest {
+
+    private static final List<Card> DRY_FLOP = asList(valueOf(DEUCE, CLUBS), valueOf(SEVEN, DIAMONDS),
+            valueOf(JACK, HEARTS));
+
+    private RangeEquityService target;
+
+    @Before
+    public void setUp() {
+        target = new RangeEquityServiceImpl(LookupHandEvaluator.getInstance(), ForkJoinPool.commonPool(),
+                new SplittableRandom(4711));
+    }
+
+    @Test
+    public void shouldSampleAcesAgainstKingsPreFlop() {
+
+        // test
+        EquityResult result = target.getEquity(range("AA"), singletonList(range("KK")), Collections.emptyList(),
+                new EquityBudget(200000, 10000));
+
+        // verify, aces are about a 4.5 to 1 favourite over kings
+        assertEquals(200000, result.getSamples());
+        assertEquals(0.82, result.getEquity(), 0.01);
+        assertTrue(result.getStandardError() > 0);
+    }
+
+    @Test
+    public void shouldEnumerateTheRiverExactly() {
+
+        // fixtures
+        List<Card> board = asList(valueOf(DEUCE, CLUBS), valueOf(SEVEN, DIAMONDS), valueOf(JACK, HEARTS),
+                valueOf(FOUR, SPADES), valueOf(NINE, CLUBS));
+
+        // test
+        EquityResult result = target.getEquity(range("JJ"), singletonList(range("T8s, AA")), board,
+                new EquityBudget(1, 1));
+
+        // verify, the three sets of jacks beat all 6 aces and lose to the 4 straights
+        assertEquals(0, result.getStandardError(), 0);
+        assertEquals(3 * 10, result.getSamples());
+        assertEquals(0.6, result.getEquity(), 1e-9);
+        assertEquals(0.4, result.getLoss(), 1e-9);
+    }
+
+    @Test
+    public void shouldWeighCombinations() {
+
+        // fixtures
+        List<Card> board = asList(valueOf(DEUCE, CLUBS), valueOf(SEVEN, DIAMONDS), valueOf(JACK, HEARTS),
+                valueOf(FOUR, SPADES), valueOf(NINE, CLUBS));
+        float[] villain = range("T8s, AA, KK");
+        for (int i = 0; i < villain.length; i++) {
+            if (HandRange.parse("T8s").contains(i)) {
+                villain[i] = 3;
+            }
+        }
+
+        // test
+        EquityResult result = target.getEquity(range("JJ"), singletonList(villain), board, new EquityBudget(1, 1));
+
+        // verify, the 4 straights count three times so they are as likely as the 12 overpairs
+        assertEquals(0.5, result.getEquity(), 1e-9);
+    }
+
+    @Test
+    public void shouldMatchExactEquityOnTheTurnWhenSampling() {
+
+        // fixtures
+        List<Card> turn = asList(valueOf(DEUCE, CLUBS), valueOf(SEVEN, DIAMONDS), valueOf(JACK, HEARTS),
+                valueOf(FOUR, SPADES));
+        float[] wide = range("22+, A2+, K2+, Q2+, J2+, T2+");
+
+        // test
+        EquityResult exact = target.getEquity(range("AK"), singletonList(range("TT+")), turn,
+                new EquityBudget(1, 1));
+        EquityResult sampled = target.getEquity(range("AK"), asList(range("TT+"), wide), turn,
+                new EquityBudget(100000, 10000));
+
+        // verify
+        assertEquals(0, exact.getStandardError(), 0);
+        assertTrue(sampled.getStandardError() > 0);
+        assertTrue(sampled.getEquity() < exact.getEquity());
+    }
+
+    @Test
+    public void shouldStopAtPrecision() {
+
+        // test
+        EquityResult result = target.getEquity(range("AK"), asList(range("QQ+"), range("22+")), DRY_FLOP,
+                new EquityBudget(10000000, 10000, 0.005));
+
+        // verify
+        assertTrue(result.getSamples() < 10000000);
+        assertTrue(result.getStandardError() <= 0.005);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldNotAcceptRangeBlockedByTheBoard() {
+
+        // test
+        target.getEquity(range("22"), singletonList(range("AA")),
+                asList(valueOf(DEUCE, CLUBS), valueOf(DEUCE, DIAMONDS), valueOf(DEUCE, HEARTS), valueOf(DEUCE, SPADES)),
+                new EquityBudget(1000, 1000));
+
+        // verify, every deuce is on the board
+    }
+
+    private static float[] range(final String notation) {
+        return HandRange.parse(notation).toWeights();
+    }
+}
@@ -0,0 +1,120 @@
+package se.cygni.texasholdem.player.postflop;
+
+import org.junit.Test;
+import se.cygni.texasholdem.game.Card;
+import se.cygni.texasholdem.player.evaluator.LookupHandEvaluator;
+import se.cygni.texasholdem.player.utils.CardMask;
+
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static se.cygni.texasholdem.game.Card.valueOf;
+import static se.cygni.texasholdem.game.definitions.Rank.*;
+import static se.cygni.texasholdem.game.definitions.Suit.*;
+
+public class RankingCacheTest {
+
+    @Test
+    public void shouldGiveSameKeyForEveryRenamingOfSuits() {
+
+        // fixtures
+        long pocket = mask(valueOf(ACE, SPADES), valueOf(KING, SPADES));
+        long board = mask(valueOf(DEUCE, SPADES), valueOf(SEVEN, SPADES), valueOf(NINE, DIAMONDS));
+        long renamedPocket = mask(valueOf(ACE, CLUBS), valueOf(KING, CLUBS));
+        long renamedBoard = mask(valueOf(DEUCE, CLUBS), valueOf(SEVEN, CLUBS), valueOf(NINE, HEARTS));
+        long otherBoard = mask(valueOf(DEUCE, CLUBS), valueOf(SEVEN, HEARTS), valueOf(NINE, CLUBS));
+
+        // verify
+        assertEquals(RankingCache.key(pocket, board), RankingCache.key(renamedPocket, renamedBoard));
+        assertNotEquals(RankingCache.key(pocket, board), RankingCache.key(renamedPocket, otherBoard));
+    }
+
+    @Test
+    public void shouldShareOneCacheBetweenBots() {
+
+        // test
+        RankingCache first = RankingCache.fromSystemProperties();
+        RankingCache second = RankingCache.fromSystemProperties();
+
+        // verify
+        assertSame(first, second);
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsed() {
+
+        // fixtures, one entry per stripe
+        RankingCache target = new RankingCache(RankingCache.ENTRY_BYTES * 16);
+        RankingCache.Entry entry = new RankingCache.Entry(1, 2, 3, Double.NaN, Double.NaN);
+
+        // test
+        for (long key = 0; key < 1000; key++) {
+            target.put(key, entry);
+        }
+
+        // verify
+        assertEquals(16, target.size());
+        assertEquals(1000 - 16, target.getEvictions());
+        assertNotNull(target.get(999));
+        assertNull(target.get(0));
+        assertEquals(1, target.getHits());
+        assertEquals(1, target.getMisses());
+    }
+
+    @Test
+    public void shouldReuseRankingInOtherSuitsInNextHand() {
+
+        // fixtures
+        RankingCache cache = new RankingCache(1 << 20);
+        HandRankingService target = new HandRankingServiceImpl(LookupHandEvaluator.getInstance(), cache);
+        List<Card> board = asList(valueOf(DEUCE, SPADES), valueOf(SEVEN, SPADES), valueOf(NINE, DIAMONDS));
+        List<Card> renamedBoard = asList(valueOf(DEUCE, HEARTS), valueOf(SEVEN, HEARTS), valueOf(NINE, CLUBS));
+
+        // test
+        HandRanking ranking = target.getRanking(asList(valueOf(ACE, SPADES), valueOf(KING, SPADES)), board);
+        target.resetDeck();
+        HandRanking renamed = target.getRanking(asList(valueOf(ACE, HEARTS), valueOf(KING, HEARTS)), renamedBoard);
+
+        // verify
+        assertEquals(1, cache.getHits());
+        assertEquals(ranking.getBetter(), renamed.getBetter());
+        assertEquals(ranking.getTied(), renamed.getTied());
+        assertEquals(((HandPotentialRanking) ranking).getPositivePotential(),
+                ((HandPotentialRanking) renamed).getPositivePotential(), 0);
+        assertEquals(ranking.getHand().getPokerHand(), renamed.getHand().getPokerHand());
+    }
+
+    @Test
+    public void shouldRankTheSameWhenPreparedAsCardsAreDealt() {
+
+        // fixtures
+        List<Card> pocket = asList(valueOf(ACE, SPADES), valueOf(KING, SPADES));
+        List<Card> board = asList(valueOf(DEUCE, SPADES), valueOf(SEVEN, SPADES), valueOf(NINE, DIAMONDS),
+                valueOf(JACK, CLUBS));
+        HandRankingService target = new HandRankingServiceImpl(LookupHandEvaluator.getInstance(),
+                new RankingCache(1 << 20));
+        HandRankingService unprepared = new HandRankingServiceImpl(LookupHandEvaluator.getInstance(),
+                new RankingCache(1 << 20));
+
+        // test
+        target.prepare(pocket, board.subList(0, 2));
+        target.prepare(pocket, board.subList(0, 3));
+        target.prepare(pocket, board);
+        HandRanking ranking = target.getRanking(pocket, board);
+
+        // verify
+        HandRanking expected = unprepared.getRanking(pocket, board);
+        assertEquals(expected.getBetter(), ranking.getBetter());
+        assertEquals(expected.getTied(), ranking.getTied());
+        assertEquals(expected.getWorse(), ranking.getWorse());
+    }
+
+    private static long mask(Card... cards) {
+        return CardMask.mask(asList(cards));
+    }
+}
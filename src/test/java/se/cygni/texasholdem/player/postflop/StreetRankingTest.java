@@ -0,0 +1,82 @@
+package se.cygni.texasholdem.player.postflop;
+
+import org.junit.Test;
+import se.cygni.texasholdem.player.evaluator.HandEvaluator;
+import se.cygni.texasholdem.player.evaluator.LookupHandEvaluator;
+import se.cygni.texasholdem.player.evaluator.ReferenceHandEvaluator;
+import se.cygni.texasholdem.player.utils.CardMask;
+
+import java.util.SplittableRandom;
+
+import static org.junit.Assert.assertEquals;
+
+public class StreetRankingTest {
+
+    @Test
+    public void shouldAgreeWithRankingFromScratchOnEveryStreet() {
+        assertAgreesWithRankingFromScratch(LookupHandEvaluator.getInstance());
+        assertAgreesWithRankingFromScratch(new ReferenceHandEvaluator());
+    }
+
+    private static void assertAgreesWithRankingFromScratch(HandEvaluator handEvaluator) {
+
+        SplittableRandom random = new SplittableRandom(4711);
+        for (int hand = 0; hand < 20; hand++) {
+
+            // fixtures
+            int[] cards = deal(random);
+            long pocket = CardMask.bit(cards[0]) | CardMask.bit(cards[1]);
+            long flop = CardMask.bit(cards[2]) | CardMask.bit(cards[3]) | CardMask.bit(cards[4]);
+
+            // test
+            StreetRanking target = new StreetRanking(handEvaluator, pocket, flop);
+            assertSameCounts(handEvaluator, pocket, target);
+            target.addCard(cards[5]);
+            assertSameCounts(handEvaluator, pocket, target);
+            target.advanceTo(target.getBoard() | CardMask.bit(cards[6]));
+            assertSameCounts(handEvaluator, pocket, target);
+        }
+    }
+
+    private static void assertSameCounts(HandEvaluator handEvaluator, long pocket, StreetRanking target) {
+
+        long board = target.getBoard();
+        int myStrength = handEvaluator.evaluate(pocket | board);
+        int better = 0;
+        int tied = 0;
+        int combinations = 0;
+        long live = ~(pocket | board) & CardMask.FULL_DECK;
+        for (long first = live; first != 0; first &= first - 1) {
+            for (long second = first & (first - 1); second != 0; second &= second - 1) {
+                int strength = handEvaluator.evaluate(board | Long.lowestOneBit(first) | Long.lowestOneBit(second));
+                combinations++;
+                if (strength > myStrength) {
+                    better++;
+                } else if (strength == myStrength) {
+                    tied++;
+                }
+            }
+        }
+
+        RankingCache.Entry counts = target.count();
+        assertEquals(myStrength, target.getMyStrength());
+        assertEquals(combinations, target.getCombinations());
+        assertEquals(better, counts.getBetter());
+        assertEquals(tied, counts.getTied());
+        assertEquals(combinations - better - tied, counts.getWorse());
+    }
+
+    private static int[] deal(SplittableRandom random) {
+        int[] deck = new int[CardMask.CARDS];
+        for (int i = 0; i < deck.length; i++) {
+            deck[i] = i;
+        }
+        for (int i = 0; i < 7; i++) {
+            int pick = i + random.nextInt(deck.length - i);
+            int card = deck[pick];
+            deck[pick] = deck[i];
+            deck[i] = card;
+        }
+        return deck;
+    }
+}
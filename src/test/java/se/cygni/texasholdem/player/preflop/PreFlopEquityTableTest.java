@@ -0,0 +1,61 @@
+package se.cygni.texasholdem.player.preflop;
+
+import org.junit.Test;
+import se.cygni.texasholdem.player.utils.CardMask;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static se.cygni.texasholdem.game.Card.valueOf;
+import static se.cygni.texasholdem.game.definitions.Rank.*;
+import static se.cygni.texasholdem.game.definitions.Suit.*;
+
+public class PreFlopEquityTableTest {
+
+    private final PreFlopEquityTable target = PreFlopEquityTable.getInstance();
+
+    @Test
+    public void shouldLookUpKnownEquities() {
+
+        // verify
+        assertEquals(0.85, target.equity(valueOf(ACE, SPADES), valueOf(ACE, HEARTS), 1), 0.01);
+        assertEquals(0.35, target.equity(valueOf(SEVEN, CLUBS), valueOf(DEUCE, HEARTS), 1), 0.01);
+        assertEquals(0.60, target.equity(valueOf(FIVE, DIAMONDS), valueOf(FIVE, CLUBS), 1), 0.01);
+    }
+
+    @Test
+    public void shouldLoseEquityAgainstMoreOpponents() {
+
+        for (int handClass = 0; handClass < PreFlopEquityTable.CLASSES; handClass++) {
+            for (int opponents = 2; opponents <= PreFlopEquityTable.MAX_OPPONENTS; opponents++) {
+                assertTrue(target.equity(handClass, opponents) < target.equity(handClass, opponents - 1));
+            }
+        }
+    }
+
+    @Test
+    public void shouldMapEveryStartingHandToOneOf169Classes() {
+
+        // fixtures
+        Map<Integer, Integer> combinations = new HashMap<>();
+
+        // test
+        for (int id1 = 0; id1 < CardMask.CARDS; id1++) {
+            for (int id2 = id1 + 1; id2 < CardMask.CARDS; id2++) {
+                int handClass = PreFlopEquityTable.classOf(id1, id2);
+                assertEquals(handClass, PreFlopEquityTable.classOf(id2, id1));
+                combinations.merge(handClass, 1, Integer::sum);
+            }
+        }
+
+        // verify, 6 combinations of a pair, 4 suited and 12 offsuit
+        assertEquals(169, combinations.size());
+        for (Map.Entry<Integer, Integer> entry : combinations.entrySet()) {
+            int row = entry.getKey() / CardMask.RANKS;
+            int column = entry.getKey() % CardMask.RANKS;
+            assertEquals(row == column ? 6 : row > column ? 4 : 12, entry.getValue().intValue());
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package se.cygni.texasholdem.player.range;
+
+import org.junit.Test;
+import se.cygni.texasholdem.player.utils.CardMask;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static se.cygni.texasholdem.game.Card.valueOf;
+import static se.cygni.texasholdem.game.definitions.Rank.*;
+import static se.cygni.texasholdem.game.definitions.Suit.*;
+
+public class HandRangeTest {
+
+    @Test
+    public void shouldParseRange() {
+
+        // test
+        HandRange range = HandRange.parse("77+, ATo+, KTs+, 54s");
+
+        // verify, 8 pairs of 6, 4 offsuit hands of 12, 3 suited of 4 and 4
+        assertEquals(48 + 48 + 12 + 4, range.size());
+        assertTrue(range.contains(valueOf(SEVEN, CLUBS), valueOf(SEVEN, SPADES)));
+        assertTrue(range.contains(valueOf(KING, HEARTS), valueOf(ACE, SPADES)));
+        assertTrue(range.contains(valueOf(QUEEN, HEARTS), valueOf(KING, HEARTS)));
+        assertTrue(range.contains(valueOf(FOUR, DIAMONDS), valueOf(FIVE, DIAMONDS)));
+        assertFalse(range.contains(valueOf(SIX, CLUBS), valueOf(SIX, SPADES)));
+        assertFalse(range.contains(valueOf(ACE, HEARTS), valueOf(KING, HEARTS)));
+        assertFalse(range.contains(valueOf(QUEEN, SPADES), valueOf(KING, HEARTS)));
+        assertFalse(range.contains(valueOf(FOUR, CLUBS), valueOf(FIVE, DIAMONDS)));
+    }
+
+    @Test
+    public void shouldParseSpans() {
+
+        // verify
+        assertEquals(HandRange.parse("55, 66"), HandRange.parse("66-55"));
+        assertEquals(HandRange.parse("A6s, A7s, A8s, A9s"), HandRange.parse("A6s-A9s"));
+        assertEquals(HandRange.parse("AKs, AKo"), HandRange.parse("KA"));
+        assertEquals(HandRange.parse("22+"), HandRange.parse("22-AA"));
+        assertEquals(0, HandRange.parse("").size());
+    }
+
+    @Test
+    public void shouldIndexEveryCombinationOnce() {
+
+        boolean[] seen = new boolean[HandRange.COMBOS];
+        for (int id1 = 0; id1 < CardMask.CARDS; id1++) {
+            for (int id2 = id1 + 1; id2 < CardMask.CARDS; id2++) {
+                int index = HandRange.index(id2, id1);
+                assertFalse(seen[index]);
+                seen[index] = true;
+                assertEquals(CardMask.bit(id1) | CardMask.bit(id2), HandRange.mask(index));
+            }
+        }
+        assertEquals(HandRange.COMBOS, HandRange.parse("22+, A2+, K2+, Q2+, J2+, T2+, 92+, 82+, 72+, 62+, 52+, 42+, 32").size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectSuitedPair() {
+        HandRange.parse("77s");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectSpanOverDifferentHighCards() {
+        HandRange.parse("A9s-K9s");
+    }
+}
@@ -0,0 +1,99 @@
+package se.cygni.texasholdem.player.range;
+
+import org.junit.Before;
+import org.junit.Test;
+import se.cygni.texasholdem.game.ActionType;
+import se.cygni.texasholdem.game.Card;
+import se.cygni.texasholdem.player.evaluator.LookupHandEvaluator;
+import se.cygni.texasholdem.player.postflop.HandRanking;
+import se.cygni.texasholdem.player.postflop.HandRankingServiceImpl;
+import se.cygni.texasholdem.player.preflop.Position;
+import se.cygni.texasholdem.player.utils.CardMask;
+
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.*;
+import static se.cygni.texasholdem.game.Card.valueOf;
+import static se.cygni.texasholdem.game.definitions.Rank.*;
+import static se.cygni.texasholdem.game.definitions.Suit.*;
+
+public class RangeTrackerTest {
+
+    private static final int ACES = index(valueOf(ACE, SPADES), valueOf(ACE, HEARTS));
+    private static final int SEVEN_DEUCE = index(valueOf(SEVEN, SPADES), valueOf(DEUCE, HEARTS));
+
+    private RangeTracker target;
+
+    @Before
+    public void setUp() {
+        target = new RangeTracker(LookupHandEvaluator.getInstance());
+        target.startHand(asList("johan", "per"));
+    }
+
+    @Test
+    public void shouldNarrowRangeOnEarlyRaise() {
+
+        // test
+        target.onAction("johan", Position.EARLY, ActionType.RAISE);
+
+        // verify
+        float[] weights = target.getWeights("johan");
+        assertTrue(weights[ACES] > 20 * weights[SEVEN_DEUCE]);
+        assertTrue(weights[SEVEN_DEUCE] > 0);
+        assertEquals(1f, target.getWeights("per")[ACES], 0);
+    }
+
+    @Test
+    public void shouldRemoveCombinationsHoldingDeadCards() {
+
+        // test
+        target.removeCard(CardMask.id(valueOf(ACE, SPADES)));
+
+        // verify
+        assertEquals(0f, target.getWeights("johan")[ACES], 0);
+        assertEquals(1f, target.getWeights("johan")[SEVEN_DEUCE], 0);
+    }
+
+    @Test
+    public void shouldLeaveFoldedOpponentsOut() {
+
+        // fixtures
+        float[] combined = new float[HandRange.COMBOS];
+
+        // test
+        target.onAction("johan", Position.LATE, ActionType.RAISE);
+        target.onAction("per", Position.EARLY, ActionType.FOLD);
+
+        // verify
+        assertNull(target.getWeights("per"));
+        assertTrue(target.combine(combined));
+        assertArrayEquals(target.getWeights("johan"), combined, 1e-6f);
+    }
+
+    @Test
+    public void shouldRankAgainstTrackedRange() {
+
+        // fixtures
+        List<Card> pocketCards = asList(valueOf(KING, SPADES), valueOf(KING, HEARTS));
+        List<Card> board = asList(valueOf(DEUCE, CLUBS), valueOf(SEVEN, DIAMONDS), valueOf(NINE, HEARTS));
+        HandRange aces = HandRange.parse("AA");
+        float[] weights = new float[HandRange.COMBOS];
+        for (int combo = 0; combo < HandRange.COMBOS; combo++) {
+            weights[combo] = aces.contains(combo) ? 1 : 0;
+        }
+
+        // test
+        HandRanking ranking = new HandRankingServiceImpl().getRanking(pocketCards, board, weights);
+
+        // verify
+        assertTrue(ranking.getPercentile() > 0.9);
+        assertEquals(0, ranking.getRangeStrength(), 0);
+        assertEquals(0, ranking.getRankingValue());
+    }
+
+    private static int index(Card c1, Card c2) {
+        return HandRange.index(CardMask.id(c1), CardMask.id(c2));
+    }
+}
@@ -0,0 +1,134 @@
+package se.cygni.texasholdem.player.replay;
+
+import org.junit.Test;
+import se.cygni.texasholdem.game.ActionType;
+import se.cygni.texasholdem.game.definitions.PlayState;
+import se.cygni.texasholdem.game.definitions.PokerHand;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static se.cygni.texasholdem.game.Card.valueOf;
+import static se.cygni.texasholdem.game.definitions.Rank.*;
+import static se.cygni.texasholdem.game.definitions.Suit.*;
+import static se.cygni.texasholdem.player.replay.RecordedEvent.Type.*;
+
+public class SessionLogReaderTest {
+
+    static final String SESSION = "/Endgame_w_johan.txt";
+
+    static Path session() throws Exception {
+        return Paths.get(SessionLogReaderTest.class.getResource(SESSION).toURI());
+    }
+
+    @Test
+    public void shouldReadEveryHandOfTheSession() throws Exception {
+
+        // fixtures
+        final List<RecordedHand> hands = new ArrayList<>();
+
+        // test
+        int read = SessionLogReader.read(session(), hands::add);
+
+        // verify
+        assertEquals(455, read);
+        assertEquals(455, hands.size());
+
+        int requests = 0;
+        for (RecordedHand hand : hands) {
+            for (RecordedEvent event : hand.getEvents()) {
+                if (event.getType() == ACTION_REQUIRED) {
+                    requests++;
+                    assertTrue(event.getRecordedAction() != null);
+                }
+            }
+        }
+        assertEquals(477, requests);
+
+        // the log starts mid-hand, the first whole hand is the second in it
+        RecordedHand first = hands.get(0);
+        assertEquals(Arrays.asList("Perforator", "Rehoboam", "MinnesotaSlim2"), first.getPlayers());
+        assertEquals("MinnesotaSlim2", first.getSmallBlindPlayer());
+        assertEquals(485, first.getSmallBlind());
+        assertEquals("Perforator", first.getBigBlindPlayer());
+        assertEquals(970, first.getBigBlind());
+        assertEquals(73414, first.getMyChips());
+
+        List<RecordedEvent> events = first.getEvents();
+        assertEquals(PlayState.PRE_FLOP, events.get(0).getStreet());
+        assertEquals(valueOf(NINE, CLUBS), events.get(1).getCard());
+        assertEquals(valueOf(TEN, SPADES), events.get(2).getCard());
+
+        RecordedEvent request = events.get(7);
+        assertEquals(ACTION_REQUIRED, request.getType());
+        assertEquals(Arrays.asList(ActionType.FOLD, ActionType.ALL_IN, ActionType.RAISE, ActionType.CHECK),
+                request.getPossibleActions());
+        assertEquals(ActionType.CHECK, request.getRecordedAction().getActionType());
+
+        RecordedEvent showDown = events.get(events.size() - 3);
+        assertEquals(SHOW_DOWN, showDown.getType());
+        assertEquals("Perforator", showDown.getPlayer());
+        assertEquals(1455, showDown.getAmount());
+        assertEquals(PokerHand.STRAIGHT, showDown.getPokerHand());
+        assertEquals(5, showDown.getCards().size());
+        assertTrue(events.get(events.size() - 1).isFolded());
+    }
+
+    @Test
+    public void shouldReadTheCurrentLogFormat() throws IOException {
+
+        // fixtures
+        Path log = Files.createTempFile("session", ".log");
+        try {
+            Files.write(log, Arrays.asList(
+                    "10:00:00.000 DEBUG PerforatorBot - Play is started ",
+                    "10:00:00.001 DEBUG PerforatorBot - Table changed state: [FLOP] ",
+                    "10:00:00.002 DEBUG PerforatorBot - Community got a card: [7 of Hearts] ",
+                    "10:00:00.003 DEBUG PerforatorBot - Johan raised with bet 40 ",
+                    "10:00:00.004 INFO  PerforatorBot - Got an action request in play state [FLOP] ",
+                    "10:00:00.005 INFO  PerforatorBot - Round [3]: I'm going to CALL with 40. I currently have [960] chips. Decision DecisionOutcome ",
+                    "10:00:00.006 DEBUG PerforatorBot - Johan was forced to fold after putting 60 in the pot because exceeding the time limit "),
+                    StandardCharsets.ISO_8859_1);
+            final List<RecordedHand> hands = new ArrayList<>();
+
+            // test
+            SessionLogReader.read(log, hands::add);
+
+            // verify
+            assertEquals(1, hands.size());
+            List<RecordedEvent> events = hands.get(0).getEvents();
+            assertEquals(5, events.size());
+            assertEquals(PlayState.FLOP, events.get(0).getStreet());
+            assertEquals(valueOf(SEVEN, HEARTS), events.get(1).getCard());
+            assertEquals(RAISE, events.get(2).getType());
+            assertEquals(40, events.get(2).getAmount());
+            assertEquals(ActionType.CALL, events.get(3).getRecordedAction().getActionType());
+            assertEquals(40, events.get(3).getRecordedAction().getAmount());
+            assertEquals(FORCED_FOLD, events.get(4).getType());
+            assertEquals(960, hands.get(0).getMyChips());
+        } finally {
+            Files.delete(log);
+        }
+    }
+
+    @Test
+    public void shouldParseCards() {
+
+        // verify
+        assertEquals(valueOf(JACK, SPADES), SessionLogReader.parseCard("J of Spades"));
+        assertEquals(valueOf(TEN, DIAMONDS), SessionLogReader.parseCard(" T of Diamonds   "));
+        assertEquals(valueOf(DEUCE, CLUBS), SessionLogReader.parseCard("2 of Clubs"));
+        assertNull(SessionLogReader.parseCard("10 of Clubs"));
+        assertNull(SessionLogReader.parseCard("J of Swords"));
+        assertNull(SessionLogReader.parseCard(""));
+    }
+}
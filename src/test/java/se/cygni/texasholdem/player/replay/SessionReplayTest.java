@@ -0,0 +1,196 @@
+package se.cygni.texasholdem.player.replay;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import se.cygni.texasholdem.communication.message.event.*;
+import se.cygni.texasholdem.communication.message.request.ActionRequest;
+import se.cygni.texasholdem.game.Action;
+import se.cygni.texasholdem.game.ActionType;
+import se.cygni.texasholdem.player.PerforatorBot;
+import se.cygni.texasholdem.player.Player;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SessionReplayTest {
+
+    private Path log;
+
+    @Before
+    public void setUp() throws Exception {
+        // the first hands of the session, the bot takes a while over all of them
+        log = Files.createTempFile("session", ".log");
+        int started = 0;
+        try (BufferedReader reader = Files.newBufferedReader(SessionLogReaderTest.session(), StandardCharsets.ISO_8859_1);
+             BufferedWriter writer = Files.newBufferedWriter(log, StandardCharsets.ISO_8859_1)) {
+            String line;
+            while ((line = reader.readLine()) != null
+                    && !(line.endsWith("Play is started") && ++started > 20)) {
+                writer.write(line);
+                writer.newLine();
+            }
+        }
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(log);
+    }
+
+    @Test
+    public void shouldReplayDecisionsForTheBot() throws Exception {
+
+        try (PerforatorBot bot = PerforatorBot.offline("Perforator")) {
+
+            // fixtures
+            SessionReplay target = new SessionReplay(bot);
+
+            // test
+            ReplayResult result = target.replay(log);
+
+            // verify
+            assertEquals(20, result.getHands());
+            assertEquals(27, result.getDecisions());
+            assertTrue(result.getDecisionsPerSecond() > 0);
+            assertTrue(result.getMaxDecisionNanos() > 0);
+        }
+    }
+
+    @Test
+    public void shouldRebuildTheTableFromTheSession() throws Exception {
+
+        // fixtures
+        RecordingPlayer player = new RecordingPlayer();
+        SessionReplay target = new SessionReplay(player);
+
+        // test
+        ReplayResult result = target.replay(SessionLogReaderTest.session());
+
+        // verify
+        assertEquals(455, result.getHands());
+        assertEquals(477, result.getDecisions());
+        assertEquals(455, player.started.size());
+        assertEquals(1, player.tablesDone);
+
+        PlayIsStartedEvent first = player.started.get(0);
+        assertEquals(3, first.getPlayers().size());
+        assertEquals(73414, first.getPlayers().get(0).getChipCount());
+        assertEquals("Rehoboam", first.getDealer().getName());
+        assertEquals("MinnesotaSlim2", first.getSmallBlindPlayer().getName());
+        assertEquals("Perforator", first.getBigBlindPlayer().getName());
+
+        // checked as the big blind, won what the small blind put in and the own big blind back
+        PlayIsStartedEvent second = player.started.get(1);
+        assertEquals(73414 + 1455 - 970, second.getPlayers().get(0).getChipCount());
+
+        ActionRequest firstRequest = player.requests.get(0);
+        assertEquals(4, firstRequest.getPossibleActions().size());
+        assertEquals(ActionType.CHECK, firstRequest.getPossibleActions().get(3).getActionType());
+        assertEquals(73414 - 970, firstRequest.getPossibleActions().get(1).getAmount());
+    }
+
+    private static class RecordingPlayer implements Player {
+
+        final List<PlayIsStartedEvent> started = new ArrayList<>();
+        final List<ActionRequest> requests = new ArrayList<>();
+        int tablesDone;
+
+        @Override
+        public String getName() {
+            return "Perforator";
+        }
+
+        @Override
+        public Action actionRequired(ActionRequest request) {
+            requests.add(request);
+            return request.getPossibleActions().get(0);
+        }
+
+        @Override
+        public void onPlayIsStarted(PlayIsStartedEvent event) {
+            started.add(event);
+        }
+
+        @Override
+        public void onTableIsDone(TableIsDoneEvent event) {
+            tablesDone++;
+        }
+
+        @Override
+        public void onTableChangedStateEvent(TableChangedStateEvent event) {
+        }
+
+        @Override
+        public void onYouHaveBeenDealtACard(YouHaveBeenDealtACardEvent event) {
+        }
+
+        @Override
+        public void onCommunityHasBeenDealtACard(CommunityHasBeenDealtACardEvent event) {
+        }
+
+        @Override
+        public void onPlayerBetBigBlind(PlayerBetBigBlindEvent event) {
+        }
+
+        @Override
+        public void onPlayerBetSmallBlind(PlayerBetSmallBlindEvent event) {
+        }
+
+        @Override
+        public void onPlayerFolded(PlayerFoldedEvent event) {
+        }
+
+        @Override
+        public void onPlayerForcedFolded(PlayerForcedFoldedEvent event) {
+        }
+
+        @Override
+        public void onPlayerCalled(PlayerCalledEvent event) {
+        }
+
+        @Override
+        public void onPlayerRaised(PlayerRaisedEvent event) {
+        }
+
+        @Override
+        public void onPlayerWentAllIn(PlayerWentAllInEvent event) {
+        }
+
+        @Override
+        public void onPlayerChecked(PlayerCheckedEvent event) {
+        }
+
+        @Override
+        public void onYouWonAmount(YouWonAmountEvent event) {
+        }
+
+        @Override
+        public void onShowDown(ShowDownEvent event) {
+        }
+
+        @Override
+        public void onPlayerQuit(PlayerQuitEvent event) {
+        }
+
+        @Override
+        public void connectionToGameServerLost() {
+        }
+
+        @Override
+        public void connectionToGameServerEstablished() {
+        }
+
+        @Override
+        public void serverIsShuttingDown(ServerIsShuttingDownEvent event) {
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package se.cygni.texasholdem.player.server;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+
+public class MessageFramesTest {
+
+    @Test
+    public void shouldSplitMessagesReadTogether() throws Exception {
+
+        // fixtures
+        MessageFrames target = new MessageFrames(1024);
+        List<String> messages = new ArrayList<>();
+
+        // test
+        target.read(bytes("{\"a\":1}" + MessageFrames.DELIMITER + "{\"b\":2}" + MessageFrames.DELIMITER),
+                messages::add);
+
+        // verify
+        assertEquals(Arrays.asList("{\"a\":1}", "{\"b\":2}"), messages);
+    }
+
+    @Test
+    public void shouldJoinMessagesReadInPieces() throws Exception {
+
+        // fixtures
+        MessageFrames target = new MessageFrames(1024);
+        List<String> messages = new ArrayList<>();
+        String stream = "{\"first\":\"åäö\"}" + MessageFrames.DELIMITER + "{\"second\":2}"
+                + MessageFrames.DELIMITER;
+        byte[] bytes = stream.getBytes(UTF_8);
+
+        // test
+        // a byte at a time, the delimiter split over every read
+        for (byte b : bytes) {
+            target.read(ByteBuffer.wrap(new byte[]{b}), messages::add);
+        }
+
+        // verify
+        assertEquals(Arrays.asList("{\"first\":\"åäö\"}", "{\"second\":2}"), messages);
+    }
+
+    @Test
+    public void shouldEncodeWithTheDelimiter() throws Exception {
+
+        // fixtures
+        MessageFrames target = new MessageFrames(1024);
+        List<String> messages = new ArrayList<>();
+
+        // test
+        target.read(MessageFrames.encode("{\"c\":3}"), messages::add);
+
+        // verify
+        assertEquals(Arrays.asList("{\"c\":3}"), messages);
+    }
+
+    @Test(expected = IOException.class)
+    public void shouldFailMessagesTooLong() throws Exception {
+
+        // fixtures
+        MessageFrames target = new MessageFrames(16);
+
+        // test
+        target.read(bytes("{\"much\":\"too long for the frames\"}"), message -> {
+        });
+    }
+
+    private static ByteBuffer bytes(String text) {
+        return ByteBuffer.wrap(text.getBytes(UTF_8));
+    }
+}
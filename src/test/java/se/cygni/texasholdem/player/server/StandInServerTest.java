@@ -0,0 +1,229 @@
+package se.cygni.texasholdem.player.server;
+
+import org.junit.After;
+import org.junit.Test;
+import se.cygni.texasholdem.communication.message.TexasMessage;
+import se.cygni.texasholdem.communication.message.TexasMessageParser;
+import se.cygni.texasholdem.communication.message.event.PlayIsStartedEvent;
+import se.cygni.texasholdem.communication.message.event.PlayerForcedFoldedEvent;
+import se.cygni.texasholdem.communication.message.event.TableIsDoneEvent;
+import se.cygni.texasholdem.communication.message.request.ActionRequest;
+import se.cygni.texasholdem.communication.message.request.RegisterForPlayRequest;
+import se.cygni.texasholdem.communication.message.response.ActionResponse;
+import se.cygni.texasholdem.communication.message.response.RegisterForPlayResponse;
+import se.cygni.texasholdem.game.Action;
+import se.cygni.texasholdem.game.ActionType;
+import se.cygni.texasholdem.game.Room;
+import se.cygni.texasholdem.player.PerforatorBot;
+import se.cygni.texasholdem.player.simulator.TableRules;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class StandInServerTest {
+
+    private StandInServer target;
+
+    @After
+    public void tearDown() {
+        if (target != null) {
+            target.close();
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void shouldPlayATrainingTableAgainstTheHouse() throws Exception {
+
+        // fixtures
+        target = new StandInServer(0, new TableRules(1000, 10, 20, 0, 4, 3), 3, 1000, 1).start();
+
+        try (TestClient client = new TestClient(target.getPort(), true)) {
+
+            // test
+            client.register("Tester", Room.TRAINING);
+            RegisterForPlayResponse response = (RegisterForPlayResponse) client.receive();
+            client.playTable();
+
+            // verify
+            assertEquals("register-Tester", response.getRequestId());
+            assertNotNull(response.getSessionId());
+            assertEquals(3, client.started.size());
+            assertEquals(3, client.started.get(0).getPlayers().size());
+            assertTrue(client.answered > 0);
+            assertEquals(client.answered, target.getRoundTrips().getCount());
+            assertEquals(client.answered, target.getRoundTripsByPlayer().get("Tester").getCount());
+        }
+    }
+
+    @Test(timeout = 30000)
+    public void shouldPlayATrainingTableWithTheBot() throws Exception {
+
+        // fixtures
+        target = new StandInServer(0, new TableRules(1000, 10, 20, 0, 4, 3), 3, 1000, 1).start();
+        CountDownLatch tableIsDone = new CountDownLatch(1);
+
+        try (PerforatorBot bot = new PerforatorBot("Perforator", "localhost", target.getPort()) {
+            @Override
+            public void onTableIsDone(TableIsDoneEvent event) {
+                super.onTableIsDone(event);
+                tableIsDone.countDown();
+            }
+        }) {
+
+            // test
+            bot.playATrainingGame();
+            tableIsDone.await();
+
+            // verify
+            assertTrue(target.getRoundTripsByPlayer().get("Perforator").getCount() > 0);
+            assertEquals(target.getRoundTrips().getCount(), target.getRoundTripsByPlayer().get("Perforator").getCount());
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void shouldSeatFreeplayClientsTogether() throws Exception {
+
+        // fixtures
+        target = new StandInServer(0, new TableRules(1000, 10, 20, 0, 4, 2), 2, 1000, 1).start();
+        ExecutorService clients = Executors.newFixedThreadPool(2);
+
+        try (TestClient first = new TestClient(target.getPort(), true);
+             TestClient second = new TestClient(target.getPort(), true)) {
+
+            // test
+            Future<?> firstPlayed = clients.submit(() -> first.registerAndPlay("First", Room.FREEPLAY));
+            Future<?> secondPlayed = clients.submit(() -> second.registerAndPlay("Second", Room.FREEPLAY));
+            firstPlayed.get();
+            secondPlayed.get();
+
+            // verify
+            assertEquals(2, first.started.size());
+            assertEquals(2, second.started.size());
+            assertEquals(first.started.get(0).getTableId(), second.started.get(0).getTableId());
+            assertEquals(first.answered + second.answered, target.getRoundTrips().getCount());
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void shouldFoldClientsNotAnsweringInTime() throws Exception {
+
+        // fixtures
+        target = new StandInServer(0, new TableRules(1000, 10, 20, 0, 4, 1), 2, 50, 1).start();
+
+        try (TestClient client = new TestClient(target.getPort(), false)) {
+
+            // test
+            client.register("Sleeper", Room.TRAINING);
+            client.receive();
+            client.playTable();
+
+            // verify
+            assertEquals(1, client.forcedFolds);
+            assertEquals(0, target.getRoundTrips().getCount());
+        }
+    }
+
+    /**
+     * Plays over a blocking connection, checking or calling if it answers at all.
+     */
+    private static class TestClient implements Closeable {
+
+        final SocketChannel channel;
+        final boolean answering;
+        final MessageFrames frames = new MessageFrames(1024 * 1024);
+        final ByteBuffer buffer = ByteBuffer.allocate(8192);
+        final Deque<String> received = new ArrayDeque<>();
+        final List<PlayIsStartedEvent> started = new ArrayList<>();
+        int answered;
+        int forcedFolds;
+
+        TestClient(int port, boolean answering) throws IOException {
+            this.channel = SocketChannel.open(new InetSocketAddress("localhost", port));
+            this.answering = answering;
+        }
+
+        Void registerAndPlay(String name, Room room) throws IOException {
+            register(name, room);
+            receive();
+            playTable();
+            return null;
+        }
+
+        void register(String name, Room room) throws IOException {
+            RegisterForPlayRequest request = new RegisterForPlayRequest();
+            request.setRequestId("register-" + name);
+            request.setName(name);
+            request.setRoom(room);
+            send(request);
+        }
+
+        void playTable() throws IOException {
+            TexasMessage message;
+            while (!((message = receive()) instanceof TableIsDoneEvent)) {
+                if (message instanceof PlayIsStartedEvent) {
+                    started.add((PlayIsStartedEvent) message);
+                } else if (message instanceof PlayerForcedFoldedEvent) {
+                    forcedFolds++;
+                } else if (message instanceof ActionRequest && answering) {
+                    ActionRequest request = (ActionRequest) message;
+                    ActionResponse response = new ActionResponse();
+                    response.setRequestId(request.getRequestId());
+                    response.setAction(checkOrCall(request.getPossibleActions()));
+                    send(response);
+                    answered++;
+                }
+            }
+        }
+
+        void send(TexasMessage message) throws IOException {
+            ByteBuffer frame = MessageFrames.encode(TexasMessageParser.encodeMessage(message));
+            while (frame.hasRemaining()) {
+                channel.write(frame);
+            }
+        }
+
+        TexasMessage receive() throws IOException {
+            while (received.isEmpty()) {
+                buffer.clear();
+                if (channel.read(buffer) < 0) {
+                    throw new EOFException();
+                }
+                buffer.flip();
+                frames.read(buffer, received::add);
+            }
+            return TexasMessageParser.decodeMessage(received.poll());
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+
+        private static Action checkOrCall(List<Action> possibleActions) {
+            for (Action action : possibleActions) {
+                if (action.getActionType() == ActionType.CHECK || action.getActionType() == ActionType.CALL) {
+                    return action;
+                }
+            }
+            return possibleActions.get(0);
+        }
+    }
+}
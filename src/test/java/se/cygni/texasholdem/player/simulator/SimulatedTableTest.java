@@ -0,0 +1,292 @@
+package se.cygni.texasholdem.player.simulator;
+
+import org.junit.Test;
+import se.cygni.texasholdem.communication.message.event.*;
+import se.cygni.texasholdem.communication.message.request.ActionRequest;
+import se.cygni.texasholdem.game.Action;
+import se.cygni.texasholdem.game.ActionType;
+import se.cygni.texasholdem.player.Player;
+import se.cygni.texasholdem.player.evaluator.LookupHandEvaluator;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static se.cygni.texasholdem.game.ActionType.*;
+
+public class SimulatedTableTest {
+
+    private static final TableRules ONE_HAND = new TableRules(1000, 10, 20, 0, 4, 1);
+
+    @Test
+    public void shouldGiveTheBlindsToTheBigBlindWhenEveryoneFolds() {
+
+        // fixtures
+        ScriptedPlayer dealer = new ScriptedPlayer("dealer", FOLD);
+        ScriptedPlayer smallBlind = new ScriptedPlayer("smallBlind", FOLD);
+        ScriptedPlayer bigBlind = new ScriptedPlayer("bigBlind", FOLD);
+        SimulatedTable target = table(ONE_HAND, 1, dealer, smallBlind, bigBlind);
+        SimulationResult result = new SimulationResult();
+
+        // test
+        target.play(result);
+
+        // verify
+        assertEquals(1000, target.getChips(0));
+        assertEquals(990, target.getChips(1));
+        assertEquals(1010, target.getChips(2));
+        assertEquals(1, dealer.requests);
+        assertEquals(1, smallBlind.requests);
+        assertEquals(0, bigBlind.requests);
+        assertEquals(30, bigBlind.won);
+        assertEquals(1, bigBlind.showDowns);
+        assertEquals(1, result.getHands());
+        assertEquals(1, result.getTables());
+        assertEquals(0.5, result.getPlayers().get("bigBlind").getBigBlindsPer100() / 100, 0.0001);
+    }
+
+    @Test
+    public void shouldFoldAnswersNotOffered() {
+
+        // fixtures
+        ScriptedPlayer dealer = new ScriptedPlayer("dealer", CHECK);
+        ScriptedPlayer bigBlind = new ScriptedPlayer("bigBlind", CHECK);
+        SimulatedTable target = table(ONE_HAND, 1, dealer, bigBlind);
+
+        // test
+        target.play(new SimulationResult());
+
+        // verify
+        // heads up the dealer posts the small blind, can't check and so folds
+        assertEquals(990, target.getChips(0));
+        assertEquals(1010, target.getChips(1));
+        assertEquals(1, dealer.folds);
+    }
+
+    @Test
+    public void shouldDealEveryStreetToCallingPlayers() {
+
+        // fixtures
+        ScriptedPlayer first = new ScriptedPlayer("first", CHECK, CALL);
+        ScriptedPlayer second = new ScriptedPlayer("second", CHECK, CALL);
+        ScriptedPlayer third = new ScriptedPlayer("third", CHECK, CALL);
+        SimulatedTable target = table(ONE_HAND, 7, first, second, third);
+
+        // test
+        target.play(new SimulationResult());
+
+        // verify
+        assertEquals(2, first.pocketCards);
+        assertEquals(5, first.communityCards);
+        assertEquals(3000, target.getChips(0) + target.getChips(1) + target.getChips(2));
+        assertEquals(60, first.won + second.won + third.won);
+        // the big blind checks preflop too
+        assertEquals(4 * 3, first.requests + second.requests + third.requests);
+    }
+
+    @Test
+    public void shouldPlayUntilOnePlayerHasAllTheChips() {
+
+        // fixtures
+        TableRules rules = new TableRules(1000, 10, 20, 10, 4, 10000);
+        ScriptedPlayer allIn = new ScriptedPlayer("allIn", ALL_IN);
+        ScriptedPlayer caller = new ScriptedPlayer("caller", CHECK, CALL);
+        ScriptedPlayer raiser = new ScriptedPlayer("raiser", RAISE, CALL);
+        ScriptedPlayer folder = new ScriptedPlayer("folder", CHECK, FOLD);
+        SimulatedTable target = table(rules, 42, allIn, caller, raiser, folder);
+        SimulationResult result = new SimulationResult();
+
+        // test
+        target.play(result);
+
+        // verify
+        long total = 0;
+        int withChips = 0;
+        for (int seat = 0; seat < 4; seat++) {
+            total += target.getChips(seat);
+            withChips += target.getChips(seat) > 0 ? 1 : 0;
+        }
+        assertEquals(4000, total);
+        assertEquals(1, withChips);
+        assertEquals(1, result.getTables());
+        assertEquals(target.getHands(), result.getHands());
+
+        int tablesWon = 0;
+        long chipsWon = 0;
+        for (SimulationResult.PlayerResult player : result.getPlayers().values()) {
+            tablesWon += player.getTablesWon();
+            chipsWon += player.getChipsWon();
+        }
+        assertEquals(1, tablesWon);
+        assertEquals(0, chipsWon);
+        assertEquals(1, allIn.tablesDone);
+        assertEquals(1, folder.tablesDone);
+    }
+
+    @Test
+    public void shouldDealTheSameCardsFromTheSameSeed() {
+
+        // fixtures
+        TableRules rules = new TableRules(1000, 10, 20, 10, 4, 200);
+        SimulatedTable target = table(rules, 3, new ScriptedPlayer("a", CHECK, CALL),
+                new ScriptedPlayer("b", RAISE, CALL), new ScriptedPlayer("c", CHECK, FOLD));
+        SimulatedTable again = table(rules, 3, new ScriptedPlayer("a", CHECK, CALL),
+                new ScriptedPlayer("b", RAISE, CALL), new ScriptedPlayer("c", CHECK, FOLD));
+
+        // test
+        target.play(new SimulationResult());
+        again.play(new SimulationResult());
+
+        // verify
+        assertEquals(target.getHands(), again.getHands());
+        for (int seat = 0; seat < 3; seat++) {
+            assertEquals(target.getChips(seat), again.getChips(seat));
+        }
+    }
+
+    @Test
+    public void shouldStopAfterTheLastHand() {
+
+        // fixtures
+        TableRules rules = new TableRules(1000, 10, 20, 0, 4, 5);
+        SimulationResult result = new SimulationResult();
+        SimulatedTable target = table(rules, 1, new ScriptedPlayer("a", FOLD), new ScriptedPlayer("b", FOLD));
+
+        // test
+        target.play(result);
+
+        // verify
+        assertEquals(5, target.getHands());
+        assertEquals(5, result.getHands());
+        assertEquals(5, result.getPlayers().get("a").getHands());
+    }
+
+    private static SimulatedTable table(TableRules rules, long seed, Player... players) {
+        return new SimulatedTable(1, Arrays.asList(players), rules, LookupHandEvaluator.getInstance(), seed);
+    }
+
+    /**
+     * Answers with the first of its action types offered, with the first of them if none is.
+     */
+    static class ScriptedPlayer implements Player {
+
+        private final String name;
+        private final List<ActionType> preferred;
+        int requests;
+        int folds;
+        int pocketCards;
+        int communityCards;
+        int showDowns;
+        int tablesDone;
+        long won;
+
+        ScriptedPlayer(String name, ActionType... preferred) {
+            this.name = name;
+            this.preferred = Arrays.asList(preferred);
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public Action actionRequired(ActionRequest request) {
+            requests++;
+            for (ActionType type : preferred) {
+                for (Action action : request.getPossibleActions()) {
+                    if (action.getActionType() == type) {
+                        return action;
+                    }
+                }
+            }
+            return new Action(preferred.get(0), 0);
+        }
+
+        @Override
+        public void onPlayIsStarted(PlayIsStartedEvent event) {
+            pocketCards = 0;
+            communityCards = 0;
+        }
+
+        @Override
+        public void onTableIsDone(TableIsDoneEvent event) {
+            tablesDone++;
+        }
+
+        @Override
+        public void onTableChangedStateEvent(TableChangedStateEvent event) {
+        }
+
+        @Override
+        public void onYouHaveBeenDealtACard(YouHaveBeenDealtACardEvent event) {
+            pocketCards++;
+        }
+
+        @Override
+        public void onCommunityHasBeenDealtACard(CommunityHasBeenDealtACardEvent event) {
+            communityCards++;
+        }
+
+        @Override
+        public void onPlayerBetBigBlind(PlayerBetBigBlindEvent event) {
+        }
+
+        @Override
+        public void onPlayerBetSmallBlind(PlayerBetSmallBlindEvent event) {
+        }
+
+        @Override
+        public void onPlayerFolded(PlayerFoldedEvent event) {
+            if (event.getPlayer().getName().equals(name)) {
+                folds++;
+            }
+        }
+
+        @Override
+        public void onPlayerForcedFolded(PlayerForcedFoldedEvent event) {
+        }
+
+        @Override
+        public void onPlayerCalled(PlayerCalledEvent event) {
+        }
+
+        @Override
+        public void onPlayerRaised(PlayerRaisedEvent event) {
+        }
+
+        @Override
+        public void onPlayerWentAllIn(PlayerWentAllInEvent event) {
+        }
+
+        @Override
+        public void onPlayerChecked(PlayerCheckedEvent event) {
+        }
+
+        @Override
+        public void onYouWonAmount(YouWonAmountEvent event) {
+            won += event.getWonAmount();
+        }
+
+        @Override
+        public void onShowDown(ShowDownEvent event) {
+            showDowns++;
+        }
+
+        @Override
+        public void onPlayerQuit(PlayerQuitEvent event) {
+        }
+
+        @Override
+        public void connectionToGameServerLost() {
+        }
+
+        @Override
+        public void connectionToGameServerEstablished() {
+        }
+
+        @Override
+        public void serverIsShuttingDown(ServerIsShuttingDownEvent event) {
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package se.cygni.texasholdem.player.simulator;
+
+import org.junit.Test;
+import se.cygni.texasholdem.player.PerforatorBot;
+import se.cygni.texasholdem.player.Player;
+import se.cygni.texasholdem.player.simulator.SimulatedTableTest.ScriptedPlayer;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static se.cygni.texasholdem.game.ActionType.*;
+
+public class SimulationTest {
+
+    @Test
+    public void shouldPlayAllTablesAcrossThreads() throws Exception {
+
+        // fixtures
+        List<Supplier<? extends Player>> seats = Arrays.asList(
+                () -> new ScriptedPlayer("caller", CHECK, CALL),
+                () -> new ScriptedPlayer("raiser", RAISE, CALL),
+                () -> new ScriptedPlayer("folder", CHECK, FOLD));
+        Simulation target = new Simulation(seats, new TableRules(1000, 10, 20, 10, 4, 300));
+
+        // test
+        SimulationResult result = target.run(12, 3, 1);
+
+        // verify
+        assertEquals(12, result.getTables());
+        assertEquals(3, result.getPlayers().size());
+        long chipsWon = 0;
+        for (SimulationResult.PlayerResult player : result.getPlayers().values()) {
+            assertTrue(player.getHands() > 0);
+            chipsWon += player.getChipsWon();
+        }
+        assertEquals(0, chipsWon);
+        assertTrue(result.getHands() >= 12);
+        assertTrue(result.getHandsPerSecond() > 0);
+    }
+
+    @Test
+    public void shouldPlayTheBotAgainstItself() throws Exception {
+
+        // fixtures
+        List<Supplier<? extends Player>> seats = Arrays.asList(
+                () -> PerforatorBot.offline("Perforator-1"),
+                () -> PerforatorBot.offline("Perforator-2"));
+        Simulation target = new Simulation(seats, new TableRules(1000, 10, 20, 0, 4, 20));
+
+        // test
+        SimulationResult result = target.run(2, 2, 1);
+
+        // verify
+        assertEquals(2, result.getTables());
+        assertTrue(result.getHands() > 2);
+        assertEquals(0, result.getPlayers().get("Perforator-1").getChipsWon()
+                + result.getPlayers().get("Perforator-2").getChipsWon());
+    }
+
+    @Test
+    public void shouldStopTheThreadsOfTheBotsWhenDone() throws Exception {
+
+        // fixtures
+        Set<Thread> before = new HashSet<>(Thread.getAllStackTraces().keySet());
+        List<Supplier<? extends Player>> seats = Arrays.asList(
+                () -> PerforatorBot.offline("Perforator-1"),
+                () -> PerforatorBot.offline("Perforator-2"));
+        Simulation target = new Simulation(seats, new TableRules(1000, 10, 20, 0, 4, 20));
+
+        // test
+        target.run(2, 2, 1);
+
+        // verify, the common pool ranks for every bot and is left running
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (!before.contains(thread) && !(thread instanceof ForkJoinWorkerThread)) {
+                thread.join(1000);
+                assertFalse(thread.getName() + " is still running", thread.isAlive());
+            }
+        }
+    }
+
+    @Test
+    public void shouldWinTheSameWhateverTheThreads() throws Exception {
+
+        // fixtures
+        List<Supplier<? extends Player>> seats = Arrays.asList(
+                () -> new ScriptedPlayer("caller", CHECK, CALL),
+                () -> new ScriptedPlayer("allIn", ALL_IN));
+        Simulation target = new Simulation(seats, new TableRules(1000, 10, 20, 10, 4, 300));
+
+        // test
+        SimulationResult single = target.run(8, 1, 5);
+        SimulationResult parallel = target.run(8, 4, 5);
+
+        // verify
+        assertEquals(single.getHands(), parallel.getHands());
+        assertEquals(single.getPlayers().get("caller").getChipsWon(),
+                parallel.getPlayers().get("caller").getChipsWon());
+    }
+}
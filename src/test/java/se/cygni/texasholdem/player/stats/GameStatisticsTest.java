@@ -0,0 +1,125 @@
+package se.cygni.texasholdem.player.stats;
+
+import org.junit.Before;
+import org.junit.Test;
+import se.cygni.texasholdem.communication.message.event.PlayIsStartedEvent;
+import se.cygni.texasholdem.communication.message.event.ShowDownEvent;
+import se.cygni.texasholdem.game.Card;
+import se.cygni.texasholdem.game.GamePlayer;
+import se.cygni.texasholdem.game.Hand;
+import se.cygni.texasholdem.game.PlayerShowDown;
+import se.cygni.texasholdem.player.TableFixture;
+import se.cygni.texasholdem.player.table.TableState;
+
+import java.util.Collections;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static se.cygni.texasholdem.game.Card.valueOf;
+import static se.cygni.texasholdem.game.definitions.PlayState.PRE_FLOP;
+import static se.cygni.texasholdem.game.definitions.PokerHand.ONE_PAIR;
+import static se.cygni.texasholdem.game.definitions.Rank.*;
+import static se.cygni.texasholdem.game.definitions.Suit.*;
+import static se.cygni.texasholdem.player.preflop.Position.EARLY;
+import static se.cygni.texasholdem.player.preflop.Position.LATE;
+import static se.cygni.texasholdem.player.preflop.StartingHandType.ALWAYS_PLAY;
+import static se.cygni.texasholdem.player.preflop.StartingHandType.NO_PLAY;
+
+public class GameStatisticsTest {
+
+    private static final String ME = TableFixture.MY_NAME;
+
+    private TableState tableState;
+    private GameStatistics target;
+
+    @Before
+    public void setUp() {
+        TableFixture table = new TableFixture(PRE_FLOP, Collections.emptyList(), Collections.emptyList());
+        tableState = table.getPlayerClient().getTableState();
+        target = new GameStatistics(table.getPlayerClient(), ME, 3);
+    }
+
+    @Test
+    public void shouldFinishHandAtShowDown() {
+
+        // fixtures
+        List<GamePlayer> players = startHand(1000, 2, valueOf(ACE, HEARTS), valueOf(ACE, SPADES));
+        tableState.onBet(players.get(2), 40);
+        tableState.onBet(players.get(3), 40);
+
+        // test
+        target.onShowDown(new ShowDownEvent(asList(
+                new PlayerShowDown(players.get(2), hand(false), 80),
+                new PlayerShowDown(players.get(3), hand(false), 0),
+                new PlayerShowDown(players.get(4), hand(true), 0))));
+
+        // verify
+        assertEquals(1, target.getHands());
+        assertEquals(40, target.getChipsWon());
+        assertEquals(1.0, target.getWinRate(), 0);
+        assertEquals(1.0, target.getShowDownFrequency(), 0);
+        assertEquals(1, target.getHands(EARLY));
+        assertEquals(40, target.getChipsWon(ALWAYS_PLAY));
+        assertEquals(0, target.getHands(NO_PLAY));
+    }
+
+    @Test
+    public void shouldFinishHandWithoutShowDownByStackChange() {
+
+        // fixtures
+        startHand(1000, 5, valueOf(SEVEN, HEARTS), valueOf(DEUCE, CLUBS));
+
+        // test
+        startHand(900, 4, valueOf(KING, HEARTS), valueOf(KING, SPADES));
+
+        // verify
+        assertEquals(1, target.getHands());
+        assertEquals(-100, target.getChipsWon());
+        assertEquals(0.0, target.getWinRate(), 0);
+        assertEquals(0.0, target.getShowDownFrequency(), 0);
+        assertEquals(-100, target.getChipsWon(LATE));
+        assertEquals(-100, target.getChipsWon(NO_PLAY));
+        assertEquals(900, target.getStack(0));
+        assertEquals(1000, target.getStack(1));
+        assertEquals(-100, target.getStackChange());
+        assertEquals(1, target.getRounds());
+    }
+
+    @Test
+    public void shouldOnlyKeepTheLastHands() {
+
+        // test
+        for (int hand = 0; hand < 6; hand++) {
+            startHand(1000 + 10 * hand, 2, valueOf(ACE, HEARTS), valueOf(ACE, SPADES));
+        }
+
+        // verify
+        assertEquals(3, target.getHands());
+        assertEquals(30, target.getChipsWon());
+        assertEquals(1.0, target.getWinRate(ALWAYS_PLAY), 0);
+        assertEquals(20, target.getStackChange());
+    }
+
+    /**
+     * Six players, the small blind first and me in the seat given.
+     */
+    private List<GamePlayer> startHand(long myStack, int mySeat, Card first, Card second) {
+        List<GamePlayer> players = asList(new GamePlayer("Small blind", 1000), new GamePlayer("Big blind", 1000),
+                new GamePlayer("Hijack", 1000), new GamePlayer("Cutoff", 1000), new GamePlayer("Dealer", 1000),
+                new GamePlayer("Button", 1000));
+        players.set(mySeat, new GamePlayer(ME, myStack));
+        tableState.startHand(ME, new PlayIsStartedEvent(players, 5, 10, players.get(5), players.get(0),
+                players.get(1), 1));
+        target.onHandStarted();
+        tableState.onPocketCard(first);
+        target.onPocketCard();
+        tableState.onPocketCard(second);
+        target.onPocketCard();
+        return players;
+    }
+
+    private static Hand hand(boolean folded) {
+        return new Hand(Collections.emptyList(), ONE_PAIR, folded);
+    }
+}
@@ -0,0 +1,130 @@
+package se.cygni.texasholdem.player.stats;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static se.cygni.texasholdem.player.stats.OpponentCounter.HANDS;
+import static se.cygni.texasholdem.player.stats.OpponentCounter.VPIP;
+
+public class OpponentStatisticsTest {
+
+    private Path file;
+
+    @Before
+    public void setUp() throws IOException {
+        file = Files.createTempFile("opponents", ".dat");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    public void shouldKeepCountsWhenOpenedAgain() throws IOException {
+
+        // fixtures
+        OpponentStatistics first = OpponentStatistics.open(file, 64);
+        int slot = first.slotOf("Rehoboam");
+        first.increment(slot, HANDS);
+        first.increment(slot, HANDS);
+        first.increment(slot, VPIP);
+        first.force();
+
+        // test
+        OpponentStatistics target = OpponentStatistics.open(file, 64);
+
+        // verify
+        assertEquals(1, target.size());
+        assertEquals(slot, target.find("Rehoboam"));
+        assertEquals(2, target.get(slot, HANDS));
+        assertEquals(0.5, target.getVpip(slot), 0);
+        assertEquals(-1, target.find("MinnesotaSlim2"));
+    }
+
+    @Test
+    public void shouldGiveEveryNameItsOwnSlotUntilFull() {
+
+        // fixtures
+        OpponentStatistics target = OpponentStatistics.inMemory(8);
+        String[] names = {"Rehoboam", "MinnesotaSlim2", "Johan", "a long name sharing its first characters x",
+                "a long name sharing its first characters y", "Perforator"};
+
+        // test
+        Set<Integer> slots = new HashSet<>();
+        for (String name : names) {
+            slots.add(target.slotOf(name));
+        }
+
+        // verify
+        assertEquals(names.length, slots.size());
+        for (String name : names) {
+            assertEquals(target.slotOf(name), target.find(name));
+        }
+        assertEquals(-1, target.slotOf("One too many"));
+        assertEquals(names.length, target.size());
+    }
+
+    @Test
+    public void shouldKeepOfflineCountsInMemoryUnlessFileIsGiven() {
+
+        // fixtures
+        String given = System.clearProperty("opponentStatistics");
+
+        try {
+            // test
+            OpponentStatistics first = OpponentStatistics.fromSystemPropertiesOrInMemory();
+            first.increment(first.slotOf("Rehoboam"), HANDS);
+            OpponentStatistics second = OpponentStatistics.fromSystemPropertiesOrInMemory();
+
+            // verify
+            assertNotSame(first, second);
+            assertEquals(-1, second.find("Rehoboam"));
+        } finally {
+            if (given != null) {
+                System.setProperty("opponentStatistics", given);
+            }
+        }
+    }
+
+    @Test
+    public void shouldShareTableOfGivenFile() {
+
+        // fixtures
+        String given = System.setProperty("opponentStatistics", file.toString());
+
+        try {
+            // test
+            OpponentStatistics offline = OpponentStatistics.fromSystemPropertiesOrInMemory();
+
+            // verify
+            assertSame(OpponentStatistics.fromSystemProperties(), offline);
+        } finally {
+            if (given != null) {
+                System.setProperty("opponentStatistics", given);
+            } else {
+                System.clearProperty("opponentStatistics");
+            }
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldNotMapOtherFiles() throws IOException {
+
+        // fixtures
+        Files.write(file, new byte[1024]);
+
+        // test
+        OpponentStatistics.open(file, 64);
+    }
+}
@@ -0,0 +1,110 @@
+package se.cygni.texasholdem.player.stats;
+
+import org.junit.Before;
+import org.junit.Test;
+import se.cygni.texasholdem.communication.message.event.PlayIsStartedEvent;
+import se.cygni.texasholdem.game.ActionType;
+import se.cygni.texasholdem.game.GamePlayer;
+import se.cygni.texasholdem.player.table.TableState;
+
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static se.cygni.texasholdem.game.ActionType.*;
+import static se.cygni.texasholdem.game.definitions.PlayState.FLOP;
+import static se.cygni.texasholdem.player.stats.OpponentCounter.*;
+
+public class OpponentTrackerTest {
+
+    private static final String ME = "Perforator";
+
+    private final List<GamePlayer> players = asList(new GamePlayer("Small blind", 1000),
+            new GamePlayer("Big blind", 1000), new GamePlayer(ME, 1000), new GamePlayer("Hijack", 1000),
+            new GamePlayer("Cutoff", 1000), new GamePlayer("Dealer", 1000));
+
+    private TableState tableState;
+    private OpponentStatistics statistics;
+    private OpponentTracker target;
+
+    @Before
+    public void setUp() {
+        tableState = new TableState();
+        tableState.startHand(ME, new PlayIsStartedEvent(players, 5, 10, players.get(5), players.get(0),
+                players.get(1), 1));
+        statistics = OpponentStatistics.inMemory(64);
+        target = new OpponentTracker(statistics);
+        target.startHand(tableState.snapshot());
+    }
+
+    @Test
+    public void shouldCountStealFromTheCutoff() {
+
+        // test
+        act(2, FOLD);
+        act(3, FOLD);
+        act(4, RAISE);
+        act(5, FOLD);
+        act(0, FOLD);
+        act(1, CALL);
+
+        // verify
+        assertEquals(1, count("Cutoff", HANDS));
+        assertEquals(1, count("Cutoff", VPIP));
+        assertEquals(1, count("Cutoff", PFR));
+        assertEquals(1, count("Small blind", STEAL_CHANCES));
+        assertEquals(1, count("Small blind", FOLDED_TO_STEAL));
+        assertEquals(1, count("Big blind", STEAL_CHANCES));
+        assertEquals(0, count("Big blind", FOLDED_TO_STEAL));
+        assertEquals(1, count("Big blind", VPIP));
+        assertEquals(0, count("Big blind", PFR));
+        assertEquals(0, count("Dealer", STEAL_CHANCES));
+        assertEquals(0, count("Dealer", VPIP));
+        assertEquals(-1, statistics.find(ME));
+    }
+
+    @Test
+    public void shouldNotCountRaiseFromMiddlePositionAsSteal() {
+
+        // test
+        act(2, FOLD);
+        act(3, RAISE);
+        act(4, FOLD);
+        act(5, FOLD);
+        act(0, FOLD);
+        act(1, FOLD);
+
+        // verify
+        assertEquals(1, count("Hijack", PFR));
+        assertEquals(0, count("Small blind", STEAL_CHANCES));
+        assertEquals(0, count("Big blind", STEAL_CHANCES));
+    }
+
+    @Test
+    public void shouldCountAggressionAfterTheFlop() {
+
+        // fixtures
+        act(4, RAISE);
+        act(1, CALL);
+        act(1, CALL);
+        tableState.onStreet(FLOP);
+
+        // test
+        act(1, RAISE);
+        act(4, CALL);
+        act(1, ALL_IN);
+
+        // verify
+        assertEquals(1, count("Big blind", VPIP));
+        assertEquals(2, count("Big blind", AGGRESSIVE));
+        assertEquals(1, count("Cutoff", PASSIVE));
+    }
+
+    private void act(int seat, ActionType action) {
+        target.onAction(tableState.snapshot(), seat, action);
+    }
+
+    private long count(String name, OpponentCounter counter) {
+        return statistics.get(statistics.find(name), counter);
+    }
+}
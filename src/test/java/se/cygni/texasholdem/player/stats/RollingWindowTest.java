@@ -0,0 +1,58 @@
+package se.cygni.texasholdem.player.stats;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class RollingWindowTest {
+
+    @Test
+    public void shouldSumTheValuesInTheWindow() {
+
+        // fixtures
+        RollingWindow target = new RollingWindow(3);
+
+        // test
+        target.add(4);
+        target.add(-2);
+
+        // verify
+        assertEquals(2, target.getCount());
+        assertEquals(2, target.getSum());
+        assertEquals(1.0, target.getMean(), 0);
+        assertEquals(-2, target.get(0));
+        assertEquals(4, target.getOldest());
+    }
+
+    @Test
+    public void shouldOverwriteTheOldestValueWhenFull() {
+
+        // fixtures
+        RollingWindow target = new RollingWindow(3);
+
+        // test
+        for (int value = 1; value <= 7; value++) {
+            target.add(value);
+        }
+
+        // verify
+        assertEquals(3, target.getCount());
+        assertEquals(5 + 6 + 7, target.getSum());
+        assertEquals(7, target.get(0));
+        assertEquals(6, target.get(1));
+        assertEquals(5, target.getOldest());
+        assertEquals(0, target.get(3));
+    }
+
+    @Test
+    public void shouldReadZeroWhenEmpty() {
+
+        // fixtures
+        RollingWindow target = new RollingWindow(3);
+
+        // verify
+        assertEquals(0, target.getCount());
+        assertEquals(0.0, target.getMean(), 0);
+        assertEquals(0, target.getOldest());
+    }
+}
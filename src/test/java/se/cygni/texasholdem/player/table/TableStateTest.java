@@ -0,0 +1,141 @@
+package se.cygni.texasholdem.player.table;
+
+import org.junit.Before;
+import org.junit.Test;
+import se.cygni.texasholdem.communication.message.event.PlayIsStartedEvent;
+import se.cygni.texasholdem.game.GamePlayer;
+
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.*;
+import static se.cygni.texasholdem.game.Card.valueOf;
+import static se.cygni.texasholdem.game.definitions.PlayState.FLOP;
+import static se.cygni.texasholdem.game.definitions.PlayState.PRE_FLOP;
+import static se.cygni.texasholdem.game.definitions.Rank.*;
+import static se.cygni.texasholdem.game.definitions.Suit.*;
+
+public class TableStateTest {
+
+    private static final String ME = "Perforator";
+
+    // listed by the server from the cutoff, the small blind sits third
+    private final GamePlayer cutoff = new GamePlayer("Cutoff", 600);
+    private final GamePlayer dealer = new GamePlayer("Dealer", 800);
+    private final GamePlayer smallBlind = new GamePlayer("Small blind", 1000);
+    private final GamePlayer bigBlind = new GamePlayer("Big blind", 1200);
+    private final GamePlayer me = new GamePlayer(ME, 1400);
+    private final GamePlayer hijack = new GamePlayer("Hijack", 1000);
+    private final List<GamePlayer> players = asList(cutoff, dealer, smallBlind, bigBlind, me, hijack);
+
+    private TableState target;
+
+    @Before
+    public void setUp() {
+        target = new TableState();
+        target.startHand(ME, new PlayIsStartedEvent(players, 5, 10, dealer, smallBlind, bigBlind, 17));
+    }
+
+    @Test
+    public void shouldSeatPlayersInPositionOrder() {
+
+        // test
+        TableSnapshot table = target.snapshot();
+
+        // verify
+        assertEquals(players, table.getPlayers());
+        assertEquals(asList(smallBlind, bigBlind, me, hijack, cutoff, dealer), table.getPlayersInPositionOrder());
+        assertEquals(6, table.getSeats());
+        assertEquals(2, table.getMySeat());
+        assertEquals(0, table.getSmallBlindSeat());
+        assertEquals(1, table.getBigBlindSeat());
+        assertEquals(5, table.getDealerSeat());
+        assertEquals(4, table.seatOf(cutoff));
+        assertEquals(-1, table.seatOf("Stranger"));
+        assertEquals(6000, table.getTotalChips());
+        assertEquals(PRE_FLOP, table.getStreet());
+        assertEquals(17, table.getTableId());
+    }
+
+    @Test
+    public void shouldTrackBetsFoldsAndAllIns() {
+
+        // test
+        target.onBet(smallBlind, 5);
+        target.onBet(bigBlind, 10);
+        target.onBet(me, 30);
+        target.onFold(hijack);
+        target.onAllIn(cutoff, 600);
+        target.onFold(dealer);
+        TableSnapshot table = target.snapshot();
+
+        // verify
+        assertEquals(645, table.getPot());
+        assertEquals(1370, table.getChips(table.getMySeat()));
+        assertEquals(30, table.getInvestment(table.getMySeat()));
+        assertEquals(0, table.getChips(table.seatOf(cutoff)));
+        assertTrue(table.isAllIn(table.seatOf(cutoff)));
+        assertTrue(table.isFolded(table.seatOf(hijack)));
+        assertFalse(table.isFolded(table.seatOf(cutoff)));
+        assertEquals(2, table.getFoldedCount());
+        assertEquals(1, table.getAllInCount());
+        assertEquals(1200, table.getBestOpponentStack());
+    }
+
+    @Test
+    public void shouldPublishTheSameSnapshotUntilTheNextEvent() {
+
+        // fixtures
+        target.onPocketCard(valueOf(ACE, HEARTS));
+        target.onPocketCard(valueOf(KING, HEARTS));
+        TableSnapshot preFlop = target.snapshot();
+
+        // test
+        TableSnapshot again = target.snapshot();
+        target.onStreet(FLOP);
+        target.onCommunityCard(valueOf(TEN, HEARTS));
+        TableSnapshot flop = target.snapshot();
+
+        // verify
+        assertSame(preFlop, again);
+        assertNotSame(preFlop, flop);
+        assertEquals(PRE_FLOP, preFlop.getStreet());
+        assertTrue(preFlop.getCommunityCards().isEmpty());
+        assertEquals(FLOP, flop.getStreet());
+        assertEquals(asList(valueOf(ACE, HEARTS), valueOf(KING, HEARTS), valueOf(TEN, HEARTS)),
+                flop.getMyCardsAndCommunityCards());
+    }
+
+    @Test
+    public void shouldStartEveryHandFromScratch() {
+
+        // fixtures
+        target.onPocketCard(valueOf(ACE, HEARTS));
+        target.onBet(me, 30);
+        target.onFold(hijack);
+
+        // test
+        target.startHand(ME, new PlayIsStartedEvent(players, 5, 10, smallBlind, bigBlind, me, 17));
+        TableSnapshot table = target.snapshot();
+
+        // verify
+        assertEquals(0, table.getPot());
+        assertEquals(0, table.getFoldedCount());
+        assertTrue(table.getMyCards().isEmpty());
+        assertEquals(0, table.getSmallBlindSeat());
+        assertEquals(asList(bigBlind, me, hijack, cutoff, dealer, smallBlind), table.getPlayersInPositionOrder());
+    }
+
+    @Test
+    public void shouldIgnorePlayersNotAtTheTable() {
+
+        // test
+        target.onBet(new GamePlayer("Stranger", 100), 50);
+        TableSnapshot table = target.snapshot();
+
+        // verify
+        assertEquals(0, table.getPot());
+        assertFalse(table.isFolded(-1));
+        assertNull(table.getPlayer(-1));
+    }
+}
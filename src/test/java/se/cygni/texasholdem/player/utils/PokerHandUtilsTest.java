@@ -0,0 +1,72 @@
+package se.cygni.texasholdem.player.utils;
+
+import org.junit.Test;
+import se.cygni.texasholdem.game.Card;
+import se.cygni.texasholdem.game.Hand;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static se.cygni.texasholdem.game.Card.valueOf;
+import static se.cygni.texasholdem.game.definitions.PokerHand.*;
+import static se.cygni.texasholdem.game.definitions.Rank.*;
+import static se.cygni.texasholdem.game.definitions.Suit.*;
+
+public class PokerHandUtilsTest {
+
+    @Test
+    public void shouldGetWheelFromMask() {
+
+        // fixtures
+        List<Card> cards = asList(valueOf(ACE, SPADES), valueOf(DEUCE, HEARTS), valueOf(THREE, CLUBS),
+                valueOf(FOUR, CLUBS), valueOf(FIVE, DIAMONDS), valueOf(KING, DIAMONDS), valueOf(KING, HEARTS));
+
+        // test
+        int strength = PokerHandUtils.getHandStrength(CardMask.mask(cards));
+
+        // verify
+        assertEquals(STRAIGHT, HandStrength.getPokerHand(strength));
+        assertEquals(CardMask.FIVE, HandStrength.rankAt(strength, 0));
+        assertEquals(CardMask.ACE, HandStrength.rankAt(strength, 4));
+    }
+
+    @Test
+    public void shouldPreferFullHouseOverFlush() {
+
+        // fixtures
+        List<Card> cards = asList(valueOf(ACE, SPADES), valueOf(ACE, HEARTS), valueOf(ACE, CLUBS),
+                valueOf(KING, SPADES), valueOf(KING, CLUBS), valueOf(NINE, SPADES), valueOf(DEUCE, SPADES));
+
+        // test
+        int strength = PokerHandUtils.getHandStrength(CardMask.mask(cards));
+
+        // verify
+        assertEquals(FULL_HOUSE, HandStrength.getPokerHand(strength));
+    }
+
+    @Test
+    public void shouldAgreeWithBestHandOnRandomHands() {
+
+        Random random = new Random(4711);
+        List<Card> deck = CardMask.cards(CardMask.FULL_DECK);
+
+        for (int i = 0; i < 50000; i++) {
+            Collections.shuffle(deck, random);
+            List<Card> cards = new ArrayList<>(deck.subList(0, 5 + i % 3));
+
+            Hand bestHand = new PokerHandUtils(cards.subList(2, cards.size()), cards.subList(0, 2)).getBestHand();
+            int strength = PokerHandUtils.getHandStrength(CardMask.mask(cards));
+
+            assertEquals(cards.toString(), bestHand.getPokerHand(), HandStrength.getPokerHand(strength));
+            for (int position = 0; position < bestHand.getCards().size(); position++) {
+                assertEquals(cards.toString(),
+                        CardMask.rankIndex(bestHand.getCards().get(position).getRank()),
+                        HandStrength.rankAt(strength, position));
+            }
+        }
+    }
+}